@@ -0,0 +1,21 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx
+
+import io.gatling.core.Predef._
+
+import org.eclipse.openvsx.Scenarios._
+
+class RegistryAPIGetFileRangeSimulation extends Simulation {
+  setUp(getFileRangeScenario().inject(atOnceUsers(users))).protocols(httpProtocol)
+}
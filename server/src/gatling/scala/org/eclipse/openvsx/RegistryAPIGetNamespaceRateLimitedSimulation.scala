@@ -0,0 +1,24 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx
+
+import io.gatling.core.Predef._
+
+import org.eclipse.openvsx.Scenarios._
+
+/**
+ * Load test for the rate limit bucket store. Run it against a server that has
+ * `ovsx.rate-limit.enabled: true` and uses the Redis cluster of docker-compose.yml
+ * (`spring.data.redis.cluster.nodes: 127.0.0.1:7001,...,127.0.0.1:7006`).
+ * Every request has another X-Forwarded-For address, so that the buckets spread over all cluster nodes.
+ */
+class RegistryAPIGetNamespaceRateLimitedSimulation extends Simulation {
+	setUp(getNamespaceRateLimitedScenario().inject(atOnceUsers(users * 10))).protocols(httpProtocol)
+}
@@ -19,6 +19,7 @@ import java.nio.file.Files
 import scala.collection.mutable.ListBuffer
 import scala.concurrent.duration.DurationInt
 import scala.reflect.io.File
+import scala.util.Random
 
 object Scenarios {
   val AccessTokenFeed = "access-tokens.csv"
@@ -233,6 +234,21 @@ object Scenarios {
       }
   }
 
+  def getNamespaceRateLimitedScenario(): ScenarioBuilder = {
+    // every request comes from another client, so that every request updates another bucket
+    val clientFeeder = Iterator.continually(Map("clientIp" -> s"10.${Random.nextInt(256)}.${Random.nextInt(256)}.${Random.nextInt(256)}"))
+    scenario("RegistryAPI: Get Namespace (Rate Limited)")
+      .repeat(1000) {
+        feed(clientFeeder)
+          .feed(csv(NamespaceFeed).circular)
+          .exec(http("RegistryAPI.getNamespaceRateLimited")
+            .get("""/api/#{namespace}""")
+            .headers(headers())
+            .header("X-Forwarded-For", "#{clientIp}")
+            .check(status.in(200, 429)))
+      }
+  }
+
   def getQueryScenario(): ScenarioBuilder = {
     scenario("RegistryAPI: Query")
       .repeat(1000) {
@@ -283,6 +299,34 @@ object Scenarios {
       }
   }
 
+  def getFileRangeScenario(): ScenarioBuilder = {
+    scenario("RegistryAPI: Get Extension Package Range")
+      .repeat(1000) {
+        feed(csv(ExtensionVersionFeed).circular)
+          .feed(Array(
+            Map("range" -> "bytes=0-"),
+            Map("range" -> "bytes=0-1048575"),
+            Map("range" -> "bytes=1048576-"),
+            Map("range" -> "bytes=-65536")
+          ).circular)
+          .exec(http("RegistryAPI.getFile")
+            .get("""/api/#{namespace}/#{name}/#{version}/file/#{namespace}.#{name}-#{version}.vsix""")
+            .headers(headers())
+            .check(header("ETag").optional.saveAs("etag")))
+          .exec(http("RegistryAPI.getFile (range)")
+            .get("""/api/#{namespace}/#{name}/#{version}/file/#{namespace}.#{name}-#{version}.vsix""")
+            .headers(headers())
+            .header("Range", "#{range}"))
+          .doIf(session => session.contains("etag")) {
+            exec(http("RegistryAPI.getFile (if-none-match)")
+              .get("""/api/#{namespace}/#{name}/#{version}/file/#{namespace}.#{name}-#{version}.vsix""")
+              .headers(headers())
+              .header("If-None-Match", "#{etag}"))
+              .exec(session => session.remove("etag"))
+          }
+      }
+  }
+
   def getFileTargetPlatformScenario(): ScenarioBuilder = {
     scenario("RegistryAPI: Get Manifest File")
       .repeat(1000) {
@@ -0,0 +1,138 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.eclipse.openvsx.accesstoken.AccessTokenService;
+import org.eclipse.openvsx.entities.PersonalAccessToken;
+import org.eclipse.openvsx.entities.Tier;
+import org.eclipse.openvsx.entities.TierType;
+import org.eclipse.openvsx.ratelimit.config.RateLimitFilterProperties;
+import org.eclipse.openvsx.ratelimit.config.RateLimitProperties;
+import org.eclipse.openvsx.ratelimit.filter.RateLimitServletFilter;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the overhead that the {@link RateLimitServletFilter} adds to a request, without the
+ * round trip to the distributed bucket store: buckets are kept in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitServletFilterBenchmark {
+
+    @Param({
+            "getRemoteAddr()",
+            "(getHeader(\"X-Forwarded-For\")?: getRemoteAddr()).split(\",\")[0].trim()",
+            "getRemoteAddr().trim()"
+    })
+    public String ipAddressFunction;
+
+    @Param({"false", "true"})
+    public boolean withToken;
+
+    private RateLimitServletFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (request, response) -> {};
+
+    @Setup
+    public void setup() {
+        var repositories = mock(RepositoryService.class);
+        when(repositories.findAllCustomers()).thenReturn(List.of());
+        when(repositories.findTiersByTierType(TierType.FREE)).thenReturn(List.of(tier(TierType.FREE)));
+        when(repositories.findTiersByTierType(TierType.SAFETY)).thenReturn(List.of(tier(TierType.SAFETY)));
+        var tokenService = mock(AccessTokenService.class);
+        when(tokenService.useAccessToken(anyString())).thenReturn(new PersonalAccessToken());
+
+        var customerService = new CustomerService(repositories);
+        customerService.refreshCache(null);
+
+        var properties = new RateLimitProperties();
+        properties.setIpAddressFunction(ipAddressFunction);
+        var identityService = new IdentityService(
+                new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null)),
+                new DefaultListableBeanFactory(),
+                new TierService(repositories),
+                customerService,
+                tokenService,
+                properties,
+                Duration.ofMinutes(5),
+                10_000
+        );
+        identityService.init();
+
+        var filterProperties = new RateLimitFilterProperties();
+        filterProperties.setUrl("/api/.*");
+        filter = new RateLimitServletFilter(filterProperties, null, identityService, new LocalRateLimitService());
+
+        request = new MockHttpServletRequest("GET", "/api/redhat/java");
+        request.setRemoteAddr("192.168.10.20");
+        request.addHeader("X-Forwarded-For", "10.0.0.1, 192.168.10.20");
+        if (withToken) {
+            request.setParameter("token", "benchmark-token");
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    private static Tier tier(TierType tierType) {
+        var tier = new Tier();
+        tier.setName(tierType.name());
+        tier.setTierType(tierType);
+        tier.setCapacity(Integer.MAX_VALUE);
+        tier.setDuration(Duration.ofSeconds(1));
+        return tier;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filter() throws Exception {
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static class LocalRateLimitService extends RateLimitService {
+
+        private final Bucket bucket = Bucket.builder()
+                .addLimit(limit -> limit.capacity(Long.MAX_VALUE / 2).refillGreedy(Long.MAX_VALUE / 2, Duration.ofSeconds(1)))
+                .build();
+
+        LocalRateLimitService() {
+            super(null, new SimpleMeterRegistry(), Duration.ofSeconds(10), 10_000);
+        }
+
+        @Override
+        public BucketPair getBucket(ResolvedIdentity identity) {
+            return BucketPair.of(bucket, Long.MAX_VALUE / 2);
+        }
+    }
+}
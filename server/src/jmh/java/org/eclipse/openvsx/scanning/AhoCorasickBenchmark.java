@@ -0,0 +1,133 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.scanning;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
+
+/**
+ * Compares the keyword matching of the secret scanner before and after compiling the
+ * Aho-Corasick automaton into a transition table. The text files of real extension packages
+ * are scanned line by line, like {@link SecretDetector} does.
+ * <p>
+ * The extension packages are downloaded by the {@code downloadTestExtensions} task:
+ * {@code ./gradlew downloadTestExtensions jmh}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AhoCorasickBenchmark {
+
+    // A representative subset of the gitleaks rule keywords
+    private static final List<String> GITLEAKS_KEYWORDS = List.of(
+            "adafruit", "adobe", "age-secret-key-1", "airtable", "akia", "asia", "abia", "acca", "algolia",
+            "alibaba", "ltai", "asana", "atlassian", "jira", "confluence", "authress", "beamer", "bitbucket",
+            "bittrex", "clojars", "cloudflare", "codecov", "coinbase", "confluent", "contentful", "databricks",
+            "dapi", "datadog", "defined", "digitalocean", "dop_v1_", "doo_v1_", "dor_v1_", "discord", "doppler",
+            "dp.pt.", "droneci", "dropbox", "duffel", "dynatrace", "dt0c01", "easypost", "etsy", "facebook",
+            "fastly", "finicity", "finnhub", "flickr", "flutterwave", "frame.io", "freshbooks", "gcp", "aiza",
+            "ghp_", "gho_", "ghu_", "ghs_", "ghr_", "github_pat_", "glpat-", "gldt-", "glrt-", "gitter",
+            "gocardless", "grafana", "glc_", "glsa_", "hashicorp", "heroku", "hubspot", "huggingface", "hf_",
+            "infracost", "intercom", "jfrog", "jwt", "eyj", "kraken", "kucoin", "launchdarkly", "linear",
+            "lin_api_", "linkedin", "lob", "mailchimp", "mailgun", "mapbox", "mattermost", "messagebird",
+            "netlify", "newrelic", "nrak", "npm_", "nytimes", "okta", "openai", "sk-", "plaid", "planetscale",
+            "pscale_", "postman", "pmak-", "prefect", "pnu_", "pulumi", "pul-", "pypi-", "rapidapi", "readme",
+            "rdme_", "rubygems", "rubygems_", "scalingo", "tk-us-", "sendbird", "sendgrid", "sg.", "sendinblue",
+            "xkeysib-", "sentry", "shippo", "shpat_", "shpca_", "shppa_", "shpss_", "sidekiq", "slack", "xox",
+            "hooks.slack.com", "snyk", "square", "sq0atp-", "sq0csp-", "squarespace", "stripe", "sk_test",
+            "sk_live", "rk_live", "sumo", "telegram", "travis", "twilio", "twitch", "twitter", "typeform", "tfp_",
+            "vault", "hvs.", "hvb.", "yandex", "zendesk", "api_key", "apikey", "secret", "token", "password",
+            "passwd", "private key", "-----begin", "client_secret", "access_key", "auth");
+
+    @Param({
+            "build/test-extensions/eamodio.gitlens-10.1.1.vsix",
+            "build/test-extensions/vim-1.19.3.vsix"
+    })
+    public String extensionFile;
+
+    private List<String> lines;
+    private LegacyAhoCorasick legacyMatcher;
+    private AhoCorasick matcher;
+
+    @Setup
+    public void setup() throws IOException {
+        Set<String> keywords = new HashSet<>();
+        for (SecretRule rule : new SecretRuleLoader().load("classpath:scanning/secret-detection-custom-rules.yaml")) {
+            for (String keyword : rule.getKeywords()) {
+                keywords.add(keyword.toLowerCase());
+            }
+        }
+        keywords.addAll(GITLEAKS_KEYWORDS);
+
+        legacyMatcher = LegacyAhoCorasick.builder().addKeywords(keywords).build();
+        matcher = AhoCorasick.builder().ignoreCase().addKeywords(keywords).build();
+        lines = readTextLines(extensionFile);
+    }
+
+    private static List<String> readTextLines(String extensionFile) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (var zipFile = new ZipFile(extensionFile)) {
+            var entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                var entry = entries.nextElement();
+                var name = entry.getName().toLowerCase();
+                if (entry.isDirectory() || !(name.endsWith(".js") || name.endsWith(".json") || name.endsWith(".md"))) {
+                    continue;
+                }
+
+                try (var reader = new BufferedReader(new InputStreamReader(zipFile.getInputStream(entry), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        lines.add(line);
+                    }
+                }
+            }
+        }
+
+        return lines;
+    }
+
+    @Benchmark
+    public void legacyMatcher(Blackhole blackhole) {
+        for (String line : lines) {
+            for (LegacyAhoCorasick.Match match : legacyMatcher.search(line.toLowerCase())) {
+                blackhole.consume(match.getStartPos());
+            }
+        }
+    }
+
+    @Benchmark
+    public void compiledMatcher(Blackhole blackhole) {
+        AhoCorasick.MatchHandler handler = (keyword, startPos, endPos) -> {
+            blackhole.consume(startPos);
+            return true;
+        };
+        for (String line : lines) {
+            matcher.search(line, handler);
+        }
+    }
+}
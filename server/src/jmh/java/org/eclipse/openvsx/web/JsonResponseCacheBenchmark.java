@@ -0,0 +1,180 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.openvsx.json.ExtensionJson;
+import org.eclipse.openvsx.json.ExtensionReferenceJson;
+import org.eclipse.openvsx.json.UserJson;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the cache hit paths of an extension response: serializing the cached {@link ExtensionJson}
+ * (local cache), deserializing it from Redis and serializing it again (Redis cache), and writing the
+ * bytes kept by the {@link JsonResponseCache}. The response is written to an in-memory buffer. With
+ * {@code gzip} encoding, the object paths compress the JSON on the fly like the server's response
+ * compression, while the {@link JsonResponseCache} writes its precompressed variant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonResponseCacheBenchmark {
+
+    private static final String ETAG = "W/\"3f2a9c4e1b7d8a6c5e0f1a2b3c4d5e6f\"";
+
+    @Param({"10", "200"})
+    public int versions;
+
+    @Param({"identity", "gzip"})
+    public String acceptEncoding;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(64 * 1024);
+    private ExtensionJson json;
+    private byte[] redisValue;
+    private Jackson2JsonRedisSerializer<ExtensionJson> redisSerializer;
+    private JsonResponseCache cache;
+
+    @Setup
+    public void setup() {
+        json = extensionJson(versions);
+        redisSerializer = new Jackson2JsonRedisSerializer<>(ExtensionJson.class);
+        redisValue = redisSerializer.serialize(json);
+        cache = new JsonResponseCache(objectMapper, Duration.ofHours(1), DataSize.ofMegabytes(64));
+        cache.get(ETAG, () -> json);
+
+        var request = new MockHttpServletRequest("GET", "/api/redhat/java");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public int localObjectHit() throws IOException {
+        output.reset();
+        writeJson(json);
+        return output.size();
+    }
+
+    @Benchmark
+    public int redisObjectHit() throws IOException {
+        output.reset();
+        writeJson(redisSerializer.deserialize(redisValue));
+        return output.size();
+    }
+
+    @Benchmark
+    public int bytesHit() throws IOException {
+        output.reset();
+        var builder = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePublic()).eTag(ETAG);
+        var response = cache.toResponseEntity(builder, cache.get(ETAG, () -> json));
+        output.write(response.getBody());
+        return output.size();
+    }
+
+    private void writeJson(ExtensionJson value) throws IOException {
+        if (acceptEncoding.equals("gzip")) {
+            try (var gzip = new GZIPOutputStream(output)) {
+                objectMapper.writeValue(gzip, value);
+            }
+        } else {
+            objectMapper.writeValue(output, value);
+        }
+    }
+
+    private ExtensionJson extensionJson(int versions) {
+        var json = new ExtensionJson();
+        json.setNamespace("redhat");
+        json.setName("java");
+        json.setVersion("1.42.0");
+        json.setTargetPlatform("universal");
+        json.setDisplayName("Language Support for Java(TM) by Red Hat");
+        json.setNamespaceDisplayName("Red Hat");
+        json.setDescription("Java Linting, Intellisense, formatting, refactoring, Maven/Gradle support and more...");
+        json.setTimestamp("2025-05-06T12:00:00.000000Z");
+        json.setLicense("EPL-2.0");
+        json.setHomepage("https://github.com/redhat-developer/vscode-java");
+        json.setRepository("https://github.com/redhat-developer/vscode-java");
+        json.setBugs("https://github.com/redhat-developer/vscode-java/issues");
+        json.setGalleryColor("#d8ebff");
+        json.setGalleryTheme("light");
+        json.setCategories(List.of("Programming Languages", "Linters", "Formatters", "Snippets"));
+        json.setTags(List.of("java", "gradle", "maven", "formatter", "linters", "multi-root ready"));
+        json.setAverageRating(4.2);
+        json.setReviewCount(123L);
+        json.setDownloadCount(45_678_901);
+        json.setVerified(true);
+        json.setActive(true);
+
+        var user = new UserJson();
+        user.setLoginName("redhat-developer");
+        user.setProvider("github");
+        user.setHomepage("https://github.com/redhat-developer");
+        json.setPublishedBy(user);
+
+        var baseUrl = "https://open-vsx.org/api/redhat/java/";
+        var files = new LinkedHashMap<String, String>();
+        files.put("download", baseUrl + "1.42.0/file/redhat.java-1.42.0.vsix");
+        files.put("manifest", baseUrl + "1.42.0/file/package.json");
+        files.put("icon", baseUrl + "1.42.0/file/icon128.png");
+        files.put("readme", baseUrl + "1.42.0/file/README.md");
+        files.put("changelog", baseUrl + "1.42.0/file/CHANGELOG.md");
+        files.put("license", baseUrl + "1.42.0/file/LICENSE");
+        files.put("signature", baseUrl + "1.42.0/file/redhat.java-1.42.0.sigzip");
+        files.put("sha256", baseUrl + "1.42.0/file/redhat.java-1.42.0.sha256");
+        json.setFiles(files);
+
+        var allVersions = new LinkedHashMap<String, String>();
+        allVersions.put("latest", baseUrl + "latest");
+        for (var i = 0; i < versions; i++) {
+            var version = "1." + (versions - i) + ".0";
+            allVersions.put(version, baseUrl + version);
+        }
+        json.setAllVersions(allVersions);
+
+        var dependencies = new ArrayList<ExtensionReferenceJson>();
+        for (var extension : List.of("vscode-java-debug", "vscode-java-test", "vscode-maven")) {
+            var reference = new ExtensionReferenceJson();
+            reference.setNamespace("vscjava");
+            reference.setExtension(extension);
+            reference.setUrl("https://open-vsx.org/api/vscjava/" + extension);
+            dependencies.add(reference);
+        }
+        json.setDependencies(dependencies);
+        return json;
+    }
+}
@@ -338,9 +338,11 @@ public class ExtensionProcessor implements AutoCloseable {
     }
 
     public TempFile generateSha256Checksum(ExtensionVersion extVersion) throws IOException {
-        String hash;
-        try(var input = Files.newInputStream(extensionFile.getPath())) {
-            hash = DigestUtils.sha256Hex(input);
+        var hash = extensionFile.getSha256Hash();
+        if (hash == null) {
+            try (var input = Files.newInputStream(extensionFile.getPath())) {
+                hash = DigestUtils.sha256Hex(input);
+            }
         }
 
         var sha256File = new TempFile("extension_", ".sha256");
@@ -13,10 +13,14 @@ import com.google.common.io.ByteStreams;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.transaction.Transactional.TxType;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.openvsx.admin.RemoveFileJobRequest;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.ResultJson;
 import org.eclipse.openvsx.json.TargetPlatformVersionJson;
@@ -28,6 +32,7 @@ import org.eclipse.openvsx.search.SearchUtilService;
 import org.eclipse.openvsx.util.*;
 import org.jobrunr.scheduling.JobRequestScheduler;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
@@ -35,6 +40,7 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.security.DigestInputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -55,6 +61,7 @@ public class ExtensionService {
     private final JobRequestScheduler scheduler;
     private final ExtensionScanService scanService;
     private final ExtensionScanPersistenceService scanPersistenceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${ovsx.publishing.max-content-size:" + MAX_CONTENT_SIZE + "}")
     int maxContentSize;
@@ -68,7 +75,8 @@ public class ExtensionService {
             PublishExtensionVersionHandler publishHandler,
             JobRequestScheduler scheduler,
             ExtensionScanService scanService,
-            ExtensionScanPersistenceService scanPersistenceService
+            ExtensionScanPersistenceService scanPersistenceService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.entityManager = entityManager;
         this.repositories = repositories;
@@ -79,6 +87,7 @@ public class ExtensionService {
         this.scheduler = scheduler;
         this.scanService = scanService;
         this.scanPersistenceService = scanPersistenceService;
+        this.eventPublisher = eventPublisher;
     }
 
     // For testing only
@@ -164,7 +173,9 @@ public class ExtensionService {
     }
 
     private TempFile createExtensionFile(InputStream content) {
-        try (var input = ByteStreams.limit(new BufferedInputStream(content), maxContentSize + 1)) {
+        // hash the package while it is written, so it doesn't need to be read again for the checksum
+        var digest = DigestUtils.getSha256Digest();
+        try (var input = new DigestInputStream(ByteStreams.limit(new BufferedInputStream(content), maxContentSize + 1), digest)) {
             long size;
             var extensionFile = new TempFile("extension_", ".vsix");
             try(var out = Files.newOutputStream(extensionFile.getPath())) {
@@ -177,6 +188,7 @@ public class ExtensionService {
                 throw new ErrorResultException("The extension package exceeds the size limit of " + maxSize + ".", HttpStatus.PAYLOAD_TOO_LARGE);
             }
 
+            extensionFile.setSha256Hash(Hex.encodeHexString(digest.digest()));
             return extensionFile;
         } catch (IOException e) {
             throw new ErrorResultException("Failed to read extension file", e);
@@ -189,9 +201,15 @@ public class ExtensionService {
      */
     @Transactional(TxType.REQUIRED)
     public void updateExtension(Extension extension) {
+        // the latest versions are computed from the database, so pending changes of the versions are flushed first.
+        // They are updated before the search entry, which reads the latest version from the precomputed table.
+        entityManager.flush();
+        repositories.updateLatestVersions(extension);
+
         cache.evictNamespaceDetails(extension);
         cache.evictLatestExtensionVersion(extension);
         cache.evictExtensionJsons(extension);
+        cache.evictExtensionQueries(extension);
 
         if (extension.getVersions().stream().anyMatch(ExtensionVersion::isActive)) {
             // There is at least one active version => activate the extension
@@ -216,6 +234,7 @@ public class ExtensionService {
         for (var version : versions) {
             version.setActive(true);
             affectedExtensions.add(version.getExtension());
+            eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.VERSION_ACTIVATED, version));
         }
         for (var extension : affectedExtensions) {
             updateExtension(extension);
@@ -284,6 +303,7 @@ public class ExtensionService {
 
         entityManager.remove(extension);
         search.removeSearchEntry(extension);
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.EXTENSION_DELETED, extension));
 
         var result = ResultJson.success("Deleted " + NamingUtil.toExtensionId(extension));
         logs.logAction(user, result);
@@ -295,6 +315,7 @@ public class ExtensionService {
         removeExtensionVersion(extVersion);
         extension.getVersions().remove(extVersion);
         updateExtension(extension);
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.VERSION_DELETED, extVersion));
 
         var result = ResultJson.success("Deleted " + NamingUtil.toLogFormat(extVersion));
         logs.logAction(user, result);
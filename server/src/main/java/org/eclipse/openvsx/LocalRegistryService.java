@@ -15,6 +15,8 @@ import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.accesstoken.AccessTokenService;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.*;
@@ -32,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -68,6 +71,7 @@ public class LocalRegistryService implements IExtensionRegistry {
     private final CacheService cache;
     private final ExtensionVersionIntegrityService integrityService;
     private final SimilarityCheckService similarityCheckService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LocalRegistryService(
             EntityManager entityManager,
@@ -82,7 +86,8 @@ public class LocalRegistryService implements IExtensionRegistry {
             EclipseService eclipse,
             CacheService cache,
             ExtensionVersionIntegrityService integrityService,
-            @Nullable SimilarityCheckService similarityCheckService
+            @Nullable SimilarityCheckService similarityCheckService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.entityManager = entityManager;
         this.repositories = repositories;
@@ -97,6 +102,7 @@ public class LocalRegistryService implements IExtensionRegistry {
         this.cache = cache;
         this.integrityService = integrityService;
         this.similarityCheckService = similarityCheckService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Value("${ovsx.webui.url:}")
@@ -227,10 +233,12 @@ public class LocalRegistryService implements IExtensionRegistry {
 
         if (resource == null)
             throw new NotFoundException();
-        if (resource.getType().equals(DOWNLOAD))
+
+        var response = storageUtil.getFileResponse(resource);
+        if (resource.getType().equals(DOWNLOAD) && storageUtil.isDownload(response))
             storageUtil.increaseDownloadCount(resource);
 
-        return storageUtil.getFileResponse(resource);
+        return response;
     }
 
     public boolean isType (String fileName){
@@ -726,6 +734,8 @@ public class LocalRegistryService implements IExtensionRegistry {
         search.updateSearchEntry(extension);
         cache.evictExtensionJsons(extension);
         cache.evictLatestExtensionVersion(extension);
+        cache.evictExtensionQueries(extension);
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.REVIEWS_UPDATED, extension));
         return ResultJson.success("Added review for " + NamingUtil.toExtensionId(extension));
     }
 
@@ -753,6 +763,8 @@ public class LocalRegistryService implements IExtensionRegistry {
         search.updateSearchEntry(extension);
         cache.evictExtensionJsons(extension);
         cache.evictLatestExtensionVersion(extension);
+        cache.evictExtensionQueries(extension);
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.REVIEWS_UPDATED, extension));
         return ResultJson.success("Deleted review for " + NamingUtil.toExtensionId(extension));
     }
 
@@ -24,6 +24,8 @@ import org.eclipse.openvsx.json.*;
 import org.eclipse.openvsx.search.ISearchService;
 import org.eclipse.openvsx.search.SortBy;
 import org.eclipse.openvsx.util.*;
+import org.eclipse.openvsx.web.DeepEtagService;
+import org.eclipse.openvsx.web.JsonResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.CacheControl;
@@ -39,6 +41,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.eclipse.openvsx.util.TargetPlatform.*;
 
@@ -54,15 +57,21 @@ public class RegistryAPI {
     private final LocalRegistryService local;
     private final UpstreamRegistryService upstream;
     private final UserService users;
+    private final DeepEtagService etags;
+    private final JsonResponseCache jsonResponses;
 
     public RegistryAPI(
             LocalRegistryService local,
             UpstreamRegistryService upstream,
-            UserService users
+            UserService users,
+            DeepEtagService etags,
+            JsonResponseCache jsonResponses
     ) {
         this.local = local;
         this.upstream = upstream;
         this.users = users;
+        this.etags = etags;
+        this.jsonResponses = jsonResponses;
     }
 
     protected Iterable<IExtensionRegistry> getRegistries() {
@@ -149,28 +158,52 @@ public class RegistryAPI {
     @Operation()
     @ApiResponse(
             responseCode = "200",
-            description = "The namespace details are returned in JSON format"
+            description = "The namespace details are returned in JSON format",
+            content = @Content(schema = @Schema(implementation = NamespaceDetailsJson.class))
     )
     @ApiResponse(
             responseCode = "404",
             description = "The specified namespace could not be found",
             content = @Content()
     )
-    public ResponseEntity<NamespaceDetailsJson> getNamespaceDetails(
+    public ResponseEntity<byte[]> getNamespaceDetails(
             @PathVariable @Parameter(description = "Namespace name", example = "devsense")
             String namespace
     ) {
+        var cacheControl = CacheControl.noCache().cachePublic();
+        var etag = etags.getNamespaceDetailsEtag(namespace);
         for (var registry : getRegistries()) {
             try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.noCache().cachePublic())
-                        .body(registry.getNamespaceDetails(namespace));
+                return ok(registry, etag, cacheControl, () -> registry.getNamespaceDetails(namespace));
             } catch (NotFoundException exc) {
                 // Try the next registry
             }
         }
         var json = NamespaceDetailsJson.error(namespaceNotFoundMessage(namespace));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+        return jsonResponses.toResponseEntity(ResponseEntity.status(HttpStatus.NOT_FOUND), jsonResponses.serialize(json));
+    }
+
+    private ResponseEntity<byte[]> ok(IExtensionRegistry registry, String etag, CacheControl cacheControl, Supplier<?> json) {
+        var builder = ResponseEntity.ok().cacheControl(cacheControl);
+        if (registry != local) {
+            // the ETag describes the local extension, upstream responses are neither cached nor tagged by it
+            return jsonResponses.toResponseEntity(builder, jsonResponses.serialize(json.get()));
+        }
+
+        // the local registry may not serve every request for an extension it has, e.g. other versions,
+        // so the response is resolved (usually from the cache) before the request is checked
+        var response = jsonResponses.get(etag, json);
+        if (etags.isNotModified(etag)) {
+            return notModified(etag, cacheControl);
+        }
+        return jsonResponses.toResponseEntity(builder.eTag(etag), response);
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .build();
     }
 
     private String extensionNotFoundMessage(String extension) {
@@ -232,30 +265,31 @@ public class RegistryAPI {
     @Operation(summary = "Provides metadata of the latest version of an extension")
     @ApiResponse(
         responseCode = "200",
-        description = "The extension metadata are returned in JSON format"
+        description = "The extension metadata are returned in JSON format",
+        content = @Content(schema = @Schema(implementation = ExtensionJson.class))
     )
     @ApiResponse(
         responseCode = "404",
         description = "The specified extension could not be found",
         content = @Content()
     )
-    public ResponseEntity<ExtensionJson> getExtension(
+    public ResponseEntity<byte[]> getExtension(
             @PathVariable @Parameter(description = "Extension namespace", example = "rust-lang")
             String namespace,
             @PathVariable @Parameter(description = "Extension name", example = "rust-analyzer")
             String extension
     ) {
+        var cacheControl = CacheControl.noCache().cachePublic();
+        var etag = etags.getExtensionEtag(namespace, extension);
         for (var registry : getRegistries()) {
             try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.noCache().cachePublic())
-                        .body(registry.getExtension(namespace, extension, null));
+                return ok(registry, etag, cacheControl, () -> registry.getExtension(namespace, extension, null));
             } catch (NotFoundException exc) {
                 // Try the next registry
             }
         }
         var json = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toExtensionId(namespace, extension)));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+        return jsonResponses.toResponseEntity(ResponseEntity.status(HttpStatus.NOT_FOUND), jsonResponses.serialize(json));
     }
 
     @GetMapping(
@@ -266,14 +300,15 @@ public class RegistryAPI {
     @Operation(summary = "Provides metadata of the latest version of an extension")
     @ApiResponse(
         responseCode = "200",
-        description = "The extension metadata are returned in JSON format"
+        description = "The extension metadata are returned in JSON format",
+        content = @Content(schema = @Schema(implementation = ExtensionJson.class))
     )
     @ApiResponse(
         responseCode = "404",
         description = "The specified extension could not be found",
         content = @Content()
     )
-    public ResponseEntity<ExtensionJson> getExtension(
+    public ResponseEntity<byte[]> getExtension(
             @PathVariable @Parameter(description = "Extension namespace", example = "Dart-Code")
             String namespace,
             @PathVariable @Parameter(description = "Extension name", example = "flutter")
@@ -292,17 +327,17 @@ public class RegistryAPI {
             )
             CharSequence targetPlatform
     ) {
+        var cacheControl = CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic();
+        var etag = etags.getExtensionEtag(namespace, extension);
         for (var registry : getRegistries()) {
             try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
-                        .body(registry.getExtension(namespace, extension, targetPlatform.toString()));
+                return ok(registry, etag, cacheControl, () -> registry.getExtension(namespace, extension, targetPlatform.toString()));
             } catch (NotFoundException exc) {
                 // Try the next registry
             }
         }
         var json = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, targetPlatform.toString(), null)));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+        return jsonResponses.toResponseEntity(ResponseEntity.status(HttpStatus.NOT_FOUND), jsonResponses.serialize(json));
     }
 
     @GetMapping(
@@ -313,14 +348,15 @@ public class RegistryAPI {
     @Operation(summary = "Provides metadata of a specific version of an extension")
     @ApiResponse(
         responseCode = "200",
-        description = "The extension metadata are returned in JSON format"
+        description = "The extension metadata are returned in JSON format",
+        content = @Content(schema = @Schema(implementation = ExtensionJson.class))
     )
     @ApiResponse(
         responseCode = "404",
         description = "The specified extension could not be found",
         content = @Content()
     )
-    public ResponseEntity<ExtensionJson> getExtension(
+    public ResponseEntity<byte[]> getExtension(
             @PathVariable @Parameter(description = "Extension namespace", example = "TabNine")
             String namespace,
             @PathVariable @Parameter(description = "Extension name", example = "tabnine-vscode")
@@ -328,17 +364,17 @@ public class RegistryAPI {
             @PathVariable @Parameter(description = "Extension version", example = "3.172.0")
             String version
     ) {
+        var cacheControl = CacheControl.noCache().cachePublic();
+        var etag = etags.getExtensionEtag(namespace, extension);
         for (var registry : getRegistries()) {
             try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.noCache().cachePublic())
-                        .body(registry.getExtension(namespace, extension, null, version));
+                return ok(registry, etag, cacheControl, () -> registry.getExtension(namespace, extension, null, version));
             } catch (NotFoundException exc) {
                 // Try the next registry
             }
         }
         var json = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, version)));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+        return jsonResponses.toResponseEntity(ResponseEntity.status(HttpStatus.NOT_FOUND), jsonResponses.serialize(json));
     }
 
     @GetMapping(
@@ -349,14 +385,15 @@ public class RegistryAPI {
     @Operation(summary = "Provides metadata of a specific version of an extension")
     @ApiResponse(
         responseCode = "200",
-        description = "The extension metadata are returned in JSON format"
+        description = "The extension metadata are returned in JSON format",
+        content = @Content(schema = @Schema(implementation = ExtensionJson.class))
     )
     @ApiResponse(
         responseCode = "404",
         description = "The specified extension could not be found",
         content = @Content()
     )
-    public ResponseEntity<ExtensionJson> getExtension(
+    public ResponseEntity<byte[]> getExtension(
             @PathVariable @Parameter(description = "Extension namespace", example = "julialang")
             String namespace,
             @PathVariable @Parameter(description = "Extension name", example = "language-julia")
@@ -377,17 +414,17 @@ public class RegistryAPI {
             @PathVariable @Parameter(description = "Extension version", example = "1.124.2")
             String version
     ) {
+        var cacheControl = CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic();
+        var etag = etags.getExtensionEtag(namespace, extension);
         for (var registry : getRegistries()) {
             try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
-                        .body(registry.getExtension(namespace, extension, targetPlatform, version));
+                return ok(registry, etag, cacheControl, () -> registry.getExtension(namespace, extension, targetPlatform, version));
             } catch (NotFoundException exc) {
                 // Try the next registry
             }
         }
         var json = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, targetPlatform, version)));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+        return jsonResponses.toResponseEntity(ResponseEntity.status(HttpStatus.NOT_FOUND), jsonResponses.serialize(json));
     }
 
     @GetMapping(
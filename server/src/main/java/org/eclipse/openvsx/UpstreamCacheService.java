@@ -0,0 +1,323 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.Nullable;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.cache.FilesCacheKeyGenerator;
+import org.eclipse.openvsx.storage.StorageUtilService;
+import org.eclipse.openvsx.util.FileUtil;
+import org.eclipse.openvsx.util.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Pull-through cache for the upstream registry.
+ * <p>
+ * JSON responses are kept for a time-to-live and revalidated with {@code If-None-Match} and
+ * {@code If-Modified-Since} afterwards. Files are downloaded to the cache directory on first
+ * access and served from there. Concurrent misses for the same response or file result in a
+ * single upstream request, which runs outside of the cache so that slow downloads don't block
+ * other cache entries.
+ */
+@Component
+public class UpstreamCacheService {
+
+    protected final Logger logger = LoggerFactory.getLogger(UpstreamCacheService.class);
+
+    private static final Map<String, String> FILE_EXTENSIONS = Map.of(
+            MediaType.IMAGE_PNG_VALUE, ".png",
+            MediaType.IMAGE_JPEG_VALUE, ".jpg",
+            MediaType.IMAGE_GIF_VALUE, ".gif",
+            "image/svg+xml", ".svg",
+            MediaType.TEXT_MARKDOWN_VALUE, ".md",
+            MediaType.TEXT_PLAIN_VALUE, ".txt",
+            MediaType.APPLICATION_JSON_VALUE, ".json",
+            MediaType.APPLICATION_XML_VALUE, ".xml",
+            "application/zip", ".zip",
+            MediaType.APPLICATION_OCTET_STREAM_VALUE, ".bin"
+    );
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<Object, Object> upstreamFileCache;
+    private final FilesCacheKeyGenerator filesCacheKeyGenerator;
+    private final StorageUtilService storageUtil;
+    private final Duration timeToLive;
+    private final boolean cacheFiles;
+    private final Cache<String, CachedResponse> responses;
+    private final Map<String, CompletableFuture<CachedResponse>> pendingResponses = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Path>> pendingFiles = new ConcurrentHashMap<>();
+
+    public UpstreamCacheService(
+            RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            Cache<Object, Object> upstreamFileCache,
+            FilesCacheKeyGenerator filesCacheKeyGenerator,
+            StorageUtilService storageUtil,
+            @Value("${ovsx.upstream.cache.ttl:PT5M}") Duration timeToLive,
+            @Value("${ovsx.upstream.cache.max-stale:PT24H}") Duration maxStale,
+            @Value("${ovsx.upstream.cache.max-memory-size:64MB}") DataSize maxMemorySize,
+            @Value("${ovsx.upstream.cache.files:true}") boolean cacheFiles
+    ) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.upstreamFileCache = upstreamFileCache;
+        this.filesCacheKeyGenerator = filesCacheKeyGenerator;
+        this.storageUtil = storageUtil;
+        this.timeToLive = timeToLive;
+        this.cacheFiles = cacheFiles;
+        // stale responses are kept until they can be revalidated
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(maxStale)
+                .maximumWeight(maxMemorySize.toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    public boolean isCacheFiles() {
+        return cacheFiles;
+    }
+
+    /**
+     * Sends a GET request to the upstream registry, or returns the cached response.
+     */
+    public <T> T getForObject(String urlTemplate, Class<T> responseType, Map<String, ?> uriVariables) {
+        var url = restTemplate.getUriTemplateHandler().expand(urlTemplate, uriVariables);
+        return exchange(RequestEntity.get(url).build(), responseType);
+    }
+
+    /**
+     * Sends the request to the upstream registry, or returns the cached response.
+     * The headers of the request are part of the cache key, callers should only pass
+     * the headers that select the response.
+     */
+    public <T> T exchange(RequestEntity<?> request, Class<T> responseType) {
+        var key = getCacheKey(request);
+        var cached = responses.getIfPresent(key);
+        if (cached == null || !cached.isFresh(timeToLive)) {
+            cached = fetchOnce(key, request, cached);
+        }
+
+        try {
+            return objectMapper.readValue(cached.body(), responseType);
+        } catch (IOException e) {
+            throw new RestClientException("Failed to read upstream response " + request.getUrl(), e);
+        }
+    }
+
+    private String getCacheKey(RequestEntity<?> request) {
+        var key = request.getMethod() + " " + request.getUrl();
+        if (!request.getHeaders().isEmpty()) {
+            var headers = new TreeMap<String, List<String>>();
+            request.getHeaders().forEach((name, values) -> headers.put(name.toLowerCase(), values));
+            key += " " + headers;
+        }
+
+        var body = request.getBody();
+        if (body == null) {
+            return key;
+        }
+
+        try {
+            return key + " " + objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new RestClientException("Failed to write upstream request " + request.getUrl(), e);
+        }
+    }
+
+    private CachedResponse fetchOnce(String key, RequestEntity<?> request, @Nullable CachedResponse stale) {
+        return once(pendingResponses, key, () -> {
+            try {
+                var response = fetch(request, stale);
+                responses.put(key, response);
+                return response;
+            } catch (RestClientException e) {
+                if (stale != null && !(e instanceof HttpClientErrorException)) {
+                    // upstream is not available, serve the stale response until the next attempt
+                    logger.warn("{} {}: serving stale response: {}", request.getMethod(), request.getUrl(), e.getMessage());
+                    return stale;
+                }
+
+                responses.invalidate(key);
+                throw e;
+            } catch (RuntimeException | Error e) {
+                responses.invalidate(key);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Runs the action once for concurrent callers with the same key, the other callers wait for its result.
+     */
+    private <T> T once(Map<String, CompletableFuture<T>> pending, String key, Supplier<T> action) {
+        var future = new CompletableFuture<T>();
+        var existing = pending.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            var result = action.get();
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // concurrent callers wait for the pending result, it must be completed in any case
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(key, future);
+        }
+    }
+
+    private CachedResponse fetch(RequestEntity<?> request, @Nullable CachedResponse stale) {
+        var headers = new HttpHeaders();
+        headers.addAll(request.getHeaders());
+        if (stale != null && stale.etag() != null) {
+            headers.setIfNoneMatch(stale.etag());
+        }
+        if (stale != null && stale.lastModified() > 0) {
+            headers.setIfModifiedSince(stale.lastModified());
+        }
+
+        var conditionalRequest = new RequestEntity<>(request.getBody(), headers, request.getMethod(), request.getUrl());
+        var response = restTemplate.exchange(conditionalRequest, byte[].class);
+        var now = System.currentTimeMillis();
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && stale != null) {
+            return stale.revalidated(now);
+        }
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            logger.debug("{} {}: {}", request.getMethod(), request.getUrl(), response.getStatusCode());
+            throw new NotFoundException();
+        }
+
+        var responseHeaders = response.getHeaders();
+        return new CachedResponse(response.getBody(), responseHeaders.getETag(), responseHeaders.getLastModified(), now);
+    }
+
+    /**
+     * Serves the upstream file from the cache directory, it is downloaded on first access.
+     *
+     * @param fileName name of the file, used to determine the content type.
+     *                 If it is {@code null}, the content type of the upstream response is used.
+     */
+    public ResponseEntity<StreamingResponseBody> getFile(String urlTemplate, Map<String, ?> uriVariables, @Nullable String fileName) {
+        var url = restTemplate.getUriTemplateHandler().expand(urlTemplate, uriVariables);
+        var key = url.toString();
+        var path = (Path) upstreamFileCache.getIfPresent(key);
+        if (path == null) {
+            // the download doesn't run in the cache's compute, which would block other entries of the cache
+            path = once(pendingFiles, key, () -> {
+                var downloaded = download(url, fileName);
+                upstreamFileCache.put(key, downloaded);
+                return downloaded;
+            });
+        }
+
+        return storageUtil.getFileResponse(path);
+    }
+
+    private Path download(URI url, @Nullable String fileName) {
+        return restTemplate.execute(url, HttpMethod.GET, null, response -> {
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new NotFoundException();
+            }
+
+            var fileExtension = getFileExtension(fileName, response.getHeaders().getContentType());
+            var path = filesCacheKeyGenerator.generateCachedUpstreamPath(url.toString(), fileExtension);
+            FileUtil.writeSync(path, p -> {
+                try {
+                    // write to a temporary file first, a partially written file must not be served
+                    var tempFile = Files.createTempFile(p.getParent(), "upstream_", ".tmp");
+                    try (var in = response.getBody()) {
+                        Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                        Files.move(tempFile, p, StandardCopyOption.ATOMIC_MOVE);
+                    } finally {
+                        Files.deleteIfExists(tempFile);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            return path;
+        });
+    }
+
+    private String getFileExtension(@Nullable String fileName, @Nullable MediaType contentType) {
+        if (fileName != null) {
+            var extension = FilenameUtils.getExtension(fileName);
+            return StringUtils.isEmpty(extension) ? "" : "." + extension;
+        }
+        if (contentType == null) {
+            return "";
+        }
+
+        return FILE_EXTENSIONS.getOrDefault(contentType.getType() + "/" + contentType.getSubtype(), "");
+    }
+
+    private record CachedResponse(byte[] body, @Nullable String etag, long lastModified, long fetchedAt) {
+
+        boolean isFresh(Duration timeToLive) {
+            return System.currentTimeMillis() - fetchedAt < timeToLive.toMillis();
+        }
+
+        CachedResponse revalidated(long now) {
+            return new CachedResponse(body, etag, lastModified, now);
+        }
+    }
+}
@@ -53,15 +53,18 @@ public class UpstreamRegistryService implements IExtensionRegistry {
     private final RestTemplate restTemplate;
     private UpstreamProxyService proxy;
     private final UrlConfigService urlConfigService;
+    private final UpstreamCacheService upstreamCache;
 
     public UpstreamRegistryService(
             RestTemplate restTemplate,
             Optional<UpstreamProxyService> upstreamProxyService,
-            UrlConfigService urlConfigService
+            UrlConfigService urlConfigService,
+            UpstreamCacheService upstreamCache
     ) {
         this.restTemplate = restTemplate;
         upstreamProxyService.ifPresent(service -> this.proxy = service);
         this.urlConfigService = urlConfigService;
+        this.upstreamCache = upstreamCache;
     }
 
     public boolean isValid() {
@@ -70,10 +73,19 @@ public class UpstreamRegistryService implements IExtensionRegistry {
 
     @Override
     public NamespaceJson getNamespace(String namespace) {
+        return getNamespace(namespace, true);
+    }
+
+    /**
+     * @param cached whether the response may be served from the upstream cache.
+     *               Background jobs that apply upstream changes pass {@code false},
+     *               they must not act on cached or stale responses.
+     */
+    public NamespaceJson getNamespace(String namespace, boolean cached) {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/{namespace}";
         var uriVariables = Map.of(VAR_NAMESPACE, namespace);
         try {
-            var json = restTemplate.getForObject(urlTemplate, NamespaceJson.class, uriVariables);
+            var json = getForObject(urlTemplate, NamespaceJson.class, uriVariables, cached);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -89,7 +101,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/{namespace}/details";
         var uriVariables = Map.of(VAR_NAMESPACE, namespace);
         try {
-            return restTemplate.getForObject(urlTemplate, NamespaceDetailsJson.class, uriVariables);
+            return upstreamCache.getForObject(urlTemplate, NamespaceDetailsJson.class, uriVariables);
         } catch (RestClientException exc) {
             handleError(exc);
             throw exc;
@@ -100,11 +112,19 @@ public class UpstreamRegistryService implements IExtensionRegistry {
     public ResponseEntity<StreamingResponseBody> getNamespaceLogo(String namespaceName, String fileName) {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/{namespace}/logo/{file}";
         var uriVariables = Map.of(VAR_NAMESPACE, namespaceName, "file", fileName);
-        return getFile(urlTemplate, uriVariables);
+        return getFile(urlTemplate, uriVariables, fileName);
     }
 
     @Override
     public ExtensionJson getExtension(String namespace, String extension, String targetPlatform) {
+        return getExtension(namespace, extension, targetPlatform, true);
+    }
+
+    /**
+     * @param cached whether the response may be served from the upstream cache,
+     *               see {@link #getNamespace(String, boolean)}
+     */
+    public ExtensionJson getExtension(String namespace, String extension, String targetPlatform, boolean cached) {
         var urlTemplate = urlConfigService.getUpstreamUrl() + URL_EXTENSION_FRAGMENT;
         var uriVariables = new HashMap<String, String>();
         uriVariables.put(VAR_NAMESPACE, namespace);
@@ -115,7 +135,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
+            var json = getForObject(urlTemplate, ExtensionJson.class, uriVariables, cached);
             if(json != null) {
                 makeDownloadsCompatible(json);
                 if(proxy != null) {
@@ -149,7 +169,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
+            var json = upstreamCache.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
             if(json != null) {
                 makeDownloadsCompatible(json);
                 if(proxy != null) {
@@ -183,7 +203,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         uriVariables.put(VAR_SIZE, String.valueOf(size));
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, VersionsJson.class, uriVariables);
+            var json = upstreamCache.getForObject(urlTemplate, VersionsJson.class, uriVariables);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -210,7 +230,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         uriVariables.put(VAR_SIZE, String.valueOf(size));
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, VersionReferencesJson.class, uriVariables);
+            var json = upstreamCache.getForObject(urlTemplate, VersionReferencesJson.class, uriVariables);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -238,10 +258,23 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         urlTemplate += "/{version}/file/{fileName}";
         uriVariables.put("version", version);
         uriVariables.put("fileName", fileName);
-        return getFile(urlTemplate, uriVariables);
+        return getFile(urlTemplate, uriVariables, fileName);
     }
 
-    private ResponseEntity<StreamingResponseBody> getFile(String urlTemplate, Map<String, ?> uriVariables) {
+    private ResponseEntity<StreamingResponseBody> getFile(String urlTemplate, Map<String, ?> uriVariables, String fileName) {
+        if (upstreamCache.isCacheFiles()) {
+            try {
+                return upstreamCache.getFile(urlTemplate, uriVariables, fileName);
+            } catch(RestClientException exc) {
+                if(!isNotFound(exc)) {
+                    var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
+                    logger.error("GET " + url, exc);
+                }
+
+                throw new NotFoundException();
+            }
+        }
+
         var responseHandler = new ResponseExtractor<ResponseEntity<StreamingResponseBody>>() {
             @Override
             public ResponseEntity<StreamingResponseBody> extractData(ClientHttpResponse response) throws IOException {
@@ -319,7 +352,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, SearchResultJson.class, uriVariables);
+            var json = upstreamCache.getForObject(urlTemplate, SearchResultJson.class, uriVariables);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -355,7 +388,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, QueryResultJson.class, queryParams);
+            var json = upstreamCache.getForObject(urlTemplate, QueryResultJson.class, queryParams);
             return proxy != null ? proxy.rewriteUrls(json) : json;
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
@@ -368,6 +401,14 @@ public class UpstreamRegistryService implements IExtensionRegistry {
 
     @Override
     public QueryResultJson queryV2(QueryRequestV2 request) {
+        return queryV2(request, true);
+    }
+
+    /**
+     * @param cached whether the response may be served from the upstream cache,
+     *               see {@link #getNamespace(String, boolean)}
+     */
+    public QueryResultJson queryV2(QueryRequestV2 request, boolean cached) {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/v2/-/query";
         var queryParams = new HashMap<String,String>();
         queryParams.put("namespaceName", request.namespaceName());
@@ -391,7 +432,7 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            return restTemplate.getForObject(urlTemplate, QueryResultJson.class, queryParams);
+            return getForObject(urlTemplate, QueryResultJson.class, queryParams, cached);
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
                 var url = UriComponentsBuilder.fromUriString(urlTemplate).build(queryParams);
@@ -401,6 +442,12 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
     }
 
+    private <T> T getForObject(String urlTemplate, Class<T> responseType, Map<String, ?> uriVariables, boolean cached) {
+        return cached
+                ? upstreamCache.getForObject(urlTemplate, responseType, uriVariables)
+                : restTemplate.getForObject(urlTemplate, responseType, uriVariables);
+    }
+
     public String getPublicKey(String publicId) {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/public-key/{publicId}";
         var uriVariables = new HashMap<String, String>();
@@ -20,6 +20,7 @@ import org.apache.tika.mime.MediaType;
 import org.apache.tika.mime.MimeTypeException;
 import org.apache.tika.mime.MimeTypes;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.entities.Namespace;
 import org.eclipse.openvsx.entities.NamespaceMembership;
 import org.eclipse.openvsx.entities.UserData;
@@ -31,7 +32,7 @@ import org.eclipse.openvsx.security.OAuth2AttributesConfig;
 import org.eclipse.openvsx.storage.StorageUtilService;
 import org.eclipse.openvsx.util.*;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.stereotype.Component;
@@ -43,8 +44,6 @@ import java.nio.file.Files;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static org.eclipse.openvsx.cache.CacheService.CACHE_NAMESPACE_DETAILS_JSON;
-
 @Component
 public class UserService {
 
@@ -55,6 +54,7 @@ public class UserService {
     private final ExtensionValidator validator;
     private final ClientRegistrationRepository clientRegistrationRepository;
     private final OAuth2AttributesConfig attributesConfig;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserService(
             EntityManager entityManager,
@@ -63,7 +63,8 @@ public class UserService {
             CacheService cache,
             ExtensionValidator validator,
             @Autowired(required = false) ClientRegistrationRepository clientRegistrationRepository,
-            OAuth2AttributesConfig attributesConfig
+            OAuth2AttributesConfig attributesConfig,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.entityManager = entityManager;
         this.repositories = repositories;
@@ -72,6 +73,7 @@ public class UserService {
         this.validator = validator;
         this.clientRegistrationRepository = clientRegistrationRepository;
         this.attributesConfig = attributesConfig;
+        this.eventPublisher = eventPublisher;
     }
 
     public UserData findLoggedInUser() {
@@ -114,18 +116,19 @@ public class UserService {
     }
 
     @Transactional(rollbackOn = ErrorResultException.class)
-    @CacheEvict(value = { CACHE_NAMESPACE_DETAILS_JSON }, key="#namespace.name")
     public ResultJson removeNamespaceMember(Namespace namespace, UserData user) throws ErrorResultException {
         var membership = repositories.findMembership(user, namespace);
         if (membership == null) {
             throw new ErrorResultException("User " + user.getLoginName() + " is not a member of " + namespace.getName() + ".");
         }
         entityManager.remove(membership);
+        cache.evictNamespaceDetails(namespace);
+        cache.evictExtensionQueries(namespace);
+        eventPublisher.publishEvent(RegistryChangeEvent.namespaceUpdated(namespace.getName()));
         return ResultJson.success("Removed " + user.getLoginName() + " from namespace " + namespace.getName() + ".");
     }
 
     @Transactional(rollbackOn = ErrorResultException.class)
-    @CacheEvict(value = { CACHE_NAMESPACE_DETAILS_JSON }, key="#namespace.name")
     public ResultJson addNamespaceMember(Namespace namespace, UserData user, String role) {
         if (!(role.equals(NamespaceMembership.ROLE_OWNER)
                 || role.equals(NamespaceMembership.ROLE_CONTRIBUTOR))) {
@@ -137,6 +140,9 @@ public class UserService {
                 throw new ErrorResultException("User " + user.getLoginName() + " already has the role " + role + ".");
             }
             membership.setRole(role);
+            cache.evictNamespaceDetails(namespace);
+            cache.evictExtensionQueries(namespace);
+            eventPublisher.publishEvent(RegistryChangeEvent.namespaceUpdated(namespace.getName()));
             return ResultJson.success("Changed role of " + user.getLoginName() + " in " + namespace.getName() + " to " + role + ".");
         }
         membership = new NamespaceMembership();
@@ -144,11 +150,13 @@ public class UserService {
         membership.setUser(user);
         membership.setRole(role);
         entityManager.persist(membership);
+        cache.evictNamespaceDetails(namespace);
+        cache.evictExtensionQueries(namespace);
+        eventPublisher.publishEvent(RegistryChangeEvent.namespaceUpdated(namespace.getName()));
         return ResultJson.success("Added " + user.getLoginName() + " as " + role + " of " + namespace.getName() + ".");
     }
 
     @Transactional(rollbackOn = { ErrorResultException.class, NotFoundException.class })
-    @CacheEvict(value = { CACHE_NAMESPACE_DETAILS_JSON }, key="#details.name")
     public ResultJson updateNamespaceDetails(NamespaceDetailsJson details, UserData user) {
         var namespace = repositories.findNamespace(details.getName());
         if (namespace == null) {
@@ -189,11 +197,13 @@ public class UserService {
             namespace.setLogoStorageType(null);
         }
 
+        cache.evictNamespaceDetails(namespace);
+        cache.evictExtensionQueries(namespace);
+        eventPublisher.publishEvent(RegistryChangeEvent.namespaceUpdated(namespace.getName()));
         return ResultJson.success("Updated details for namespace " + details.getName());
     }
 
     @Transactional
-    @CacheEvict(value = { CACHE_NAMESPACE_DETAILS_JSON }, key="#namespaceName")
     public ResultJson updateNamespaceDetailsLogo(String namespaceName, MultipartFile file, UserData user) {
         var namespace = repositories.findNamespace(namespaceName);
         if (namespace == null) {
@@ -227,6 +237,9 @@ public class UserService {
             throw new ServerErrorException("Failed to update namespace logo", e);
         }
 
+        cache.evictNamespaceDetails(namespace);
+        cache.evictExtensionQueries(namespace);
+        eventPublisher.publishEvent(RegistryChangeEvent.namespaceUpdated(namespace.getName()));
         return ResultJson.success("Updated logo for namespace " + namespace.getName());
     }
 
@@ -264,6 +277,7 @@ public class UserService {
             }
             if (updated) {
                 cache.evictExtensionJsons(userData);
+                cache.evictExtensionQueries(userData);
             }
         }
 
@@ -26,6 +26,7 @@ import org.eclipse.openvsx.util.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -46,6 +47,8 @@ import static org.eclipse.openvsx.adapter.ExtensionQueryResult.Extension.FLAG_PR
 import static org.eclipse.openvsx.adapter.ExtensionQueryResult.ExtensionFile.*;
 import static org.eclipse.openvsx.adapter.ExtensionQueryResult.Property.*;
 import static org.eclipse.openvsx.adapter.ExtensionQueryResult.Statistic.*;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_EXTENSION_QUERY;
+import static org.eclipse.openvsx.cache.CacheService.GENERATOR_EXTENSION_QUERY;
 import static org.eclipse.openvsx.entities.FileResource.*;
 
 @Component
@@ -82,6 +85,7 @@ public class LocalVSCodeService implements IVSCodeService {
     }
 
     @Override
+    @Cacheable(value = CACHE_EXTENSION_QUERY, keyGenerator = GENERATOR_EXTENSION_QUERY)
     public ExtensionQueryResult extensionQuery(ExtensionQueryParam param, int defaultPageSize) {
         String targetPlatform;
         String queryString = null;
@@ -103,7 +107,7 @@ public class LocalVSCodeService implements IVSCodeService {
         } else {
             var filter = param.filters().get(0);
             extensionIds = new HashSet<>(filter.findCriteria(FILTER_EXTENSION_ID));
-            extensionNames = new HashSet<>(filter.findCriteria(FILTER_EXTENSION_NAME));
+            extensionNames = new LinkedHashSet<>(filter.findCriteria(FILTER_EXTENSION_NAME));
 
             queryString = filter.findCriterion(FILTER_SEARCH_TEXT);
             if (queryString == null)
@@ -124,13 +128,12 @@ public class LocalVSCodeService implements IVSCodeService {
         if (!extensionIds.isEmpty()) {
             extensionsList = repositories.findActiveExtensionsByPublicId(extensionIds, BuiltInExtensionUtil.getBuiltInNamespace());
         } else if (!extensionNames.isEmpty()) {
-            extensionsList = extensionNames.stream()
+            var extensionIdsByName = extensionNames.stream()
                     .map(NamingUtil::fromExtensionId)
                     .filter(Objects::nonNull)
                     .filter(extensionId -> !BuiltInExtensionUtil.isBuiltIn(extensionId.namespace()))
-                    .map(extensionId -> repositories.findActiveExtension(extensionId.extension(), extensionId.namespace()))
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+                    .toList();
+            extensionsList = repositories.findActiveExtensionsByNamespaceAndName(extensionIdsByName);
         } else if (!search.isEnabled()) {
             extensionsList = Collections.emptyList();
         } else {
@@ -323,11 +326,12 @@ public class LocalVSCodeService implements IVSCodeService {
             if (resource == null) {
                 throw new NotFoundException();
             }
-            if (resource.getType().equals(FileResource.DOWNLOAD)) {
+            var response = storageUtil.getFileResponse(resource);
+            if (resource.getType().equals(FileResource.DOWNLOAD) && storageUtil.isDownload(response)) {
                 storageUtil.increaseDownloadCount(resource);
             }
 
-            return storageUtil.getFileResponse(resource);
+            return response;
         } else if(asset.startsWith(FILE_WEB_RESOURCES + "/extension/")) {
             var name = asset.substring((FILE_WEB_RESOURCES.length() + 1));
             var extensionDownloadPath = webResources.getExtensionDownload(namespace, extensionName, targetPlatform, version);
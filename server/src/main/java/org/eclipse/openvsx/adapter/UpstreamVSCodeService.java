@@ -12,6 +12,7 @@ package org.eclipse.openvsx.adapter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.UpstreamCacheService;
 import org.eclipse.openvsx.UpstreamProxyService;
 import org.eclipse.openvsx.UrlConfigService;
 import org.eclipse.openvsx.util.HttpHeadersUtil;
@@ -44,21 +45,21 @@ public class UpstreamVSCodeService implements IVSCodeService {
 
     protected final Logger logger = LoggerFactory.getLogger(UpstreamVSCodeService.class);
 
-    private final RestTemplate restTemplate;
     private UpstreamProxyService proxy;
     private final RestTemplate nonRedirectingRestTemplate;
     private final UrlConfigService urlConfigService;
+    private final UpstreamCacheService upstreamCache;
 
     public UpstreamVSCodeService(
-            RestTemplate restTemplate,
             Optional<UpstreamProxyService> upstreamProxyService,
             RestTemplate nonRedirectingRestTemplate,
-            UrlConfigService urlConfigService
+            UrlConfigService urlConfigService,
+            UpstreamCacheService upstreamCache
     ) {
-        this.restTemplate = restTemplate;
         upstreamProxyService.ifPresent(service -> this.proxy = service);
         this.nonRedirectingRestTemplate = nonRedirectingRestTemplate;
         this.urlConfigService = urlConfigService;
+        this.upstreamCache = upstreamCache;
     }
 
     public boolean isValid() {
@@ -68,24 +69,17 @@ public class UpstreamVSCodeService implements IVSCodeService {
     @Override
     public ExtensionQueryResult extensionQuery(ExtensionQueryParam param, int defaultPageSize) {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/vscode/gallery/extensionquery";
-        var request = new RequestEntity<>(param, HttpHeadersUtil.getForwardedHeaders(), HttpMethod.POST, URI.create(urlTemplate));
-        ResponseEntity<ExtensionQueryResult> response;
+        // the response is cached for all clients, only the header that selects the API version is forwarded
+        var headers = HttpHeadersUtil.getForwardedHeaders(HttpHeaders.ACCEPT);
+        var request = new RequestEntity<>(param, headers, HttpMethod.POST, URI.create(urlTemplate));
+        ExtensionQueryResult json;
         try {
-            response = restTemplate.exchange(request, ExtensionQueryResult.class);
+            json = upstreamCache.exchange(request, ExtensionQueryResult.class);
         } catch(RestClientException exc) {
             throw propagateRestException(exc, request.getMethod(), urlTemplate, null);
         }
 
-        var statusCode = response.getStatusCode();
-        if(statusCode.is2xxSuccessful()) {
-            var json = response.getBody();
-            return proxy != null ? proxy.rewriteUrls(json) : json;
-        }
-        if(statusCode.isError() && statusCode != HttpStatus.NOT_FOUND) {
-            logger.error("POST {}: {}", urlTemplate, response);
-        }
-
-        throw new NotFoundException();
+        return proxy != null ? proxy.rewriteUrls(json) : json;
     }
 
     @Override
@@ -237,6 +231,14 @@ public class UpstreamVSCodeService implements IVSCodeService {
         urlBuilder.append("?targetPlatform={targetPlatform}");
         var urlTemplate = urlBuilder.toString();
         var method = HttpMethod.GET;
+        if(upstreamCache.isCacheFiles()) {
+            try {
+                return upstreamCache.getFile(urlTemplate, uriVariables, null);
+            } catch (RestClientException exc) {
+                throw propagateRestException(exc, method, urlTemplate, uriVariables);
+            }
+        }
+
         var responseHandler = new ResponseExtractor<ResponseEntity<StreamingResponseBody>>() {
             @Override
             public ResponseEntity<StreamingResponseBody> extractData(ClientHttpResponse response) throws IOException {
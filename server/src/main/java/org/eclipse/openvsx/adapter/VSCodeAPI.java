@@ -22,6 +22,7 @@ import org.eclipse.openvsx.util.ErrorResultException;
 import org.eclipse.openvsx.util.NotFoundException;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.UrlUtil;
+import org.eclipse.openvsx.web.DeepEtagService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.CacheControl;
@@ -52,15 +53,18 @@ public class VSCodeAPI {
     private final LocalVSCodeService local;
     private final UpstreamVSCodeService upstream;
     private final IExtensionQueryRequestHandler extensionQueryRequestHandler;
+    private final DeepEtagService etags;
 
     public VSCodeAPI(
             LocalVSCodeService local,
             UpstreamVSCodeService upstream,
-            IExtensionQueryRequestHandler extensionQueryRequestHandler
+            IExtensionQueryRequestHandler extensionQueryRequestHandler,
+            DeepEtagService etags
     ) {
         this.local = local;
         this.upstream = upstream;
         this.extensionQueryRequestHandler = extensionQueryRequestHandler;
+        this.etags = etags;
     }
 
     private Iterable<IVSCodeService> getVSCodeServices() {
@@ -343,23 +347,49 @@ public class VSCodeAPI {
             @PathVariable @Parameter(description = "Extension namespace", example = "malloydata") String namespaceName,
             @PathVariable @Parameter(description = "Extension name", example = "malloy-vscode") String extensionName
     ) {
+        var cacheControl = CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic();
         var extensionId = String.join(".", namespaceName, extensionName);
         var criterion = new ExtensionQueryParam.Criterion(ExtensionQueryParam.Criterion.FILTER_EXTENSION_NAME, extensionId);
         var filter = new ExtensionQueryParam.Filter(List.of(criterion), 0, 0, 0, 0);
         int flags = FLAG_INCLUDE_VERSIONS | FLAG_INCLUDE_ASSET_URI | FLAG_INCLUDE_VERSION_PROPERTIES | FLAG_INCLUDE_FILES | FLAG_INCLUDE_STATISTICS;
         var param = new ExtensionQueryParam(List.of(filter), flags);
-        var result = extensionQueryRequestHandler.getResult(param, 1, DEFAULT_PAGE_SIZE);
-        var extension = Optional.of(result)
+        var extension = getFirstExtension(extensionQueryRequestHandler.getResult(param, 1, DEFAULT_PAGE_SIZE));
+        if (extension == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        var response = ResponseEntity.ok().cacheControl(cacheControl);
+        // the ETag describes the local extension, the query handler may serve it from the upstream registry
+        // (e.g. when mirroring), so the response is resolved before the request is checked
+        if (isServedLocally(param, extension)) {
+            var etag = etags.getExtensionEtag(namespaceName, extensionName);
+            if (etags.isNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(cacheControl)
+                        .eTag(etag)
+                        .build();
+            }
+
+            response.eTag(etag);
+        }
+        return response.body(extension);
+    }
+
+    private boolean isServedLocally(ExtensionQueryParam param, ExtensionQueryResult.Extension extension) {
+        try {
+            // the local query result is usually cached, the query handler has just run it
+            return extension.equals(getFirstExtension(local.extensionQuery(param, DEFAULT_PAGE_SIZE)));
+        } catch (NotFoundException | ResponseStatusException exc) {
+            return false;
+        }
+    }
+
+    private ExtensionQueryResult.Extension getFirstExtension(ExtensionQueryResult result) {
+        return Optional.of(result)
                 .filter(r -> !r.results().isEmpty())
                 .map(r -> r.results().getFirst().extensions())
                 .filter(e -> !e.isEmpty())
                 .map(List::getFirst)
                 .orElse(null);
-
-        return extension != null
-                ? ResponseEntity.ok()
-                    .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
-                    .body(extension)
-                : ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
@@ -243,6 +243,24 @@ public class AdminAPI {
         }
     }
 
+    @PostMapping(
+        path = "/admin/check-latest-versions",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<ResultJson> checkLatestVersions() {
+        try {
+            var adminUser = admins.checkAdminUser();
+
+            admins.scheduleLatestVersionCheck();
+
+            var result = ResultJson.success("Scheduled latest version check");
+            logs.logAction(adminUser, result);
+            return ResponseEntity.ok(result);
+        } catch (ErrorResultException exc) {
+            return exc.toResponseEntity();
+        }
+    }
+
     @GetMapping(
         path = "/admin/extension/{namespaceName}/{extensionName}",
         produces = MediaType.APPLICATION_JSON_VALUE
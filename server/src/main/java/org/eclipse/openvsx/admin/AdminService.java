@@ -17,6 +17,8 @@ import org.eclipse.openvsx.ExtensionValidator;
 import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.accesstoken.AccessTokenService;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.*;
@@ -30,6 +32,7 @@ import org.eclipse.openvsx.util.*;
 import org.jobrunr.scheduling.JobRequestScheduler;
 import org.jobrunr.scheduling.cron.Cron;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -57,6 +60,7 @@ public class AdminService {
     private final MailService mail;
     private final LogService logs;
     private final ExtensionScanPersistenceService scanPersistenceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminService(
             RepositoryService repositories,
@@ -72,7 +76,8 @@ public class AdminService {
             JobRequestScheduler scheduler,
             MailService mail,
             LogService logs,
-            ExtensionScanPersistenceService scanPersistenceService
+            ExtensionScanPersistenceService scanPersistenceService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.repositories = repositories;
         this.extensions = extensions;
@@ -88,6 +93,7 @@ public class AdminService {
         this.mail = mail;
         this.logs = logs;
         this.scanPersistenceService = scanPersistenceService;
+        this.eventPublisher = eventPublisher;
     }
 
     @EventListener
@@ -138,6 +144,8 @@ public class AdminService {
 
         entityManager.remove(extension);
         search.removeSearchEntry(extension);
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.EXTENSION_DELETED, extension));
+        cache.evictExtensionQueries(extension);
         logs.logAction(admin, ResultJson.success("Deleted " + NamingUtil.toExtensionId(extension)));
     }
 
@@ -151,6 +159,7 @@ public class AdminService {
         removeExtensionVersion(extVersion);
         extension.getVersions().remove(extVersion);
         extensions.updateExtension(extension);
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.VERSION_DELETED, extVersion));
         logs.logAction(admin, ResultJson.success("Deleted " + NamingUtil.toLogFormat(extVersion)));
     }
 
@@ -233,6 +242,8 @@ public class AdminService {
 
         entityManager.remove(extension);
         search.removeSearchEntry(extension);
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.EXTENSION_DELETED, extension));
+        cache.evictExtensionQueries(extension);
 
         var result = ResultJson.success("Deleted " + NamingUtil.toExtensionId(extension));
         logs.logAction(admin, result);
@@ -299,6 +310,8 @@ public class AdminService {
         search.updateSearchEntry(extension);
         cache.evictExtensionJsons(extension);
         cache.evictLatestExtensionVersion(extension);
+        cache.evictExtensionQueries(extension);
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.REVIEWS_UPDATED, extension));
     }
 
     @Transactional(rollbackOn = ErrorResultException.class)
@@ -385,6 +398,10 @@ public class AdminService {
         scheduler.enqueue(new ChangeNamespaceJobRequest(json));
     }
     
+    public void scheduleLatestVersionCheck() {
+        scheduler.enqueue(new HandlerJobRequest<>(ExtensionLatestVersionCheckJobRequestHandler.class));
+    }
+
     public UserPublishInfoJson getUserPublishInfo(String provider, String loginName) {
         var user = repositories.findUserByLoginName(provider, loginName);
         if (user == null) {
@@ -446,6 +463,7 @@ public class AdminService {
             version.setActive(false);
             affectedExtensions.add(version.getExtension());
             deactivatedExtensionCount++;
+            eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.VERSION_DEACTIVATED, version));
         }
         
         // Update affected extensions
@@ -12,11 +12,14 @@ package org.eclipse.openvsx.admin;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.Namespace;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.SearchUtilService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.util.Streamable;
 import org.springframework.stereotype.Component;
 
@@ -30,17 +33,20 @@ public class ChangeNamespaceService {
     private final EntityManager entityManager;
     private final CacheService cache;
     private final SearchUtilService search;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ChangeNamespaceService(
             RepositoryService repositories,
             EntityManager entityManager,
             CacheService cache,
-            SearchUtilService search
+            SearchUtilService search,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.repositories = repositories;
         this.entityManager = entityManager;
         this.cache = cache;
         this.search = search;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -55,6 +61,8 @@ public class ChangeNamespaceService {
         for(var extension : extensions) {
             cache.evictExtensionJsons(extension);
             cache.evictLatestExtensionVersion(extension);
+            // the extension is gone from the old namespace, mirrors pick it up in the new namespace
+            eventPublisher.publishEvent(new RegistryChangeEvent(ChangeType.EXTENSION_DELETED, oldNamespace.getName(), extension.getName(), null, null));
         }
 
         if(createNewNamespace) {
@@ -72,8 +80,11 @@ public class ChangeNamespaceService {
             entityManager.remove(oldNamespace);
         }
 
-        cache.evictSitemap();
         cache.evictNamespaceDetails(oldNamespace);
+        cache.evictExtensionQueries(oldNamespace);
+        cache.evictExtensionQueries(newNamespace);
+        eventPublisher.publishEvent(RegistryChangeEvent.namespaceUpdated(oldNamespace.getName()));
+        eventPublisher.publishEvent(RegistryChangeEvent.namespaceUpdated(newNamespace.getName()));
         search.updateSearchEntries(extensions.toList());
     }
 
@@ -0,0 +1,77 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.admin;
+
+import org.eclipse.openvsx.migration.HandlerJobRequest;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.jobs.context.JobRunrDashboardLogger;
+import org.jobrunr.jobs.lambdas.JobRequestHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the precomputed latest versions of all extensions with the versions they are computed from
+ * and updates the latest versions of extensions that drifted.
+ */
+@Component
+public class ExtensionLatestVersionCheckJobRequestHandler implements JobRequestHandler<HandlerJobRequest<?>> {
+
+    private static final int BATCH_SIZE = 1000;
+
+    protected final Logger logger = new JobRunrDashboardLogger(LoggerFactory.getLogger(ExtensionLatestVersionCheckJobRequestHandler.class));
+
+    private final RepositoryService repositories;
+    private final TransactionTemplate transactions;
+
+    public ExtensionLatestVersionCheckJobRequestHandler(RepositoryService repositories, TransactionTemplate transactions) {
+        this.repositories = repositories;
+        this.transactions = transactions;
+    }
+
+    @Override
+    @Job(name = "Check latest extension versions", retries = 0)
+    public void run(HandlerJobRequest<?> jobRequest) throws Exception {
+        var checked = 0;
+        var repaired = 0;
+        var afterId = 0L;
+        var extensionIds = repositories.findExtensionIds(afterId, BATCH_SIZE);
+        while (!extensionIds.isEmpty()) {
+            for (var extensionId : extensionIds) {
+                checked++;
+                if (check(extensionId)) {
+                    repaired++;
+                }
+            }
+
+            afterId = extensionIds.get(extensionIds.size() - 1);
+            extensionIds = repositories.findExtensionIds(afterId, BATCH_SIZE);
+        }
+
+        logger.info("Checked latest versions of {} extensions, repaired {}", checked, repaired);
+    }
+
+    private boolean check(long extensionId) {
+        var expected = repositories.computeLatestVersionIds(extensionId);
+        var actual = repositories.findLatestVersionIds(extensionId);
+        if (expected.equals(actual)) {
+            return false;
+        }
+
+        logger.warn("Latest versions of extension {} drifted, expected {} but found {}", extensionId, expected, actual);
+        transactions.executeWithoutResult(status -> repositories.updateLatestVersions(extensionId));
+        return true;
+    }
+}
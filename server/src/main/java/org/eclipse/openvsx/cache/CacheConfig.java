@@ -19,12 +19,15 @@ import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
 import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
 import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.openvsx.adapter.ExtensionQueryResult;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.json.ExtensionJson;
 import org.eclipse.openvsx.json.NamespaceDetailsJson;
 import org.eclipse.openvsx.search.SearchResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
@@ -40,16 +43,23 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.*;
+import org.springframework.util.unit.DataSize;
 import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPool;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.OptionalLong;
 import java.util.Properties;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.eclipse.openvsx.cache.CacheService.*;
@@ -63,29 +73,60 @@ public class CacheConfig {
     @Bean
     public Cache<Object, Object> extensionCache(
             @Value("${ovsx.caching.files-extension.tti:PT1H}") Duration timeToIdle,
-            @Value("${ovsx.caching.files-extension.max-size:20}") long maxSize
+            @Value("${ovsx.caching.files-extension.max-size:20}") long maxSize,
+            @Value("${ovsx.caching.files-extension.max-disk-size:0B}") DataSize maxDiskSize
     ) {
-        return Caffeine.newBuilder()
-                .removalListener(new ExpiredFileListener())
-                .expireAfterAccess(timeToIdle)
-                .maximumSize(maxSize)
-                .scheduler(Scheduler.systemScheduler())
-                .recordStats()
-                .build();
+        return createFileCache(timeToIdle, maxSize, maxDiskSize);
     }
 
     @Bean
     public Cache<Object, Object> webResourceCache(
             @Value("${ovsx.caching.files-webresource.tti:PT1H}") Duration timeToIdle,
-            @Value("${ovsx.caching.files-webresource.max-size:150}") long maxSize
+            @Value("${ovsx.caching.files-webresource.max-size:150}") long maxSize,
+            @Value("${ovsx.caching.files-webresource.max-disk-size:0B}") DataSize maxDiskSize
     ) {
-        return Caffeine.newBuilder()
+        return createFileCache(timeToIdle, maxSize, maxDiskSize);
+    }
+
+    @Bean
+    public Cache<Object, Object> upstreamFileCache(
+            @Value("${ovsx.caching.files-upstream.tti:PT24H}") Duration timeToIdle,
+            @Value("${ovsx.caching.files-upstream.max-size:500}") long maxSize,
+            @Value("${ovsx.caching.files-upstream.max-disk-size:0B}") DataSize maxDiskSize
+    ) {
+        return createFileCache(timeToIdle, maxSize, maxDiskSize);
+    }
+
+    /**
+     * Creates a cache for files on disk. If a maximum disk size is set, the cache is bounded by
+     * the total size of its files, otherwise by the number of files.
+     */
+    private Cache<Object, Object> createFileCache(Duration timeToIdle, long maxSize, DataSize maxDiskSize) {
+        var builder = Caffeine.newBuilder()
                 .removalListener(new ExpiredFileListener())
                 .expireAfterAccess(timeToIdle)
-                .maximumSize(maxSize)
                 .scheduler(Scheduler.systemScheduler())
-                .recordStats()
-                .build();
+                .recordStats();
+
+        if(maxDiskSize.toBytes() > 0) {
+            builder.maximumWeight(maxDiskSize.toBytes()).weigher(CacheConfig::weighFile);
+        } else {
+            builder.maximumSize(maxSize);
+        }
+
+        return builder.build();
+    }
+
+    private static int weighFile(Object key, Object value) {
+        if(!(value instanceof Path path)) {
+            return 1;
+        }
+
+        try {
+            return (int) Math.min(Files.size(path), Integer.MAX_VALUE);
+        } catch (IOException e) {
+            return 1;
+        }
     }
 
     @Bean
@@ -105,13 +146,15 @@ public class CacheConfig {
     public @Qualifier("fileCacheManager") CacheManager fileCacheManager(
             Cache<Object, Object> extensionCache,
             Cache<Object, Object> webResourceCache,
-            Cache<Object, Object> browseCache
+            Cache<Object, Object> browseCache,
+            Cache<Object, Object> upstreamFileCache
     ) {
         logger.info("Configure file cache manager");
         CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
         caffeineCacheManager.registerCustomCache(CACHE_EXTENSION_FILES, extensionCache);
         caffeineCacheManager.registerCustomCache(CACHE_WEB_RESOURCE_FILES, webResourceCache);
         caffeineCacheManager.registerCustomCache(CACHE_BROWSE_EXTENSION_FILES, browseCache);
+        caffeineCacheManager.registerCustomCache(CACHE_UPSTREAM_FILES, upstreamFileCache);
 
         return caffeineCacheManager;
     }
@@ -141,7 +184,7 @@ public class CacheConfig {
                 .map(HostAndPort::from)
                 .collect(Collectors.toSet());
 
-        return new JedisCluster(nodes, configBuilder.build());
+        return new ScriptCachingJedisCluster(nodes, configBuilder.build());
     }
 
     @Bean
@@ -158,10 +201,10 @@ public class CacheConfig {
             @Value("${ovsx.caching.extension-json.max-size:1024}") long extensionJsonMaxSize,
             @Value("${ovsx.caching.latest-extension-version.ttl:PT1H}") Duration latestExtensionVersionTtl,
             @Value("${ovsx.caching.latest-extension-version.max-size:1024}") long latestExtensionVersionMaxSize,
-            @Value("${ovsx.caching.sitemap.ttl:PT1H}") Duration sitemapTtl,
-            @Value("${ovsx.caching.sitemap.max-size:1}") long sitemapMaxSize,
             @Value("${ovsx.caching.malicious-extensions.ttl:P3D}") Duration maliciousExtensionsTtl,
             @Value("${ovsx.caching.malicious-extensions.max-size:1}") long maliciousExtensionsMaxSize,
+            @Value("${ovsx.caching.extension-query.ttl:PT5M}") Duration extensionQueryTtl,
+            @Value("${ovsx.caching.extension-query.max-size:4096}") long extensionQueryMaxSize,
             @Value("${ovsx.caching.rate-limiting.name:buckets}") String rateLimitingCacheName,
             @Value("${ovsx.caching.rate-limiting.tti:PT1H}") Duration rateLimitingTti,
             @Value("${ovsx.caching.rate-limiting.max-size:1024}") long rateLimitingMaxSize
@@ -172,8 +215,8 @@ public class CacheConfig {
         var databaseSearchCache = createCaffeineConfiguration(databaseSearchTtl, databaseSearchMaxSize, false);
         var extensionJsonCache = createCaffeineConfiguration(extensionJsonTtl, extensionJsonMaxSize, false);
         var latestExtensionVersionCache = createCaffeineConfiguration(latestExtensionVersionTtl, latestExtensionVersionMaxSize, false);
-        var sitemapCache = createCaffeineConfiguration(sitemapTtl, sitemapMaxSize, false);
         var maliciousExtensionsCache = createCaffeineConfiguration(maliciousExtensionsTtl, maliciousExtensionsMaxSize, false);
+        var extensionQueryCache = createCaffeineConfiguration(extensionQueryTtl, extensionQueryMaxSize, false);
         var rateLimitingCache = createCaffeineConfiguration(rateLimitingTti, rateLimitingMaxSize, true);
 
         var cacheManager = new CacheManagerImpl(
@@ -189,8 +232,8 @@ public class CacheConfig {
         cacheManager.createCache(CACHE_DATABASE_SEARCH, databaseSearchCache);
         cacheManager.createCache(CACHE_EXTENSION_JSON, extensionJsonCache);
         cacheManager.createCache(CACHE_LATEST_EXTENSION_VERSION, latestExtensionVersionCache);
-        cacheManager.createCache(CACHE_SITEMAP, sitemapCache);
         cacheManager.createCache(CACHE_MALICIOUS_EXTENSIONS, maliciousExtensionsCache);
+        cacheManager.createCache(CACHE_EXTENSION_QUERY, extensionQueryCache);
         cacheManager.createCache(rateLimitingCacheName, rateLimitingCache);
         return new JCacheCacheManager(cacheManager);
     }
@@ -217,15 +260,19 @@ public class CacheConfig {
             @Value("${ovsx.caching.database-search.ttl:PT1H}") Duration databaseSearchTtl,
             @Value("${ovsx.caching.extension-json.ttl:PT1H}") Duration extensionJsonTtl,
             @Value("${ovsx.caching.latest-extension-version.ttl:PT1H}") Duration latestExtensionVersionTtl,
-            @Value("${ovsx.caching.sitemap.ttl:PT1H}") Duration sitemapTtl,
-            @Value("${ovsx.caching.malicious-extensions.ttl:P3D}") Duration maliciousExtensionsTtl
+            @Value("${ovsx.caching.malicious-extensions.ttl:P3D}") Duration maliciousExtensionsTtl,
+            @Value("${ovsx.caching.extension-query.ttl:PT5M}") Duration extensionQueryTtl,
+            @Value("${ovsx.caching.near-cache.ttl:PT5M}") Duration nearCacheTtl,
+            @Value("${ovsx.caching.near-cache.max-size:1024}") long nearCacheMaxSize,
+            ObjectProvider<NearCacheInvalidationBus> nearCacheBus,
+            MeterRegistry registry
     ) {
         logger.info("Configure Redis cache manager");
         var extensionVersionMapper = JsonMapper.builder()
                 .addModule(new JavaTimeModule())
                 .serializationInclusion(JsonInclude.Include.NON_NULL)
                 .build();
-        return RedisCacheManager.builder(redisConnectionFactory)
+        var redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .withCacheConfiguration(
                         CACHE_AVERAGE_REVIEW_RATING,
                         redisCacheConfig(new GenericJackson2JsonRedisSerializer(), averageReviewRatingTtl)
@@ -246,15 +293,64 @@ public class CacheConfig {
                         CACHE_LATEST_EXTENSION_VERSION,
                         redisCacheConfig(new Jackson2JsonRedisSerializer<>(extensionVersionMapper, ExtensionVersion.class), latestExtensionVersionTtl)
                 )
-                .withCacheConfiguration(
-                        CACHE_SITEMAP,
-                        redisCacheConfig(new StringRedisSerializer(), sitemapTtl)
-                )
                 .withCacheConfiguration(
                         CACHE_MALICIOUS_EXTENSIONS,
                         redisCacheConfig(new GenericJackson2JsonRedisSerializer(), maliciousExtensionsTtl)
                 )
+                .withCacheConfiguration(
+                        CACHE_EXTENSION_QUERY,
+                        redisCacheConfig(new Jackson2JsonRedisSerializer<>(ExtensionQueryResult.class), extensionQueryTtl)
+                )
                 .build();
+
+        var bus = nearCacheBus.getIfAvailable();
+        if(bus == null) {
+            return redisCacheManager;
+        }
+
+        logger.info("Configure near cache in front of Redis cache manager");
+        // the Redis cache manager is not a bean, so its caches must be created here
+        redisCacheManager.initializeCaches();
+        var nearCacheNames = Set.of(CACHE_EXTENSION_JSON, CACHE_NAMESPACE_DETAILS_JSON, CACHE_LATEST_EXTENSION_VERSION);
+        return new TwoTierCacheManager(redisCacheManager, nearCacheNames, bus, registry, nearCacheTtl, nearCacheMaxSize);
+    }
+
+    @Bean
+    @ConditionalOnExpression("${ovsx.redis.enabled:false} && ${ovsx.caching.near-cache.enabled:false}")
+    public RedisMessageListenerContainer nearCacheListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnExpression("${ovsx.redis.enabled:false} && ${ovsx.caching.near-cache.enabled:false}")
+    public NearCacheInvalidationBus nearCacheInvalidationBus(
+            RedisMessageListenerContainer nearCacheListenerContainer,
+            RedisConnectionFactory redisConnectionFactory
+    ) {
+        return new NearCacheInvalidationBus(nearCacheListenerContainer, new StringRedisTemplate(redisConnectionFactory));
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "ovsx.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public ExtensionCacheGenerations localExtensionCacheGenerations() {
+        return new LocalExtensionCacheGenerations();
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "ovsx.redis.enabled", havingValue = "true")
+    public ExtensionCacheGenerations redisExtensionCacheGenerations(
+            RedisConnectionFactory redisConnectionFactory,
+            @Value("${ovsx.caching.near-cache.ttl:PT5M}") Duration nearCacheTtl,
+            @Value("${ovsx.caching.near-cache.max-size:1024}") long nearCacheMaxSize,
+            ObjectProvider<NearCacheInvalidationBus> nearCacheBus
+    ) {
+        var generations = new RedisExtensionCacheGenerations(new StringRedisTemplate(redisConnectionFactory));
+        var bus = nearCacheBus.getIfAvailable();
+        return bus != null
+                ? new NearExtensionCacheGenerations(generations, bus, nearCacheTtl, nearCacheMaxSize)
+                : generations;
     }
 
     private <T> RedisCacheConfiguration redisCacheConfig(RedisSerializer<T> serializer, Duration ttl) {
@@ -12,11 +12,9 @@ package org.eclipse.openvsx.cache;
 import io.micrometer.observation.annotation.Observed;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.repositories.RepositoryService;
-import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionAlias;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
-import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -29,22 +27,24 @@ public class CacheService {
     public static final String CACHE_WEB_RESOURCE_FILES = "files.webresource";
     public static final String CACHE_BROWSE_EXTENSION_FILES = "files.browse";
     public static final String CACHE_EXTENSION_FILES = "files.extension";
+    public static final String CACHE_UPSTREAM_FILES = "files.upstream";
     public static final String CACHE_EXTENSION_JSON = "extension.json";
     public static final String CACHE_LATEST_EXTENSION_VERSION = "latest.extension.version";
     public static final String CACHE_NAMESPACE_DETAILS_JSON = "namespace.details.json";
     public static final String CACHE_AVERAGE_REVIEW_RATING = "average.review.rating";
-    public static final String CACHE_SITEMAP = "sitemap";
     public static final String CACHE_MALICIOUS_EXTENSIONS = "malicious.extensions";
+    public static final String CACHE_EXTENSION_QUERY = "extension.query";
 
     public static final String GENERATOR_EXTENSION_JSON = "extensionJsonCacheKeyGenerator";
     public static final String GENERATOR_LATEST_EXTENSION_VERSION = "latestExtensionVersionCacheKeyGenerator";
     public static final String GENERATOR_FILES = "filesCacheKeyGenerator";
+    public static final String GENERATOR_EXTENSION_QUERY = "extensionQueryCacheKeyGenerator";
 
     private final CacheManager cacheManager;
     private final CacheManager fileCacheManager;
     private final RepositoryService repositories;
     private final ExtensionJsonCacheKeyGenerator extensionJsonCacheKey;
-    private final LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKey;
+    private final ExtensionCacheGenerations generations;
     private final FilesCacheKeyGenerator filesCacheKeyGenerator;
 
     public CacheService(
@@ -52,21 +52,17 @@ public class CacheService {
             @Qualifier("fileCacheManager") CacheManager fileCacheManager,
             RepositoryService repositories,
             ExtensionJsonCacheKeyGenerator extensionJsonCacheKey,
-            LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKey,
+            ExtensionCacheGenerations generations,
             FilesCacheKeyGenerator filesCacheKeyGenerator
     ) {
         this.cacheManager = cacheManager;
         this.fileCacheManager = fileCacheManager;
         this.repositories = repositories;
         this.extensionJsonCacheKey = extensionJsonCacheKey;
-        this.latestExtensionVersionCacheKey = latestExtensionVersionCacheKey;
+        this.generations = generations;
         this.filesCacheKeyGenerator = filesCacheKeyGenerator;
     }
 
-    public void evictSitemap() {
-        invalidateCache(CACHE_SITEMAP);
-    }
-
     public void evictNamespaceDetails() {
         invalidateCache(CACHE_NAMESPACE_DETAILS_JSON);
     }
@@ -80,6 +76,8 @@ public class CacheService {
     }
 
     private void evictNamespaceDetails(String namespaceName) {
+        // the generation of the whole namespace has an empty extension name, it is part of the namespace details ETag
+        generations.increment(CACHE_NAMESPACE_DETAILS_JSON, namespaceName, "");
         var cache = cacheManager.getCache(CACHE_NAMESPACE_DETAILS_JSON);
         if(cache == null) {
             return; // cache is not created
@@ -101,32 +99,9 @@ public class CacheService {
         if (cache == null) {
             return; // cache is not created
         }
-        if (extension.getVersions() == null) {
-            return;
-        }
-
-        // Special optimization in case of a redis cache: evict all keys that match the <namespace>.<extension>* pattern.
-        // This uses the redis KEYS command that might take a while but considering the typical size of the EXTENSION_JSON
-        // cache its acceptable.
-        if (cache instanceof RedisCacheWriter redisCache) {
-            redisCache.clean(CACHE_EXTENSION_JSON, extensionJsonCacheKey.generateWildcard(extension).getBytes());
-            return;
-        }
 
-        var versions = new ArrayList<>(VersionAlias.ALIAS_NAMES);
-        extension.getVersions().stream()
-                .map(ExtensionVersion::getVersion)
-                .forEach(versions::add);
-
-        var namespaceName = extension.getNamespace().getName();
-        var extensionName = extension.getName();
-        var targetPlatforms = new ArrayList<>(TargetPlatform.TARGET_PLATFORM_NAMES);
-        targetPlatforms.add("null");
-        for (var version : versions) {
-            for (var targetPlatform : targetPlatforms) {
-                cache.evictIfPresent(extensionJsonCacheKey.generate(namespaceName, extensionName, targetPlatform, version));
-            }
-        }
+        // The cache keys contain the generation of the extension, the entries of the old generation expire by themselves.
+        generations.increment(CACHE_EXTENSION_JSON, extension.getNamespace().getName(), extension.getName());
     }
 
     public void evictExtensionJsons(ExtensionVersion extVersion) {
@@ -149,6 +124,30 @@ public class CacheService {
         }
     }
 
+    public void evictExtensionQueries(Extension extension) {
+        var cache = cacheManager.getCache(CACHE_EXTENSION_QUERY);
+        if (cache == null) {
+            return; // cache is not created
+        }
+
+        // The keys of queries by extension name contain the generation of each extension, other queries expire by themselves.
+        generations.increment(CACHE_EXTENSION_QUERY, extension.getNamespace().getName(), extension.getName());
+    }
+
+    public void evictExtensionQueries(Namespace namespace) {
+        var cache = cacheManager.getCache(CACHE_EXTENSION_QUERY);
+        if (cache == null) {
+            return; // cache is not created
+        }
+
+        // the generation of the whole namespace has an empty extension name
+        generations.increment(CACHE_EXTENSION_QUERY, namespace.getName(), "");
+    }
+
+    public void evictExtensionQueries(UserData user) {
+        repositories.findExtensions(user).forEach(this::evictExtensionQueries);
+    }
+
     public void evictLatestExtensionVersions() {
         invalidateCache(CACHE_LATEST_EXTENSION_VERSION);
     }
@@ -159,26 +158,7 @@ public class CacheService {
             return;
         }
 
-        // Special optimization in case of a redis cache: evict all keys that match the <namespace>.<extension>* pattern.
-        // This uses the redis KEYS command that might take a while but considering the typical size of the EXTENSION_JSON
-        // cache its acceptable.
-        if (cache instanceof RedisCacheWriter redisCache) {
-            redisCache.clean(CACHE_LATEST_EXTENSION_VERSION, latestExtensionVersionCacheKey.generateWildcard(extension).getBytes());
-            return;
-        }
-
-        var targetPlatforms = new ArrayList<>(TargetPlatform.TARGET_PLATFORM_NAMES);
-        targetPlatforms.add(null);
-        for (var targetPlatform : targetPlatforms) {
-            for (var preRelease : List.of(true, false)) {
-                for (var onlyActive : List.of(true, false)) {
-                    for(var type : ExtensionVersion.Type.values()) {
-                        var key = latestExtensionVersionCacheKey.generate(extension, targetPlatform, preRelease, onlyActive, type);
-                        cache.evictIfPresent(key);
-                    }
-                }
-            }
-        }
+        generations.increment(CACHE_LATEST_EXTENSION_VERSION, extension.getNamespace().getName(), extension.getName());
     }
 
     private void invalidateCache(String cacheName) {
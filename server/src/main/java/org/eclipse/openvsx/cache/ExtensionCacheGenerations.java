@@ -0,0 +1,55 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import org.eclipse.openvsx.util.ExtensionId;
+import org.eclipse.openvsx.util.NamingUtil;
+
+import java.util.List;
+
+/**
+ * Keeps a generation number per cache and extension. The generation is part of the cache keys of the extension,
+ * so incrementing it invalidates all cached entries of the extension at once. The entries of older generations
+ * are no longer read and expire with the time-to-live of the cache.
+ */
+public interface ExtensionCacheGenerations {
+
+    long get(String cacheName, String namespaceName, String extensionName);
+
+    /**
+     * Get the generations of several extensions at once, implementations backed by a remote store
+     * read them with a single request.
+     *
+     * @return the generations in the order of the given extensions
+     */
+    default List<Long> getAll(String cacheName, List<ExtensionId> extensionIds) {
+        return extensionIds.stream()
+                .map(extensionId -> get(cacheName, extensionId.namespace(), extensionId.extension()))
+                .toList();
+    }
+
+    void increment(String cacheName, String namespaceName, String extensionName);
+
+    /**
+     * Identifies the lifetime of the generations. Generations of different epochs must not be compared,
+     * they restart at zero when the epoch changes.
+     */
+    default String epoch() {
+        return "";
+    }
+
+    default String key(String cacheName, String namespaceName, String extensionName) {
+        // namespace and extension names are case-insensitive
+        return cacheName + ":" + NamingUtil.toExtensionId(namespaceName, extensionName).toLowerCase();
+    }
+}
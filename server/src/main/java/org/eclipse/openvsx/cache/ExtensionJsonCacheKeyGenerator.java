@@ -9,7 +9,6 @@
  * ****************************************************************************** */
 package org.eclipse.openvsx.cache;
 
-import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.util.NamingUtil;
 import org.eclipse.openvsx.util.VersionAlias;
 import org.springframework.cache.interceptor.KeyGenerator;
@@ -17,9 +16,17 @@ import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
 
+import static org.eclipse.openvsx.cache.CacheService.CACHE_EXTENSION_JSON;
+
 @Component
 public class ExtensionJsonCacheKeyGenerator implements KeyGenerator {
 
+    private final ExtensionCacheGenerations generations;
+
+    public ExtensionJsonCacheKeyGenerator(ExtensionCacheGenerations generations) {
+        this.generations = generations;
+    }
+
     @Override
     public Object generate(Object target, Method method, Object... params) {
         var version = params.length == 4 ? (String) params[3] : VersionAlias.LATEST;
@@ -27,12 +34,7 @@ public class ExtensionJsonCacheKeyGenerator implements KeyGenerator {
     }
 
     public String generate(String namespaceName, String extensionName, String targetPlatform, String version) {
-        return NamingUtil.toFileFormat(namespaceName, extensionName, targetPlatform, version);
-    }
-
-    public String generateWildcard(Extension extension) {
-        var extensionName = extension.getName();
-        var namespaceName = extension.getNamespace().getName();
-        return NamingUtil.toExtensionId(namespaceName, extensionName) + "*";
+        var generation = generations.get(CACHE_EXTENSION_JSON, namespaceName, extensionName);
+        return NamingUtil.toFileFormat(namespaceName, extensionName, targetPlatform, version) + ",generation=" + generation;
     }
 }
@@ -0,0 +1,124 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.openvsx.adapter.ExtensionQueryParam;
+import org.eclipse.openvsx.util.ExtensionId;
+import org.eclipse.openvsx.util.NamingUtil;
+import org.eclipse.openvsx.util.UrlUtil;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+
+import static org.eclipse.openvsx.adapter.ExtensionQueryParam.Criterion.FILTER_EXTENSION_NAME;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_EXTENSION_QUERY;
+
+/**
+ * Generates keys for extension query responses. Requests that only differ in duplicate
+ * criteria or in the letter case of extension names share the same key.
+ * <p>
+ * The keys of queries by extension name contain the generations of the queried extensions
+ * and their namespaces, so these responses are invalidated when one of them changes.
+ * Other queries, e.g. searches, are only refreshed by the time-to-live of the cache.
+ */
+@Component
+public class ExtensionQueryCacheKeyGenerator implements KeyGenerator {
+
+    private final ExtensionCacheGenerations generations;
+
+    public ExtensionQueryCacheKeyGenerator(ExtensionCacheGenerations generations) {
+        this.generations = generations;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return generate((ExtensionQueryParam) params[0], (int) params[1]);
+    }
+
+    public String generate(ExtensionQueryParam param, int defaultPageSize) {
+        var key = new StringBuilder()
+                .append(UrlUtil.getBaseUrl())
+                .append("|flags=").append(param.flags())
+                .append("|default-page-size=").append(defaultPageSize);
+
+        if(param.filters() != null && !param.filters().isEmpty()) {
+            // only the first filter is evaluated by the extension query
+            var filter = param.filters().getFirst();
+            key.append("|page=").append(filter.pageNumber())
+                    .append("|page-size=").append(filter.pageSize())
+                    .append("|sort-by=").append(filter.sortBy())
+                    .append("|sort-order=").append(filter.sortOrder());
+
+            if(filter.criteria() != null) {
+                // keep the request order, the response lists extensions in that order
+                var criteria = new LinkedHashSet<String>();
+                filter.criteria().stream()
+                        .filter(Objects::nonNull)
+                        .map(this::normalize)
+                        .forEach(criteria::add);
+
+                criteria.forEach(criterion -> key.append('|').append(criterion));
+                appendGenerations(key, filter);
+            }
+        }
+
+        // extension name queries can be large, keep the keys at a fixed length
+        return DigestUtils.sha256Hex(key.toString());
+    }
+
+    private void appendGenerations(StringBuilder key, ExtensionQueryParam.Filter filter) {
+        var extensionIds = filter.findCriteria(FILTER_EXTENSION_NAME).stream()
+                .map(String::toLowerCase)
+                .distinct()
+                .map(NamingUtil::fromExtensionId)
+                .filter(Objects::nonNull)
+                .toList();
+        if(extensionIds.isEmpty()) {
+            return;
+        }
+
+        // the generation of the whole namespace has an empty extension name
+        var namespaceIds = extensionIds.stream()
+                .map(extensionId -> new ExtensionId(extensionId.namespace(), ""))
+                .distinct()
+                .toList();
+
+        // read all generations at once, a batch query can name hundreds of extensions
+        var ids = new ArrayList<ExtensionId>(extensionIds.size() + namespaceIds.size());
+        ids.addAll(extensionIds);
+        ids.addAll(namespaceIds);
+        var values = generations.getAll(CACHE_EXTENSION_QUERY, ids);
+
+        key.append("|epoch=").append(generations.epoch());
+        for(var i = 0; i < extensionIds.size(); i++) {
+            key.append("|generation=").append(values.get(i));
+        }
+        for(var i = extensionIds.size(); i < ids.size(); i++) {
+            key.append("|namespace-generation=").append(values.get(i));
+        }
+    }
+
+    private String normalize(ExtensionQueryParam.Criterion criterion) {
+        var value = criterion.value();
+        if(value != null && criterion.filterType() == FILTER_EXTENSION_NAME) {
+            value = value.toLowerCase();
+        }
+
+        return criterion.filterType() + "=" + value;
+    }
+}
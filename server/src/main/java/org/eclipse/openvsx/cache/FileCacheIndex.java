@@ -0,0 +1,212 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.eclipse.openvsx.cache.CacheService.CACHE_EXTENSION_FILES;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_UPSTREAM_FILES;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_WEB_RESOURCE_FILES;
+import static org.eclipse.openvsx.cache.FilesCacheKeyGenerator.PREFIX_EXTENSION;
+import static org.eclipse.openvsx.cache.FilesCacheKeyGenerator.PREFIX_UPSTREAM;
+import static org.eclipse.openvsx.cache.FilesCacheKeyGenerator.PREFIX_WEB_RESOURCE;
+
+/**
+ * Keeps the file caches in sync with the files in the cache directory across restarts.
+ * The cache keys are written to an index file on shutdown and the cached files are put
+ * back into the caches on startup. Files that are not part of the index, e.g. after a
+ * crash, are deleted instead of being orphaned.
+ */
+@Component
+public class FileCacheIndex {
+
+    protected final Logger logger = LoggerFactory.getLogger(FileCacheIndex.class);
+
+    private static final String INDEX_SUFFIX = ".index";
+    private static final char SEPARATOR = '\t';
+
+    private final Map<String, Cache<Object, Object>> caches = new HashMap<>();
+    private final Map<String, String> prefixes = Map.of(
+            CACHE_EXTENSION_FILES, PREFIX_EXTENSION,
+            CACHE_WEB_RESOURCE_FILES, PREFIX_WEB_RESOURCE,
+            CACHE_UPSTREAM_FILES, PREFIX_UPSTREAM
+    );
+    private final FilesCacheKeyGenerator filesCacheKeyGenerator;
+    private final FileTime startTime = FileTime.fromMillis(System.currentTimeMillis());
+
+    public FileCacheIndex(
+            Cache<Object, Object> extensionCache,
+            Cache<Object, Object> webResourceCache,
+            Cache<Object, Object> upstreamFileCache,
+            FilesCacheKeyGenerator filesCacheKeyGenerator,
+            MeterRegistry registry
+    ) {
+        this.filesCacheKeyGenerator = filesCacheKeyGenerator;
+        caches.put(CACHE_EXTENSION_FILES, extensionCache);
+        caches.put(CACHE_WEB_RESOURCE_FILES, webResourceCache);
+        caches.put(CACHE_UPSTREAM_FILES, upstreamFileCache);
+        caches.forEach((name, cache) -> registerMetrics(registry, name, cache));
+    }
+
+    private void registerMetrics(MeterRegistry registry, String name, Cache<Object, Object> cache) {
+        var tags = Tags.of("cache", name);
+        FunctionCounter.builder("openvsx_file_cache_hits_total", cache, c -> c.stats().hitCount())
+                .description("Requests served from cached files")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("openvsx_file_cache_misses_total", cache, c -> c.stats().missCount())
+                .description("Requests that required a file to be fetched from storage")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("openvsx_file_cache_size", cache, Cache::estimatedSize)
+                .description("Number of cached files")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("openvsx_file_cache_bytes", cache, FileCacheIndex::getSizeInBytes)
+                .description("Disk space used by cached files")
+                .baseUnit(BaseUnits.BYTES)
+                .tags(tags)
+                .register(registry);
+    }
+
+    static long getSizeInBytes(Cache<Object, Object> cache) {
+        var eviction = cache.policy().eviction();
+        if(eviction.isPresent() && eviction.get().isWeighted()) {
+            return eviction.get().weightedSize().orElse(0L);
+        }
+
+        return cache.asMap().values().stream()
+                .filter(Path.class::isInstance)
+                .map(Path.class::cast)
+                .mapToLong(FileCacheIndex::getFileSize)
+                .sum();
+    }
+
+    private static long getFileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    @EventListener
+    public void applicationStarted(ApplicationStartedEvent event) {
+        caches.keySet().forEach(this::restore);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        caches.keySet().forEach(this::persist);
+    }
+
+    /**
+     * Puts the files listed in the index back into the cache and deletes cached
+     * files that are not listed in the index.
+     */
+    void restore(String name) {
+        var cache = caches.get(name);
+        var directory = filesCacheKeyGenerator.getCacheDirectory();
+        var indexFile = directory.resolve(name + INDEX_SUFFIX);
+        var keys = readIndex(indexFile);
+
+        var restored = 0;
+        var deleted = 0;
+        var prefix = prefixes.get(name);
+        try (var files = Files.list(directory)) {
+            var cachedFiles = files.filter(path -> path.getFileName().toString().startsWith(prefix)).toList();
+            for (var path : cachedFiles) {
+                var key = keys.get(path.getFileName().toString());
+                if (key != null && Files.isRegularFile(path)) {
+                    cache.asMap().putIfAbsent(key, path);
+                    restored++;
+                } else if (isOrphaned(path) && Files.deleteIfExists(path)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to restore file cache {}", name, e);
+        }
+
+        logger.info("Restored {} files of cache {}, deleted {} orphaned files", restored, name, deleted);
+    }
+
+    private boolean isOrphaned(Path path) throws IOException {
+        // files created after startup belong to requests that are already being served
+        return Files.getLastModifiedTime(path).compareTo(startTime) < 0;
+    }
+
+    private Map<String, String> readIndex(Path indexFile) {
+        var keys = new HashMap<String, String>();
+        if (!Files.exists(indexFile)) {
+            return keys;
+        }
+
+        try {
+            for (var line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                var index = line.indexOf(SEPARATOR);
+                if (index > 0) {
+                    keys.put(line.substring(0, index), line.substring(index + 1));
+                }
+            }
+
+            // the index is only valid for the files present at shutdown
+            Files.delete(indexFile);
+        } catch (IOException e) {
+            logger.error("Failed to read file cache index {}", indexFile, e);
+        }
+
+        return keys;
+    }
+
+    /**
+     * Writes the file name and cache key of each cached file to the index.
+     */
+    void persist(String name) {
+        var cache = caches.get(name);
+        var indexFile = filesCacheKeyGenerator.getCacheDirectory().resolve(name + INDEX_SUFFIX);
+        var lines = new ArrayList<String>();
+        cache.asMap().forEach((key, value) -> {
+            if (key instanceof String k && value instanceof Path path && k.indexOf('\n') < 0) {
+                lines.add(path.getFileName().toString() + SEPARATOR + k);
+            }
+        });
+
+        try {
+            Files.write(indexFile, lines, StandardCharsets.UTF_8);
+            logger.info("Saved {} files of cache {} to index", lines.size(), name);
+        } catch (IOException e) {
+            logger.error("Failed to write file cache index {}", indexFile, e);
+        }
+    }
+}
@@ -21,6 +21,11 @@ import java.nio.file.Path;
 
 @Component
 public class FilesCacheKeyGenerator implements KeyGenerator {
+
+    public static final String PREFIX_EXTENSION = "ce_";
+    public static final String PREFIX_WEB_RESOURCE = "cr_";
+    public static final String PREFIX_UPSTREAM = "cu_";
+
     @Override
     public Object generate(Object target, Method method, Object... params) {
         if(target instanceof WebResourceService) {
@@ -51,17 +56,24 @@ public class FilesCacheKeyGenerator implements KeyGenerator {
 
     public Path generateCachedExtensionPath(FileResource resource) {
         var key = generate(resource);
-        return generateCachedPath(key, "ce_", ".tmp");
+        return generateCachedPath(key, PREFIX_EXTENSION, ".tmp");
     }
 
     public Path generateCachedWebResourcePath(String namespace, String extension, String targetPlatform, String version, String name, String fileExtension) {
         var key = generate(namespace, extension, targetPlatform, version, name);
-        return generateCachedPath(key, "cr_", fileExtension);
+        return generateCachedPath(key, PREFIX_WEB_RESOURCE, fileExtension);
+    }
+
+    public Path generateCachedUpstreamPath(String url, String fileExtension) {
+        return generateCachedPath(url, PREFIX_UPSTREAM, fileExtension);
     }
 
     private Path generateCachedPath(String key, String prefix, String extension) {
         var hash = DigestUtils.sha256Hex(key);
-        var tmp = System.getProperty("java.io.tmpdir");
-        return Path.of(tmp, prefix + hash + extension);
+        return getCacheDirectory().resolve(prefix + hash + extension);
+    }
+
+    public Path getCacheDirectory() {
+        return Path.of(System.getProperty("java.io.tmpdir"));
     }
 }
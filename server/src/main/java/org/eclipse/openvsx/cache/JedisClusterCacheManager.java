@@ -17,10 +17,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.JedisCluster;
 
+/**
+ * Stores every cache entry under its own Redis key, so that the entries are spread over the
+ * slots of the cluster instead of sharing the slot of a single hash.
+ */
 public class JedisClusterCacheManager<K, V> implements CacheManager<K, V> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JedisClusterCacheManager.class);
 
+    /**
+     * Sets the value and returns the previous value, 1 if there was none or 0 if it didn't change.
+     */
+    private static final String SET_SCRIPT = """
+            local old = redis.call('GET', KEYS[1])
+            if old == ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1])
+            if old then
+                return old
+            end
+            return 1
+            """;
+
     private final JedisCluster cluster;
     private final String cacheName;
     private final Class<V> valueType;
@@ -29,7 +48,7 @@ public class JedisClusterCacheManager<K, V> implements CacheManager<K, V> {
 
     /**
      * @param cluster The JedisCluster to use for reading/writing data to the cache
-     * @param cacheName The name of the cache.
+     * @param cacheName The name of the cache. This is used as prefix for the keys of the entries.
      * @param valueType The type of the data. This is required for parsing and should always match the V of this class.
      */
     public JedisClusterCacheManager(JedisCluster cluster, String cacheName, Class<V> valueType) {
@@ -45,7 +64,7 @@ public class JedisClusterCacheManager<K, V> implements CacheManager<K, V> {
     @Override
     public V getValue(K key) {
         try {
-            String serializedValue = cluster.hget(cacheName, objectMapper.writeValueAsString(key));
+            String serializedValue = cluster.get(redisKey(objectMapper.writeValueAsString(key)));
             return serializedValue != null ? objectMapper.readValue(serializedValue, this.valueType) : null;
         } catch (JsonProcessingException e) {
             LOGGER.warn("Exception occurred while retrieving key '{}' from cache '{}'. Message: {}", key, cacheName, e.getMessage());
@@ -56,14 +75,14 @@ public class JedisClusterCacheManager<K, V> implements CacheManager<K, V> {
     @Override
     public void setValue(K key, V value) {
         try {
-            V oldValue = getValue(key);
-
             String serializedKey = objectMapper.writeValueAsString(key);
             String serializedValue = objectMapper.writeValueAsString(value);
-            cluster.hset(this.cacheName, serializedKey, serializedValue);
+            // compare and set in a single round trip
+            Object result = cluster.eval(SET_SCRIPT, 1, redisKey(serializedKey), serializedValue);
 
-            //publish an update event if the key already existed
-            if(oldValue != null){
+            //publish an update event if the key already existed with another value
+            if(result instanceof String serializedOldValue){
+                V oldValue = objectMapper.readValue(serializedOldValue, this.valueType);
                 CacheUpdateEvent<K,V> updateEvent = new CacheUpdateEvent<>(key, oldValue, value);
                 cluster.publish(this.updateChannel, objectMapper.writeValueAsString(updateEvent));
             }
@@ -72,5 +91,8 @@ public class JedisClusterCacheManager<K, V> implements CacheManager<K, V> {
             throw new RuntimeException(e);
         }
     }
-}
 
+    private String redisKey(String serializedKey) {
+        return cacheName + ":" + serializedKey;
+    }
+}
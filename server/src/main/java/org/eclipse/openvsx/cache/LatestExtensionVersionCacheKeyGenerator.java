@@ -19,9 +19,17 @@ import org.springframework.stereotype.Component;
 import java.lang.reflect.Method;
 import java.util.List;
 
+import static org.eclipse.openvsx.cache.CacheService.CACHE_LATEST_EXTENSION_VERSION;
+
 @Component
 public class LatestExtensionVersionCacheKeyGenerator implements KeyGenerator {
 
+    private final ExtensionCacheGenerations generations;
+
+    public LatestExtensionVersionCacheKeyGenerator(ExtensionCacheGenerations generations) {
+        this.generations = generations;
+    }
+
     @Override
     public Object generate(Object target, Method method, Object... params) {
         Extension extension;
@@ -53,13 +61,8 @@ public class LatestExtensionVersionCacheKeyGenerator implements KeyGenerator {
     public String generate(Extension extension, String targetPlatform, boolean preRelease, boolean onlyActive, ExtensionVersion.Type type) {
         var extensionName = extension.getName();
         var namespaceName = extension.getNamespace().getName();
+        var generation = generations.get(CACHE_LATEST_EXTENSION_VERSION, namespaceName, extensionName);
         return NamingUtil.toFileFormat(namespaceName, extensionName, targetPlatform, VersionAlias.LATEST) +
-                ",pre-release=" + preRelease + ",only-active=" + onlyActive + ",type=" + type;
-    }
-
-    public String generateWildcard(Extension extension) {
-        var extensionName = extension.getName();
-        var namespaceName = extension.getNamespace().getName();
-        return NamingUtil.toExtensionId(namespaceName, extensionName) + "*";
+                ",pre-release=" + preRelease + ",only-active=" + onlyActive + ",type=" + type + ",generation=" + generation;
     }
 }
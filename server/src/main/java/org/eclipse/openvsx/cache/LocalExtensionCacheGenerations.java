@@ -0,0 +1,42 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the generations in memory, for caches that are local to this instance.
+ * Only invalidated extensions get an entry, so the map doesn't grow beyond the number of extensions.
+ */
+public class LocalExtensionCacheGenerations implements ExtensionCacheGenerations {
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    // the generations restart with every start of the instance
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    @Override
+    public long get(String cacheName, String namespaceName, String extensionName) {
+        return generations.getOrDefault(key(cacheName, namespaceName, extensionName), 0L);
+    }
+
+    @Override
+    public void increment(String cacheName, String namespaceName, String extensionName) {
+        generations.merge(key(cacheName, namespaceName, extensionName), 1L, Long::sum);
+    }
+
+    @Override
+    public String epoch() {
+        return epoch;
+    }
+}
@@ -0,0 +1,88 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts invalidations of near cache entries over Redis pub/sub, so that every instance
+ * drops the entry from its local cache. Messages sent by this instance are ignored, the local
+ * cache is already invalidated when the message is sent.
+ */
+public class NearCacheInvalidationBus implements MessageListener {
+
+    static final String CHANNEL = "openvsx:near-cache:invalidate";
+    private static final String SEPARATOR = "\n";
+
+    private final Logger logger = LoggerFactory.getLogger(NearCacheInvalidationBus.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redis;
+    private final Map<String, Consumer<String>> listeners = new ConcurrentHashMap<>();
+
+    public NearCacheInvalidationBus(RedisMessageListenerContainer container, StringRedisTemplate redis) {
+        this.redis = redis;
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Registers the local cache with the given name. The listener receives the invalidated key,
+     * or {@code null} if the whole cache is invalidated.
+     */
+    public void register(String cacheName, Consumer<String> listener) {
+        listeners.put(cacheName, listener);
+    }
+
+    /**
+     * Tells the other instances to invalidate the key, or the whole cache if the key is {@code null}.
+     */
+    public void publish(String cacheName, @Nullable Object key) {
+        var message = instanceId + SEPARATOR + cacheName;
+        if (key != null) {
+            message += SEPARATOR + key;
+        }
+
+        try {
+            redis.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException e) {
+            // the local entries of the other instances expire with the near cache time-to-live
+            logger.warn("Failed to publish invalidation of near cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        var parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+
+        var listener = listeners.get(parts[1]);
+        if (listener != null) {
+            listener.accept(parts.length == 3 ? parts[2] : null);
+        }
+    }
+}
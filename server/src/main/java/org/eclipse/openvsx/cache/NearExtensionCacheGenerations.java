@@ -0,0 +1,107 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.eclipse.openvsx.util.ExtensionId;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Keeps the generations of the shared cache in a local cache, so that a near cache hit doesn't need
+ * a round trip to read the generation. Increments are broadcast with the {@link NearCacheInvalidationBus}.
+ */
+public class NearExtensionCacheGenerations implements ExtensionCacheGenerations {
+
+    static final String CACHE_NAME = "extension.generations";
+
+    private final ExtensionCacheGenerations remote;
+    private final NearCacheInvalidationBus bus;
+    private final Cache<String, Long> local;
+
+    public NearExtensionCacheGenerations(
+            ExtensionCacheGenerations remote,
+            NearCacheInvalidationBus bus,
+            Duration timeToLive,
+            long maxSize
+    ) {
+        this.remote = remote;
+        this.bus = bus;
+        this.local = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maxSize)
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+        bus.register(CACHE_NAME, key -> {
+            if (key != null) {
+                local.invalidate(key);
+            } else {
+                local.invalidateAll();
+            }
+        });
+    }
+
+    @Override
+    public long get(String cacheName, String namespaceName, String extensionName) {
+        var key = key(cacheName, namespaceName, extensionName);
+        return local.get(key, k -> remote.get(cacheName, namespaceName, extensionName));
+    }
+
+    @Override
+    public List<Long> getAll(String cacheName, List<ExtensionId> extensionIds) {
+        var idsByKey = new LinkedHashMap<String, ExtensionId>();
+        for (var extensionId : extensionIds) {
+            idsByKey.put(key(cacheName, extensionId.namespace(), extensionId.extension()), extensionId);
+        }
+
+        // the generations that are not cached locally are read from the remote store at once
+        var cached = local.getAll(idsByKey.keySet(), missingKeys -> {
+            var missingIds = new ArrayList<ExtensionId>(missingKeys.size());
+            var keys = new ArrayList<String>(missingKeys.size());
+            for (var key : missingKeys) {
+                missingIds.add(idsByKey.get(key));
+                keys.add(key);
+            }
+
+            var loaded = remote.getAll(cacheName, missingIds);
+            var result = new HashMap<String, Long>(keys.size());
+            for (var i = 0; i < keys.size(); i++) {
+                result.put(keys.get(i), loaded.get(i));
+            }
+            return result;
+        });
+
+        return extensionIds.stream()
+                .map(extensionId -> cached.get(key(cacheName, extensionId.namespace(), extensionId.extension())))
+                .toList();
+    }
+
+    @Override
+    public void increment(String cacheName, String namespaceName, String extensionName) {
+        remote.increment(cacheName, namespaceName, extensionName);
+        var key = key(cacheName, namespaceName, extensionName);
+        local.invalidate(key);
+        bus.publish(CACHE_NAME, key);
+    }
+
+    @Override
+    public String epoch() {
+        return remote.epoch();
+    }
+}
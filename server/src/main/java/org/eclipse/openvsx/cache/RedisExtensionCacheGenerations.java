@@ -0,0 +1,66 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import org.eclipse.openvsx.util.ExtensionId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps the generations in Redis, so that all instances that share the Redis cache see the same generations.
+ * The generations don't expire, otherwise a generation could restart while entries of the old generation are still cached.
+ */
+public class RedisExtensionCacheGenerations implements ExtensionCacheGenerations {
+
+    private static final String KEY_PREFIX = "generation:";
+
+    private final StringRedisTemplate redis;
+
+    public RedisExtensionCacheGenerations(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public long get(String cacheName, String namespaceName, String extensionName) {
+        var generation = redis.opsForValue().get(KEY_PREFIX + key(cacheName, namespaceName, extensionName));
+        return toGeneration(generation);
+    }
+
+    @Override
+    public List<Long> getAll(String cacheName, List<ExtensionId> extensionIds) {
+        if (extensionIds.isEmpty()) {
+            return List.of();
+        }
+
+        var keys = extensionIds.stream()
+                .map(extensionId -> KEY_PREFIX + key(cacheName, extensionId.namespace(), extensionId.extension()))
+                .toList();
+        var generations = redis.opsForValue().multiGet(keys);
+        if (generations == null) {
+            // MGET is not available within a pipeline or transaction
+            return ExtensionCacheGenerations.super.getAll(cacheName, extensionIds);
+        }
+
+        return generations.stream().map(this::toGeneration).toList();
+    }
+
+    private long toGeneration(String generation) {
+        return generation != null ? Long.parseLong(generation) : 0L;
+    }
+
+    @Override
+    public void increment(String cacheName, String namespaceName, String extensionName) {
+        redis.opsForValue().increment(KEY_PREFIX + key(cacheName, namespaceName, extensionName));
+    }
+}
@@ -0,0 +1,86 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link JedisCluster} that runs Lua scripts with {@code EVALSHA}. The script body is only
+ * sent with {@code EVAL} when the node that owns the keys doesn't have the script cached yet.
+ * <p>
+ * Bucket4j updates the state of a rate limit bucket with a compare-and-swap script, so every
+ * rate limited request runs a script.
+ */
+public class ScriptCachingJedisCluster extends JedisCluster {
+
+    private final Map<String, String> sha1ByScript = new ConcurrentHashMap<>();
+
+    public ScriptCachingJedisCluster(Set<HostAndPort> nodes, JedisClientConfig clientConfig) {
+        super(nodes, clientConfig);
+    }
+
+    @Override
+    public Object eval(String script, int keyCount, String... params) {
+        try {
+            return evalsha(sha1(script), keyCount, params);
+        } catch (JedisNoScriptException e) {
+            return super.eval(script, keyCount, params);
+        }
+    }
+
+    @Override
+    public Object eval(String script, List<String> keys, List<String> args) {
+        try {
+            return evalsha(sha1(script), keys, args);
+        } catch (JedisNoScriptException e) {
+            return super.eval(script, keys, args);
+        }
+    }
+
+    @Override
+    public Object eval(byte[] script, int keyCount, byte[]... params) {
+        try {
+            return evalsha(sha1(script), keyCount, params);
+        } catch (JedisNoScriptException e) {
+            return super.eval(script, keyCount, params);
+        }
+    }
+
+    @Override
+    public Object eval(byte[] script, List<byte[]> keys, List<byte[]> args) {
+        try {
+            return evalsha(sha1(script), keys, args);
+        } catch (JedisNoScriptException e) {
+            return super.eval(script, keys, args);
+        }
+    }
+
+    private String sha1(String script) {
+        return sha1ByScript.computeIfAbsent(script, DigestUtils::sha1Hex);
+    }
+
+    private byte[] sha1(byte[] script) {
+        // Bucket4j passes a new array for every call, hashing the few hundred bytes is cheaper than a lookup
+        return DigestUtils.sha1Hex(script).getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,204 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A local Caffeine cache (L1) in front of a shared cache (L2). Evictions are applied to both
+ * tiers and broadcast with the {@link NearCacheInvalidationBus}, so that the other instances
+ * drop the entry from their L1 as well. Keys are sent as strings, so they must be strings.
+ * <p>
+ * L1 misses are loaded through the L1, so that concurrent misses of a key run a single L2 lookup
+ * or value loader. Evictions lock the L1 entry as well, so a load that started before an eviction
+ * cannot write its value back to either tier after it. The L2 is invalidated before the eviction
+ * is broadcast.
+ */
+public class TwoTierCache implements Cache {
+
+    static final String REQUESTS_METRIC = "openvsx_near_cache_requests_total";
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local;
+    private final NearCacheInvalidationBus bus;
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoTierCache(
+            Cache remote,
+            Caffeine<Object, Object> localBuilder,
+            NearCacheInvalidationBus bus,
+            MeterRegistry registry
+    ) {
+        this.remote = remote;
+        this.local = localBuilder.build();
+        this.bus = bus;
+        this.localHits = requests(registry, "l1", "hit");
+        this.localMisses = requests(registry, "l1", "miss");
+        this.remoteHits = requests(registry, "l2", "hit");
+        this.remoteMisses = requests(registry, "l2", "miss");
+        bus.register(getName(), this::invalidateLocal);
+    }
+
+    private Counter requests(MeterRegistry registry, String tier, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Near cache requests per tier")
+                .tag("cache", getName())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public @Nullable ValueWrapper get(Object key) {
+        var wrapper = local.getIfPresent(key);
+        if (wrapper != null) {
+            localHits.increment();
+            return wrapper;
+        }
+
+        localMisses.increment();
+        // concurrent misses of the same key share one L2 lookup, an eviction waits for it to complete
+        return local.get(key, this::getRemote);
+    }
+
+    private @Nullable ValueWrapper getRemote(Object key) {
+        var wrapper = remote.get(key);
+        if (wrapper != null) {
+            remoteHits.increment();
+        } else {
+            remoteMisses.increment();
+        }
+
+        return wrapper;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var wrapper = local.getIfPresent(key);
+        if (wrapper != null) {
+            localHits.increment();
+            return (T) wrapper.get();
+        }
+
+        localMisses.increment();
+        // only one loader runs per key on this instance
+        wrapper = local.get(key, k -> {
+            var remoteWrapper = getRemote(k);
+            if (remoteWrapper != null) {
+                return remoteWrapper;
+            }
+
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+
+            remote.put(k, value);
+            return new SimpleValueWrapper(value);
+        });
+        return (T) wrapper.get();
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        remote.put(key, value);
+        local.put(key, new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictBothTiers(key);
+        bus.publish(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        var present = evictBothTiers(key);
+        // the entry can still be in the L1 of other instances after it expired in L2
+        bus.publish(getName(), key);
+        return present;
+    }
+
+    private boolean evictBothTiers(Object key) {
+        // the L1 entry is locked while evicting, so a load that is in progress
+        // completes before the L2 eviction and cannot write back a stale value
+        var present = new AtomicBoolean();
+        local.asMap().compute(key, (k, wrapper) -> {
+            present.set(remote.evictIfPresent(k));
+            return null;
+        });
+        return present.get();
+    }
+
+    @Override
+    public void clear() {
+        // unlike clear, invalidate is not deferred by the L2 cache
+        remote.invalidate();
+        local.invalidateAll();
+        bus.publish(getName(), null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        var invalidated = remote.invalidate();
+        local.invalidateAll();
+        bus.publish(getName(), null);
+        return invalidated;
+    }
+
+    private void invalidateLocal(@Nullable String key) {
+        if (key != null) {
+            local.invalidate(key);
+        } else {
+            local.invalidateAll();
+        }
+    }
+}
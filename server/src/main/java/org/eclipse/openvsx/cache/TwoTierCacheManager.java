@@ -0,0 +1,84 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nullable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts a {@link TwoTierCache} in front of the given caches of the shared cache manager.
+ * All other caches are served by the shared cache manager directly.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final Set<String> nearCacheNames;
+    private final NearCacheInvalidationBus bus;
+    private final MeterRegistry registry;
+    private final Duration timeToLive;
+    private final long maxSize;
+    private final Map<String, Cache> nearCaches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            CacheManager remote,
+            Set<String> nearCacheNames,
+            NearCacheInvalidationBus bus,
+            MeterRegistry registry,
+            Duration timeToLive,
+            long maxSize
+    ) {
+        this.remote = remote;
+        this.nearCacheNames = nearCacheNames;
+        this.bus = bus;
+        this.registry = registry;
+        this.timeToLive = timeToLive;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public @Nullable Cache getCache(String name) {
+        if (!nearCacheNames.contains(name)) {
+            return remote.getCache(name);
+        }
+
+        return nearCaches.computeIfAbsent(name, this::createNearCache);
+    }
+
+    private @Nullable Cache createNearCache(String name) {
+        var remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+
+        var localBuilder = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maxSize)
+                .scheduler(Scheduler.systemScheduler());
+        return new TwoTierCache(remoteCache, localBuilder, bus, registry);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+}
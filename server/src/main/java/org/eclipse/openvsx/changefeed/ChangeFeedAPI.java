@@ -0,0 +1,72 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.changefeed;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.eclipse.openvsx.json.ChangeFeedJson;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+public class ChangeFeedAPI {
+
+    private final ChangeFeedService changeFeed;
+
+    public ChangeFeedAPI(ChangeFeedService changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @GetMapping(
+        path = "/api/-/changes",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @CrossOrigin
+    @Operation(summary = "Get the changes of the registry after the given position")
+    @ApiResponse(
+        responseCode = "200",
+        description = "The changes are returned in JSON format, ordered by id"
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "The request contains an invalid parameter value"
+    )
+    public ResponseEntity<ChangeFeedJson> getChanges(
+            @RequestParam(defaultValue = "0")
+            @Parameter(description = "Id of the last change the client has seen", schema = @Schema(type = "integer", minimum = "0", defaultValue = "0"))
+            long after,
+            @RequestParam(defaultValue = "100")
+            @Parameter(description = "Maximal number of changes to return", schema = @Schema(type = "integer", minimum = "0", maximum = "1000", defaultValue = "100"))
+            int size
+    ) {
+        if (after < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The parameter 'after' must not be negative.");
+        }
+        if (size < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The parameter 'size' must not be negative.");
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(changeFeed.getChanges(after, size));
+    }
+}
@@ -0,0 +1,174 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.changefeed;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.json.ChangeFeedJson;
+import org.eclipse.openvsx.json.RegistryChangeJson;
+import org.eclipse.openvsx.migration.HandlerJobRequest;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.NamingUtil;
+import org.eclipse.openvsx.util.TimeUtil;
+import org.jobrunr.scheduling.JobRequestScheduler;
+import org.jobrunr.scheduling.cron.Cron;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * Records changes of the registry in an ordered feed. Mirrors and downstream caches follow
+ * the feed to find out what changed since their last synchronization.
+ * <p>
+ * Changes are published as {@link RegistryChangeEvent} and written in the transaction
+ * of the change itself, so they are only visible once the change is committed.
+ */
+@Component
+public class ChangeFeedService {
+
+    protected final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final RepositoryService repositories;
+    private final JobRequestScheduler scheduler;
+    private final TransactionTemplate transactions;
+    private final Duration retention;
+    private final Cache<String, Boolean> recentDownloadChanges;
+
+    public ChangeFeedService(
+            RepositoryService repositories,
+            JobRequestScheduler scheduler,
+            TransactionTemplate transactions,
+            @Value("${ovsx.change-feed.retention:P30D}") Duration retention,
+            @Value("${ovsx.change-feed.download-count-interval:PT1H}") Duration downloadCountInterval
+    ) {
+        this.repositories = repositories;
+        this.scheduler = scheduler;
+        this.transactions = transactions;
+        this.retention = retention;
+        // download counts change constantly
+        this.recentDownloadChanges = Caffeine.newBuilder()
+                .expireAfterWrite(downloadCountInterval)
+                .build();
+    }
+
+    @EventListener
+    public void applicationStarted(ApplicationStartedEvent event) {
+        scheduler.scheduleRecurrently("prune-registry-changes", Cron.daily(2), ZoneId.of("UTC"), new HandlerJobRequest<>(PruneRegistryChangesJobRequestHandler.class));
+    }
+
+    /**
+     * Writes the change to the feed. Changes are written right before the transaction commits, the lock
+     * that orders the changes is only held for the commit. Changes published outside a transaction are
+     * written in a transaction of their own. Download count changes are recorded at most once per
+     * configured interval and extension.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRegistryChange(RegistryChangeEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            insertRegistryChange(event);
+            return;
+        }
+
+        // the advisory lock must be held until the change is committed
+        var inserted = transactions.execute(status -> insertRegistryChange(event));
+        if (Boolean.TRUE.equals(inserted)) {
+            markDownloadsUpdated(event);
+        }
+    }
+
+    /**
+     * Starts the download count interval once the change is committed, a rolled back change must not
+     * suppress the next one.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRegistryChangeCommitted(RegistryChangeEvent event) {
+        markDownloadsUpdated(event);
+    }
+
+    private boolean insertRegistryChange(RegistryChangeEvent event) {
+        if (event.type() == ChangeType.DOWNLOADS_UPDATED && recentDownloadChanges.getIfPresent(getExtensionKey(event)) != null) {
+            return false;
+        }
+
+        repositories.insertRegistryChange(event.type(), event.namespace(), event.extension(), event.targetPlatform(), event.version());
+        return true;
+    }
+
+    private void markDownloadsUpdated(RegistryChangeEvent event) {
+        if (event.type() == ChangeType.DOWNLOADS_UPDATED) {
+            recentDownloadChanges.put(getExtensionKey(event), Boolean.TRUE);
+        }
+    }
+
+    private String getExtensionKey(RegistryChangeEvent event) {
+        return NamingUtil.toExtensionId(event.namespace(), event.extension());
+    }
+
+    /**
+     * Returns the changes after the given position.
+     */
+    public ChangeFeedJson getChanges(long after, int size) {
+        var first = repositories.findFirstRegistryChangeId();
+        var changes = repositories.findRegistryChanges(after, Math.min(size, MAX_PAGE_SIZE));
+        var head = Objects.requireNonNullElse(repositories.findLastRegistryChangeId(), 0L);
+        var timestamp = TimeUtil.toUTCString(TimeUtil.getCurrentUTC());
+        if (after > head || (first != null && after < first - 1)) {
+            // the changes after this position have been pruned, or the position is from another registry
+            return new ChangeFeedJson(Collections.emptyList(), head, head, true, timestamp);
+        }
+
+        var json = changes.stream().map(this::toJson).toList();
+        var next = changes.isEmpty() ? after : changes.getLast().id();
+        return new ChangeFeedJson(json, next, head, false, timestamp);
+    }
+
+    private RegistryChangeJson toJson(RegistryChange change) {
+        return new RegistryChangeJson(
+                change.id(),
+                TimeUtil.toUTCString(change.timestamp()),
+                change.type().name(),
+                change.namespace(),
+                change.extension(),
+                change.targetPlatform(),
+                change.version()
+        );
+    }
+
+    /**
+     * Deletes the changes that are older than the configured retention.
+     */
+    @Transactional
+    public int deleteExpiredChanges() {
+        var count = repositories.deleteRegistryChangesBefore(TimeUtil.getCurrentUTC().minus(retention));
+        if (count > 0) {
+            logger.info("Deleted {} registry changes older than {}", count, retention);
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,41 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.changefeed;
+
+/**
+ * Kinds of entries in the registry change feed.
+ */
+public enum ChangeType {
+    /** A new extension version was published and is active. */
+    VERSION_PUBLISHED,
+    /** An existing extension version became active again. */
+    VERSION_ACTIVATED,
+    VERSION_DEACTIVATED,
+    VERSION_DELETED,
+    /** The extension and all of its versions were deleted. */
+    EXTENSION_DELETED,
+    /** The extension was deprecated, replaced or made (not) downloadable. */
+    EXTENSION_UPDATED,
+    REVIEWS_UPDATED,
+    DOWNLOADS_UPDATED,
+    /** Namespace metadata changed, or the namespace was created or removed. */
+    NAMESPACE_UPDATED;
+
+    /**
+     * Whether the versions of the extension have to be synchronized.
+     */
+    public boolean affectsVersions() {
+        return this == VERSION_PUBLISHED || this == VERSION_ACTIVATED || this == VERSION_DEACTIVATED
+                || this == VERSION_DELETED || this == EXTENSION_DELETED;
+    }
+}
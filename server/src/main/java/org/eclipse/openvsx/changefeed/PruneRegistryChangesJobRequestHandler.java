@@ -0,0 +1,34 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.changefeed;
+
+import org.eclipse.openvsx.migration.HandlerJobRequest;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.jobs.lambdas.JobRequestHandler;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PruneRegistryChangesJobRequestHandler implements JobRequestHandler<HandlerJobRequest<?>> {
+
+    private final ChangeFeedService changeFeed;
+
+    public PruneRegistryChangesJobRequestHandler(ChangeFeedService changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    @Job(name = "Prune registry changes", retries = 3)
+    public void run(HandlerJobRequest<?> jobRequest) throws Exception {
+        changeFeed.deleteExpiredChanges();
+    }
+}
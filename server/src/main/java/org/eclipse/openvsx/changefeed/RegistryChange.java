@@ -0,0 +1,31 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.changefeed;
+
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entry of the registry change feed. The extension, target platform and version
+ * are only set for changes of that granularity.
+ */
+public record RegistryChange(
+        long id,
+        LocalDateTime timestamp,
+        ChangeType type,
+        String namespace,
+        @Nullable String extension,
+        @Nullable String targetPlatform,
+        @Nullable String version
+) {}
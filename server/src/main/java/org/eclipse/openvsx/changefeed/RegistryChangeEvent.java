@@ -0,0 +1,49 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.changefeed;
+
+import jakarta.annotation.Nullable;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+
+/**
+ * Published when the registry changes. The change is written to the change feed
+ * right before the surrounding transaction commits.
+ */
+public record RegistryChangeEvent(
+        ChangeType type,
+        String namespace,
+        @Nullable String extension,
+        @Nullable String targetPlatform,
+        @Nullable String version
+) {
+
+    public static RegistryChangeEvent of(ChangeType type, ExtensionVersion extVersion) {
+        var extension = extVersion.getExtension();
+        return new RegistryChangeEvent(
+                type,
+                extension.getNamespace().getName(),
+                extension.getName(),
+                extVersion.getTargetPlatform(),
+                extVersion.getVersion()
+        );
+    }
+
+    public static RegistryChangeEvent of(ChangeType type, Extension extension) {
+        return new RegistryChangeEvent(type, extension.getNamespace().getName(), extension.getName(), null, null);
+    }
+
+    public static RegistryChangeEvent namespaceUpdated(String namespaceName) {
+        return new RegistryChangeEvent(ChangeType.NAMESPACE_UPDATED, namespaceName, null, null, null);
+    }
+}
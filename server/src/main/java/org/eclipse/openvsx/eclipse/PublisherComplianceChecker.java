@@ -11,6 +11,8 @@ package org.eclipse.openvsx.eclipse;
 
 import jakarta.persistence.EntityManager;
 import org.eclipse.openvsx.ExtensionService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.PersonalAccessToken;
 import org.eclipse.openvsx.entities.UserData;
@@ -20,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -39,6 +42,7 @@ public class PublisherComplianceChecker {
     private final RepositoryService repositories;
     private final ExtensionService extensions;
     private final EclipseService eclipseService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${ovsx.eclipse.check-compliance-on-start:false}")
     boolean checkCompliance;
@@ -48,13 +52,15 @@ public class PublisherComplianceChecker {
             EntityManager entityManager,
             RepositoryService repositories,
             ExtensionService extensions,
-            EclipseService eclipseService
+            EclipseService eclipseService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.transactions = transactions;
         this.entityManager = entityManager;
         this.repositories = repositories;
         this.extensions = extensions;
         this.eclipseService = eclipseService;
+        this.eventPublisher = eventPublisher;
     }
 
     @EventListener
@@ -102,6 +108,7 @@ public class PublisherComplianceChecker {
             for (var version : versions) {
                 version.setActive(false);
                 entityManager.merge(version);
+                eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.VERSION_DEACTIVATED, version));
                 var extension = version.getExtension();
                 affectedExtensions.add(extension);
                 logger.atInfo()
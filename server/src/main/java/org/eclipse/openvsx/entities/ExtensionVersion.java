@@ -64,6 +64,7 @@ public class ExtensionVersion implements Serializable {
     @AttributeOverride(name = "preRelease", column = @Column(name = "semver_pre_release"))
     @AttributeOverride(name = "isPreRelease", column = @Column(name = "semver_is_pre_release"))
     @AttributeOverride(name = "buildMetadata", column = @Column(name = "semver_build_metadata"))
+    @AttributeOverride(name = "key", column = @Column(name = "semver_key"))
     private SemanticVersion semver;
 
     private boolean preRelease;
@@ -15,6 +15,7 @@ import jakarta.persistence.Embeddable;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -32,6 +33,8 @@ public class SemanticVersion implements Comparable<SemanticVersion>, Serializabl
     // has been modified to only use non-capturing groups (?:.*), so that it can be used as a URI template regex
     public static final String VERSION_PATH_PARAM_REGEX = "(?:0|[1-9]\\d*)\\.(?:0|[1-9]\\d*)\\.(?:0|[1-9]\\d*)(?:-(?:(?:0|[1-9]\\d*|\\d*[a-zA-Z-][0-9a-zA-Z-]*)(?:\\.(?:0|[1-9]\\d*|\\d*[a-zA-Z-][0-9a-zA-Z-]*))*))?(?:\\+(?:[0-9a-zA-Z-]+(?:\\.[0-9a-zA-Z-]+)*))?";
 
+    private static final int KEY_LENGTH = 3 * Integer.BYTES + 1;
+
     public static SemanticVersion parse(String version) {
         var matcher = VERSION_PARSE_PATTERN.matcher(version);
         matcher.find();
@@ -42,15 +45,32 @@ public class SemanticVersion implements Comparable<SemanticVersion>, Serializabl
         semver.setPatch(Integer.parseInt(matcher.group("patch")));
         semver.setPreRelease(matcher.group("prerelease"));
         semver.setBuildMetadata(matcher.group("buildmetadata"));
+        semver.key = createKey(semver.getMajor(), semver.getMinor(), semver.getPatch(), semver.isIsPreRelease());
         return semver;
     }
 
+    /**
+     * Encodes the version into a key whose unsigned byte order is the reverse of {@link #compareTo(SemanticVersion)},
+     * so that versions can be sorted by a single column in the database: major, minor and patch as 4-byte
+     * big-endian integers, followed by {@code 0x00} for a pre-release or {@code 0x01} for a release.
+     * Like {@link #compareTo(SemanticVersion)}, the key ignores pre-release identifiers and build metadata.
+     */
+    public static byte[] createKey(int major, int minor, int patch, boolean isPreRelease) {
+        return ByteBuffer.allocate(KEY_LENGTH)
+                .putInt(major)
+                .putInt(minor)
+                .putInt(patch)
+                .put((byte) (isPreRelease ? 0 : 1))
+                .array();
+    }
+
     private int major;
     private int minor;
     private int patch;
     private String preRelease;
     private boolean isPreRelease;
     private String buildMetadata;
+    private byte[] key;
 
     public int getMajor() {
         return major;
@@ -101,6 +121,14 @@ public class SemanticVersion implements Comparable<SemanticVersion>, Serializabl
         this.buildMetadata = buildMetadata;
     }
 
+    public byte[] getKey() {
+        return key;
+    }
+
+    public void setKey(byte[] key) {
+        // do nothing, property is derived from the version
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -51,6 +51,9 @@ public class Tier implements Serializable {
     @Enumerated(EnumType.STRING)
     private RefillStrategy refillStrategy = RefillStrategy.GREEDY;
 
+    @Column(nullable = false)
+    private int leaseSize;
+
     public long getId() {
         return id;
     }
@@ -103,6 +106,19 @@ public class Tier implements Serializable {
         this.refillStrategy = refillStrategy;
     }
 
+    /**
+     * The number of tokens that a server takes from the shared bucket at once and hands out
+     * locally. Larger leases save round trips to the bucket store, but tokens leased by one
+     * server can't be used by the others until they are returned. 0 disables leasing.
+     */
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    public void setLeaseSize(int leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
     public TierJson toJson() {
         var json = new TierJson();
         json.setName(name);
@@ -111,6 +127,7 @@ public class Tier implements Serializable {
         json.setCapacity(capacity);
         json.setDuration(duration.toSeconds());
         json.setRefillStrategy(refillStrategy.name());
+        json.setLeaseSize(leaseSize);
         return json;
     }
 
@@ -121,6 +138,7 @@ public class Tier implements Serializable {
         setCapacity(json.getCapacity());
         setDuration(Duration.ofSeconds(json.getDuration()));
         setRefillStrategy(RefillStrategy.valueOf(json.getRefillStrategy()));
+        setLeaseSize(json.getLeaseSize());
         return this;
     }
 
@@ -132,6 +150,7 @@ public class Tier implements Serializable {
         tier.setCapacity(json.getCapacity());
         tier.setDuration(Duration.ofSeconds(json.getDuration()));
         tier.setRefillStrategy(RefillStrategy.valueOf(json.getRefillStrategy()));
+        tier.setLeaseSize(json.getLeaseSize());
         return tier;
     }
 
@@ -146,12 +165,13 @@ public class Tier implements Serializable {
             && Objects.equals(tierType, that.tierType)
             && Objects.equals(capacity, that.capacity)
             && Objects.equals(duration, that.duration)
-            && Objects.equals(refillStrategy, that.refillStrategy);
+            && Objects.equals(refillStrategy, that.refillStrategy)
+            && leaseSize == that.leaseSize;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, description, tierType, capacity, duration, refillStrategy);
+        return Objects.hash(id, name, description, tierType, capacity, duration, refillStrategy, leaseSize);
     }
 
     @Override
@@ -163,6 +183,7 @@ public class Tier implements Serializable {
                 ", capacity=" + capacity +
                 ", duration=" + duration +
                 ", refillStrategy=" + refillStrategy +
+                ", leaseSize=" + leaseSize +
                 '}';
     }
 }
@@ -14,6 +14,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
+import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.UserData;
 import org.eclipse.openvsx.migration.HandlerJobRequest;
 import org.eclipse.openvsx.repositories.RepositoryService;
@@ -27,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
@@ -36,6 +40,7 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import static org.eclipse.openvsx.cache.CacheService.CACHE_MALICIOUS_EXTENSIONS;
 
@@ -49,6 +54,7 @@ public class ExtensionControlService {
     private final EntityManager entityManager;
     private final SearchUtilService search;
     private final CacheService cache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${ovsx.data.mirror.enabled:false}")
     boolean mirrorEnabled;
@@ -67,13 +73,15 @@ public class ExtensionControlService {
             RepositoryService repositories,
             EntityManager entityManager,
             SearchUtilService search,
-            CacheService cache
+            CacheService cache,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.scheduler = scheduler;
         this.repositories = repositories;
         this.entityManager = entityManager;
         this.search = search;
         this.cache = cache;
+        this.eventPublisher = eventPublisher;
     }
 
     @EventListener
@@ -109,18 +117,28 @@ public class ExtensionControlService {
         }
 
         var wasDeprecated = extension.isDeprecated();
+        var changed = deprecated != wasDeprecated || downloadable != extension.isDownloadable();
         extension.setDeprecated(deprecated);
         extension.setDownloadable(downloadable);
         if(replacementId != null) {
             var replacement = repositories.findExtension(replacementId.extension(), replacementId.namespace());
+            changed |= !Objects.equals(getId(extension.getReplacement()), getId(replacement));
             extension.setReplacement(replacement);
         }
         if(deprecated != wasDeprecated) {
             cache.evictNamespaceDetails(extension);
             cache.evictLatestExtensionVersion(extension);
             cache.evictExtensionJsons(extension);
+            cache.evictExtensionQueries(extension);
             search.updateSearchEntry(extension);
         }
+        if(changed) {
+            eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.EXTENSION_UPDATED, extension));
+        }
+    }
+
+    private Long getId(Extension extension) {
+        return extension != null ? extension.getId() : null;
     }
 
     public JsonNode getExtensionControlJson() throws IOException {
@@ -0,0 +1,36 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A page of the registry change feed
+ *
+ * @param changes   changes after the requested position, ordered by id
+ * @param next      position to request the following page with
+ * @param head      id of the latest change
+ * @param reset     whether the requested position is no longer covered by the feed,
+ *                  the client has to resynchronize all data before following the feed from {@code head}
+ * @param timestamp current server time
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeFeedJson(
+        List<RegistryChangeJson> changes,
+        long next,
+        long head,
+        boolean reset,
+        String timestamp
+) {}
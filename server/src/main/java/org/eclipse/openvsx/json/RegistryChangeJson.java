@@ -0,0 +1,29 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * An entry of the registry change feed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RegistryChangeJson(
+        long id,
+        String timestamp,
+        String type,
+        String namespace,
+        String extension,
+        String targetPlatform,
+        String version
+) {}
@@ -32,6 +32,8 @@ public class TierJson extends ResultJson {
     @NotNull
     private String refillStrategy;
 
+    private int leaseSize;
+
     public String getName() {
         return name;
     }
@@ -80,6 +82,14 @@ public class TierJson extends ResultJson {
         this.refillStrategy = refillStrategy;
     }
 
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    public void setLeaseSize(int leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
     public static TierJson error(String message) {
         var json = new TierJson();
         json.setError(message);
@@ -11,10 +11,15 @@ package org.eclipse.openvsx.mirror;
 
 import org.eclipse.openvsx.UrlConfigService;
 import org.eclipse.openvsx.admin.AdminService;
+import org.eclipse.openvsx.changefeed.ChangeType;
 import org.eclipse.openvsx.entities.UserData;
+import org.eclipse.openvsx.json.ChangeFeedJson;
+import org.eclipse.openvsx.json.RegistryChangeJson;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.util.ErrorResultException;
 import org.eclipse.openvsx.util.NamingUtil;
+import org.eclipse.openvsx.util.NotFoundException;
+import org.eclipse.openvsx.util.TimeUtil;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.jobs.lambdas.JobRequestHandler;
 import org.slf4j.Logger;
@@ -24,6 +29,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.RequestEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -34,15 +41,22 @@ import org.xml.sax.SAXException;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
 
+import static org.eclipse.openvsx.util.UrlUtil.addQuery;
 import static org.eclipse.openvsx.util.UrlUtil.createApiUrl;
 
 @Component
@@ -50,6 +64,13 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
 
     protected final Logger logger = LoggerFactory.getLogger(DataMirrorJobRequestHandler.class);
 
+    private static final String CHANGE_FEED_CURSOR = "mirror";
+    // id of the last change that was skipped after failing repeatedly, 0 once a full crawl has applied it
+    private static final String SKIPPED_CHANGE_CURSOR = "mirror-skipped";
+    private static final int CHANGE_FEED_PAGE_SIZE = 500;
+    // number of URLs allowed in a sitemap file, a flat sitemap of this size may be truncated
+    private static final int MAX_SITEMAP_URLS = 50_000;
+
     private DataMirrorService data;
     private final RepositoryService repositories;
     private final RestTemplate backgroundRestTemplate;
@@ -57,10 +78,22 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
     private final AdminService admin;
     private final MirrorExtensionService mirrorExtensionService;
     private final DateTimeFormatter dateFormatter;
+    // failed attempts by change id, the failed change is retried on the next run
+    private final Map<Long, Integer> failedChanges = new ConcurrentHashMap<>();
 
     @Value("${ovsx.data.mirror.schedule:}")
     String schedule;
 
+    // The mirror reads upstream metadata without the local upstream cache (ovsx.upstream.cache.ttl),
+    // but the upstream registry and any proxy or CDN in front of it may serve cached responses.
+    // The settle time must be at least the longest of these cache lifetimes, otherwise a change
+    // could be applied from metadata that doesn't contain it yet and would not be mirrored again.
+    @Value("${ovsx.data.mirror.change-feed.settle-time:PT10M}")
+    Duration changeFeedSettleTime;
+
+    @Value("${ovsx.data.mirror.change-feed.max-attempts:3}")
+    int changeFeedMaxAttempts;
+
     public DataMirrorJobRequestHandler(
             Optional<DataMirrorService> dataMirrorService,
             RepositoryService repositories,
@@ -86,16 +119,12 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
         }
 
         logger.debug(">> Starting DataMirrorJob");
-        var sitemap = getSitemap();
-        if(sitemap == null) {
-            logger.error("failed to fetch sitemap");
-            return;
-        }
-
         try {
             var mirrorUser = data.createMirrorUser();
-            var extensionIds = processUrls(sitemap.getElementsByTagName("url"), mirrorUser);
-            deleteOtherExtensions(extensionIds, mirrorUser);
+            var position = repositories.findChangeFeedCursor(CHANGE_FEED_CURSOR);
+            if (position == null || !followChangeFeed(position, mirrorUser) || isFullCrawlPending()) {
+                mirrorAllExtensions(mirrorUser);
+            }
         } catch (Exception e) {
             logger.error("failed to mirror data", e);
             throw e;
@@ -104,21 +133,211 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
         } 
     }
 
-    private List<String> processUrls(NodeList urls, UserData mirrorUser) {
+    private void mirrorAllExtensions(UserData mirrorUser) throws IOException, SAXException, ParserConfigurationException {
+        // changes made during the crawl are applied again on the next run
+        var head = getChangeFeedHead();
+        var sitemap = getSitemapUrls();
+        if(sitemap == null) {
+            logger.error("failed to fetch sitemap");
+            return;
+        }
+        if(sitemap.urls().isEmpty()) {
+            // an empty or unsupported sitemap must not delete all mirrored extensions
+            logger.error("sitemap doesn't contain any extensions");
+            return;
+        }
+
+        var extensionIds = processUrls(sitemap.urls(), mirrorUser);
+        if(sitemap.complete()) {
+            deleteOtherExtensions(extensionIds, mirrorUser);
+        } else {
+            // extensions that are missing from a truncated sitemap must not be deleted
+            logger.warn("sitemap of the upstream registry may be incomplete, extensions are not deleted");
+        }
+        if (head != null) {
+            repositories.saveChangeFeedCursor(CHANGE_FEED_CURSOR, head);
+        }
+        if (isFullCrawlPending()) {
+            repositories.saveChangeFeedCursor(SKIPPED_CHANGE_CURSOR, 0);
+        }
+        failedChanges.clear();
+    }
+
+    private boolean isFullCrawlPending() {
+        var skipped = repositories.findChangeFeedCursor(SKIPPED_CHANGE_CURSOR);
+        return skipped != null && skipped > 0;
+    }
+
+    /**
+     * Applies the changes of the upstream registry since the last run.
+     *
+     * @return {@code false} if the upstream change feed doesn't cover the position, all extensions must be mirrored then
+     */
+    private boolean followChangeFeed(long position, UserData mirrorUser) {
+        while (true) {
+            var page = getChanges(position, CHANGE_FEED_PAGE_SIZE);
+            if (page == null || page.reset()) {
+                jobContext().logger().info("change feed not available after " + position + ", mirroring all extensions");
+                return false;
+            }
+
+            // responses of the upstream registry are cached for a while, see changeFeedSettleTime.
+            // The most recent changes are applied on the next run
+            var settled = TimeUtil.fromUTCString(page.timestamp()).minus(changeFeedSettleTime);
+            var changes = page.changes().stream()
+                    .takeWhile(change -> !TimeUtil.fromUTCString(change.timestamp()).isAfter(settled))
+                    .toList();
+            if (changes.isEmpty()) {
+                return true;
+            }
+
+            var applied = applyChanges(changes, mirrorUser);
+            if (applied > position) {
+                position = applied;
+                repositories.saveChangeFeedCursor(CHANGE_FEED_CURSOR, position);
+            }
+            if (applied < changes.getLast().id()) {
+                // the failed change is retried on the next run
+                return true;
+            }
+            if (changes.size() < page.changes().size() || position >= page.head()) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Applies the changes in the order of the feed. Changes that fail are retried on the next run,
+     * changes after them are applied anyway. A change that keeps failing is skipped after
+     * {@code ovsx.data.mirror.change-feed.max-attempts} attempts and applied by a full crawl.
+     *
+     * @return the position up to which all changes have been applied or skipped
+     */
+    private long applyChanges(List<RegistryChangeJson> changes, UserData mirrorUser) {
+        // multiple changes of the same extension or namespace are applied at once
+        var groups = new LinkedHashMap<String, ChangeGroup>();
+        for (var change : changes) {
+            var key = change.extension() == null
+                    ? change.namespace()
+                    : NamingUtil.toExtensionId(change.namespace(), change.extension());
+            groups.merge(
+                    key,
+                    new ChangeGroup(change.id(), change.namespace(), change.extension(), affectsVersions(change.type())),
+                    ChangeGroup::merge
+            );
+        }
+
+        var position = changes.getLast().id();
+        for (var group : groups.values()) {
+            var applied = group.extension() == null
+                    ? applyNamespaceChanges(group.namespace(), mirrorUser)
+                    : applyExtensionChanges(group, mirrorUser);
+            if (applied) {
+                failedChanges.remove(group.firstId());
+                continue;
+            }
+
+            var attempts = failedChanges.merge(group.firstId(), 1, Integer::sum);
+            if (attempts < changeFeedMaxAttempts) {
+                // changes after this position are applied again on the next run, which is harmless
+                position = Math.min(position, group.firstId() - 1);
+                continue;
+            }
+
+            var key = group.extension() == null ? group.namespace() : NamingUtil.toExtensionId(group.namespace(), group.extension());
+            logger.error("skipping change {} of {} after {} failed attempts, it is applied by the next full crawl", group.firstId(), key, attempts);
+            failedChanges.remove(group.firstId());
+            repositories.saveChangeFeedCursor(SKIPPED_CHANGE_CURSOR, group.firstId());
+        }
+
+        return position;
+    }
+
+    private boolean applyExtensionChanges(ChangeGroup group, UserData mirrorUser) {
+        var namespace = group.namespace();
+        var extension = group.extension();
+        if (!data.match(namespace, extension)) {
+            return true;
+        }
+
+        var extensionId = NamingUtil.toExtensionId(namespace, extension);
+        jobContext().logger().info("mirroring changes of " + extensionId);
+        try {
+            if (group.affectsVersions() || repositories.findExtension(extension, namespace) == null) {
+                mirrorExtensionService.mirrorExtension(namespace, extension, mirrorUser, null, jobContext());
+            } else {
+                mirrorExtensionService.mirrorExtensionMetadata(namespace, extension);
+            }
+        } catch (NotFoundException e) {
+            // the extension is no longer available upstream
+            deleteExtension(namespace, extension, mirrorUser);
+        } catch (Exception e) {
+            logger.error("failed to mirror {}", extensionId, e);
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean applyNamespaceChanges(String namespace, UserData mirrorUser) {
+        jobContext().logger().info("mirroring changes of namespace " + namespace);
+        try {
+            mirrorExtensionService.mirrorNamespace(namespace, mirrorUser, jobContext());
+        } catch (NotFoundException e) {
+            // the extensions of a removed namespace have their own changes
+        } catch (Exception e) {
+            logger.error("failed to mirror namespace {}", namespace, e);
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean affectsVersions(String type) {
+        try {
+            return ChangeType.valueOf(type).affectsVersions();
+        } catch (IllegalArgumentException e) {
+            // unknown change type of a newer upstream registry
+            return true;
+        }
+    }
+
+    private Long getChangeFeedHead() {
+        try {
+            var page = getChanges(0, 0);
+            return page != null ? page.head() : null;
+        } catch (RestClientException e) {
+            logger.warn("failed to fetch change feed head: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private ChangeFeedJson getChanges(long after, int size) {
+        var url = addQuery(createApiUrl(urlConfigService.getMirrorServerUrl(), "api", "-", "changes"),
+                "after", Long.toString(after), "size", Integer.toString(size));
+        try {
+            return backgroundRestTemplate.getForObject(URI.create(url), ChangeFeedJson.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            // the upstream registry has no change feed
+            return null;
+        }
+    }
+
+    private List<String> processUrls(List<Element> urls, UserData mirrorUser) {
         var extensionIds = new ArrayList<String>();
-        var progress = jobContext().progressBar(urls.getLength());
-        for(var i = 0; i < urls.getLength(); i++) {
-            var url = (Element) urls.item(i);
+        var progress = jobContext().progressBar(urls.size());
+        for(var i = 0; i < urls.size(); i++) {
+            var url = urls.get(i);
             var extensionId = getExtensionId(url);
             var id = NamingUtil.fromExtensionId(extensionId);
             var namespace = id.namespace();
             var extension = id.extension();
             if (!data.match(namespace, extension)) {
-                jobContext().logger().info("excluded, skipping " + extensionId + " (" + (i+1) + "/" +  urls.getLength() + ")");
+                jobContext().logger().info("excluded, skipping " + extensionId + " (" + (i+1) + "/" +  urls.size() + ")");
                 continue;
             }
 
-            jobContext().logger().info("mirroring " + extensionId + " (" + (i+1) + "/" +  urls.getLength() + ")");
+            jobContext().logger().info("mirroring " + extensionId + " (" + (i+1) + "/" +  urls.size() + ")");
             try {
                 LocalDate lastModified = getLastModified(url, extensionId);
                 mirrorExtensionService.mirrorExtension(namespace, extension, mirrorUser, lastModified, jobContext());
@@ -135,35 +354,84 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
     private void deleteOtherExtensions(List<String> extensionIds, UserData mirrorUser) {
         var notMatchingExtensions = repositories.findAllNotMatchingByExtensionId(extensionIds);
         for(var extension : notMatchingExtensions) {
-            var extensionId = NamingUtil.toExtensionId(extension);
-            jobContext().logger().info("deleting " + extensionId);
-            try {
-                var namespace = extension.getNamespace();
-                admin.deleteExtension(namespace.getName(), extension.getName(), mirrorUser);
-            } catch (ErrorResultException e) {
-                if (e.getStatus() != HttpStatus.NOT_FOUND) {
-                    logger.warn("mirror: failed to delete extension {}", extensionId, e);
-                }
-            } catch (Exception e) {
-                logger.error("mirror: failed to delete extension {}", extensionId, e);
+            deleteExtension(extension.getNamespace().getName(), extension.getName(), mirrorUser);
+        }
+    }
+
+    private void deleteExtension(String namespaceName, String extensionName, UserData mirrorUser) {
+        var extensionId = NamingUtil.toExtensionId(namespaceName, extensionName);
+        jobContext().logger().info("deleting " + extensionId);
+        try {
+            admin.deleteExtension(namespaceName, extensionName, mirrorUser);
+        } catch (ErrorResultException e) {
+            if (e.getStatus() != HttpStatus.NOT_FOUND) {
+                logger.warn("mirror: failed to delete extension {}", extensionId, e);
+            }
+        } catch (Exception e) {
+            logger.error("mirror: failed to delete extension {}", extensionId, e);
+        }
+    }
+
+    /**
+     * Returns the {@code url} elements of the upstream sitemap. The sitemap index is read first and
+     * the {@code url} elements of all listed sitemaps are returned. Upstream registries without a
+     * sitemap index are read from the flat sitemap, which is incomplete if it has reached the number
+     * of URLs allowed in a sitemap file.
+     */
+    private SitemapUrls getSitemapUrls() throws IOException, SAXException, ParserConfigurationException {
+        var mirrorServerUrl = urlConfigService.getMirrorServerUrl();
+        Document sitemap;
+        try {
+            sitemap = getSitemap(URI.create(createApiUrl(mirrorServerUrl, "sitemap-index.xml")));
+        } catch (HttpClientErrorException.NotFound e) {
+            // older upstream registries only have the flat sitemap
+            sitemap = getSitemap(URI.create(createApiUrl(mirrorServerUrl, "sitemap.xml")));
+        }
+        if(sitemap == null) {
+            return null;
+        }
+
+        var urls = new ArrayList<Element>();
+        var shards = sitemap.getElementsByTagName("sitemap");
+        if(shards.getLength() == 0) {
+            addElements(sitemap.getElementsByTagName("url"), urls);
+            return new SitemapUrls(urls, urls.size() < MAX_SITEMAP_URLS);
+        }
+
+        for(var i = 0; i < shards.getLength(); i++) {
+            var location = ((Element) shards.item(i)).getElementsByTagName("loc").item(0).getTextContent();
+            var shard = getSitemap(URI.create(location.trim()));
+            if(shard == null) {
+                return null;
             }
+
+            addElements(shard.getElementsByTagName("url"), urls);
         }
+
+        return new SitemapUrls(urls, true);
     }
 
-    private Document getSitemap() throws IOException, SAXException, ParserConfigurationException {
-        var requestUrl = URI.create(createApiUrl(urlConfigService.getMirrorServerUrl(), "sitemap.xml"));
+    private void addElements(NodeList nodes, List<Element> elements) {
+        for(var i = 0; i < nodes.getLength(); i++) {
+            elements.add((Element) nodes.item(i));
+        }
+    }
+
+    private Document getSitemap(URI requestUrl) throws IOException, SAXException, ParserConfigurationException {
         var request = new RequestEntity<Void>(HttpMethod.GET, requestUrl);
-        var response = backgroundRestTemplate.exchange(request, String.class);
+        var response = backgroundRestTemplate.exchange(request, byte[].class);
         var body = response.getStatusCode().is2xxSuccessful() ? response.getBody() : null;
         if(body == null) {
             return null;
         }
 
-        try(var reader = new StringReader(body)) {
+        // sitemap shards are gzip-compressed files
+        var gzip = requestUrl.getPath().endsWith(".gz");
+        try(InputStream input = gzip ? new GZIPInputStream(new ByteArrayInputStream(body)) : new ByteArrayInputStream(body)) {
             var factory = DocumentBuilderFactory.newInstance();
             factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
             var builder = factory.newDocumentBuilder();
-            return builder.parse(new InputSource(reader));
+            return builder.parse(new InputSource(input));
         }
     }
 
@@ -185,4 +453,19 @@ public class DataMirrorJobRequestHandler implements JobRequestHandler<DataMirror
 
         return null;
     }
+
+    /**
+     * Changes of one extension or namespace, ordered by the first change in the feed.
+     */
+    private record ChangeGroup(long firstId, String namespace, String extension, boolean affectsVersions) {
+
+        ChangeGroup merge(ChangeGroup other) {
+            return new ChangeGroup(firstId, namespace, extension, affectsVersions || other.affectsVersions);
+        }
+    }
+
+    /**
+     * @param complete whether the sitemap lists all extensions of the upstream registry
+     */
+    private record SitemapUrls(List<Element> urls, boolean complete) {}
 }
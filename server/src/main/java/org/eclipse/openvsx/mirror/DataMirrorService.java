@@ -19,6 +19,8 @@ import org.eclipse.openvsx.UpstreamRegistryService;
 import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.accesstoken.AccessTokenService;
 import org.eclipse.openvsx.admin.AdminService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.ExtensionJson;
 import org.eclipse.openvsx.json.NamespaceJson;
@@ -32,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
@@ -59,6 +62,7 @@ public class DataMirrorService {
     private final Set<String> includeExtensions;
     private final Counter mirroredVersions;
     private final Counter failedVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${ovsx.data.mirror.user-name}")
     String userName;
@@ -79,7 +83,8 @@ public class DataMirrorService {
             AdminService admin,
             Set<String> excludeExtensions,
             Set<String> includeExtensions,
-            MeterRegistry registry
+            MeterRegistry registry,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.repositories = repositories;
         this.entityManager = entityManager;
@@ -95,6 +100,7 @@ public class DataMirrorService {
         this.includeExtensions = includeExtensions;
         this.mirroredVersions = Counter.builder("ovsx_mirror_versions").tag("outcome", "success").register(registry);
         this.failedVersions = Counter.builder("ovsx_mirror_versions").tag("outcome", "failure").register(registry);
+        this.eventPublisher = eventPublisher;
     }
 
     public Counter getMirroredVersions() {
@@ -180,7 +186,10 @@ public class DataMirrorService {
     @Transactional
     public void activateExtension(String namespaceName, String extensionName) {
         var extension = repositories.findExtension(extensionName, namespaceName);
-        extension.getVersions().stream().filter(this::canActivate).forEach(extVersion -> extVersion.setActive(true));
+        extension.getVersions().stream().filter(this::canActivate).forEach(extVersion -> {
+            extVersion.setActive(true);
+            eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.VERSION_ACTIVATED, extVersion));
+        });
         extensions.updateExtension(extension);
     }
 
@@ -249,7 +258,7 @@ public class DataMirrorService {
     }
 
     public void mirrorNamespaceMetadata(String namespaceName) {
-        var remoteVerified = upstream.getNamespace(namespaceName).getVerified();
+        var remoteVerified = upstream.getNamespace(namespaceName, false).getVerified();
         var localVerified = local.getNamespace(namespaceName).getVerified();
         if(!localVerified && remoteVerified) {
             // verify the namespace by adding an owner to it
@@ -9,11 +9,16 @@
  * ****************************************************************************** */
 package org.eclipse.openvsx.mirror;
 
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.io.IOUtils;
 import org.eclipse.openvsx.ExtensionService;
 import org.eclipse.openvsx.UpstreamRegistryService;
 import org.eclipse.openvsx.accesstoken.AccessTokenService;
+import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.UserData;
 import org.eclipse.openvsx.json.ExtensionJson;
+import org.eclipse.openvsx.json.QueryRequestV2;
+import org.eclipse.openvsx.json.QueryResultJson;
 import org.eclipse.openvsx.json.UserJson;
 import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
 import org.eclipse.openvsx.repositories.RepositoryService;
@@ -21,17 +26,26 @@ import org.eclipse.openvsx.util.*;
 import org.jobrunr.jobs.context.JobContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
 
 import static org.eclipse.openvsx.entities.FileResource.DOWNLOAD_SIG;
@@ -42,6 +56,8 @@ public class MirrorExtensionService {
 
     protected final Logger logger = LoggerFactory.getLogger(MirrorExtensionService.class);
 
+    private static final int QUERY_PAGE_SIZE = 100;
+
     private DataMirrorService data;
     private final RepositoryService repositories;
     private final UpstreamRegistryService upstream;
@@ -50,6 +66,8 @@ public class MirrorExtensionService {
     private final AccessTokenService tokens;
     private final ExtensionService extensions;
     private final ExtensionVersionIntegrityService integrityService;
+    private final int versionConcurrency;
+    private final ExecutorService executor;
 
     public MirrorExtensionService(
             Optional<DataMirrorService> dataMirrorService,
@@ -59,7 +77,8 @@ public class MirrorExtensionService {
             RestTemplate backgroundNonRedirectingRestTemplate,
             AccessTokenService tokens,
             ExtensionService extensions,
-            ExtensionVersionIntegrityService integrityService
+            ExtensionVersionIntegrityService integrityService,
+            @Value("${ovsx.data.mirror.version-concurrency:4}") int versionConcurrency
     ) {
         dataMirrorService.ifPresent(service -> this.data = service);
         this.repositories = repositories;
@@ -69,13 +88,20 @@ public class MirrorExtensionService {
         this.tokens = tokens;
         this.extensions = extensions;
         this.integrityService = integrityService;
+        this.versionConcurrency = Math.max(versionConcurrency, 1);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mirror-version-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
     }
 
     /**
      * It applies delta from previous execution.
      */
     public void mirrorExtension(String namespaceName, String extensionName, UserData mirrorUser, LocalDate lastModified, JobContext jobContext) {
-        var latest = upstream.getExtension(namespaceName, extensionName, null);
+        var latest = upstream.getExtension(namespaceName, extensionName, null, false);
         if (shouldMirrorExtensionVersions(namespaceName, extensionName, lastModified, latest)) {
             mirrorExtensionVersions(namespaceName, extensionName, mirrorUser, jobContext);
         } else {
@@ -101,6 +127,31 @@ public class MirrorExtensionService {
         data.mirrorNamespaceMetadata(namespaceName);
     }
     
+    /**
+     * Updates download count, rating and reviews of an extension that has been mirrored before.
+     */
+    public void mirrorExtensionMetadata(String namespaceName, String extensionName) {
+        var latest = upstream.getExtension(namespaceName, extensionName, null, false);
+        data.updateMetadata(namespaceName, extensionName, latest);
+    }
+
+    /**
+     * Mirrors the extensions of the namespace that don't exist locally yet and updates the namespace metadata.
+     */
+    public void mirrorNamespace(String namespaceName, UserData mirrorUser, JobContext jobContext) {
+        var json = upstream.getNamespace(namespaceName, false);
+        if (json.getExtensions() != null) {
+            for (var extensionName : json.getExtensions().keySet()) {
+                if (data.match(namespaceName, extensionName) && repositories.findExtension(extensionName, namespaceName) == null) {
+                    mirrorExtension(namespaceName, extensionName, mirrorUser, null, jobContext);
+                }
+            }
+        }
+        if (repositories.namespaceExists(namespaceName)) {
+            data.mirrorNamespaceMetadata(namespaceName);
+        }
+    }
+
     private boolean shouldMirrorExtensionVersions(String namespaceName, String extensionName, LocalDate lastModified, ExtensionJson latest) {
         if (lastModified == null) {
             return true;
@@ -119,55 +170,111 @@ public class MirrorExtensionService {
         data.ensureNamespace(namespaceName);
 
         var toAdd = new ArrayList<ExtensionJson>();
-        for(var targetPlatform : TargetPlatform.TARGET_PLATFORM_NAMES) {
-            Set<String> versions;
-            try {
-                var json = upstream.getExtension(namespaceName, extensionName, targetPlatform);
-                versions = json.getAllVersions().keySet();
-                VersionAlias.ALIAS_NAMES.forEach(versions::remove);
-            } catch (NotFoundException e) {
-                // combination of extension and target platform doesn't exist, try next
-                continue;
-            }
-
+        for(var entry : getUpstreamVersions(namespaceName, extensionName).entrySet()) {
+            var targetPlatform = entry.getKey();
+            var versions = entry.getValue();
             var targetVersions = data.getExtensionTargetVersions(namespaceName, extensionName, targetPlatform);
 
             targetVersions.stream()
-                    .filter(extVersion -> !versions.contains(extVersion.getVersion()))
+                    .filter(extVersion -> !versions.containsKey(extVersion.getVersion()))
                     .forEach(extVersion -> data.deleteExtensionVersion(extVersion, mirrorUser));
 
-            toAdd.addAll(
-                versions.stream()
-                    .filter(version -> targetVersions.stream().noneMatch(extVersion -> extVersion.getVersion().equals(version)))
-                    .map(version -> upstream.getExtension(namespaceName, extensionName, targetPlatform, version))
-                    .toList()
-            );
+            var existingVersions = targetVersions.stream()
+                    .map(ExtensionVersion::getVersion)
+                    .collect(Collectors.toSet());
+
+            versions.values().stream()
+                    .filter(json -> !existingVersions.contains(json.getVersion()))
+                    .forEach(toAdd::add);
         }
         toAdd.sort(Comparator.comparing(extensionJson -> TimeUtil.fromUTCString(extensionJson.getTimestamp())));
-        
-        for(var i = 0; i < toAdd.size(); i++) {
-            var json = toAdd.get(i);
-            jobContext.logger().info("mirroring " + NamingUtil.toLogFormat(json) + " (" + (i+1) + "/" +  toAdd.size() + ")");
-            try {
-                mirrorExtensionVersion(json);
-                data.getMirroredVersions().increment();
-            } catch (Exception e) {
-                data.getFailedVersions().increment();
-                throw e;
+
+        var downloads = new ArrayDeque<Future<DownloadedVersion>>(versionConcurrency);
+        var next = 0;
+        try {
+            for (var i = 0; i < toAdd.size(); i++) {
+                // download the next versions while the current one is committed
+                while (next < toAdd.size() && next < i + versionConcurrency) {
+                    var json = toAdd.get(next++);
+                    var task = new DownloadTask(() -> downloadVersion(json));
+                    executor.execute(task);
+                    downloads.add(task);
+                }
+
+                var json = toAdd.get(i);
+                jobContext.logger().info("mirroring " + NamingUtil.toLogFormat(json) + " (" + (i + 1) + "/" + toAdd.size() + ")");
+                DownloadedVersion download = null;
+                try {
+                    download = await(downloads.remove());
+                    mirrorExtensionVersion(download);
+                    data.getMirroredVersions().increment();
+                } catch (Exception e) {
+                    data.getFailedVersions().increment();
+                    throw e;
+                } finally {
+                    IOUtils.closeQuietly(download);
+                }
             }
+        } finally {
+            downloads.forEach(this::discard);
         }
     }
 
-    private void mirrorExtensionVersion(ExtensionJson json) {
-        var download = json.getFiles().get("download");
-        var userJson = new UserJson();
-        userJson.setProvider(json.getPublishedBy().getProvider());
-        userJson.setLoginName(json.getPublishedBy().getLoginName());
-        userJson.setFullName(json.getPublishedBy().getFullName());
-        userJson.setAvatarUrl(json.getPublishedBy().getAvatarUrl());
-        userJson.setHomepage(json.getPublishedBy().getHomepage());
-        var namespaceName = json.getNamespace();
+    /**
+     * Finds all active versions of the extension with the paged query API, instead of requesting
+     * the extension for every target platform.
+     *
+     * @return versions of the extension by target platform
+     */
+    private Map<String, Map<String, ExtensionJson>> getUpstreamVersions(String namespaceName, String extensionName) {
+        var versions = new HashMap<String, Map<String, ExtensionJson>>();
+        var offset = 0;
+        QueryResultJson result;
+        do {
+            var request = new QueryRequestV2(namespaceName, extensionName, null, null, null, null, "true", null, QUERY_PAGE_SIZE, offset);
+            result = upstream.queryV2(request, false);
+            var extensions = result.getExtensions();
+            if (extensions == null || extensions.isEmpty()) {
+                break;
+            }
+
+            for (var json : extensions) {
+                versions.computeIfAbsent(json.getTargetPlatform(), key -> new HashMap<>()).put(json.getVersion(), json);
+            }
+            offset += extensions.size();
+        } while (offset < result.getTotalSize());
+
+        return versions;
+    }
 
+    private DownloadedVersion await(Future<DownloadedVersion> download) {
+        try {
+            return download.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case RuntimeException cause -> throw cause;
+                case Error cause -> throw cause;
+                default -> throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    private void discard(Future<DownloadedVersion> download) {
+        // a download that completes after it was cancelled is closed by the task itself
+        if (!download.cancel(true) && download.state() == Future.State.SUCCESS) {
+            IOUtils.closeQuietly(download.resultNow());
+        }
+    }
+
+    /**
+     * Downloads the extension package and verifies its signature. This runs concurrently for
+     * multiple versions, it must not modify the database.
+     */
+    private DownloadedVersion downloadVersion(ExtensionJson json) throws IOException {
+        var download = json.getFiles().get("download");
         var vsixResourceHeaders = backgroundNonRedirectingRestTemplate.headForHeaders("{resolveVsixLocation}", Map.of("resolveVsixLocation", download));
         var vsixLocation = vsixResourceHeaders.getLocation();
         if (vsixLocation == null) {
@@ -181,7 +288,8 @@ public class MirrorExtensionService {
         }
 
         String signatureName = null;
-        try (var extensionFile = downloadToFile(download, "extension_", ".vsix")) {
+        var extensionFile = downloadToFile(download, "extension_", ".vsix");
+        try {
             if(json.getFiles().containsKey(DOWNLOAD_SIG)) {
                 try(
                     var signatureZip = downloadToFile(json.getFiles().get(DOWNLOAD_SIG), "extension_", ".sigzip");
@@ -197,23 +305,37 @@ public class MirrorExtensionService {
                 var signaturePathParams = URI.create(json.getFiles().get("signature")).getPath().split("/");
                 signatureName = signaturePathParams[signaturePathParams.length - 1];
             }
+        } catch (IOException | RuntimeException | Error e) {
+            IOUtils.closeQuietly(extensionFile);
+            throw e;
+        }
 
-            var user = data.getOrAddUser(userJson);
-            var namespace = repositories.findNamespace(namespaceName);
-            data.ensureNamespaceMembership(user, namespace);
+        return new DownloadedVersion(json, extensionFile, filename, signatureName);
+    }
 
-            var description = "MirrorExtensionVersion";
-            var accessTokenValue = data.getOrAddAccessTokenValue(user, description);
+    private void mirrorExtensionVersion(DownloadedVersion download) {
+        var json = download.json();
+        var userJson = new UserJson();
+        userJson.setProvider(json.getPublishedBy().getProvider());
+        userJson.setLoginName(json.getPublishedBy().getLoginName());
+        userJson.setFullName(json.getPublishedBy().getFullName());
+        userJson.setAvatarUrl(json.getPublishedBy().getAvatarUrl());
+        userJson.setHomepage(json.getPublishedBy().getHomepage());
+        var namespaceName = json.getNamespace();
 
-            var token = tokens.useAccessToken(accessTokenValue);
-            extensions.mirrorVersion(extensionFile, signatureName, token, filename, json.getTimestamp());
-            logger.atDebug()
-                    .setMessage("completed mirroring of extension version: {}")
-                    .addArgument(() -> NamingUtil.toLogFormat(json))
-                    .log();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        var user = data.getOrAddUser(userJson);
+        var namespace = repositories.findNamespace(namespaceName);
+        data.ensureNamespaceMembership(user, namespace);
+
+        var description = "MirrorExtensionVersion";
+        var accessTokenValue = data.getOrAddAccessTokenValue(user, description);
+
+        var token = tokens.useAccessToken(accessTokenValue);
+        extensions.mirrorVersion(download.extensionFile(), download.signatureName(), token, download.fileName(), json.getTimestamp());
+        logger.atDebug()
+                .setMessage("completed mirroring of extension version: {}")
+                .addArgument(() -> NamingUtil.toLogFormat(json))
+                .log();
     }
 
     private TempFile downloadToFile(String url, String prefix, String suffix) {
@@ -244,4 +366,32 @@ public class MirrorExtensionService {
 
         return signature;
     }
+
+    /**
+     * Downloads a version, the downloaded files are deleted if the task has been cancelled
+     * before the download completed.
+     */
+    private static class DownloadTask extends FutureTask<DownloadedVersion> {
+
+        DownloadTask(Callable<DownloadedVersion> download) {
+            super(download);
+        }
+
+        @Override
+        protected void set(DownloadedVersion download) {
+            super.set(download);
+            if (isCancelled()) {
+                // nobody will get the result anymore
+                IOUtils.closeQuietly(download);
+            }
+        }
+    }
+
+    private record DownloadedVersion(ExtensionJson json, TempFile extensionFile, String fileName, String signatureName) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            extensionFile.close();
+        }
+    }
 }
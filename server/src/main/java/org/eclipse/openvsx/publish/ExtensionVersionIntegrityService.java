@@ -14,7 +14,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
 import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
@@ -24,6 +23,7 @@ import org.bouncycastle.openssl.PEMParser;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.SignatureKeyPair;
+import org.eclipse.openvsx.util.ArchiveDigest;
 import org.eclipse.openvsx.util.ErrorResultException;
 import org.eclipse.openvsx.util.NamingUtil;
 import org.eclipse.openvsx.util.TempFile;
@@ -33,12 +33,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 import static org.eclipse.openvsx.entities.SignatureKeyPair.KEYPAIR_MODE_CREATE;
@@ -153,28 +151,22 @@ public class ExtensionVersionIntegrityService {
     }
 
     private TempFile generateSignatureManifest(TempFile extensionFile) throws IOException {
+        // reuse the digests computed during the publish checks if available
+        var digest = ArchiveDigest.of(extensionFile, Runnable::run);
         var base64 = new Base64();
         var mapper = new ObjectMapper();
         var manifestEntries = mapper.createObjectNode();
-        try(var zip = new ZipFile(extensionFile.getPath().toFile())) {
-            var iterator = zip.stream().iterator();
-            while(iterator.hasNext()) {
-                var entry = iterator.next();
-                if(entry.isDirectory()) {
-                    continue;
-                }
-
-                try (var entryStream = zip.getInputStream(entry)) {
-                    var manifestEntry = generateManifestEntry(entryStream, entry.getSize(), mapper, base64);
-                    manifestEntries.set(new String(base64.encode(entry.getName().getBytes(StandardCharsets.UTF_8))), manifestEntry);
-                }
+        for(var entry : digest.getEntries()) {
+            if(!entry.isHashed()) {
+                throw new IOException("Failed to hash file " + entry.name(), entry.error());
             }
+
+            var manifestEntry = generateManifestEntry(entry.sha256Base64(), entry.size(), mapper);
+            manifestEntries.set(new String(base64.encode(entry.name().getBytes(StandardCharsets.UTF_8))), manifestEntry);
         }
 
         var manifest = mapper.createObjectNode();
-        try (var extensionStream = Files.newInputStream(extensionFile.getPath())) {
-            manifest.set("package", generateManifestEntry(extensionStream, Files.size(extensionFile.getPath()), mapper, base64));
-        }
+        manifest.set("package", generateManifestEntry(digest.getSha256Base64(), digest.getSize(), mapper));
         manifest.set("entries", manifestEntries);
 
         var manifestFile = new TempFile("signature", ".manifest");
@@ -182,12 +174,11 @@ public class ExtensionVersionIntegrityService {
         return manifestFile;
     }
 
-    private JsonNode generateManifestEntry(InputStream stream, long size, ObjectMapper mapper, Base64 base64) throws IOException {
+    private JsonNode generateManifestEntry(String sha256, long size, ObjectMapper mapper) {
         var manifestEntry = mapper.createObjectNode();
         manifestEntry.put("size", size);
 
         var manifestEntryDigests = mapper.createObjectNode();
-        var sha256 = new String(base64.encode(DigestUtils.sha256(stream)));
         manifestEntryDigests.put("sha256", sha256);
         manifestEntry.set("digests", manifestEntryDigests);
         return manifestEntry;
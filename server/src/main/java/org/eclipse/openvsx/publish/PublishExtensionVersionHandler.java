@@ -115,6 +115,9 @@ public class PublishExtensionVersionHandler {
             extVersion.setSignatureKeyPair(repositories.findActiveKeyPair());
         }
 
+        // the new version is not active yet, but it counts for the latest versions that include inactive ones
+        entityManager.flush();
+        repositories.updateLatestVersions(extVersion.getExtension());
         return extVersion;
     }
 
@@ -12,16 +12,17 @@ package org.eclipse.openvsx.publish;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.eclipse.openvsx.ExtensionService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.storage.StorageUtilService;
 import org.eclipse.openvsx.util.TempFile;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 
-import static org.eclipse.openvsx.cache.CacheService.CACHE_SITEMAP;
 
 @Component
 public class PublishExtensionVersionService {
@@ -29,15 +30,18 @@ public class PublishExtensionVersionService {
     private final RepositoryService repositories;
     private final EntityManager entityManager;
     private final StorageUtilService storageUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PublishExtensionVersionService(
             RepositoryService repositories,
             EntityManager entityManager,
-            StorageUtilService storageUtil
+            StorageUtilService storageUtil,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.repositories = repositories;
         this.entityManager = entityManager;
         this.storageUtil = storageUtil;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -67,10 +71,10 @@ public class PublishExtensionVersionService {
     }
 
     @Transactional
-    @CacheEvict(value = CACHE_SITEMAP, allEntries = true)
     public void activateExtension(ExtensionVersion extVersion, ExtensionService extensions) {
         extVersion.setActive(true);
         extVersion = entityManager.merge(extVersion);
         extensions.updateExtension(extVersion.getExtension());
+        eventPublisher.publishEvent(RegistryChangeEvent.of(ChangeType.VERSION_PUBLISHED, extVersion));
     }
 }
@@ -12,21 +12,29 @@
  *****************************************************************************/
 package org.eclipse.openvsx.ratelimit;
 
-import com.giffing.bucket4j.spring.boot.starter.context.ExpressionParams;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.openvsx.accesstoken.AccessTokenService;
+import org.eclipse.openvsx.entities.Tier;
+import org.eclipse.openvsx.ratelimit.cache.ConfigurationChanged;
 import org.eclipse.openvsx.ratelimit.config.RateLimitConfig;
 import org.eclipse.openvsx.ratelimit.config.RateLimitProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.time.Duration;
 
 @Service
 @ConditionalOnBean(RateLimitConfig.class)
@@ -34,13 +42,17 @@ public class IdentityService {
 
     private final Logger logger = LoggerFactory.getLogger(IdentityService.class);
 
-    private final ExpressionParser expressionParser;
-    private final ConfigurableBeanFactory beanFactory;
-
     private final TierService tierService;
     private final CustomerService customerService;
     private final AccessTokenService tokenService;
-    private final RateLimitProperties rateLimitProperties;
+    private final IpAddressResolver ipAddressResolver;
+    private final String ipAddressFunction;
+
+    // SHA-256 hashes of tokens that have been found valid recently, the value is not used.
+    // The tokens themselves are not kept in memory longer than the request
+    private final Cache<String, Boolean> validTokens;
+
+    private volatile Tiers tiers = new Tiers(null, null);
 
     public IdentityService(
             ExpressionParser expressionParser,
@@ -48,14 +60,38 @@ public class IdentityService {
             TierService tierService,
             CustomerService customerService,
             AccessTokenService tokenService,
-            RateLimitProperties rateLimitProperties
+            RateLimitProperties rateLimitProperties,
+            @Value("${ovsx.caching.rate-limit-token.ttl:PT5M}") Duration tokenTimeToLive,
+            @Value("${ovsx.caching.rate-limit-token.max-size:10000}") long tokenCacheSize
     ) {
-        this.expressionParser = expressionParser;
-        this.beanFactory = beanFactory;
         this.tierService = tierService;
         this.customerService = customerService;
         this.tokenService = tokenService;
-        this.rateLimitProperties = rateLimitProperties;
+        this.ipAddressFunction = rateLimitProperties.getIpAddressFunction();
+        this.ipAddressResolver = IpAddressResolver.of(ipAddressFunction, expressionParser, beanFactory);
+        this.validTokens = Caffeine.newBuilder()
+                .expireAfterWrite(tokenTimeToLive)
+                .maximumSize(tokenCacheSize)
+                .build();
+    }
+
+    @PostConstruct
+    void init() {
+        tiers = loadTiers();
+    }
+
+    /**
+     * Reload the tiers before the rate limit configurations that are derived from them are evicted.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void refreshTiers(ConfigurationChanged event) {
+        logger.debug("Reloading tiers");
+        tiers = loadTiers();
+    }
+
+    private Tiers loadTiers() {
+        return new Tiers(tierService.getFreeTier().orElse(null), tierService.getSafetyTier().orElse(null));
     }
 
     public ResolvedIdentity resolveIdentity(HttpServletRequest request) {
@@ -64,11 +100,10 @@ public class IdentityService {
 
         var token = request.getParameter("token");
         if (token != null) {
-            // This will update the database with the time the token is last accessed,
-            // but we need to ensure that we only take valid tokens into account for rate limiting.
-            // If this turns out to be a bottleneck, we need to cache the token hashcode.
-            var tokenEntity = tokenService.useAccessToken(token);
-            if (tokenEntity != null) {
+            // We need to ensure that we only take valid tokens into account for rate limiting.
+            // Valid tokens are cached, so the database is only updated with the time the token
+            // is last accessed when the cache entry has expired.
+            if (isValidToken(token)) {
                 // if a valid token is present we use it as a cache key
                 cacheKey = "token_" + token.hashCode();
             }
@@ -92,29 +127,36 @@ public class IdentityService {
             cacheKey = "ip_" + ipAddress;
         }
 
+        var currentTiers = tiers;
         return new ResolvedIdentity(
                 ipAddress,
                 cacheKey,
                 customer.orElse(null),
-                tierService.getFreeTier().orElse(null),
-                tierService.getSafetyTier().orElse(null)
+                currentTiers.free(),
+                currentTiers.safety()
         );
     }
 
+    private boolean isValidToken(String token) {
+        var tokenHash = DigestUtils.sha256Hex(token);
+        if (validTokens.getIfPresent(tokenHash) != null) {
+            return true;
+        }
+
+        var tokenEntity = tokenService.useAccessToken(token);
+        if (tokenEntity != null) {
+            validTokens.put(tokenHash, Boolean.TRUE);
+            return true;
+        }
+
+        return false;
+    }
+
     private String getIPAddress(HttpServletRequest request) {
-        var ipAddressFunction = rateLimitProperties.getIpAddressFunction();
-        var params = new ExpressionParams<>(request);
-        var context = getContext(params.getParams());
-        var expr = expressionParser.parseExpression(ipAddressFunction);
-        String result = expr.getValue(context, params.getRootObject(), String.class);
+        String result = ipAddressResolver.resolve(request);
         logger.trace("GetIPAddress -> result:{};expression:{}", result, ipAddressFunction);
         return result;
     }
 
-    private StandardEvaluationContext getContext(Map<String, Object> params) {
-        var context = new StandardEvaluationContext();
-        params.forEach(context::setVariable);
-        context.setBeanResolver(new BeanFactoryResolver(beanFactory));
-        return context;
-    }
+    private record Tiers(@Nullable Tier free, @Nullable Tier safety) {}
 }
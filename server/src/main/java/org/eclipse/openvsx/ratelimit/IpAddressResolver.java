@@ -0,0 +1,107 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the IP address of a request with the configured {@code ovsx.rate-limit.ip-address-function}.
+ * <p>
+ * The common functions, which take the remote address or the first address of a forwarding header,
+ * are evaluated directly. Any other function is parsed once and evaluated as SpEL expression.
+ */
+abstract class IpAddressResolver {
+
+    private static final Pattern REMOTE_ADDRESS = Pattern.compile("getRemoteAddr\\(\\)");
+    private static final Pattern HEADER_OR_REMOTE_ADDRESS =
+            Pattern.compile("getHeader\\(\"([^\"]+)\"\\)\\?:getRemoteAddr\\(\\)");
+    private static final Pattern FIRST_OF_HEADER_OR_REMOTE_ADDRESS =
+            Pattern.compile("\\(getHeader\\(\"([^\"]+)\"\\)\\?:getRemoteAddr\\(\\)\\)\\.split\\(\",\"\\)\\[0]\\.trim\\(\\)");
+
+    static IpAddressResolver of(String ipAddressFunction, ExpressionParser expressionParser, BeanFactory beanFactory) {
+        var normalized = ipAddressFunction.replaceAll("\\s", "").replace('\'', '"');
+        if (REMOTE_ADDRESS.matcher(normalized).matches()) {
+            return new RemoteAddress();
+        }
+
+        var matcher = HEADER_OR_REMOTE_ADDRESS.matcher(normalized);
+        if (matcher.matches()) {
+            return new HeaderOrRemoteAddress(matcher.group(1), false);
+        }
+
+        matcher = FIRST_OF_HEADER_OR_REMOTE_ADDRESS.matcher(normalized);
+        if (matcher.matches()) {
+            return new HeaderOrRemoteAddress(matcher.group(1), true);
+        }
+
+        var context = new StandardEvaluationContext();
+        context.setBeanResolver(new BeanFactoryResolver(beanFactory));
+        return new SpelExpression(expressionParser.parseExpression(ipAddressFunction), context);
+    }
+
+    abstract String resolve(HttpServletRequest request);
+
+    private static class RemoteAddress extends IpAddressResolver {
+        @Override
+        String resolve(HttpServletRequest request) {
+            return request.getRemoteAddr();
+        }
+    }
+
+    private static class HeaderOrRemoteAddress extends IpAddressResolver {
+        private final String headerName;
+        private final boolean firstEntry;
+
+        HeaderOrRemoteAddress(String headerName, boolean firstEntry) {
+            this.headerName = headerName;
+            this.firstEntry = firstEntry;
+        }
+
+        @Override
+        String resolve(HttpServletRequest request) {
+            var value = request.getHeader(headerName);
+            // the SpEL Elvis operator treats empty strings like null
+            if (value == null || value.isEmpty()) {
+                value = request.getRemoteAddr();
+            }
+            if (!firstEntry || value == null) {
+                return value;
+            }
+
+            var separator = value.indexOf(',');
+            return (separator >= 0 ? value.substring(0, separator) : value).trim();
+        }
+    }
+
+    private static class SpelExpression extends IpAddressResolver {
+        private final Expression expression;
+        private final StandardEvaluationContext context;
+
+        SpelExpression(Expression expression, StandardEvaluationContext context) {
+            this.expression = expression;
+            this.context = context;
+        }
+
+        @Override
+        String resolve(HttpServletRequest request) {
+            return expression.getValue(context, request, String.class);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out tokens that are leased from a shared {@link Bucket}, so that most requests
+ * are rate limited without a round trip to the bucket store.
+ * <p>
+ * A lease takes up to {@code leaseSize} tokens from the shared bucket at once. Leasing never
+ * lets more requests pass than the shared bucket allows, but leased tokens are not available
+ * to other servers until they are used or {@link #release() released}.
+ */
+public class LeasedBucket {
+
+    private final Bucket bucket;
+    private final BucketConfiguration configuration;
+    private final long leaseSize;
+    private final Counter refills;
+    private final Counter rejections;
+
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicLong bucketTokens = new AtomicLong();
+    private final AtomicReference<CompletableFuture<ConsumptionProbe>> refill = new AtomicReference<>();
+
+    LeasedBucket(Bucket bucket, BucketConfiguration configuration, long leaseSize, Counter refills, Counter rejections) {
+        this.bucket = bucket;
+        this.configuration = configuration;
+        this.leaseSize = leaseSize;
+        this.refills = refills;
+        this.rejections = rejections;
+    }
+
+    public Bucket getBucket() {
+        return bucket;
+    }
+
+    public BucketConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public long getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * Try to consume a single token. The remaining tokens of a consumed probe are the tokens
+     * left in the shared bucket as of the last granted lease, as the shared bucket is not
+     * asked for tokens that are taken from the local lease.
+     */
+    public ConsumptionProbe tryConsume() {
+        while (true) {
+            if (takeLeasedToken()) {
+                return ConsumptionProbe.consumed(bucketTokens.get(), 0);
+            }
+
+            // only one request refills the lease, concurrent requests wait for it without holding a lock
+            var pending = new CompletableFuture<ConsumptionProbe>();
+            var current = refill.compareAndExchange(null, pending);
+            if (current != null) {
+                var probe = join(current);
+                if (probe.isConsumed()) {
+                    // the lease has been refilled, take a token from it
+                    continue;
+                }
+
+                rejections.increment();
+                return probe;
+            }
+
+            ConsumptionProbe probe;
+            try {
+                probe = refill();
+            } catch (Throwable e) {
+                refill.set(null);
+                pending.completeExceptionally(e);
+                throw e;
+            }
+
+            refill.set(null);
+            pending.complete(probe);
+            if (!probe.isConsumed()) {
+                rejections.increment();
+            }
+            return probe;
+        }
+    }
+
+    /**
+     * Return the tokens that have been leased, but not used, to the shared bucket.
+     *
+     * @return the number of returned tokens
+     */
+    public long release() {
+        var unused = tokens.getAndSet(0);
+        if (unused > 0) {
+            bucket.addTokens(unused);
+        }
+        return unused;
+    }
+
+    private ConsumptionProbe refill() {
+        var result = bucket.asVerbose().tryConsumeAsMuchAsPossible(leaseSize);
+        var leased = result.getValue();
+        if (leased > 0) {
+            refills.increment();
+            var available = result.getDiagnostics().getAvailableTokens();
+            bucketTokens.set(available);
+            tokens.addAndGet(leased - 1);
+            return ConsumptionProbe.consumed(available, 0);
+        }
+
+        // the shared bucket is empty, ask it once more to get the time to wait for a refill
+        return bucket.tryConsumeAndReturnRemaining(1);
+    }
+
+    private ConsumptionProbe join(CompletableFuture<ConsumptionProbe> probe) {
+        try {
+            return probe.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw e;
+        }
+    }
+
+    private boolean takeLeasedToken() {
+        while (true) {
+            var current = tokens.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+}
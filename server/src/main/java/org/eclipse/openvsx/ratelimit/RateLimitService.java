@@ -12,11 +12,17 @@
  *****************************************************************************/
 package org.eclipse.openvsx.ratelimit;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.TokensInheritanceStrategy;
 import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.eclipse.openvsx.entities.Customer;
@@ -27,11 +33,14 @@ import org.eclipse.openvsx.ratelimit.cache.ConfigurationChanged;
 import org.eclipse.openvsx.ratelimit.config.RateLimitConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -46,7 +55,18 @@ public class RateLimitService {
     private final Map<Customer, BucketConfigurationWrapper> configurationByCustomer;
     private final Customer anonymousCustomer;
 
-    public RateLimitService(ProxyManager<byte[]> proxyManager) {
+    // leased tokens by bucket key, unused tokens are returned when a lease expires
+    private final Cache<String, LeasedBucket> leases;
+    private final Counter leaseRefills;
+    private final Counter leaseRejections;
+    private final Counter leaseReturnedTokens;
+
+    public RateLimitService(
+            ProxyManager<byte[]> proxyManager,
+            MeterRegistry registry,
+            @Value("${ovsx.caching.rate-limit-lease.tti:PT10S}") Duration leaseTimeToIdle,
+            @Value("${ovsx.caching.rate-limit-lease.max-size:10000}") long maxLeases
+    ) {
         this.proxyManager = proxyManager;
         this.configurationByCustomer = new ConcurrentHashMap<>();
 
@@ -55,21 +75,52 @@ public class RateLimitService {
         var customer = new Customer();
         customer.setName("internalAnonymousCustomer");
         this.anonymousCustomer = customer;
+
+        this.leases = Caffeine.newBuilder()
+                .expireAfterAccess(leaseTimeToIdle)
+                .maximumSize(maxLeases)
+                .scheduler(Scheduler.systemScheduler())
+                .<String, LeasedBucket>removalListener((key, lease, cause) -> releaseLease(key, lease))
+                .build();
+        this.leaseRefills = Counter.builder("openvsx_rate_limit_lease_refills_total")
+                .description("Leases of rate limit tokens taken from the shared buckets")
+                .register(registry);
+        this.leaseRejections = Counter.builder("openvsx_rate_limit_lease_rejections_total")
+                .description("Requests rejected because neither the lease nor the shared bucket had tokens left")
+                .register(registry);
+        this.leaseReturnedTokens = Counter.builder("openvsx_rate_limit_lease_returned_tokens_total")
+                .description("Unused leased tokens returned to the shared buckets")
+                .register(registry);
     }
 
     /**
      * A wrapper for {@link BucketConfiguration} objects as {@link ConcurrentHashMap}
      * does not support {@code null} values.
+     *
+     * @param leaseSize the number of tokens to lease from the shared bucket, 0 if tokens are not leased
      */
-    public record BucketConfigurationWrapper(@Nullable BucketConfiguration configuration) {}
+    public record BucketConfigurationWrapper(@Nullable BucketConfiguration configuration, long leaseSize) {}
 
-    public record BucketPair(@Nullable Bucket bucket, long availableTokens) {
+    public record BucketPair(@Nullable Bucket bucket, @Nullable LeasedBucket lease, long availableTokens) {
         public static BucketPair empty() {
-            return new BucketPair(null, 0);
+            return new BucketPair(null, null, 0);
         }
 
         public static BucketPair of(@Nonnull Bucket bucket, long availableTokens) {
-            return new BucketPair(bucket, availableTokens);
+            return new BucketPair(bucket, null, availableTokens);
+        }
+
+        public static BucketPair of(@Nonnull LeasedBucket lease, long availableTokens) {
+            return new BucketPair(lease.getBucket(), lease, availableTokens);
+        }
+
+        /**
+         * Try to consume a single token, from the lease if tokens are leased.
+         * The remaining tokens of the probe are those of the shared bucket,
+         * as of the last granted lease if tokens are leased.
+         */
+        public ConsumptionProbe tryConsume() {
+            return lease != null ? lease.tryConsume() : bucket.tryConsumeAndReturnRemaining(1);
         }
     }
 
@@ -80,11 +131,21 @@ public class RateLimitService {
     }
 
     public BucketPair getBucket(ResolvedIdentity identity) {
-        var newConfiguration = getBucketConfiguration(identity);
+        var wrapper = getBucketConfiguration(identity);
+        var newConfiguration = wrapper.configuration();
         if (newConfiguration == null) {
             return BucketPair.empty();
         }
 
+        var availableTokens = Arrays.stream(newConfiguration.getBandwidths()).mapToLong(Bandwidth::getCapacity).min().orElse(0);
+        var leaseSize = wrapper.leaseSize();
+        if (leaseSize > 0) {
+            var lease = leases.getIfPresent(identity.cacheKey());
+            if (lease != null && lease.getLeaseSize() == leaseSize && lease.getConfiguration().equals(newConfiguration)) {
+                return BucketPair.of(lease, availableTokens);
+            }
+        }
+
         var cacheKey = identity.cacheKey().getBytes(StandardCharsets.UTF_8);
         var currentConfiguration = proxyManager.getProxyConfiguration(cacheKey);
         var bucket = proxyManager.builder().build(cacheKey, () -> newConfiguration);
@@ -92,46 +153,69 @@ public class RateLimitService {
             logger.debug("Replace configuration for bucket {}", identity.cacheKey());
             bucket.replaceConfiguration(newConfiguration, TokensInheritanceStrategy.AS_IS);
         }
-        var availableTokens = Arrays.stream(newConfiguration.getBandwidths()).mapToLong(Bandwidth::getCapacity).min();
-        return BucketPair.of(bucket, availableTokens.orElse(0));
+
+        if (leaseSize > 0) {
+            // a lease that is replaced returns its unused tokens through the removal listener
+            var lease = new LeasedBucket(bucket, newConfiguration, leaseSize, leaseRefills, leaseRejections);
+            leases.put(identity.cacheKey(), lease);
+            return BucketPair.of(lease, availableTokens);
+        }
+
+        return BucketPair.of(bucket, availableTokens);
+    }
+
+    private void releaseLease(String key, LeasedBucket lease) {
+        if (lease == null) {
+            return;
+        }
+
+        try {
+            var unused = lease.release();
+            if (unused > 0) {
+                logger.debug("Returned {} unused tokens to bucket {}", unused, key);
+                leaseReturnedTokens.increment(unused);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to return unused tokens to bucket {}", key, e);
+        }
     }
 
-    private @Nullable BucketConfiguration getBucketConfiguration(ResolvedIdentity identity) {
+    private BucketConfigurationWrapper getBucketConfiguration(ResolvedIdentity identity) {
         var customer = identity.customer() != null ? identity.customer() : anonymousCustomer;
-        return configurationByCustomer.computeIfAbsent(
-                customer,
-                (_) -> new BucketConfigurationWrapper(createBucketConfiguration(identity))
-        ).configuration;
+        return configurationByCustomer.computeIfAbsent(customer, (_) -> createBucketConfiguration(identity));
     }
 
-    private @Nullable BucketConfiguration createBucketConfiguration(ResolvedIdentity identity) {
+    private BucketConfigurationWrapper createBucketConfiguration(ResolvedIdentity identity) {
         var builder = BucketConfiguration.builder();
-
-        var hasLimits = false;
+        var tiers = new ArrayList<Tier>(2);
         var useCustomerBandwidth = identity.cacheKey().startsWith("customer_");
 
         // if this request is coming from an identified customer
         if (identity.customer() != null && useCustomerBandwidth) {
             var customer = identity.customer();
             if (customer.getState() == EnforcementState.ENFORCEMENT) {
-                builder.addLimit(getBandWidth(customer.getTier()));
-                hasLimits = true;
+                tiers.add(customer.getTier());
             }
         }
 
         // add the free tier bandwidth for any other requests if available
         if (!useCustomerBandwidth && identity.freeTier() != null) {
-            builder.addLimit(getBandWidth(identity.freeTier()));
-            hasLimits = true;
+            tiers.add(identity.freeTier());
         }
 
         // always add a safety bandwidth if available
         if (identity.safetyTier() != null) {
-            builder.addLimit(getBandWidth(identity.safetyTier()));
-            hasLimits = true;
+            tiers.add(identity.safetyTier());
+        }
+
+        if (tiers.isEmpty()) {
+            return new BucketConfigurationWrapper(null, 0);
         }
 
-        return hasLimits ? builder.build() : null;
+        tiers.forEach(tier -> builder.addLimit(getBandWidth(tier)));
+        // tokens are only leased if all tiers allow it
+        var leaseSize = tiers.stream().mapToLong(tier -> Math.max(tier.getLeaseSize(), 0)).min().orElse(0);
+        return new BucketConfigurationWrapper(builder.build(), leaseSize);
     }
 
     private Bandwidth getBandWidth(Tier tier) {
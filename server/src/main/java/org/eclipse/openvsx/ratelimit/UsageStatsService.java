@@ -12,14 +12,18 @@
  *****************************************************************************/
 package org.eclipse.openvsx.ratelimit;
 
+import jakarta.annotation.PreDestroy;
 import org.eclipse.openvsx.entities.Customer;
 import org.eclipse.openvsx.entities.UsageStats;
 import org.eclipse.openvsx.ratelimit.config.RateLimitConfig;
+import org.eclipse.openvsx.ratelimit.config.RateLimitProperties;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.params.ScanParams;
@@ -29,13 +33,27 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects the number of requests per customer and 5-minute window.
+ * <p>
+ * Requests are counted in memory and periodically added to the usage counts in Redis, which
+ * are spread over several hashes by customer. The {@link #persistUsageStats() collect job}
+ * moves the counts of past windows from Redis to the database.
+ */
 @Service
 @ConditionalOnBean(RateLimitConfig.class)
 public class UsageStatsService {
 
+    // hash used before the usage counts were sharded, still read to collect counts written by old servers
     private final static String USAGE_DATA_KEY = "usage.customer";
+    private final static int    USAGE_DATA_SHARDS = 16;
     private final static int    WINDOW_MINUTES = 5;
 
     private final Logger logger = LoggerFactory.getLogger(UsageStatsService.class);
@@ -43,29 +61,113 @@ public class UsageStatsService {
     private final RepositoryService repositories;
     private final CustomerService customerService;
     private final JedisCluster jedisCluster;
-
-    public UsageStatsService(RepositoryService repositories, CustomerService customerService, JedisCluster jedisCluster) {
+    private final TaskScheduler scheduler;
+    private final Duration flushInterval;
+
+    private final Map<UsageKey, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public UsageStatsService(
+            RepositoryService repositories,
+            CustomerService customerService,
+            JedisCluster jedisCluster,
+            TaskScheduler scheduler,
+            RateLimitProperties rateLimitProperties
+    ) {
         this.repositories = repositories;
         this.customerService = customerService;
         this.jedisCluster = jedisCluster;
+        this.scheduler = scheduler;
+        this.flushInterval = rateLimitProperties.getUsageStats().getFlushInterval();
+    }
+
+    private record UsageKey(long customerId, long window) {}
+
+    @EventListener
+    public void applicationStarted(ApplicationStartedEvent event) {
+        logger.info("Flushing usage stats every {}", flushInterval);
+        scheduler.scheduleWithFixedDelay(this::flush, Instant.now().plus(flushInterval), flushInterval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
     }
 
-    @Async
     public void incrementUsage(Customer customer) {
-        var key = customer.getId();
-        var window = getCurrentUsageWindow();
-        var old = jedisCluster.hincrBy(USAGE_DATA_KEY, key + ":" + window, 1);
-        logger.debug("Usage count for {}: {}", customer.getName(), old + 1);
+        var key = new UsageKey(customer.getId(), getCurrentUsageWindow());
+        pending.computeIfAbsent(key, k -> new LongAdder()).increment();
     }
 
-    public void persistUsageStats() {
+    /**
+     * Adds the usage counts collected by this server to the counts in Redis.
+     */
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+
+        try {
+            var counts = drain();
+            if (counts.isEmpty()) {
+                return;
+            }
+
+            try (var pipeline = jedisCluster.pipelined()) {
+                counts.forEach((key, count) -> pipeline.hincrBy(getUsageDataKey(key.customerId()), key.customerId() + ":" + key.window(), count));
+                pipeline.sync();
+            } catch (RuntimeException e) {
+                logger.error("Failed to flush usage stats, retrying with the next flush", e);
+                counts.forEach((key, count) -> pending.computeIfAbsent(key, k -> new LongAdder()).add(count));
+                return;
+            }
+
+            logger.debug("Flushed usage stats of {} customer windows", counts.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Map<UsageKey, Long> drain() {
         var currentWindow = getCurrentUsageWindow();
+        var counts = new HashMap<UsageKey, Long>();
+        for (var entry : pending.entrySet()) {
+            var key = entry.getKey();
+            var adder = entry.getValue();
+            // Adders of past windows are removed, increments of requests that started in the
+            // past window and are counted after this are lost.
+            if (key.window() < currentWindow) {
+                pending.remove(key, adder);
+            }
 
+            var count = adder.sumThenReset();
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        }
+
+        return counts;
+    }
+
+    public void persistUsageStats() {
+        // leave time for the other servers to flush the counts of the last window
+        var windowEnd = Instant.now().minus(flushInterval.multipliedBy(2));
+        var lastWindow = getUsageWindow(windowEnd) - WINDOW_MINUTES;
+
+        persistUsageStats(USAGE_DATA_KEY, lastWindow);
+        for (var shard = 0; shard < USAGE_DATA_SHARDS; shard++) {
+            persistUsageStats(getUsageDataShardKey(shard), lastWindow);
+        }
+    }
+
+    private void persistUsageStats(String usageDataKey, long lastWindow) {
         String cursor = ScanParams.SCAN_POINTER_START;
         ScanResult<Map.Entry<String, String>> results;
 
+        var usageStats = new ArrayList<UsageStats>();
+        var persistedKeys = new ArrayList<String>();
         do {
-            results = jedisCluster.hscan(USAGE_DATA_KEY, cursor);
+            results = jedisCluster.hscan(usageDataKey, cursor);
 
             for (var result : results.getResult()) {
                 var key = result.getKey();
@@ -77,7 +179,7 @@ public class UsageStatsService {
                 var customerId = Long.parseLong(component[0]);
                 var window = Long.parseLong(component[1]);
 
-                if (window < currentWindow) {
+                if (window <= lastWindow) {
                     var customer = customerService.getCustomerById(customerId);
                     if (customer.isEmpty()) {
                         logger.warn("Failed to find customer with id {}", customerId);
@@ -88,19 +190,36 @@ public class UsageStatsService {
                         stats.setWindowStart(LocalDateTime.ofInstant(Instant.ofEpochSecond(window * 60), ZoneOffset.UTC));
                         stats.setCount(Long.parseLong(value));
                         stats.setDuration(Duration.ofMinutes(WINDOW_MINUTES));
-                        repositories.saveUsageStats(stats);
+                        usageStats.add(stats);
                     }
 
-                    jedisCluster.hdel(USAGE_DATA_KEY, key);
+                    persistedKeys.add(key);
                 }
             }
 
             cursor = results.getCursor();
         } while (!results.isCompleteIteration());
+
+        if (!persistedKeys.isEmpty()) {
+            repositories.insertUsageStats(usageStats);
+            jedisCluster.hdel(usageDataKey, persistedKeys.toArray(String[]::new));
+        }
+    }
+
+    private String getUsageDataKey(long customerId) {
+        return getUsageDataShardKey((int) Math.floorMod(customerId, (long) USAGE_DATA_SHARDS));
+    }
+
+    private String getUsageDataShardKey(int shard) {
+        // the hash tags spread the shards over the cluster slots
+        return USAGE_DATA_KEY + ".{" + shard + "}";
     }
 
     private long getCurrentUsageWindow() {
-        var instant = Instant.now();
+        return getUsageWindow(Instant.now());
+    }
+
+    private long getUsageWindow(Instant instant) {
         var epochMinute = instant.getEpochSecond() / 60;
         return epochMinute / WINDOW_MINUTES * WINDOW_MINUTES;
     }
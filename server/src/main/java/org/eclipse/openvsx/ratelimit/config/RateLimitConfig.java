@@ -20,6 +20,7 @@ import io.github.bucket4j.distributed.proxy.ClientSideConfig;
 import io.github.bucket4j.distributed.proxy.ProxyManager;
 import io.github.bucket4j.redis.jedis.cas.JedisBasedProxyManager;
 import io.micrometer.common.util.StringUtils;
+import org.eclipse.openvsx.cache.ScriptCachingJedisCluster;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -78,7 +79,7 @@ public class RateLimitConfig {
                 .map(HostAndPort::from)
                 .collect(Collectors.toSet());
 
-        return new JedisCluster(nodes, configBuilder.build());
+        return new ScriptCachingJedisCluster(nodes, configBuilder.build());
     }
 
     @Bean
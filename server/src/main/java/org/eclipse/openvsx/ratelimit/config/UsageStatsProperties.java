@@ -13,9 +13,11 @@
 package org.eclipse.openvsx.ratelimit.config;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.Duration;
 
 public class UsageStatsProperties implements Serializable {
 
@@ -25,6 +27,12 @@ public class UsageStatsProperties implements Serializable {
     @NotBlank
     private String jobSchedule = "0 */10 * * * *";
 
+    /**
+     * Interval in which usage counts collected by this server are written to Redis.
+     */
+    @NotNull
+    private Duration flushInterval = Duration.ofSeconds(5);
+
     public String getJobSchedule() {
         return jobSchedule;
     }
@@ -32,4 +40,12 @@ public class UsageStatsProperties implements Serializable {
     public void setJobSchedule(String jobSchedule) {
         this.jobSchedule = jobSchedule;
     }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 public class RateLimitServletFilter extends OncePerRequestFilter implements Ordered {
 
@@ -41,6 +42,7 @@ public class RateLimitServletFilter extends OncePerRequestFilter implements Orde
     private final UsageStatsService usageStatsService;
     private final IdentityService identityService;
     private final RateLimitService rateLimitService;
+    private final Pattern urlPattern;
 
     public RateLimitServletFilter(
         RateLimitFilterProperties filterProperties,
@@ -52,11 +54,12 @@ public class RateLimitServletFilter extends OncePerRequestFilter implements Orde
         this.usageStatsService = usageStatsService;
         this.identityService = identityService;
         this.rateLimitService = rateLimitService;
+        this.urlPattern = Pattern.compile(filterProperties.getUrl());
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        return !request.getRequestURI().matches(filterProperties.getUrl());
+        return !urlPattern.matcher(request.getRequestURI()).matches();
     }
 
     @Override
@@ -75,15 +78,14 @@ public class RateLimitServletFilter extends OncePerRequestFilter implements Orde
         }
 
         var bucketPair = rateLimitService.getBucket(identity);
-        var bucket = bucketPair.bucket();
-        if (bucket == null) {
+        if (bucketPair.bucket() == null) {
             chain.doFilter(request, response);
             return;
         }
 
         response.setHeader(HEADER_RATE_LIMIT_LIMIT, Long.toString(bucketPair.availableTokens()));
 
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        ConsumptionProbe probe = bucketPair.tryConsume();
         logger.debug("Remaining tokens for {}: {}", identity.cacheKey(), probe.getRemainingTokens());
         if (probe.isConsumed()) {
             response.setHeader(HEADER_RATE_LIMIT_REMAINING, Long.toString(probe.getRemainingTokens()));
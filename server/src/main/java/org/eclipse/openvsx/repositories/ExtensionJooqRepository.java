@@ -9,6 +9,7 @@
  * ****************************************************************************** */
 package org.eclipse.openvsx.repositories;
 
+import jakarta.annotation.Nullable;
 import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.Namespace;
 import org.eclipse.openvsx.util.ExtensionId;
@@ -20,9 +21,11 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.eclipse.openvsx.jooq.Tables.EXTENSION;
 import static org.eclipse.openvsx.jooq.Tables.EXTENSION_VERSION;
@@ -58,6 +61,33 @@ public class ExtensionJooqRepository {
         return fetch(query);
     }
 
+    /**
+     * Finds the active extensions matching the given ids, ignoring case.
+     * The extensions are returned in the order of the given ids.
+     */
+    public List<Extension> findAllActiveByNamespaceAndName(Collection<ExtensionId> extensionIds) {
+        var normalizedIds = extensionIds.stream()
+                .map(id -> new ExtensionId(id.namespace().toUpperCase(), id.extension().toUpperCase()))
+                .distinct()
+                .toList();
+        if(normalizedIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        var rows = new ArrayList<Row3<Integer, String, String>>(normalizedIds.size());
+        for(var i = 0; i < normalizedIds.size(); i++) {
+            var id = normalizedIds.get(i);
+            rows.add(DSL.row(i, id.namespace(), id.extension()));
+        }
+
+        var ids = DSL.values(rows.toArray(Row3[]::new)).as("ids", "ordinal", "namespace", "extension");
+        var query = findAllActive();
+        query.addJoin(ids, DSL.upper(NAMESPACE.NAME).eq(ids.field("namespace", String.class))
+                .and(DSL.upper(EXTENSION.NAME).eq(ids.field("extension", String.class))));
+        query.addOrderBy(ids.field("ordinal", Integer.class).asc());
+        return fetch(query);
+    }
+
     public Extension findActiveByNameIgnoreCaseAndNamespaceNameIgnoreCase(String name, String namespaceName) {
         var query = findAllActive();
         query.addConditions(
@@ -198,6 +228,43 @@ public class ExtensionJooqRepository {
                 .execute();
     }
 
+    public void increaseDownloadCounts(Map<Long, Integer> extensionDownloads) {
+        if(extensionDownloads.isEmpty()) {
+            return;
+        }
+
+        var extension = EXTENSION.as("e");
+        var rows = extensionDownloads.entrySet().stream()
+                .map(e -> DSL.row(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+
+        var updates = DSL.values(rows.toArray(Row2[]::new)).as("u", "id", "downloads");
+        dsl.update(extension)
+                .set(extension.DOWNLOAD_COUNT, extension.DOWNLOAD_COUNT.plus(updates.field("downloads", Integer.class)))
+                .from(updates)
+                .where(updates.field("id", Long.class).eq(extension.ID))
+                .execute();
+    }
+
+    public List<Long> findActiveIds(long afterId, int limit) {
+        return dsl.select(EXTENSION.ID)
+                .from(EXTENSION)
+                .where(EXTENSION.ACTIVE.eq(true))
+                .and(EXTENSION.ID.gt(afterId))
+                .orderBy(EXTENSION.ID.asc())
+                .limit(limit)
+                .fetch(EXTENSION.ID);
+    }
+
+    public List<Long> findIds(long afterId, int limit) {
+        return dsl.select(EXTENSION.ID)
+                .from(EXTENSION)
+                .where(EXTENSION.ID.gt(afterId))
+                .orderBy(EXTENSION.ID.asc())
+                .limit(limit)
+                .fetch(EXTENSION.ID);
+    }
+
     public boolean publicIdExists(String publicId) {
         return dsl.selectOne()
                 .from(EXTENSION)
@@ -206,17 +273,26 @@ public class ExtensionJooqRepository {
                 .isNotEmpty();
     }
 
-    public List<SitemapRow> fetchSitemapRows() {
+    /**
+     * Streams the sitemap rows ordered by namespace and extension name. The rows are fetched
+     * from a server-side cursor, the caller must consume the stream within a transaction and close it.
+     *
+     * @param namespaces names of the namespaces to include, all namespaces if {@code null}
+     */
+    public Stream<SitemapRow> streamSitemapRows(@Nullable Collection<String> namespaces, int fetchSize) {
         var LAST_UPDATED = DSL.toChar(EXTENSION.LAST_UPDATED_DATE, "YYYY-MM-DD");
-        return dsl.select(
-                    NAMESPACE.NAME,
-                    EXTENSION.NAME,
-                    LAST_UPDATED
-                )
-                .from(NAMESPACE)
-                .join(EXTENSION).on(EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID))
-                .where(EXTENSION.ACTIVE.eq(true))
-                .fetch()
+        var query = dsl.selectQuery();
+        query.addSelect(NAMESPACE.NAME, EXTENSION.NAME, LAST_UPDATED);
+        query.addFrom(NAMESPACE);
+        query.addJoin(EXTENSION, EXTENSION.NAMESPACE_ID.eq(NAMESPACE.ID));
+        query.addConditions(EXTENSION.ACTIVE.eq(true));
+        if(namespaces != null) {
+            query.addConditions(NAMESPACE.NAME.eq(DSL.any(namespaces.toArray(String[]::new))));
+        }
+
+        query.addOrderBy(NAMESPACE.NAME, EXTENSION.NAME);
+        return query.fetchSize(fetchSize)
+                .fetchStream()
                 .map(row -> new SitemapRow(
                         row.get(NAMESPACE.NAME),
                         row.get(EXTENSION.NAME),
@@ -407,9 +483,8 @@ public class ExtensionJooqRepository {
                     maxDisplayNameDistance.cast(Integer.class)
             );
             
-            var latestQuery = extensionVersionRepo.findLatestQuery(null, false, true);
+            var latestQuery = extensionVersionRepo.findLatestQuery(EXTENSION.ID, null, false, true);
             latestQuery.addSelect(EXTENSION_VERSION.ID);
-            latestQuery.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID));
             var latestVersionId = latestQuery.asField().coerce(Long.class);
 
             var displayNameSimilaritySubquery = DSL.selectOne()
@@ -33,6 +33,13 @@ import static org.eclipse.openvsx.jooq.Tables.*;
 @Component
 public class ExtensionVersionJooqRepository {
 
+    private static final List<SortField<?>> LATEST_VERSION_ORDER = List.of(
+            EXTENSION_VERSION.SEMVER_KEY.desc(),
+            EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
+            EXTENSION_VERSION.TARGET_PLATFORM.asc(),
+            EXTENSION_VERSION.TIMESTAMP.desc()
+    );
+
     private final DSLContext dsl;
 
     public ExtensionVersionJooqRepository(DSLContext dsl) {
@@ -118,10 +125,7 @@ public class ExtensionVersionJooqRepository {
         topQuery.addSelect(
                 EXTENSION_VERSION.EXTENSION_ID,
                 EXTENSION_VERSION.VERSION,
-                EXTENSION_VERSION.SEMVER_MAJOR,
-                EXTENSION_VERSION.SEMVER_MINOR,
-                EXTENSION_VERSION.SEMVER_PATCH,
-                EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE
+                EXTENSION_VERSION.SEMVER_KEY
         );
         topQuery.setDistinct(true);
         topQuery.addFrom(EXTENSION_VERSION);
@@ -136,10 +140,7 @@ public class ExtensionVersionJooqRepository {
         topQuery.addLimit(numberOfRows);
         topQuery.addOrderBy(
                 EXTENSION_VERSION.EXTENSION_ID.asc(),
-                EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                EXTENSION_VERSION.SEMVER_KEY.desc(),
                 EXTENSION_VERSION.VERSION.asc()
         );
 
@@ -184,10 +185,7 @@ public class ExtensionVersionJooqRepository {
                 .and(EXTENSION_VERSION.ACTIVE.eq(true))
                 .orderBy(
                         EXTENSION_VERSION.EXTENSION_ID.asc(),
-                        EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                        EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                        EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                        EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                        EXTENSION_VERSION.SEMVER_KEY.desc(),
                         EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
                         EXTENSION_VERSION.TARGET_PLATFORM.asc(),
                         EXTENSION_VERSION.TIMESTAMP.desc()
@@ -250,10 +248,7 @@ public class ExtensionVersionJooqRepository {
         versionsQuery.setDistinct(true);
         versionsQuery.addSelect(
                 EXTENSION_VERSION.VERSION,
-                EXTENSION_VERSION.SEMVER_MAJOR,
-                EXTENSION_VERSION.SEMVER_MINOR,
-                EXTENSION_VERSION.SEMVER_PATCH,
-                EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE
+                EXTENSION_VERSION.SEMVER_KEY
         );
 
         versionsQuery.addFrom(EXTENSION_VERSION);
@@ -262,10 +257,7 @@ public class ExtensionVersionJooqRepository {
         versionsQuery.addConditions(conditions);
 
         versionsQuery.addOrderBy(
-                EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                EXTENSION_VERSION.SEMVER_KEY.desc(),
                 EXTENSION_VERSION.VERSION.asc()
         );
 
@@ -316,20 +308,14 @@ public class ExtensionVersionJooqRepository {
                     EXTENSION_VERSION.EXTENSION_ID.asc(),
                     EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
                     EXTENSION_VERSION.TARGET_PLATFORM.asc(),
-                    EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                    EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                    EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                    EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                    EXTENSION_VERSION.SEMVER_KEY.desc(),
                     EXTENSION_VERSION.TIMESTAMP.desc()
             );
         } else {
             totalQuery.addSelect(DSL.count().as(totalCol));
             query.addOrderBy(
                     EXTENSION_VERSION.EXTENSION_ID.asc(),
-                    EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                    EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                    EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                    EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                    EXTENSION_VERSION.SEMVER_KEY.desc(),
                     EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
                     EXTENSION_VERSION.TARGET_PLATFORM.asc(),
                     EXTENSION_VERSION.TIMESTAMP.desc()
@@ -547,27 +533,18 @@ public class ExtensionVersionJooqRepository {
                 );
 
         return dsl.select(
-                    EXTENSION_VERSION.SEMVER_MAJOR,
-                    EXTENSION_VERSION.SEMVER_MINOR,
-                    EXTENSION_VERSION.SEMVER_PATCH,
-                    EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE,
+                    EXTENSION_VERSION.SEMVER_KEY,
                     EXTENSION_VERSION.VERSION,
                     targetPlatforms
                 )
                 .from(EXTENSION_VERSION)
                 .where(EXTENSION_VERSION.EXTENSION_ID.eq(extension.getId()))
                 .groupBy(
-                        EXTENSION_VERSION.SEMVER_MAJOR,
-                        EXTENSION_VERSION.SEMVER_MINOR,
-                        EXTENSION_VERSION.SEMVER_PATCH,
-                        EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE,
+                        EXTENSION_VERSION.SEMVER_KEY,
                         EXTENSION_VERSION.VERSION
                 )
                 .orderBy(
-                        EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                        EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                        EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                        EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                        EXTENSION_VERSION.SEMVER_KEY.desc(),
                         EXTENSION_VERSION.VERSION.asc()
                 )
                 .fetch()
@@ -585,10 +562,7 @@ public class ExtensionVersionJooqRepository {
                 );
 
         return dsl.select(
-                        EXTENSION_VERSION.SEMVER_MAJOR,
-                        EXTENSION_VERSION.SEMVER_MINOR,
-                        EXTENSION_VERSION.SEMVER_PATCH,
-                        EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE,
+                        EXTENSION_VERSION.SEMVER_KEY,
                         EXTENSION_VERSION.VERSION,
                         targetPlatforms
                 )
@@ -597,17 +571,11 @@ public class ExtensionVersionJooqRepository {
                 .where(EXTENSION_VERSION.EXTENSION_ID.eq(extension.getId()))
                 .and(PERSONAL_ACCESS_TOKEN.USER_DATA.eq(user.getId()))
                 .groupBy(
-                        EXTENSION_VERSION.SEMVER_MAJOR,
-                        EXTENSION_VERSION.SEMVER_MINOR,
-                        EXTENSION_VERSION.SEMVER_PATCH,
-                        EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE,
+                        EXTENSION_VERSION.SEMVER_KEY,
                         EXTENSION_VERSION.VERSION
                 )
                 .orderBy(
-                        EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                        EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                        EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                        EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                        EXTENSION_VERSION.SEMVER_KEY.desc(),
                         EXTENSION_VERSION.VERSION.asc()
                 )
                 .fetch()
@@ -650,7 +618,7 @@ public class ExtensionVersionJooqRepository {
             boolean onlyPreRelease,
             boolean onlyActive
     ) {
-        var query = findLatestQuery(targetPlatform, onlyPreRelease, onlyActive);
+        var query = findLatestQuery(DSL.val(extensionId), targetPlatform, onlyPreRelease, onlyActive);
         query.addSelect(
                 NAMESPACE.ID,
                 NAMESPACE.NAME,
@@ -661,7 +629,6 @@ public class ExtensionVersionJooqRepository {
         );
         query.addJoin(EXTENSION, EXTENSION.ID.eq(EXTENSION_VERSION.EXTENSION_ID));
         query.addJoin(NAMESPACE, NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID));
-        query.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(extensionId));
         return query.fetchOne(row -> {
             var namespace = new Namespace();
             namespace.setId(row.get(NAMESPACE.ID));
@@ -687,7 +654,7 @@ public class ExtensionVersionJooqRepository {
             boolean onlyPreRelease,
             boolean onlyActive
     ) {
-        var query = findLatestQuery(targetPlatform, onlyPreRelease, onlyActive);
+        var query = findLatestQuery(DSL.val(extension.getId()), targetPlatform, onlyPreRelease, onlyActive);
         query.addSelect(
                 USER_DATA.ID,
                 USER_DATA.ROLE,
@@ -726,7 +693,6 @@ public class ExtensionVersionJooqRepository {
         query.addJoin(PERSONAL_ACCESS_TOKEN, JoinType.LEFT_OUTER_JOIN, PERSONAL_ACCESS_TOKEN.ID.eq(EXTENSION_VERSION.PUBLISHED_WITH_ID));
         query.addJoin(USER_DATA, USER_DATA.ID.eq(PERSONAL_ACCESS_TOKEN.USER_DATA));
         query.addJoin(SIGNATURE_KEY_PAIR, JoinType.LEFT_OUTER_JOIN, SIGNATURE_KEY_PAIR.ID.eq(EXTENSION_VERSION.SIGNATURE_KEY_PAIR_ID));
-        query.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(extension.getId()));
         return query.fetchOne(row -> toExtensionVersionFull(row, extension, null));
     }
 
@@ -737,7 +703,7 @@ public class ExtensionVersionJooqRepository {
             boolean onlyPreRelease,
             boolean onlyActive
     ) {
-        var query = findLatestQuery(targetPlatform, onlyPreRelease, onlyActive);
+        var query = findLatestQuery(EXTENSION.ID, targetPlatform, onlyPreRelease, onlyActive);
         query.addSelect(
                 NAMESPACE.ID,
                 NAMESPACE.PUBLIC_ID,
@@ -806,9 +772,8 @@ public class ExtensionVersionJooqRepository {
     }
 
     public Map<Long, Boolean> findLatestIsPreview(Collection<Long> extensionIds) {
-        var latestQuery = findLatestQuery(null, false, true);
+        var latestQuery = findLatestQuery(EXTENSION.ID, null, false, true);
         latestQuery.addSelect(EXTENSION_VERSION.PREVIEW);
-        latestQuery.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID));
         var latest = latestQuery.asTable();
 
         var query = dsl.selectQuery();
@@ -829,7 +794,7 @@ public class ExtensionVersionJooqRepository {
     }
 
     public List<ExtensionVersion> findLatest(Collection<Long> extensionIds) {
-        var latestQuery = findLatestQuery(null, false, true);
+        var latestQuery = findLatestQuery(EXTENSION.ID, null, false, true);
         latestQuery.addSelect(
                 EXTENSION_VERSION.ID,
                 EXTENSION_VERSION.VERSION,
@@ -859,7 +824,6 @@ public class ExtensionVersionJooqRepository {
                 EXTENSION_VERSION.SIGNATURE_KEY_PAIR_ID,
                 EXTENSION_VERSION.PUBLISHED_WITH_ID
         );
-        latestQuery.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID));
         var latest = latestQuery.asTable();
 
         var query = dsl.selectQuery();
@@ -925,7 +889,7 @@ public class ExtensionVersionJooqRepository {
     }
 
     public List<ExtensionVersion> findLatest(Namespace namespace) {
-        var latestQuery = findLatestQuery(null, false, true);
+        var latestQuery = findLatestQuery(EXTENSION.ID, null, false, true);
         latestQuery.addSelect(
                 EXTENSION_VERSION.ID,
                 EXTENSION_VERSION.VERSION,
@@ -935,7 +899,6 @@ public class ExtensionVersionJooqRepository {
                 EXTENSION_VERSION.DESCRIPTION,
                 SIGNATURE_KEY_PAIR.PUBLIC_ID
         );
-        latestQuery.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID));
         latestQuery.addJoin(SIGNATURE_KEY_PAIR, JoinType.LEFT_OUTER_JOIN, SIGNATURE_KEY_PAIR.ID.eq(EXTENSION_VERSION.SIGNATURE_KEY_PAIR_ID));
         var latest = latestQuery.asTable();
 
@@ -990,7 +953,7 @@ public class ExtensionVersionJooqRepository {
     }
 
     public List<ExtensionVersion> findLatest(UserData user) {
-        var latestQuery = findLatestQuery(null, false, false);
+        var latestQuery = findLatestQuery(EXTENSION.ID, null, false, false);
         latestQuery.addSelect(
                 EXTENSION_VERSION.ID,
                 EXTENSION_VERSION.VERSION,
@@ -1020,7 +983,6 @@ public class ExtensionVersionJooqRepository {
                 EXTENSION_VERSION.SIGNATURE_KEY_PAIR_ID,
                 EXTENSION_VERSION.PUBLISHED_WITH_ID
         );
-        latestQuery.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID));
         var latest = latestQuery.asTable();
 
         var query = dsl.selectQuery();
@@ -1092,7 +1054,7 @@ public class ExtensionVersionJooqRepository {
     }
 
     public ExtensionVersion findLatest(UserData user, String namespace, String extension) {
-        var latestQuery = findLatestQuery(null, false, false);
+        var latestQuery = findLatestQuery(EXTENSION.ID, null, false, false);
         latestQuery.addSelect(
                 EXTENSION_VERSION.ID,
                 EXTENSION_VERSION.VERSION,
@@ -1122,7 +1084,6 @@ public class ExtensionVersionJooqRepository {
                 EXTENSION_VERSION.SIGNATURE_KEY_PAIR_ID,
                 EXTENSION_VERSION.PUBLISHED_WITH_ID
         );
-        latestQuery.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(EXTENSION.ID));
         var latest = latestQuery.asTable();
 
         var query = dsl.selectQuery();
@@ -1203,8 +1164,7 @@ public class ExtensionVersionJooqRepository {
             boolean onlyPreRelease,
             boolean onlyActive
     ) {
-        var query = findLatestQuery(targetPlatform, onlyPreRelease, onlyActive);
-        query.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(extension.getId()));
+        var query = findLatestQuery(DSL.val(extension.getId()), targetPlatform, onlyPreRelease, onlyActive);
         query.addSelect(
                 EXTENSION_VERSION.ID,
                 EXTENSION_VERSION.VERSION,
@@ -1241,23 +1201,124 @@ public class ExtensionVersionJooqRepository {
             query.addConditions(EXTENSION_VERSION.ACTIVE.eq(true));
         }
 
-        query.addOrderBy(
-                EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
-                EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
-                EXTENSION_VERSION.TARGET_PLATFORM.asc(),
-                EXTENSION_VERSION.TIMESTAMP.desc()
-        );
+        query.addOrderBy(LATEST_VERSION_ORDER);
         query.addLimit(1);
         return query;
     }
 
+    /**
+     * Selects the precomputed latest version of an extension, see {@link #updateLatest(long)}.
+     * The latest version is joined as {@code EXTENSION_VERSION}.
+     */
+    SelectQuery<Record> findLatestQuery(
+            Field<Long> extensionId,
+            String targetPlatform,
+            boolean onlyPreRelease,
+            boolean onlyActive
+    ) {
+        var key = LatestVersionKey.of(targetPlatform, onlyPreRelease, onlyActive);
+        var query = dsl.selectQuery();
+        query.addFrom(EXTENSION_LATEST_VERSION);
+        query.addJoin(EXTENSION_VERSION, EXTENSION_VERSION.ID.eq(EXTENSION_LATEST_VERSION.EXTENSION_VERSION_ID));
+        query.addConditions(
+                EXTENSION_LATEST_VERSION.EXTENSION_ID.eq(extensionId),
+                EXTENSION_LATEST_VERSION.TARGET_PLATFORM.eq(key.targetPlatform()),
+                EXTENSION_LATEST_VERSION.PRE_RELEASE.eq(key.onlyPreRelease()),
+                EXTENSION_LATEST_VERSION.ACTIVE.eq(key.onlyActive())
+        );
+        return query;
+    }
+
+    /**
+     * Recomputes the precomputed latest versions of an extension. Must be called in the transaction
+     * that adds, deletes, activates or deactivates versions of the extension, after these changes are flushed.
+     */
+    public void updateLatest(long extensionId) {
+        // concurrent updates of the same extension wait for each other
+        dsl.select(EXTENSION.ID)
+                .from(EXTENSION)
+                .where(EXTENSION.ID.eq(extensionId))
+                .forUpdate()
+                .fetch();
+
+        var latest = computeLatestIds(extensionId);
+        dsl.deleteFrom(EXTENSION_LATEST_VERSION)
+                .where(EXTENSION_LATEST_VERSION.EXTENSION_ID.eq(extensionId))
+                .execute();
+        if(latest.isEmpty()) {
+            return;
+        }
+
+        var insert = dsl.insertInto(
+                EXTENSION_LATEST_VERSION,
+                EXTENSION_LATEST_VERSION.EXTENSION_ID,
+                EXTENSION_LATEST_VERSION.TARGET_PLATFORM,
+                EXTENSION_LATEST_VERSION.PRE_RELEASE,
+                EXTENSION_LATEST_VERSION.ACTIVE,
+                EXTENSION_LATEST_VERSION.EXTENSION_VERSION_ID
+        );
+        for(var entry : latest.entrySet()) {
+            var key = entry.getKey();
+            insert = insert.values(extensionId, key.targetPlatform(), key.onlyPreRelease(), key.onlyActive(), entry.getValue());
+        }
+        insert.execute();
+    }
+
+    /**
+     * Computes the latest versions of an extension from its versions,
+     * in the same order as {@link #findLatestQuery(String, boolean, boolean)}.
+     */
+    public Map<LatestVersionKey, Long> computeLatestIds(long extensionId) {
+        var latest = new HashMap<LatestVersionKey, Long>();
+        var rows = dsl.select(
+                        EXTENSION_VERSION.ID,
+                        EXTENSION_VERSION.TARGET_PLATFORM,
+                        EXTENSION_VERSION.PRE_RELEASE,
+                        EXTENSION_VERSION.ACTIVE
+                )
+                .from(EXTENSION_VERSION)
+                .where(EXTENSION_VERSION.EXTENSION_ID.eq(extensionId))
+                .orderBy(LATEST_VERSION_ORDER)
+                .fetch();
+
+        for(var row : rows) {
+            var targetPlatforms = List.of(LatestVersionKey.ANY_TARGET_PLATFORM, row.get(EXTENSION_VERSION.TARGET_PLATFORM));
+            for(var targetPlatform : targetPlatforms) {
+                for(var onlyPreRelease : List.of(false, true)) {
+                    for(var onlyActive : List.of(false, true)) {
+                        if((!onlyPreRelease || row.get(EXTENSION_VERSION.PRE_RELEASE)) && (!onlyActive || row.get(EXTENSION_VERSION.ACTIVE))) {
+                            var key = new LatestVersionKey(targetPlatform, onlyPreRelease, onlyActive);
+                            latest.putIfAbsent(key, row.get(EXTENSION_VERSION.ID));
+                        }
+                    }
+                }
+            }
+        }
+
+        return latest;
+    }
+
+    public Map<LatestVersionKey, Long> findLatestIds(long extensionId) {
+        return dsl.select(
+                        EXTENSION_LATEST_VERSION.TARGET_PLATFORM,
+                        EXTENSION_LATEST_VERSION.PRE_RELEASE,
+                        EXTENSION_LATEST_VERSION.ACTIVE,
+                        EXTENSION_LATEST_VERSION.EXTENSION_VERSION_ID
+                )
+                .from(EXTENSION_LATEST_VERSION)
+                .where(EXTENSION_LATEST_VERSION.EXTENSION_ID.eq(extensionId))
+                .fetchMap(
+                        row -> new LatestVersionKey(
+                                row.get(EXTENSION_LATEST_VERSION.TARGET_PLATFORM),
+                                row.get(EXTENSION_LATEST_VERSION.PRE_RELEASE),
+                                row.get(EXTENSION_LATEST_VERSION.ACTIVE)
+                        ),
+                        row -> row.get(EXTENSION_LATEST_VERSION.EXTENSION_VERSION_ID)
+                );
+    }
+
     public ExtensionVersion find(String namespaceName, String extensionName, String targetPlatform, String version) {
-        var onlyPreRelease = VersionAlias.PRE_RELEASE.equals(version);
-        var query = findLatestQuery(targetPlatform, onlyPreRelease, true);
-        return findInternal(query, namespaceName, extensionName, version);
+        return findInternal(targetPlatform, true, namespaceName, extensionName, version);
     }
 
     /**
@@ -1265,13 +1326,16 @@ public class ExtensionVersionJooqRepository {
      * Use this for admin operations on quarantined/inactive extensions.
      */
     public ExtensionVersion findIncludingInactive(String namespaceName, String extensionName, String targetPlatform, String version) {
-        var onlyPreRelease = VersionAlias.PRE_RELEASE.equals(version);
         // Pass false for onlyActive to include inactive (quarantined) extensions
-        var query = findLatestQuery(targetPlatform, onlyPreRelease, false);
-        return findInternal(query, namespaceName, extensionName, version);
+        return findInternal(targetPlatform, false, namespaceName, extensionName, version);
     }
 
-    private ExtensionVersion findInternal(SelectQuery<Record> query, String namespaceName, String extensionName, String version) {
+    private ExtensionVersion findInternal(String targetPlatform, boolean onlyActive, String namespaceName, String extensionName, String version) {
+        var isAlias = VersionAlias.LATEST.equals(version) || VersionAlias.PRE_RELEASE.equals(version);
+        var onlyPreRelease = VersionAlias.PRE_RELEASE.equals(version);
+        var query = isAlias
+                ? findLatestQuery(EXTENSION.ID, targetPlatform, onlyPreRelease, onlyActive)
+                : findLatestQuery(targetPlatform, onlyPreRelease, onlyActive);
         query.addSelect(
                 USER_DATA.ID,
                 USER_DATA.ROLE,
@@ -1331,7 +1395,7 @@ public class ExtensionVersionJooqRepository {
                 EXTENSION.NAME.equalIgnoreCase(extensionName),
                 NAMESPACE.NAME.equalIgnoreCase(namespaceName)
         );
-        if(!VersionAlias.LATEST.equals(version) && !VersionAlias.PRE_RELEASE.equals(version)) {
+        if(!isAlias) {
             query.addConditions(EXTENSION_VERSION.VERSION.eq(version));
         }
 
@@ -1359,6 +1423,18 @@ public class ExtensionVersionJooqRepository {
                 .fetch(EXTENSION_VERSION.TARGET_PLATFORM);
     }
 
+    public Map<Long, List<String>> findDistinctTargetPlatforms(Collection<Long> extensionIds) {
+        if(extensionIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return dsl.selectDistinct(EXTENSION_VERSION.EXTENSION_ID, EXTENSION_VERSION.TARGET_PLATFORM)
+                .from(EXTENSION_VERSION)
+                .where(EXTENSION_VERSION.EXTENSION_ID.in(extensionIds))
+                .and(EXTENSION_VERSION.ACTIVE.eq(true))
+                .fetchGroups(EXTENSION_VERSION.EXTENSION_ID, EXTENSION_VERSION.TARGET_PLATFORM);
+    }
+
     public boolean hasSameVersion(ExtensionVersion extVersion) {
         return dsl.fetchExists(
                 dsl.selectOne()
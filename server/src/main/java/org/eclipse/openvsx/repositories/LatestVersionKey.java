@@ -0,0 +1,32 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.repositories;
+
+import org.eclipse.openvsx.util.TargetPlatform;
+
+/**
+ * Identifies a precomputed latest version of an extension: the latest version for a target platform
+ * (or for any target platform), optionally restricted to pre-releases and to active versions.
+ */
+public record LatestVersionKey(String targetPlatform, boolean onlyPreRelease, boolean onlyActive) {
+
+    public static final String ANY_TARGET_PLATFORM = "*";
+
+    public static LatestVersionKey of(String targetPlatform, boolean onlyPreRelease, boolean onlyActive) {
+        return new LatestVersionKey(
+                TargetPlatform.isValid(targetPlatform) ? targetPlatform : ANY_TARGET_PLATFORM,
+                onlyPreRelease,
+                onlyActive
+        );
+    }
+}
@@ -64,6 +64,12 @@ public class NamespaceJooqRepository {
                 .fetchOne(NAMESPACE.NAME);
     }
 
+    public List<String> findAllNames() {
+        return dsl.select(NAMESPACE.NAME)
+                .from(NAMESPACE)
+                .fetch(NAMESPACE.NAME);
+    }
+
     public boolean exists(String name) {
         return dsl.fetchExists(dsl.selectOne().from(NAMESPACE).where(NAMESPACE.NAME.equalIgnoreCase(name)));
     }
@@ -18,7 +18,9 @@ import org.jooq.SelectQuery;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.eclipse.openvsx.jooq.Tables.*;
 
@@ -71,6 +73,26 @@ public class NamespaceMembershipJooqRepository {
         return result.isNotEmpty();
     }
 
+    /**
+     * Bulk variant of {@link #isVerified(Namespace, UserData)}.
+     *
+     * @return the ids of verified members by namespace id
+     */
+    public Map<Long, List<Long>> findVerifiedUserIds(Collection<Long> namespaceIds) {
+        if(namespaceIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        var nm = NAMESPACE_MEMBERSHIP.as("nm");
+        var onm = NAMESPACE_MEMBERSHIP.as("onm");
+        return dsl.selectDistinct(nm.NAMESPACE, nm.USER_DATA)
+                .from(nm)
+                .join(onm).on(onm.NAMESPACE.eq(nm.NAMESPACE))
+                .where(onm.NAMESPACE.in(namespaceIds))
+                .and(onm.ROLE.eq(NamespaceMembership.ROLE_OWNER))
+                .fetchGroups(nm.NAMESPACE, nm.USER_DATA);
+    }
+
     public boolean hasRole(Namespace namespace, String role) {
         return dsl.fetchExists(dsl.selectOne().from(NAMESPACE_MEMBERSHIP)
                 .where(NAMESPACE_MEMBERSHIP.NAMESPACE.eq(namespace.getId()))
@@ -0,0 +1,127 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.repositories;
+
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChange;
+import org.eclipse.openvsx.jooq.tables.records.RegistryChangeRecord;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.eclipse.openvsx.jooq.Sequences.REGISTRY_CHANGE_SEQ;
+import static org.eclipse.openvsx.jooq.Tables.CHANGE_FEED_CURSOR;
+import static org.eclipse.openvsx.jooq.Tables.REGISTRY_CHANGE;
+
+@Component
+public class RegistryChangeJooqRepository {
+
+    // arbitrary key of the transaction-level advisory lock that orders registry change ids
+    private static final long LOCK_KEY = 0x6f7673785f636867L;
+
+    private final DSLContext dsl;
+
+    public RegistryChangeJooqRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Inserts a change. Writers are serialized until the end of their transaction, so that
+     * ids become visible in ascending order and readers never skip a change that commits late.
+     */
+    public void insert(LocalDateTime timestamp, ChangeType type, String namespace, String extension, String targetPlatform, String version) {
+        dsl.select(DSL.function("pg_advisory_xact_lock", Object.class, DSL.val(LOCK_KEY))).execute();
+        dsl.insertInto(
+                REGISTRY_CHANGE,
+                REGISTRY_CHANGE.ID,
+                REGISTRY_CHANGE.TIMESTAMP,
+                REGISTRY_CHANGE.CHANGE_TYPE,
+                REGISTRY_CHANGE.NAMESPACE_NAME,
+                REGISTRY_CHANGE.EXTENSION_NAME,
+                REGISTRY_CHANGE.TARGET_PLATFORM,
+                REGISTRY_CHANGE.VERSION
+        ).values(
+                REGISTRY_CHANGE_SEQ.nextval(),
+                DSL.val(timestamp),
+                DSL.val(type.name()),
+                DSL.val(namespace),
+                DSL.val(extension),
+                DSL.val(targetPlatform),
+                DSL.val(version)
+        ).execute();
+    }
+
+    public List<RegistryChange> findAfter(long after, int limit) {
+        return dsl.selectFrom(REGISTRY_CHANGE)
+                .where(REGISTRY_CHANGE.ID.gt(after))
+                .orderBy(REGISTRY_CHANGE.ID.asc())
+                .limit(limit)
+                .fetch(this::toRegistryChange);
+    }
+
+    public Long findFirstId() {
+        return dsl.select(DSL.min(REGISTRY_CHANGE.ID)).from(REGISTRY_CHANGE).fetchOne(DSL.min(REGISTRY_CHANGE.ID));
+    }
+
+    public Long findLastId() {
+        return dsl.select(DSL.max(REGISTRY_CHANGE.ID)).from(REGISTRY_CHANGE).fetchOne(DSL.max(REGISTRY_CHANGE.ID));
+    }
+
+    /**
+     * Deletes changes before the given time. The latest change is kept,
+     * it tells clients whether their position is still covered by the feed.
+     */
+    public int deleteBefore(LocalDateTime timestamp) {
+        var last = findLastId();
+        if (last == null) {
+            return 0;
+        }
+
+        return dsl.deleteFrom(REGISTRY_CHANGE)
+                .where(REGISTRY_CHANGE.TIMESTAMP.lt(timestamp))
+                .and(REGISTRY_CHANGE.ID.lt(last))
+                .execute();
+    }
+
+    public Long findCursorPosition(String name) {
+        return dsl.select(CHANGE_FEED_CURSOR.POSITION)
+                .from(CHANGE_FEED_CURSOR)
+                .where(CHANGE_FEED_CURSOR.NAME.eq(name))
+                .fetchOne(CHANGE_FEED_CURSOR.POSITION);
+    }
+
+    public void upsertCursorPosition(String name, long position, LocalDateTime updated) {
+        dsl.insertInto(CHANGE_FEED_CURSOR, CHANGE_FEED_CURSOR.NAME, CHANGE_FEED_CURSOR.POSITION, CHANGE_FEED_CURSOR.UPDATED)
+                .values(name, position, updated)
+                .onConflict(CHANGE_FEED_CURSOR.NAME)
+                .doUpdate()
+                .set(CHANGE_FEED_CURSOR.POSITION, position)
+                .set(CHANGE_FEED_CURSOR.UPDATED, updated)
+                .execute();
+    }
+
+    private RegistryChange toRegistryChange(RegistryChangeRecord row) {
+        return new RegistryChange(
+                row.getId(),
+                row.getTimestamp(),
+                ChangeType.valueOf(row.getChangeType()),
+                row.getNamespaceName(),
+                row.getExtensionName(),
+                row.getTargetPlatform(),
+                row.getVersion()
+        );
+    }
+}
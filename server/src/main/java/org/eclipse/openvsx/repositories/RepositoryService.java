@@ -9,12 +9,15 @@
  ********************************************************************************/
 package org.eclipse.openvsx.repositories;
 
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChange;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.QueryRequest;
 import org.eclipse.openvsx.json.TargetPlatformVersionJson;
 import org.eclipse.openvsx.json.VersionTargetPlatformsJson;
 import org.eclipse.openvsx.util.ExtensionId;
 import org.eclipse.openvsx.util.NamingUtil;
+import org.eclipse.openvsx.util.TimeUtil;
 import org.eclipse.openvsx.web.SitemapRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,6 +35,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.eclipse.openvsx.entities.FileResource.*;
 
@@ -77,6 +81,8 @@ public class RepositoryService {
     private final TierRepository tierRepo;
     private final CustomerRepository customerRepo;
     private final UsageStatsRepository usageStatsRepository;
+    private final UsageStatsJooqRepository usageStatsJooqRepo;
+    private final RegistryChangeJooqRepository registryChangeJooqRepo;
 
     public RepositoryService(
             NamespaceRepository namespaceRepo,
@@ -110,7 +116,9 @@ public class RepositoryService {
             ScanCheckResultRepository scanCheckResultRepo,
             TierRepository tierRepo,
             CustomerRepository customerRepo,
-            UsageStatsRepository usageStatsRepository
+            UsageStatsRepository usageStatsRepository,
+            UsageStatsJooqRepository usageStatsJooqRepo,
+            RegistryChangeJooqRepository registryChangeJooqRepo
     ) {
         this.namespaceRepo = namespaceRepo;
         this.namespaceJooqRepo = namespaceJooqRepo;
@@ -144,6 +152,8 @@ public class RepositoryService {
         this.tierRepo = tierRepo;
         this.customerRepo = customerRepo;
         this.usageStatsRepository = usageStatsRepository;
+        this.usageStatsJooqRepo = usageStatsJooqRepo;
+        this.registryChangeJooqRepo = registryChangeJooqRepo;
     }
 
     public Namespace findNamespace(String name) {
@@ -186,6 +196,14 @@ public class RepositoryService {
         return extensionRepo.findByActiveTrue();
     }
 
+    public List<Long> findActiveExtensionIds(long afterId, int limit) {
+        return extensionJooqRepo.findActiveIds(afterId, limit);
+    }
+
+    public List<Long> findExtensionIds(long afterId, int limit) {
+        return extensionJooqRepo.findIds(afterId, limit);
+    }
+
     public Streamable<Extension> findAllNotMatchingByExtensionId(List<String> extensionIds) {
         return extensionRepo.findAllNotMatchingByExtensionId(extensionIds);
     }
@@ -346,6 +364,10 @@ public class RepositoryService {
         return membershipJooqRepo.isVerified(namespace, user);
     }
 
+    public Map<Long, List<Long>> findVerifiedUserIds(Collection<Long> namespaceIds) {
+        return membershipJooqRepo.findVerifiedUserIds(namespaceIds);
+    }
+
     public Streamable<NamespaceMembership> findMemberships(Namespace namespace, String role) {
         return membershipRepo.findByNamespaceAndRoleIgnoreCase(namespace, role);
     }
@@ -426,6 +448,10 @@ public class RepositoryService {
         return extensionJooqRepo.findActiveByNameIgnoreCaseAndNamespaceNameIgnoreCase(name, namespaceName);
     }
 
+    public List<Extension> findActiveExtensionsByNamespaceAndName(Collection<ExtensionId> extensionIds) {
+        return extensionJooqRepo.findAllActiveByNamespaceAndName(extensionIds);
+    }
+
     public List<Extension> findActiveExtensionsById(Collection<Long> ids) {
         return extensionJooqRepo.findAllActiveById(ids);
     }
@@ -567,6 +593,10 @@ public class RepositoryService {
         namespaceJooqRepo.updatePublicIds(publicIds);
     }
 
+    public void increaseDownloadCounts(Map<Long, Integer> extensionDownloads) {
+        extensionJooqRepo.increaseDownloadCounts(extensionDownloads);
+    }
+
     public boolean extensionPublicIdExists(String publicId) {
         return extensionJooqRepo.publicIdExists(publicId);
     }
@@ -575,8 +605,12 @@ public class RepositoryService {
         return namespaceJooqRepo.publicIdExists(publicId);
     }
 
-    public List<SitemapRow> fetchSitemapRows() {
-        return extensionJooqRepo.fetchSitemapRows();
+    public Stream<SitemapRow> streamSitemapRows(@Nullable Collection<String> namespaces, int fetchSize) {
+        return extensionJooqRepo.streamSitemapRows(namespaces, fetchSize);
+    }
+
+    public List<String> findAllNamespaceNames() {
+        return namespaceJooqRepo.findAllNames();
     }
 
     public List<VersionTargetPlatformsJson> findTargetPlatformsGroupedByVersion(Extension extension) {
@@ -619,6 +653,22 @@ public class RepositoryService {
         return extensionVersionJooqRepo.findLatest(namespaceName, extensionName, targetPlatform, onlyPreRelease, onlyActive);
     }
 
+    public void updateLatestVersions(Extension extension) {
+        updateLatestVersions(extension.getId());
+    }
+
+    public void updateLatestVersions(long extensionId) {
+        extensionVersionJooqRepo.updateLatest(extensionId);
+    }
+
+    public Map<LatestVersionKey, Long> computeLatestVersionIds(long extensionId) {
+        return extensionVersionJooqRepo.computeLatestIds(extensionId);
+    }
+
+    public Map<LatestVersionKey, Long> findLatestVersionIds(long extensionId) {
+        return extensionVersionJooqRepo.findLatestIds(extensionId);
+    }
+
     public List<ExtensionVersion> findLatestVersions(Namespace namespace) {
         return extensionVersionJooqRepo.findLatest(namespace);
     }
@@ -643,6 +693,10 @@ public class RepositoryService {
         return extensionVersionJooqRepo.findDistinctTargetPlatforms(extension);
     }
 
+    public Map<Long, List<String>> findExtensionTargetPlatforms(Collection<Long> extensionIds) {
+        return extensionVersionJooqRepo.findDistinctTargetPlatforms(extensionIds);
+    }
+
     public void deactivateKeyPairs() {
         signatureKeyPairRepo.updateActiveSetFalse();
     }
@@ -1286,4 +1340,36 @@ public class RepositoryService {
     public UsageStats saveUsageStats(UsageStats usageStats) {
         return usageStatsRepository.save(usageStats);
     }
+
+    public void insertUsageStats(Collection<UsageStats> usageStats) {
+        usageStatsJooqRepo.insertAll(usageStats);
+    }
+
+    public void insertRegistryChange(ChangeType type, String namespace, String extension, String targetPlatform, String version) {
+        registryChangeJooqRepo.insert(TimeUtil.getCurrentUTC(), type, namespace, extension, targetPlatform, version);
+    }
+
+    public List<RegistryChange> findRegistryChanges(long after, int limit) {
+        return registryChangeJooqRepo.findAfter(after, limit);
+    }
+
+    public Long findFirstRegistryChangeId() {
+        return registryChangeJooqRepo.findFirstId();
+    }
+
+    public Long findLastRegistryChangeId() {
+        return registryChangeJooqRepo.findLastId();
+    }
+
+    public int deleteRegistryChangesBefore(LocalDateTime timestamp) {
+        return registryChangeJooqRepo.deleteBefore(timestamp);
+    }
+
+    public Long findChangeFeedCursor(String name) {
+        return registryChangeJooqRepo.findCursorPosition(name);
+    }
+
+    public void saveChangeFeedCursor(String name, long position) {
+        registryChangeJooqRepo.upsertCursorPosition(name, position, TimeUtil.getCurrentUTC());
+    }
 }
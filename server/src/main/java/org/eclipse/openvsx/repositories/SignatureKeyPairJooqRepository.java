@@ -49,10 +49,7 @@ public class SignatureKeyPairJooqRepository {
         }
 
         query.addOrderBy(
-                EXTENSION_VERSION.SEMVER_MAJOR.desc(),
-                EXTENSION_VERSION.SEMVER_MINOR.desc(),
-                EXTENSION_VERSION.SEMVER_PATCH.desc(),
-                EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE.asc(),
+                EXTENSION_VERSION.SEMVER_KEY.desc(),
                 EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(),
                 EXTENSION_VERSION.TARGET_PLATFORM.asc(),
                 EXTENSION_VERSION.TIMESTAMP.desc()
@@ -0,0 +1,94 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.repositories;
+
+import org.eclipse.openvsx.entities.UsageStats;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.eclipse.openvsx.jooq.Sequences.USAGE_STATS_SEQ;
+import static org.eclipse.openvsx.jooq.Tables.USAGE_STATS;
+
+@Component
+public class UsageStatsJooqRepository {
+
+    private final DSLContext dsl;
+
+    public UsageStatsJooqRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    /**
+     * Insert the given usage stats. Stats of the same customer and window are added up,
+     * both within the given collection and with rows that already exist.
+     */
+    public void insertAll(Collection<UsageStats> usageStats) {
+        if (usageStats.isEmpty()) {
+            return;
+        }
+
+        // the same key must not appear twice in one ON CONFLICT statement
+        var merged = new LinkedHashMap<UsageStatsKey, UsageStats>();
+        for (var stats : usageStats) {
+            merged.merge(new UsageStatsKey(stats.getCustomer().getId(), stats.getWindowStart()), stats, (existing, added) -> {
+                var sum = new UsageStats();
+                sum.setCustomer(existing.getCustomer());
+                sum.setWindowStart(existing.getWindowStart());
+                sum.setDuration(existing.getDuration());
+                sum.setCount(existing.getCount() + added.getCount());
+                return sum;
+            });
+        }
+
+        var rows = new ArrayList<>(merged.values());
+        for (var from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            insertBatch(rows.subList(from, Math.min(from + INSERT_BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private void insertBatch(List<UsageStats> usageStats) {
+        var insert = dsl.insertInto(
+                USAGE_STATS,
+                USAGE_STATS.ID,
+                USAGE_STATS.CUSTOMER_ID,
+                USAGE_STATS.WINDOW_START,
+                USAGE_STATS.DURATION,
+                USAGE_STATS.COUNT
+        );
+        for (var stats : usageStats) {
+            insert = insert.values(
+                    USAGE_STATS_SEQ.nextval(),
+                    DSL.val(stats.getCustomer().getId()),
+                    DSL.val(stats.getWindowStart()),
+                    DSL.val((int) stats.getDuration().toSeconds()),
+                    DSL.val(stats.getCount())
+            );
+        }
+
+        insert.onConflict(USAGE_STATS.CUSTOMER_ID, USAGE_STATS.WINDOW_START)
+                .doUpdate()
+                .set(USAGE_STATS.COUNT, USAGE_STATS.COUNT.plus(DSL.excluded(USAGE_STATS.COUNT)))
+                .execute();
+    }
+
+    private record UsageStatsKey(long customerId, LocalDateTime windowStart) {}
+}
@@ -1,14 +1,14 @@
 /********************************************************************************
- * Copyright (c) 2025 Contributors to the Eclipse Foundation 
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
  *
- * See the NOTICE file(s) distributed with this work for additional 
+ * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
  *
- * This program and the accompanying materials are made available under the 
+ * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
  * https://www.eclipse.org/legal/epl-2.0
  *
- * SPDX-License-Identifier: EPL-2.0 
+ * SPDX-License-Identifier: EPL-2.0
  ********************************************************************************/
 package org.eclipse.openvsx.scanning;
 
@@ -27,54 +27,98 @@ import java.util.*;
  * <p>
  * Based on the algorithm used by TruffleHog for secret detection optimization.
  * <p>
+ * The automaton is compiled into flat arrays: the characters of the keywords are mapped to
+ * a dense alphabet, and the failure links are resolved at build time into a complete
+ * transition table. Searching therefore takes exactly one table lookup per character and
+ * doesn't allocate anything when matches are reported through a {@link MatchHandler}.
+ * Case-insensitive matching ({@link Builder#ignoreCase()}) is part of the alphabet mapping,
+ * so the text doesn't need to be converted to lowercase before searching.
+ * <p>
  * This class is immutable after construction. Use {@link #builder()} to create instances.
  */
 public final class AhoCorasick {
-    
+
     /**
-     * Node in the Aho-Corasick trie.
-     * Each node represents a state in the automaton.
+     * Receives the keyword matches found by {@link #search(CharSequence, MatchHandler)}.
      */
-    private static class TrieNode {
-        // Children nodes indexed by character
-        final Map<Character, TrieNode> children = new HashMap<>();
-        
-        // Failure link - where to go if no match found
-        // This is the key to Aho-Corasick's efficiency
-        TrieNode failure = null;
-        
-        // Output patterns at this node (if this node ends a pattern)
-        final List<String> outputs = new ArrayList<>();
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * @param keyword index of the matched keyword, see {@link #getKeyword(int)}
+         * @param startPos start position of the match (inclusive)
+         * @param endPos end position of the match (exclusive)
+         * @return {@code true} to continue searching, {@code false} to stop
+         */
+        boolean onMatch(int keyword, int startPos, int endPos);
     }
-    
-    private final TrieNode root;
-    
+
+    private static final int ASCII_SIZE = 128;
+
+    private final String[] keywords;
+    private final boolean ignoreCase;
+
+    // Alphabet: symbol of each ASCII character, 0 if the character doesn't occur in any keyword
+    private final int[] asciiSymbols;
+    // Alphabet: sorted non-ASCII characters of the keywords, their symbols follow the ASCII symbols
+    private final char[] otherChars;
+    private final int otherSymbolOffset;
+    private final int symbolCount;
+
+    // Transition table: next state = transitions[state * symbolCount + symbol]
+    private final int[] transitions;
+
+    // Keywords ending in a state: outputKeywords[outputOffsets[state]] until outputKeywords[outputOffsets[state + 1]]
+    private final int[] outputOffsets;
+    private final int[] outputKeywords;
+
     /**
      * Private constructor - use {@link #builder()} to create instances.
      */
-    private AhoCorasick(TrieNode root) {
-        this.root = root;
+    private AhoCorasick(String[] keywords, boolean ignoreCase, int[] asciiSymbols, char[] otherChars,
+                        int otherSymbolOffset, int symbolCount, int[] transitions, int[] outputOffsets,
+                        int[] outputKeywords) {
+        this.keywords = keywords;
+        this.ignoreCase = ignoreCase;
+        this.asciiSymbols = asciiSymbols;
+        this.otherChars = otherChars;
+        this.otherSymbolOffset = otherSymbolOffset;
+        this.symbolCount = symbolCount;
+        this.transitions = transitions;
+        this.outputOffsets = outputOffsets;
+        this.outputKeywords = outputKeywords;
     }
-    
+
     /**
      * Create a new builder for constructing an AhoCorasick automaton.
      */
     public static Builder builder() {
         return new Builder();
     }
-    
+
     /**
      * Builder for constructing immutable AhoCorasick instances.
      */
     public static final class Builder {
-        private final Set<String> keywords = new HashSet<>();
+        private final Set<String> keywords = new LinkedHashSet<>();
+        private boolean ignoreCase = false;
         private boolean built = false;
-        
+
         private Builder() {}
-        
+
+        /**
+         * Match the keywords regardless of the case of the text and the keywords.
+         * Reported keywords are in lowercase.
+         * @return this builder for chaining
+         */
+        public Builder ignoreCase() {
+            checkNotBuilt();
+            this.ignoreCase = true;
+            return this;
+        }
+
         /**
          * Add a single keyword to the automaton.
-         * @param keyword The keyword to search for (should be lowercase for case-insensitive matching)
+         * @param keyword The keyword to search for
          * @return this builder for chaining
          */
         public Builder addKeyword(@NotNull String keyword) {
@@ -84,7 +128,7 @@ public final class AhoCorasick {
             }
             return this;
         }
-        
+
         /**
          * Add multiple keywords to the automaton.
          * @param keywords Collection of keywords to search for
@@ -99,7 +143,7 @@ public final class AhoCorasick {
             }
             return this;
         }
-        
+
         /**
          * Build the immutable AhoCorasick automaton.
          * This builder cannot be reused after calling build().
@@ -108,121 +152,298 @@ public final class AhoCorasick {
         public AhoCorasick build() {
             checkNotBuilt();
             built = true;
-            
-            TrieNode root = new TrieNode();
-            
-            // Step 1: Build the trie (prefix tree)
+
+            String[] keywordArray = foldKeywords();
+
+            // Step 1: Map the characters of the keywords to a dense alphabet
+            int[] asciiSymbols = new int[ASCII_SIZE];
+            SortedSet<Character> others = new TreeSet<>();
+            int totalLength = 0;
+            for (String keyword : keywordArray) {
+                totalLength += keyword.length();
+                for (int i = 0; i < keyword.length(); i++) {
+                    char c = keyword.charAt(i);
+                    if (c < ASCII_SIZE) {
+                        asciiSymbols[c] = 1;
+                    } else {
+                        others.add(c);
+                    }
+                }
+            }
+
+            int symbolCount = 1;
+            for (int c = 0; c < ASCII_SIZE; c++) {
+                if (asciiSymbols[c] != 0) {
+                    asciiSymbols[c] = symbolCount++;
+                }
+            }
+            if (ignoreCase) {
+                for (int c = 'A'; c <= 'Z'; c++) {
+                    asciiSymbols[c] = asciiSymbols[Character.toLowerCase(c)];
+                }
+            }
+
+            int otherSymbolOffset = symbolCount;
+            char[] otherChars = new char[others.size()];
+            int index = 0;
+            for (char c : others) {
+                otherChars[index++] = c;
+            }
+            symbolCount += otherChars.length;
+
+            // Step 2: Build the trie (prefix tree), 0 is the root and marks missing edges
+            int maxStates = totalLength + 1;
+            int[] transitions = new int[maxStates * symbolCount];
+            int[] terminal = new int[maxStates];
+            Arrays.fill(terminal, -1);
+            int stateCount = 1;
+            for (int k = 0; k < keywordArray.length; k++) {
+                String keyword = keywordArray[k];
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    char c = keyword.charAt(i);
+                    int symbol = c < ASCII_SIZE
+                            ? asciiSymbols[c]
+                            : otherSymbolOffset + Arrays.binarySearch(otherChars, c);
+                    int edge = state * symbolCount + symbol;
+                    if (transitions[edge] == 0) {
+                        transitions[edge] = stateCount++;
+                    }
+                    state = transitions[edge];
+                }
+                terminal[state] = k;
+            }
+
+            // Step 3: Resolve failure links into the transition table using BFS
+            int[] failure = new int[stateCount];
+            int[] queue = new int[stateCount];
+            int head = 0;
+            int tail = 0;
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int child = transitions[symbol];
+                if (child != 0) {
+                    queue[tail++] = child;
+                }
+            }
+            while (head < tail) {
+                int state = queue[head++];
+                int row = state * symbolCount;
+                int failureRow = failure[state] * symbolCount;
+                for (int symbol = 0; symbol < symbolCount; symbol++) {
+                    int child = transitions[row + symbol];
+                    if (child != 0) {
+                        // The failure row is complete already, since it belongs to a shallower state
+                        failure[child] = transitions[failureRow + symbol];
+                        queue[tail++] = child;
+                    } else {
+                        transitions[row + symbol] = transitions[failureRow + symbol];
+                    }
+                }
+            }
+
+            // Step 4: Collect the outputs of each state, including those of its failure states
+            int[] outputCounts = new int[stateCount];
+            for (int i = 0; i < tail; i++) {
+                int state = queue[i];
+                outputCounts[state] = (terminal[state] >= 0 ? 1 : 0) + outputCounts[failure[state]];
+            }
+            int[] outputOffsets = new int[stateCount + 1];
+            for (int state = 0; state < stateCount; state++) {
+                outputOffsets[state + 1] = outputOffsets[state] + outputCounts[state];
+            }
+            int[] outputKeywords = new int[outputOffsets[stateCount]];
+            for (int i = 0; i < tail; i++) {
+                int state = queue[i];
+                int offset = outputOffsets[state];
+                if (terminal[state] >= 0) {
+                    outputKeywords[offset++] = terminal[state];
+                }
+                int failureState = failure[state];
+                int failureCount = outputCounts[failureState];
+                System.arraycopy(outputKeywords, outputOffsets[failureState], outputKeywords, offset, failureCount);
+            }
+
+            return new AhoCorasick(keywordArray, ignoreCase, asciiSymbols, otherChars, otherSymbolOffset, symbolCount,
+                    Arrays.copyOf(transitions, stateCount * symbolCount), outputOffsets, outputKeywords);
+        }
+
+        private String[] foldKeywords() {
+            if (!ignoreCase) {
+                return keywords.toArray(String[]::new);
+            }
+
+            // Fold char by char, so that positions in the text and in the keywords stay aligned
+            Set<String> folded = new LinkedHashSet<>();
             for (String keyword : keywords) {
-                addKeywordToTrie(root, keyword);
+                char[] chars = keyword.toCharArray();
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = Character.toLowerCase(chars[i]);
+                }
+                folded.add(new String(chars));
             }
-            
-            // Step 2: Build failure links using BFS
-            buildFailureLinks(root);
-            
-            return new AhoCorasick(root);
+            return folded.toArray(String[]::new);
         }
-        
+
         private void checkNotBuilt() {
             if (built) {
                 throw new IllegalStateException("Builder has already been used to build an AhoCorasick instance");
             }
         }
-        
-        /**
-         * Add a single keyword to the trie.
-         */
-        private static void addKeywordToTrie(TrieNode root, String keyword) {
-            TrieNode current = root;
-            
-            for (char c : keyword.toCharArray()) {
-                current = current.children.computeIfAbsent(c, k -> new TrieNode());
+    }
+
+    /**
+     * Get the keyword with the given index as reported to a {@link MatchHandler}.
+     */
+    public @NotNull String getKeyword(int index) {
+        return keywords[index];
+    }
+
+    /**
+     * Get all keywords, ordered by their index.
+     */
+    public @NotNull List<String> getKeywords() {
+        return List.of(keywords);
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * Whether all keywords are ASCII, which is required to search UTF-8 encoded text.
+     */
+    public boolean isAscii() {
+        return otherChars.length == 0;
+    }
+
+    /**
+     * Search for keyword matches in the given text and pass them to the handler,
+     * ordered by their end position.
+     *
+     * @param text Text to search in
+     * @param handler Receives the matches and decides whether to continue
+     * @return {@code false} if the handler stopped the search, {@code true} otherwise
+     */
+    public boolean search(@NotNull CharSequence text, @NotNull MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * symbolCount + symbol(text.charAt(i))];
+            for (int o = outputOffsets[state], end = outputOffsets[state + 1]; o < end; o++) {
+                int keyword = outputKeywords[o];
+                if (!handler.onMatch(keyword, i + 1 - keywords[keyword].length(), i + 1)) {
+                    return false;
+                }
             }
-            
-            current.outputs.add(keyword);
         }
-        
-        /**
-         * Build failure links for all nodes using BFS.
-         * Failure links point to the longest proper suffix that is also a prefix of some pattern.
-         * This is what makes Aho-Corasick efficient - we never backtrack in the input text.
-         */
-        private static void buildFailureLinks(TrieNode root) {
-            Queue<TrieNode> queue = new LinkedList<>();
-            
-            // Initialize: all children of root fail back to root
-            for (TrieNode child : root.children.values()) {
-                child.failure = root;
-                queue.add(child);
+
+        return true;
+    }
+
+    /**
+     * Check whether the given text contains any of the keywords.
+     */
+    public boolean containsAny(@NotNull CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * symbolCount + symbol(text.charAt(i))];
+            if (outputOffsets[state] != outputOffsets[state + 1]) {
+                return true;
             }
-            
-            // BFS to build failure links for all nodes
-            while (!queue.isEmpty()) {
-                TrieNode current = queue.poll();
-                
-                for (Map.Entry<Character, TrieNode> entry : current.children.entrySet()) {
-                    char c = entry.getKey();
-                    TrieNode child = entry.getValue();
-                    queue.add(child);
-                    
-                    // Find the failure link for this child
-                    // Walk up failure links until we find a node that has a child for 'c'
-                    TrieNode failNode = current.failure;
-                    while (failNode != null && !failNode.children.containsKey(c)) {
-                        failNode = failNode.failure;
-                    }
-                    
-                    if (failNode == null) {
-                        // No suffix match found, fail to root
-                        child.failure = root;
-                    } else {
-                        // Found a suffix match
-                        child.failure = failNode.children.get(c);
-                    }
-                    
-                    // Copy outputs from failure node (for overlapping patterns)
-                    if (child.failure != null && child.failure != root) {
-                        child.outputs.addAll(child.failure.outputs);
-                    }
+        }
+
+        return false;
+    }
+
+    /**
+     * Search for keyword matches in UTF-8 encoded text and pass them to the handler.
+     * Multi-byte UTF-8 sequences never contain ASCII bytes, so an automaton with ASCII
+     * keywords finds the same matches as in the decoded text. The positions reported
+     * to the handler are byte offsets in the array.
+     *
+     * @param text Array containing the UTF-8 encoded text
+     * @param from Start of the text (inclusive)
+     * @param to End of the text (exclusive)
+     * @param handler Receives the matches and decides whether to continue
+     * @return {@code false} if the handler stopped the search, {@code true} otherwise
+     * @throws IllegalStateException if not all keywords are ASCII
+     */
+    public boolean search(@NotNull byte[] text, int from, int to, @NotNull MatchHandler handler) {
+        checkAscii();
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            state = transitions[state * symbolCount + symbol(text[i])];
+            for (int o = outputOffsets[state], end = outputOffsets[state + 1]; o < end; o++) {
+                int keyword = outputKeywords[o];
+                if (!handler.onMatch(keyword, i + 1 - keywords[keyword].length(), i + 1)) {
+                    return false;
                 }
             }
         }
+
+        return true;
+    }
+
+    /**
+     * Check whether the given UTF-8 encoded text contains any of the keywords.
+     *
+     * @throws IllegalStateException if not all keywords are ASCII
+     */
+    public boolean containsAny(@NotNull byte[] text, int from, int to) {
+        checkAscii();
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            state = transitions[state * symbolCount + symbol(text[i])];
+            if (outputOffsets[state] != outputOffsets[state + 1]) {
+                return true;
+            }
+        }
+
+        return false;
     }
-    
+
     /**
      * Search for all keyword matches in the given text.
      * Returns a list of matches with their positions.
-     * 
-     * @param text Text to search in (should be lowercase for case-insensitive matching)
+     *
+     * @param text Text to search in
      * @return List of all keyword matches found
      */
     public @NotNull List<Match> search(@NotNull String text) {
         List<Match> matches = new ArrayList<>();
-        TrieNode current = root;
-        
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
-            
-            // Follow failure links until we find a match or reach root
-            while (current != root && !current.children.containsKey(c)) {
-                current = current.failure;
-            }
-            
-            // Move to next state if possible
-            if (current.children.containsKey(c)) {
-                current = current.children.get(c);
-            }
-            
-            // If this node has outputs, we found matches
-            for (String keyword : current.outputs) {
-                // Calculate the start position of the match
-                int startPos = i - keyword.length() + 1;
-                matches.add(new Match(keyword, startPos, i + 1));
+        search(text, (keyword, startPos, endPos) -> matches.add(new Match(keywords[keyword], startPos, endPos)));
+        return matches;
+    }
+
+    private void checkAscii() {
+        if (!isAscii()) {
+            throw new IllegalStateException("UTF-8 encoded text can only be searched for ASCII keywords");
+        }
+    }
+
+    private int symbol(byte b) {
+        // bytes of multi-byte sequences are negative and don't occur in ASCII keywords
+        return b >= 0 ? asciiSymbols[b] : 0;
+    }
+
+    private int symbol(char c) {
+        if (c < ASCII_SIZE) {
+            return asciiSymbols[c];
+        }
+        if (ignoreCase) {
+            // some non-ASCII characters have an ASCII lowercase, e.g. the Kelvin sign
+            c = Character.toLowerCase(c);
+            if (c < ASCII_SIZE) {
+                return asciiSymbols[c];
             }
         }
-        
-        return matches;
+        if (otherChars.length == 0) {
+            return 0;
+        }
+
+        int index = Arrays.binarySearch(otherChars, c);
+        return index >= 0 ? otherSymbolOffset + index : 0;
     }
-    
+
     /**
      * Represents a keyword match in the text.
      */
@@ -230,25 +451,25 @@ public final class AhoCorasick {
         private final String keyword;
         private final int startPos;
         private final int endPos;
-        
+
         public Match(@NotNull String keyword, int startPos, int endPos) {
             this.keyword = keyword;
             this.startPos = startPos;
             this.endPos = endPos;
         }
-        
+
         public @NotNull String getKeyword() {
             return keyword;
         }
-        
+
         public int getStartPos() {
             return startPos;
         }
-        
+
         public int getEndPos() {
             return endPos;
         }
-        
+
         @Override
         public String toString() {
             return String.format("Match{keyword='%s', pos=[%d,%d)}", keyword, startPos, endPos);
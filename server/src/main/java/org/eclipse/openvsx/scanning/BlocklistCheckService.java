@@ -12,11 +12,9 @@
  ********************************************************************************/
 package org.eclipse.openvsx.scanning;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.openvsx.entities.FileDecision;
 import org.eclipse.openvsx.repositories.FileDecisionRepository;
 import org.eclipse.openvsx.util.ArchiveUtil;
-import org.eclipse.openvsx.util.TempFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -26,13 +24,8 @@ import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
-import java.util.zip.ZipFile;
 
 /**
  * Service for checking extension files against the blocklist during publishing.
@@ -101,7 +94,7 @@ public class BlocklistCheckService implements PublishCheck {
             return Result.pass();
         }
 
-        var blockedFiles = checkForBlockedFiles(context.extensionFile());
+        var blockedFiles = checkForBlockedFiles(context);
         if (blockedFiles.isEmpty()) {
             return Result.pass();
         }
@@ -132,44 +125,30 @@ public class BlocklistCheckService implements PublishCheck {
     /**
      * Check extension files against the blocklist.
      */
-    private List<BlockedFileInfo> checkForBlockedFiles(TempFile extensionFile) {
-        // Thread-safe map for parallel hashing: hash -> filePath
-        Map<String, String> fileHashes = new ConcurrentHashMap<>();
-
-        try (ZipFile zipFile = new ZipFile(extensionFile.getPath().toFile())) {
-            List<? extends ZipEntry> entries = Collections.list(zipFile.entries());
-            
-            ArchiveUtil.enforceArchiveLimits(
-                    entries,
+    private List<BlockedFileInfo> checkForBlockedFiles(Context context) {
+        // hash -> filePath
+        Map<String, String> fileHashes = new HashMap<>();
+
+        try {
+            // the package is read once, its digests are shared with the other checks and the publishing steps
+            var digest = context.archiveDigest(
+                    taskExecutor,
                     scanConfig.getMaxEntryCount(),
                     scanConfig.getMaxArchiveSizeBytes()
             );
-
-            var hashableEntries = entries.stream()
-                    .filter(entry -> !entry.isDirectory())
-                    .filter(entry -> ArchiveUtil.isSafePath(entry.getName()))
-                    .toList();
-
-            List<CompletableFuture<Void>> futures = new ArrayList<>(hashableEntries.size());
-            
-            for (ZipEntry entry : hashableEntries) {
-                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    try {
-                        String hash = computeHash(zipFile, entry);
-                        fileHashes.put(hash, entry.getName());
-                    } catch (IOException e) {
-                        logger.warn("Failed to hash file {}: {}", entry.getName(), e.getMessage());
-                    }
-                }, taskExecutor);
-                futures.add(future);
+            for (var entry : digest.getEntries()) {
+                if (!ArchiveUtil.isSafePath(entry.name())) {
+                    continue;
+                }
+                if (!entry.isHashed()) {
+                    logger.warn("Failed to hash file {}: {}", entry.name(), entry.error().getMessage());
+                    continue;
+                }
+
+                fileHashes.put(entry.sha256Hex(), entry.name());
             }
 
-            // Wait for all hashing to complete (non-blocking wait)
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-
-            logger.debug("Blocklist check: hashed {} files, skipped {}", 
-                    fileHashes.size(), entries.size() - hashableEntries.size());
-
+            logger.debug("Blocklist check: hashed {} files", fileHashes.size());
         } catch (ZipException e) {
             logger.error("Failed to open extension file as zip: {}", e.getMessage());
             throw new RuntimeException("Failed to check extension file: invalid zip format", e);
@@ -203,15 +182,6 @@ public class BlocklistCheckService implements PublishCheck {
         return result;
     }
 
-    /**
-     * Compute SHA256 hash of a zip entry.
-     */
-    private String computeHash(ZipFile zipFile, ZipEntry entry) throws IOException {
-        try (InputStream is = zipFile.getInputStream(entry)) {
-            return DigestUtils.sha256Hex(is);
-        }
-    }
-
     /**
      * Information about a blocked file found in an extension.
      */
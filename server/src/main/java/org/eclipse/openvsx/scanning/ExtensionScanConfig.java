@@ -16,6 +16,8 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Central configuration for extension scanning during publishing.
  * <p>
@@ -33,6 +35,9 @@ import org.springframework.context.annotation.Configuration;
  *     max-archive-size-bytes: 536870912 # Total archive size limit (512 MB)
  *     max-single-file-bytes: 268435456  # Per-file size limit (256 MB)
  *     max-entry-count: 50000            # Max ZIP entries to process
+ *     max-concurrent-checks: 8          # Publish checks running at the same time
+ *     check-timeout: PT1M               # Time limit of a single publish check
+ *     checks-deadline: PT2M             # Time limit of all publish checks of an extension
  */
 @Configuration
 public class ExtensionScanConfig {
@@ -75,6 +80,43 @@ public class ExtensionScanConfig {
     @Value("${ovsx.scanning.max-entry-count:50000}")
     private int maxEntryCount;
 
+    /**
+     * Maximum number of publish checks running at the same time, across all publish requests.
+     * 
+     * Property: {@code ovsx.scanning.max-concurrent-checks}
+     * Default: {@code 8}
+     */
+    @Value("${ovsx.scanning.max-concurrent-checks:8}")
+    private int maxConcurrentChecks = 8;
+
+    /**
+     * Time limit of a single publish check. Checks exceeding it are cancelled and recorded as errors.
+     * 
+     * Property: {@code ovsx.scanning.check-timeout}
+     * Default: {@code PT1M}
+     */
+    @Value("${ovsx.scanning.check-timeout:PT1M}")
+    private Duration checkTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Time limit of all publish checks of an extension, counted from the start of its first check.
+     * 
+     * Property: {@code ovsx.scanning.checks-deadline}
+     * Default: {@code PT2M}
+     */
+    @Value("${ovsx.scanning.checks-deadline:PT2M}")
+    private Duration checksDeadline = Duration.ofMinutes(2);
+
+    /**
+     * Time limit of waiting for a free slot before the first publish check of an extension starts.
+     * Checks that cannot start in time are not recorded as errors, the publish request is rejected as busy.
+     * 
+     * Property: {@code ovsx.scanning.checks-queue-timeout}
+     * Default: {@code PT2M}
+     */
+    @Value("${ovsx.scanning.checks-queue-timeout:PT2M}")
+    private Duration checksQueueTimeout = Duration.ofMinutes(2);
+
     /**
      * Check if extension scanning is enabled.
      */
@@ -106,6 +148,34 @@ public class ExtensionScanConfig {
         return maxEntryCount;
     }
 
+    /**
+     * Get the maximum number of publish checks running at the same time.
+     */
+    public int getMaxConcurrentChecks() {
+        return maxConcurrentChecks;
+    }
+
+    /**
+     * Get the time limit of a single publish check.
+     */
+    public Duration getCheckTimeout() {
+        return checkTimeout;
+    }
+
+    /**
+     * Get the time limit of all publish checks of an extension.
+     */
+    public Duration getChecksDeadline() {
+        return checksDeadline;
+    }
+
+    /**
+     * Get the time limit of waiting for the first publish check of an extension to start.
+     */
+    public Duration getChecksQueueTimeout() {
+        return checksQueueTimeout;
+    }
+
     @PostConstruct
     public void validate() {
         if (maxArchiveSizeBytes <= 0) {
@@ -122,5 +192,25 @@ public class ExtensionScanConfig {
             throw new IllegalArgumentException(
                 "ovsx.scanning.max-entry-count must be positive, got: " + maxEntryCount);
         }
+
+        if (maxConcurrentChecks <= 0) {
+            throw new IllegalArgumentException(
+                "ovsx.scanning.max-concurrent-checks must be positive, got: " + maxConcurrentChecks);
+        }
+
+        if (checkTimeout.isNegative() || checkTimeout.isZero()) {
+            throw new IllegalArgumentException(
+                "ovsx.scanning.check-timeout must be positive, got: " + checkTimeout);
+        }
+
+        if (checksDeadline.isNegative() || checksDeadline.isZero()) {
+            throw new IllegalArgumentException(
+                "ovsx.scanning.checks-deadline must be positive, got: " + checksDeadline);
+        }
+
+        if (checksQueueTimeout.isNegative() || checksQueueTimeout.isZero()) {
+            throw new IllegalArgumentException(
+                "ovsx.scanning.checks-queue-timeout must be positive, got: " + checksQueueTimeout);
+        }
     }
 }
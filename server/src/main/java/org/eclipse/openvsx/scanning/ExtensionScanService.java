@@ -23,6 +23,7 @@ import org.jobrunr.scheduling.JobRequestScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.Nonnull;
@@ -173,6 +174,13 @@ public class ExtensionScanService {
             throw new ErrorResultException(getUserFacingErrorMessage(enforcedFindings));
         }
 
+        // Handle required or enforced checks that could not start - the server is busy, the publisher can retry.
+        if (checkResult.checksBusy()) {
+            markScanAsErrored(scan, "Publish checks could not be started in time");
+            throw new ErrorResultException("Too many extensions are being published at the moment, please try again later.",
+                HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
         if (!checkResult.getWarningFindings().isEmpty()) {
             logger.warn("Policy violations detected but not enforced: {}.{}",
                 scan.getNamespaceName(), scan.getExtensionName());
@@ -14,10 +14,13 @@ package org.eclipse.openvsx.scanning;
 
 import org.eclipse.openvsx.entities.ExtensionScan;
 import org.eclipse.openvsx.entities.UserData;
+import org.eclipse.openvsx.util.ArchiveDigest;
 import org.eclipse.openvsx.util.TempFile;
 
 import jakarta.annotation.Nonnull;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -99,7 +102,25 @@ public interface PublishCheck {
         @Nonnull ExtensionScan scan,
         @Nonnull TempFile extensionFile,
         @Nonnull UserData user
-    ) {}
+    ) {
+        /**
+         * SHA-256 digests of the extension file and of each file in it.
+         * <p>
+         * The package is read once, the digests are shared by all checks and
+         * reused for the checksum and signature files when the extension is published.
+         */
+        public ArchiveDigest archiveDigest(@Nonnull Executor executor) throws IOException {
+            return ArchiveDigest.of(extensionFile, executor);
+        }
+
+        /**
+         * SHA-256 digests like {@link #archiveDigest(Executor)}, the archive limits are
+         * enforced on the central directory before any file is hashed.
+         */
+        public ArchiveDigest archiveDigest(@Nonnull Executor executor, int maxEntryCount, long maxUncompressedBytes) throws IOException {
+            return ArchiveDigest.of(extensionFile, executor, maxEntryCount, maxUncompressedBytes);
+        }
+    }
 
     /**
      * Result of a publishing check execution.
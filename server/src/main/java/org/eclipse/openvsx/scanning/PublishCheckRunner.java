@@ -12,6 +12,9 @@
  ********************************************************************************/
 package org.eclipse.openvsx.scanning;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.eclipse.openvsx.entities.ExtensionScan;
 import org.eclipse.openvsx.entities.ScanCheckResult;
 import org.eclipse.openvsx.entities.UserData;
@@ -25,25 +28,54 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Runs all publish checks against extension files and aggregates results.
+ * <p>
+ * The checks are independent of each other and run concurrently on virtual threads.
+ * The results are reported in the order of the checks, regardless of completion order.
  */
 @Component
 public class PublishCheckRunner{
 
     private static final Logger logger = LoggerFactory.getLogger(PublishCheckRunner.class);
 
+    private static final String DURATION_METRIC = "openvsx_publish_check_duration";
+
+    /** Start time of a check that is waiting for a permit. */
+    private static final long WAITING = 0;
+    /** Start time of a check that gave up waiting for a permit. */
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
     private final List<PublishCheck> checks;
+    private final ExtensionScanConfig config;
+    private final MeterRegistry registry;
+    private final ExecutorService executor;
+    private final Semaphore permits;
 
-    public PublishCheckRunner(List<PublishCheck> checks) {
+    public PublishCheckRunner(List<PublishCheck> checks, ExtensionScanConfig config, MeterRegistry registry) {
         this.checks = checks;
+        this.config = config;
+        this.registry = registry;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("publish-check-", 0).factory());
+        this.permits = new Semaphore(config.getMaxConcurrentChecks());
         
         logger.info("PublishCheckRunner initialized with {} checks: {}",
             checks.size(),
             checks.stream().map(PublishCheck::getCheckType).toList());
     }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
     
     /**
      * Get the list of check types that this runner will execute.
@@ -66,6 +98,18 @@ public class PublishCheckRunner{
      * <p>
      * This method does not persist anything. It only executes checks and returns findings.
      * The caller is responsible for recording failures and managing state.
+     * <p>
+     * Checks that exceed the check timeout or the overall deadline are cancelled and recorded
+     * as errors. The overall deadline starts when the first check gets a permit, so time spent
+     * waiting behind other publish requests is not held against the checks. Checks that are
+     * still waiting for a permit when the queue timeout or the deadline passes are recorded as
+     * not started; if one of them is required or enforced, the result is marked as
+     * {@link Result#checksBusy() busy}, so that the extension is not published without it.
+     * Once a check rejects the extension or a required check fails, the remaining checks are
+     * cancelled and not recorded.
+     * <p>
+     * The permit of a check is released as soon as the runner gives up on it, even if the check
+     * ignores the interruption and keeps running, so that stuck checks can't block later publishing.
      */
     @Nonnull
     public Result runChecks(
@@ -74,14 +118,9 @@ public class PublishCheckRunner{
             @Nonnull UserData user
     ) {
         var context = new PublishCheck.Context(scan, extensionFile, user);
-        var allFindings = new ArrayList<Finding>();
-        var checkExecutions = new ArrayList<CheckExecution>();
-        var allErrors = new ArrayList<CheckError>();
-        boolean hasEnforcedFailure = false;
-        boolean hasRequiredCheckError = false;
-
         String extId = scan.getNamespaceName() + "." + scan.getExtensionName() + " " + scan.getExtensionVersion();
-        
+
+        var enabledChecks = new ArrayList<PublishCheck>();
         for (var check : checks) {
             // Skip disabled checks - no record created
             if (!check.isEnabled()) {
@@ -89,102 +128,349 @@ public class PublishCheckRunner{
                 continue;
             }
 
-            logger.debug("Scan {} ({}) - Running check: {}", scan.getId(), extId, check.getCheckType());
-            
-            var startTime = TimeUtil.getCurrentUTC();
-            try {
-                var result = check.check(context);
-                var endTime = TimeUtil.getCurrentUTC();
-                logger.debug("Scan {} ({}) - Check {} passed: {}", scan.getId(), extId, check.getCheckType(), result.passed());
-                
-                int findingsCount = 0;
-                ScanCheckResult.CheckResult checkResult;
-                String summary;
-                
-                if (result.passed()) {
-                    checkResult = ScanCheckResult.CheckResult.PASSED;
-                    summary = "No issues found";
-                } else {
-                    boolean enforced = check.isEnforced();
-                    findingsCount = result.failures().size();
-                    
-                    // Get the user-facing message for this check's failures.
-                    String userFacingMessage = check.getUserFacingMessage(result.failures());
-                    
-                    // Convert each failure to a Finding.
-                    for (var failure : result.failures()) {
-                        allFindings.add(new Finding(
-                            check.getCheckType(),
-                            failure.ruleName(),
-                            failure.reason(),
-                            enforced,
-                            userFacingMessage
-                        ));
+            enabledChecks.add(check);
+        }
+
+        var count = enabledChecks.size();
+        var outcomes = new AtomicReferenceArray<Outcome>(count);
+        var startTimes = new AtomicLongArray(count);
+        var releasedPermits = new AtomicIntegerArray(count);
+        var completed = new LinkedBlockingQueue<Integer>();
+        var futures = new ArrayList<Future<?>>(count);
+        var submitTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            var index = i;
+            var check = enabledChecks.get(index);
+            futures.add(executor.submit(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (!startTimes.compareAndSet(index, WAITING, System.nanoTime())) {
+                    // gave up waiting for a permit
+                    permits.release();
+                    completed.add(index);
+                    return;
+                }
+                try {
+                    outcomes.compareAndSet(index, null, runCheck(check, context, scan, extId));
+                } finally {
+                    releasePermit(releasedPermits, index);
+                    completed.add(index);
+                }
+            }));
+        }
+
+        var checkTimeout = config.getCheckTimeout().toNanos();
+        var checksDeadline = config.getChecksDeadline().toNanos();
+        var queueDeadline = submitTime + config.getChecksQueueTimeout().toNanos();
+        var pending = new LinkedHashSet<Integer>();
+        for (int i = 0; i < count; i++) {
+            pending.add(i);
+        }
+
+        var notStarted = new HashMap<Integer, CheckExecution>();
+        var checksBusy = false;
+        try {
+            while (!pending.isEmpty()) {
+                // the overall deadline only starts once the first check got a permit,
+                // until then the checks are bound by the queue timeout
+                var firstStart = firstStartTime(startTimes);
+                var deadline = firstStart != WAITING ? firstStart + checksDeadline : queueDeadline;
+                var waitUntil = deadline;
+                for (var index : pending) {
+                    var startTime = startTimes.get(index);
+                    if (startTime != WAITING) {
+                        waitUntil = Math.min(waitUntil, startTime + checkTimeout);
                     }
-                    
-                    if (enforced) {
-                        hasEnforcedFailure = true;
-                        // Enforced issues reject the extension immediately
-                        checkResult = ScanCheckResult.CheckResult.REJECT;
-                        summary = String.format("Found %d issue(s) - rejected", findingsCount);
-                    } else {
-                        // Issues found but not enforced - extension still passes
-                        checkResult = ScanCheckResult.CheckResult.PASSED;
-                        summary = String.format("Found %d issue(s) - not enforced", findingsCount);
+                }
+
+                var index = completed.poll(Math.max(0, waitUntil - System.nanoTime()), TimeUnit.NANOSECONDS);
+                var stop = false;
+                if (index != null) {
+                    var outcome = outcomes.get(index);
+                    stop = pending.remove(index) && outcome != null && outcome.stopsPublishing();
+                } else {
+                    var now = System.nanoTime();
+                    firstStart = firstStartTime(startTimes);
+                    deadline = firstStart != WAITING ? firstStart + checksDeadline : queueDeadline;
+                    for (var pendingIndex : List.copyOf(pending)) {
+                        var check = enabledChecks.get(pendingIndex);
+                        var startTime = startTimes.get(pendingIndex);
+                        if (startTime == WAITING) {
+                            if (now >= deadline && startTimes.compareAndSet(pendingIndex, WAITING, NOT_STARTED)) {
+                                // queued for too long, this is not a failure of the check itself
+                                futures.get(pendingIndex).cancel(true);
+                                pending.remove(pendingIndex);
+                                notStarted.put(pendingIndex, notStarted(check, now - submitTime));
+                                if (check.isRequired() || check.isEnforced()) {
+                                    checksBusy = true;
+                                    stop = true;
+                                }
+                            }
+                            continue;
+                        }
+
+                        var timedOut = now - startTime >= checkTimeout;
+                        var runDeadline = (firstStart != WAITING ? Math.min(firstStart, startTime) : startTime) + checksDeadline;
+                        if (timedOut || now >= runDeadline) {
+                            var message = timedOut
+                                    ? "Check timed out after " + config.getCheckTimeout()
+                                    : "Checks did not complete within " + config.getChecksDeadline();
+                            if (outcomes.compareAndSet(pendingIndex, null, timeout(check, now - startTime, message, scan, extId))) {
+                                futures.get(pendingIndex).cancel(true);
+                                releasePermit(releasedPermits, pendingIndex);
+                            }
+
+                            pending.remove(pendingIndex);
+                            stop |= outcomes.get(pendingIndex).stopsPublishing();
+                        }
                     }
-                    
-                    logger.debug("Scan {} - {} detected {} issue(s), enforced={}",
-                        scan.getId(), check.getCheckType(), findingsCount, enforced);
                 }
-                
-                checkExecutions.add(new CheckExecution(
-                    check.getCheckType(),
-                    startTime,
-                    endTime,
-                    checkResult,
-                    findingsCount,
-                    null,
-                    summary,
-                    check.isRequired()
-                ));
-                
-            } catch (Exception e) {
-                var endTime = TimeUtil.getCurrentUTC();
-                boolean isRequired = check.isRequired();
-                
-                // Record the check execution with ERROR result
-                checkExecutions.add(new CheckExecution(
-                    check.getCheckType(),
-                    startTime,
-                    endTime,
-                    ScanCheckResult.CheckResult.ERROR,
-                    0,
-                    e.getMessage(),
-                    "Error: " + e.getMessage(),
-                    isRequired
-                ));
-                
-                allErrors.add(new CheckError(check.getCheckType(), e, isRequired));
-                
-                if (isRequired) {
-                    // Required check error - stop processing remaining checks
-                    hasRequiredCheckError = true;
-                    logger.warn("Scan {} ({}.{}.{}) - Required check {} threw exception, blocking publish: {}",
-                        scan.getId(), scan.getNamespaceName(), scan.getExtensionName(),
-                        scan.getExtensionVersion(), check.getCheckType(), e.getMessage());
+
+                if (stop) {
+                    logger.debug("Scan {} ({}) - Cancelling {} remaining check(s)", scan.getId(), extId, pending.size());
                     break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running publish checks", e);
+        } finally {
+            for (var index : pending) {
+                var started = !startTimes.compareAndSet(index, WAITING, NOT_STARTED);
+                futures.get(index).cancel(true);
+                if (started) {
+                    releasePermit(releasedPermits, index);
+                }
+            }
+        }
+
+        if (!notStarted.isEmpty()) {
+            logger.warn("Scan {} ({}) - {} check(s) did not get a permit in time: {}",
+                scan.getId(), extId, notStarted.size(),
+                notStarted.values().stream().map(CheckExecution::checkType).toList());
+        }
+
+        var allFindings = new ArrayList<Finding>();
+        var checkExecutions = new ArrayList<CheckExecution>();
+        var allErrors = new ArrayList<CheckError>();
+        boolean hasEnforcedFailure = false;
+        boolean hasRequiredCheckError = false;
+        for (int i = 0; i < count; i++) {
+            if (pending.contains(i)) {
+                // cancelled after another check stopped publishing
+                continue;
+            }
+            if (notStarted.containsKey(i)) {
+                checkExecutions.add(notStarted.get(i));
+                continue;
+            }
+
+            var outcome = outcomes.get(i);
+            if (outcome == null) {
+                continue;
+            }
+
+            checkExecutions.add(outcome.execution());
+            allFindings.addAll(outcome.findings());
+            if (outcome.error() != null) {
+                allErrors.add(outcome.error());
+                hasRequiredCheckError |= outcome.error().required();
+            }
+
+            hasEnforcedFailure |= outcome.enforcedFailure();
+        }
+
+        return new Result(allFindings, checkExecutions, allErrors, hasEnforcedFailure, hasRequiredCheckError, checksBusy);
+    }
+
+    private Outcome runCheck(PublishCheck check, PublishCheck.Context context, ExtensionScan scan, String extId) {
+        logger.debug("Scan {} ({}) - Running check: {}", scan.getId(), extId, check.getCheckType());
+
+        var startTime = TimeUtil.getCurrentUTC();
+        var sample = Timer.start(registry);
+        try {
+            var result = check.check(context);
+            var endTime = TimeUtil.getCurrentUTC();
+            logger.debug("Scan {} ({}) - Check {} passed: {}", scan.getId(), extId, check.getCheckType(), result.passed());
+
+            var findings = new ArrayList<Finding>();
+            int findingsCount = 0;
+            boolean enforcedFailure = false;
+            ScanCheckResult.CheckResult checkResult;
+            String summary;
+
+            if (result.passed()) {
+                checkResult = ScanCheckResult.CheckResult.PASSED;
+                summary = "No issues found";
+            } else {
+                boolean enforced = check.isEnforced();
+                findingsCount = result.failures().size();
+
+                // Get the user-facing message for this check's failures.
+                String userFacingMessage = check.getUserFacingMessage(result.failures());
+
+                // Convert each failure to a Finding.
+                for (var failure : result.failures()) {
+                    findings.add(new Finding(
+                        check.getCheckType(),
+                        failure.ruleName(),
+                        failure.reason(),
+                        enforced,
+                        userFacingMessage
+                    ));
+                }
+
+                if (enforced) {
+                    enforcedFailure = true;
+                    // Enforced issues reject the extension immediately
+                    checkResult = ScanCheckResult.CheckResult.REJECT;
+                    summary = String.format("Found %d issue(s) - rejected", findingsCount);
                 } else {
-                    // Non-required check error - log and continue with remaining checks
-                    logger.warn("Scan {} ({}.{}.{}) - Non-required check {} threw exception, continuing: {}",
-                        scan.getId(), scan.getNamespaceName(), scan.getExtensionName(),
-                        scan.getExtensionVersion(), check.getCheckType(), e.getMessage());
+                    // Issues found but not enforced - extension still passes
+                    checkResult = ScanCheckResult.CheckResult.PASSED;
+                    summary = String.format("Found %d issue(s) - not enforced", findingsCount);
                 }
+
+                logger.debug("Scan {} - {} detected {} issue(s), enforced={}",
+                    scan.getId(), check.getCheckType(), findingsCount, enforced);
             }
+
+            recordDuration(sample, check, checkResult);
+            var execution = new CheckExecution(
+                check.getCheckType(),
+                startTime,
+                endTime,
+                checkResult,
+                findingsCount,
+                null,
+                summary,
+                check.isRequired()
+            );
+            return new Outcome(execution, findings, null, enforcedFailure);
+        } catch (Exception e) {
+            var endTime = TimeUtil.getCurrentUTC();
+            recordDuration(sample, check, ScanCheckResult.CheckResult.ERROR);
+            return error(check, startTime, endTime, e, scan, extId);
         }
+    }
 
-        return new Result(allFindings, checkExecutions, allErrors, hasEnforcedFailure, hasRequiredCheckError);
+    /**
+     * Release the permit of a started check, either when it returns or when the runner gives up on it,
+     * whichever happens first.
+     */
+    private void releasePermit(AtomicIntegerArray releasedPermits, int index) {
+        if (releasedPermits.compareAndSet(index, 0, 1)) {
+            permits.release();
+        }
     }
 
+    private long firstStartTime(AtomicLongArray startTimes) {
+        var firstStart = WAITING;
+        for (int i = 0; i < startTimes.length(); i++) {
+            var startTime = startTimes.get(i);
+            if (startTime != WAITING && startTime != NOT_STARTED && (firstStart == WAITING || startTime < firstStart)) {
+                firstStart = startTime;
+            }
+        }
+        return firstStart;
+    }
+
+    private CheckExecution notStarted(PublishCheck check, long waitedNanos) {
+        Timer.builder(DURATION_METRIC)
+                .description("Duration of publish checks")
+                .tag("check", check.getCheckType())
+                .tag("result", "NOT_STARTED")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(waitedNanos, TimeUnit.NANOSECONDS);
+
+        var endTime = TimeUtil.getCurrentUTC();
+        var message = "Not run, too many checks were running at the moment";
+        return new CheckExecution(
+            check.getCheckType(),
+            endTime.minusNanos(waitedNanos),
+            endTime,
+            ScanCheckResult.CheckResult.ERROR,
+            0,
+            message,
+            message,
+            check.isRequired()
+        );
+    }
+
+    private Outcome timeout(PublishCheck check, long elapsedNanos, String message, ExtensionScan scan, String extId) {
+        Timer.builder(DURATION_METRIC)
+                .description("Duration of publish checks")
+                .tag("check", check.getCheckType())
+                .tag("result", "TIMEOUT")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        var endTime = TimeUtil.getCurrentUTC();
+        var startTime = endTime.minusNanos(elapsedNanos);
+        return error(check, startTime, endTime, new TimeoutException(message), scan, extId);
+    }
+
+    private Outcome error(
+            PublishCheck check,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            Exception e,
+            ExtensionScan scan,
+            String extId
+    ) {
+        boolean isRequired = check.isRequired();
+        if (isRequired) {
+            // Required check error - remaining checks are cancelled
+            logger.warn("Scan {} ({}) - Required check {} threw exception, blocking publish: {}",
+                scan.getId(), extId, check.getCheckType(), e.getMessage());
+        } else {
+            // Non-required check error - log and continue with remaining checks
+            logger.warn("Scan {} ({}) - Non-required check {} threw exception, continuing: {}",
+                scan.getId(), extId, check.getCheckType(), e.getMessage());
+        }
+
+        // Record the check execution with ERROR result
+        var execution = new CheckExecution(
+            check.getCheckType(),
+            startTime,
+            endTime,
+            ScanCheckResult.CheckResult.ERROR,
+            0,
+            e.getMessage(),
+            "Error: " + e.getMessage(),
+            isRequired
+        );
+        return new Outcome(execution, List.of(), new CheckError(check.getCheckType(), e, isRequired), false);
+    }
+
+    private void recordDuration(Timer.Sample sample, PublishCheck check, ScanCheckResult.CheckResult result) {
+        sample.stop(Timer.builder(DURATION_METRIC)
+                .description("Duration of publish checks")
+                .tag("check", check.getCheckType())
+                .tag("result", result.name())
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    /**
+     * Outcome of a single check, collected before the results are aggregated in check order.
+     */
+    private record Outcome(
+        @Nonnull CheckExecution execution,
+        @Nonnull List<Finding> findings,
+        @Nullable CheckError error,
+        boolean enforcedFailure
+    ) {
+        boolean stopsPublishing() {
+            return enforcedFailure || (error != null && error.required());
+        }
+    }
 
     /**
      * Result of running all publish checks.
@@ -194,15 +480,27 @@ public class PublishCheckRunner{
         @Nonnull List<CheckExecution> checkExecutions,
         @Nonnull List<CheckError> errors,
         boolean hasEnforcedFailure,
-        boolean hasRequiredCheckError
+        boolean hasRequiredCheckError,
+        boolean checksBusy
     ) {
+        public Result(
+            @Nonnull List<Finding> findings,
+            @Nonnull List<CheckExecution> checkExecutions,
+            @Nonnull List<CheckError> errors,
+            boolean hasEnforcedFailure,
+            boolean hasRequiredCheckError
+        ) {
+            this(findings, checkExecutions, errors, hasEnforcedFailure, hasRequiredCheckError, false);
+        }
+
         /**
-         * Check if all checks passed (no enforced failures and no required check errors).
+         * Check if all checks passed (no enforced failures, no required check errors
+         * and no required or enforced check left waiting for a permit).
          * <p>
          * Non-required check errors are logged but don't block publishing.
          */
         public boolean passed() {
-            return !hasEnforcedFailure && !hasRequiredCheckError;
+            return !hasEnforcedFailure && !hasRequiredCheckError && !checksBusy;
         }
 
         /**
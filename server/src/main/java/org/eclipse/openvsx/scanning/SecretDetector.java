@@ -27,10 +27,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -38,6 +40,9 @@ import com.google.re2j.Pattern;
 
 /**
  * Scans individual files for secrets using keyword routing and regex validation.
+ * <p>
+ * The keyword, stopword, excluded extension and inline suppression matchers are expected
+ * to be case-insensitive (see {@link AhoCorasick.Builder#ignoreCase()}).
  */
 class SecretDetector {
 
@@ -50,10 +55,14 @@ class SecretDetector {
     
     // Tika for content-based file type detection (thread-safe, reusable)
     private static final Tika tika = new Tika();
+
+    private static final int MIN_BUFFER_SIZE = 64 * 1024;
     
     private final AhoCorasick keywordMatcher;
-    private final Map<String, List<SecretRule>> keywordToRules;
-    private final List<SecretRule> rules;
+    // Rules to check for each keyword of the keyword matcher, as indexes into indexedRules
+    private final int[][] keywordRules;
+    private final SecretRule[] indexedRules;
+    private final List<SecretRule> keywordlessRules;
     private final List<Pattern> globalAllowlistPatterns;
     private final List<Pattern> globalExcludedPathPatterns;
     private final AhoCorasick globalStopwordMatcher;
@@ -67,6 +76,10 @@ class SecretDetector {
     private final int longLineNoSpaceThreshold;
     private final int keywordContextChars;
     private final int logAllowlistedPreviewLength;
+    // Files are scanned on their raw bytes, unless a matcher or a rule needs the decoded lines
+    private final boolean byteScanning;
+    private final int bufferSize;
+    private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<>();
 
     SecretDetector(@NotNull AhoCorasick keywordMatcher,
                   @NotNull Map<String, List<SecretRule>> keywordToRules,
@@ -85,8 +98,19 @@ class SecretDetector {
                   int keywordContextChars,
                   int logAllowlistedPreviewLength) {
         this.keywordMatcher = keywordMatcher;
-        this.keywordToRules = keywordToRules;
-        this.rules = rules;
+        this.keywordlessRules = rules.stream().filter(rule -> rule.getKeywords().isEmpty()).toList();
+
+        var ruleIndexes = new IdentityHashMap<SecretRule, Integer>();
+        this.keywordRules = new int[keywordMatcher.getKeywords().size()][];
+        for (int keyword = 0; keyword < keywordRules.length; keyword++) {
+            var relevantRules = keywordToRules.getOrDefault(keywordMatcher.getKeyword(keyword), List.of());
+            keywordRules[keyword] = relevantRules.stream()
+                    .mapToInt(rule -> ruleIndexes.computeIfAbsent(rule, key -> ruleIndexes.size()))
+                    .toArray();
+        }
+        this.indexedRules = new SecretRule[ruleIndexes.size()];
+        ruleIndexes.forEach((rule, index) -> indexedRules[index] = rule);
+
         this.globalAllowlistPatterns = allowlistPatterns != null ? allowlistPatterns : List.of();
         this.globalExcludedPathPatterns = excludedPathPatterns != null ? excludedPathPatterns : List.of();
         this.globalStopwordMatcher = stopwordMatcher;
@@ -100,6 +124,12 @@ class SecretDetector {
         this.longLineNoSpaceThreshold = longLineNoSpaceThreshold;
         this.keywordContextChars = keywordContextChars;
         this.logAllowlistedPreviewLength = logAllowlistedPreviewLength;
+
+        this.byteScanning = keywordMatcher.isAscii()
+                && (inlineSuppressionMatcher == null || inlineSuppressionMatcher.isAscii())
+                && keywordlessRules.isEmpty();
+        // A line that is short enough to be scanned must fit into the buffer, UTF-8 needs up to 3 bytes per char
+        this.bufferSize = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(MIN_BUFFER_SIZE, 3L * maxLineLength + 1));
     }
 
     boolean scanFile(@NotNull ZipFile zipFile,
@@ -145,25 +175,111 @@ class SecretDetector {
         // Read the file line by line with a hard byte limit
         try (InputStream zipStream = zipFile.getInputStream(entry);
             // Use a limited stream since the entry header may not correctly reflect the file size
-            InputStream limitedStream = new SizeLimitInputStream(zipStream, maxFileSizeBytes);
-            BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(limitedStream, StandardCharsets.UTF_8))) {
+            InputStream limitedStream = new SizeLimitInputStream(zipStream, maxFileSizeBytes)) {
+            if (byteScanning) {
+                new ByteKeywordScan(filePath, startTime, timeoutMillis, findings, findingsCount, recorder).scan(limitedStream);
+            } else {
+                new LineKeywordScan(filePath, startTime, timeoutMillis, findings, findingsCount, recorder).scan(limitedStream);
+            }
+        } catch (IOException e) {
+            logger.error("Error reading file {}: {}", filePath, e.getMessage());
+            throw e;
+        }
 
-            int lineNumber = 0;
-            String line;
+        return true;
+    }
 
-            while ((line = reader.readLine()) != null) {
-                if (lineNumber % timeoutCheckEveryNLines == 0 && System.currentTimeMillis() - startTime > timeoutMillis) {
-                    throw new SecretScanningTimeoutException("Secret detection timed out during file: " + filePath);
+    /**
+     * Scan the lines of a file with keyword matching.
+     * This is a performance optimization to skip the regex matching for lines that don't contain any keywords.
+     * An instance is reused for all lines of a file, so that matching a line doesn't allocate anything
+     * unless a keyword is found.
+     */
+    private abstract class KeywordScan implements AhoCorasick.MatchHandler {
+        final String filePath;
+        final List<SecretDetector.Finding> findings;
+        final AtomicInteger findingsCount;
+        final FindingRecorder recorder;
+        private final long startTime;
+        private final long timeoutMillis;
+        private final BitSet processedRules = new BitSet(indexedRules.length);
+        int lineNumber;
+
+        KeywordScan(@NotNull String filePath,
+                    long startTime,
+                    long timeoutMillis,
+                    @NotNull List<SecretDetector.Finding> findings,
+                    @NotNull AtomicInteger findingsCount,
+                    @NotNull FindingRecorder recorder) {
+            this.filePath = filePath;
+            this.startTime = startTime;
+            this.timeoutMillis = timeoutMillis;
+            this.findings = findings;
+            this.findingsCount = findingsCount;
+            this.recorder = recorder;
+        }
+
+        /**
+         * Count the next line and check whether the scan has timed out.
+         */
+        void nextLine() {
+            if (lineNumber % timeoutCheckEveryNLines == 0 && System.currentTimeMillis() - startTime > timeoutMillis) {
+                throw new SecretScanningTimeoutException("Secret detection timed out during file: " + filePath);
+            }
+
+            lineNumber++;
+            processedRules.clear();
+        }
+
+        /**
+         * Get the text around a keyword match that is checked with the regex of the keyword's rules.
+         */
+        abstract String getChunk(int startPos, int endPos);
+
+        @Override
+        public boolean onMatch(int keyword, int startPos, int endPos) {
+            String chunk = null;
+            for (int rule : keywordRules[keyword]) {
+                if (processedRules.get(rule)) {
+                    continue;
                 }
+                processedRules.set(rule);
 
-                lineNumber++;
+                if (chunk == null) {
+                    chunk = getChunk(startPos, endPos);
+                }
+                scanLineWithRule(indexedRules[rule], chunk, filePath, lineNumber, findings, findingsCount, recorder);
+            }
+
+            return !Thread.currentThread().isInterrupted();
+        }
+    }
+
+    /**
+     * Scans the decoded lines of a file.
+     */
+    private final class LineKeywordScan extends KeywordScan {
+        private String line;
+
+        LineKeywordScan(@NotNull String filePath,
+                        long startTime,
+                        long timeoutMillis,
+                        @NotNull List<SecretDetector.Finding> findings,
+                        @NotNull AtomicInteger findingsCount,
+                        @NotNull FindingRecorder recorder) {
+            super(filePath, startTime, timeoutMillis, findings, findingsCount, recorder);
+        }
+
+        void scan(@NotNull InputStream input) throws IOException {
+            var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            while ((line = reader.readLine()) != null) {
+                nextLine();
 
                 // Check if the line is too long
                 if (line.length() > maxLineLength) {
                     continue;
                 }
-                
+
                 // Check if the line is likely to be a minified/bundled file
                 if (line.length() > longLineNoSpaceThreshold && !StringUtils.containsWhitespace(line)) {
                     continue;
@@ -174,61 +290,183 @@ class SecretDetector {
                     continue;
                 }
 
-                scanLineWithKeywordMatching(line, line.toLowerCase(), filePath, lineNumber, findings, findingsCount, recorder);
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+
+                keywordMatcher.search(line, this);
+                for (SecretRule rule : keywordlessRules) {
+                    scanLineWithRule(rule, line, filePath, lineNumber, findings, findingsCount, recorder);
+                }
             }
-        } catch (IOException e) {
-            logger.error("Error reading file {}: {}", filePath, e.getMessage());
-            throw e;
         }
 
-        return true;
+        @Override
+        String getChunk(int startPos, int endPos) {
+            int chunkStart = Math.max(0, startPos - keywordContextChars);
+            int chunkEnd = Math.min(line.length(), endPos + keywordContextChars);
+            return line.substring(chunkStart, chunkEnd);
+        }
     }
 
     /**
-     * Scan the line with keyword matching.
-     * This is a performance optimization to skip the regex matching for lines that don't contain any keywords.
+     * Scans the raw UTF-8 bytes of a file without decoding its lines. Line breaks are found
+     * like {@link BufferedReader#readLine()} does, and only the text around keyword matches
+     * is decoded for the regex check. This requires that all keywords are ASCII and that
+     * no rule has to be checked on every line.
      */
-    private void scanLineWithKeywordMatching(@NotNull String line,
-                                             @NotNull String lowerLine,
-                                             @NotNull String filePath,
-                                             int lineNumber,
-                                             @NotNull List<SecretDetector.Finding> findings,
-                                             @NotNull AtomicInteger findingsCount,
-                                             @NotNull FindingRecorder recorder) {
-        if (Thread.currentThread().isInterrupted()) {
-            return;
+    private final class ByteKeywordScan extends KeywordScan {
+        private byte[] buffer;
+        private int lineStart;
+        private int lineEnd;
+
+        ByteKeywordScan(@NotNull String filePath,
+                        long startTime,
+                        long timeoutMillis,
+                        @NotNull List<SecretDetector.Finding> findings,
+                        @NotNull AtomicInteger findingsCount,
+                        @NotNull FindingRecorder recorder) {
+            super(filePath, startTime, timeoutMillis, findings, findingsCount, recorder);
         }
 
-        List<AhoCorasick.Match> keywordMatches = keywordMatcher.search(lowerLine);
+        void scan(@NotNull InputStream input) throws IOException {
+            buffer = buffers.poll();
+            if (buffer == null) {
+                buffer = new byte[bufferSize];
+            }
 
-        Set<SecretRule> processedRules = new HashSet<>();
+            try {
+                scanBuffered(input);
+            } finally {
+                buffers.offer(buffer);
+                buffer = null;
+            }
+        }
 
-        for (AhoCorasick.Match match : keywordMatches) {
-            String keyword = match.getKeyword();
-            List<SecretRule> relevantRules = keywordToRules.get(keyword);
+        private void scanBuffered(InputStream input) throws IOException {
+            int start = 0;
+            int position = 0;
+            int limit = 0;
+            // the current line doesn't fit into the buffer, its content is dropped
+            boolean overflow = false;
+            boolean previousCarriageReturn = false;
+            int charCount = 0;
+            boolean whitespace = false;
+            boolean nonAscii = false;
+
+            while (true) {
+                if (position == limit) {
+                    if (overflow) {
+                        start = position = limit = 0;
+                    } else if (start > 0) {
+                        System.arraycopy(buffer, start, buffer, 0, limit - start);
+                        position -= start;
+                        limit -= start;
+                        start = 0;
+                    }
+                    if (limit == buffer.length) {
+                        // the line is longer than maxLineLength in any case
+                        overflow = true;
+                        start = position = limit = 0;
+                    }
 
-            if (relevantRules == null) {
-                continue;
-            }
+                    int read = input.read(buffer, limit, buffer.length - limit);
+                    if (read < 0) {
+                        break;
+                    }
 
-            for (SecretRule rule : relevantRules) {
-                if (processedRules.contains(rule)) {
+                    limit += read;
                     continue;
                 }
-                processedRules.add(rule);
 
-                int chunkStart = Math.max(0, match.getStartPos() - keywordContextChars);
-                int chunkEnd = Math.min(line.length(), match.getEndPos() + keywordContextChars);
-                String chunk = line.substring(chunkStart, chunkEnd);
+                byte b = buffer[position];
+                if (b == '\n' || b == '\r') {
+                    if (b == '\n' && previousCarriageReturn) {
+                        // second byte of a CRLF line break
+                        previousCarriageReturn = false;
+                        start = ++position;
+                        continue;
+                    }
+
+                    previousCarriageReturn = b == '\r';
+                    endLine(start, position, overflow, charCount, whitespace, nonAscii);
+                    start = ++position;
+                    overflow = false;
+                    charCount = 0;
+                    whitespace = false;
+                    nonAscii = false;
+                    continue;
+                }
+
+                previousCarriageReturn = false;
+                if (b >= 0) {
+                    charCount++;
+                    whitespace |= Character.isWhitespace(b);
+                } else {
+                    nonAscii = true;
+                    if ((b & 0xC0) != 0x80) {
+                        // the lead byte of a 4-byte sequence is decoded to a surrogate pair
+                        charCount += (b & 0xF8) == 0xF0 ? 2 : 1;
+                    }
+                }
+                position++;
+            }
 
-                scanLineWithRule(rule, chunk, filePath, lineNumber, findings, findingsCount, recorder);
+            if (overflow || start < limit) {
+                endLine(start, limit, overflow, charCount, whitespace, nonAscii);
             }
         }
 
-        for (SecretRule rule : rules) {
-            if (rule.getKeywords().isEmpty() && !processedRules.contains(rule)) {
-                scanLineWithRule(rule, line, filePath, lineNumber, findings, findingsCount, recorder);
+        private void endLine(int start, int end, boolean overflow, int charCount, boolean whitespace,
+                             boolean nonAscii) {
+            nextLine();
+
+            // Check if the line is too long
+            if (overflow || charCount > maxLineLength) {
+                return;
             }
+
+            // Check if the line is likely to be a minified/bundled file
+            if (charCount > longLineNoSpaceThreshold && !whitespace
+                    && !(nonAscii && StringUtils.containsWhitespace(new String(buffer, start, end - start, StandardCharsets.UTF_8)))) {
+                return;
+            }
+
+            // Check if the line is suppressed by the publisher
+            if (inlineSuppressionMatcher != null && inlineSuppressionMatcher.containsAny(buffer, start, end)) {
+                return;
+            }
+
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            lineStart = start;
+            lineEnd = end;
+            keywordMatcher.search(buffer, start, end, this);
+        }
+
+        @Override
+        String getChunk(int startPos, int endPos) {
+            int chunkStart = startPos;
+            for (int chars = 0; chars < keywordContextChars && chunkStart > lineStart; ) {
+                chunkStart--;
+                byte b = buffer[chunkStart];
+                if ((b & 0xC0) != 0x80) {
+                    chars += (b & 0xF8) == 0xF0 ? 2 : 1;
+                }
+            }
+
+            int chunkEnd = endPos;
+            for (int chars = 0; chars < keywordContextChars && chunkEnd < lineEnd; ) {
+                chars += (buffer[chunkEnd] & 0xF8) == 0xF0 ? 2 : 1;
+                chunkEnd++;
+                while (chunkEnd < lineEnd && (buffer[chunkEnd] & 0xC0) == 0x80) {
+                    chunkEnd++;
+                }
+            }
+
+            return new String(buffer, chunkStart, chunkEnd - chunkStart, StandardCharsets.UTF_8);
         }
     }
 
@@ -323,7 +561,7 @@ class SecretDetector {
             return false;
         }
 
-        return !inlineSuppressionMatcher.search(line.toLowerCase()).isEmpty();
+        return inlineSuppressionMatcher.containsAny(line);
     }
 
     /**
@@ -343,17 +581,13 @@ class SecretDetector {
      * Check if the file type is excluded by any of the global excluded file extensions
      */
     private boolean isExcludedFileType(@NotNull String filePath) {
-        String lowerPath = filePath.toLowerCase();
-
-        if (globalExcludedExtensionMatcher != null) {
-            for (AhoCorasick.Match match : globalExcludedExtensionMatcher.search(lowerPath)) {
-                if (match.getEndPos() == lowerPath.length()) {
-                    return true;
-                }
-            }
+        if (globalExcludedExtensionMatcher == null) {
+            return false;
         }
 
-        return false;
+        // The search is stopped by a match at the end of the path
+        int pathLength = filePath.length();
+        return !globalExcludedExtensionMatcher.search(filePath, (keyword, startPos, endPos) -> endPos != pathLength);
     }
 
     /**
@@ -361,7 +595,7 @@ class SecretDetector {
      */
     private boolean isAllowlistedContent(@NotNull String secretValue) {
         // Stopwords are exact strings that should never be flagged as secrets
-        if (globalStopwordMatcher != null && !globalStopwordMatcher.search(secretValue.toLowerCase()).isEmpty()) {
+        if (globalStopwordMatcher != null && globalStopwordMatcher.containsAny(secretValue)) {
             return true;
         }
 
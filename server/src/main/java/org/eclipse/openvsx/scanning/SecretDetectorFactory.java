@@ -198,7 +198,7 @@ public class SecretDetectorFactory {
             return null;
         }
 
-        return AhoCorasick.builder().addKeywords(normalized).build();
+        return AhoCorasick.builder().ignoreCase().addKeywords(normalized).build();
     }
 
     /**
@@ -16,13 +16,19 @@ import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.RelevanceService.SearchStats;
 import org.eclipse.openvsx.util.ErrorResultException;
 import org.eclipse.openvsx.util.TargetPlatform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.util.Streamable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StopWatch;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -38,12 +44,25 @@ import static org.eclipse.openvsx.cache.CacheService.CACHE_DATABASE_SEARCH;
 @Component
 public class DatabaseSearchService implements ISearchService {
 
+    private static final int INDEX_BATCH_SIZE = 500;
+
+    protected final Logger logger = LoggerFactory.getLogger(DatabaseSearchService.class);
+
     private final RelevanceService relevanceService;
     private final RepositoryService repositories;
+    private final ExtensionSearchIndex index = new ExtensionSearchIndex();
+    private volatile boolean indexReady;
 
     @Value("${ovsx.databasesearch.enabled:false}")
     boolean enableSearch;
 
+    /**
+     * Whether search queries are answered from an in-memory index instead of the database.
+     * The index is built on startup and kept up to date through the search entry updates.
+     */
+    @Value("${ovsx.databasesearch.in-memory-index:false}")
+    boolean enableIndex;
+
     public DatabaseSearchService(RelevanceService relevanceService, RepositoryService repositories) {
         this.relevanceService = relevanceService;
         this.repositories = repositories;
@@ -53,10 +72,71 @@ public class DatabaseSearchService implements ISearchService {
         return enableSearch;
     }
 
+    private boolean isIndexEnabled() {
+        return enableSearch && enableIndex;
+    }
+
+    @EventListener
+    @CacheEvict(value = CACHE_AVERAGE_REVIEW_RATING, allEntries = true)
+    public void initSearchIndex(ApplicationStartedEvent event) {
+        if (!isIndexEnabled()) {
+            return;
+        }
+
+        var stopWatch = new StopWatch();
+        stopWatch.start();
+        rebuildIndex();
+        stopWatch.stop();
+        logger.info("Initialized in-memory search index with {} entries in {} ms", index.size(), stopWatch.getTotalTimeMillis());
+    }
+
+    private void rebuildIndex() {
+        var stats = new SearchStats(repositories);
+        var entries = new ArrayList<ExtensionSearch>();
+        var afterId = 0L;
+        List<Long> extensionIds;
+        while (!(extensionIds = repositories.findActiveExtensionIds(afterId, INDEX_BATCH_SIZE)).isEmpty()) {
+            entries.addAll(relevanceService.toSearchEntries(extensionIds, stats));
+            afterId = extensionIds.getLast();
+        }
+
+        index.reset(entries);
+        indexReady = true;
+    }
+
+    private void updateIndex(Collection<Extension> extensions) {
+        if (!isIndexEnabled() || !indexReady || extensions.isEmpty()) {
+            return;
+        }
+
+        var stats = new SearchStats(repositories);
+        var activeEntries = extensions.stream()
+                .filter(Extension::isActive)
+                .map(extension -> relevanceService.toSearchEntry(extension, stats))
+                .toList();
+        var inactiveIds = extensions.stream()
+                .filter(extension -> !extension.isActive())
+                .map(Extension::getId)
+                .toList();
+
+        index.putAll(activeEntries);
+        index.removeAll(inactiveIds);
+    }
+
+    private void removeFromIndex(Collection<Long> ids) {
+        if (isIndexEnabled() && indexReady) {
+            index.removeAll(ids);
+        }
+    }
+
     @Transactional
     @Cacheable(CACHE_DATABASE_SEARCH)
     @CacheEvict(value = CACHE_AVERAGE_REVIEW_RATING, allEntries = true)
     public SearchResult search(ISearchService.Options options) {
+        if (isIndexEnabled() && indexReady) {
+            return index.search(options);
+        }
+
         var matchingExtensions = repositories.findAllActiveExtensions();
         matchingExtensions = includeByNamespace(options, matchingExtensions);
         matchingExtensions = excludeByNamespace(options, matchingExtensions);
@@ -163,6 +243,9 @@ public class DatabaseSearchService implements ISearchService {
     @CacheEvict(value = CACHE_DATABASE_SEARCH, allEntries = true)
     public void updateSearchIndex(boolean clear) {
         // The @CacheEvict annotation clears the cache when asked to update the search index
+        if (isIndexEnabled()) {
+            rebuildIndex();
+        }
     }
 
     @Override
@@ -170,30 +253,35 @@ public class DatabaseSearchService implements ISearchService {
     @CacheEvict(value = CACHE_DATABASE_SEARCH, allEntries = true)
     public void updateSearchEntriesAsync(List<Extension> extensions) {
         // The @CacheEvict annotation clears the cache when asked to update search entries
+        updateIndex(extensions);
     }
 
     @Override
     @CacheEvict(value = CACHE_DATABASE_SEARCH, allEntries = true)
     public void updateSearchEntries(List<Extension> extensions) {
         // The @CacheEvict annotation clears the cache when asked to update search entries
+        updateIndex(extensions);
     }
 
     @Override
     @CacheEvict(value = CACHE_DATABASE_SEARCH, allEntries = true)
     public void updateSearchEntry(Extension extension) {
         // The @CacheEvict annotation clears the cache when asked to update a search entry
+        updateIndex(List.of(extension));
     }
 
     @Override
     @CacheEvict(value = CACHE_DATABASE_SEARCH, allEntries = true)
     public void removeSearchEntries(Collection<Long> ids) {
         // The @CacheEvict annotation clears the cache when asked to removes search entries
+        removeFromIndex(ids);
     }
 
     @Override
     @CacheEvict(value = CACHE_DATABASE_SEARCH, allEntries = true)
     public void removeSearchEntry(Extension extension) {
         // The @CacheEvict annotation clears the cache when asked to remove a search entry
+        removeFromIndex(List.of(extension.getId()));
     }
 
     /**
@@ -15,6 +15,9 @@ import co.elastic.clients.elasticsearch._types.mapping.FieldType;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryBuilders;
 import co.elastic.clients.util.ObjectBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.migration.HandlerJobRequest;
@@ -62,11 +65,15 @@ public class ElasticSearchService implements ISearchService {
     private final ElasticsearchOperations searchOperations;
     private final RelevanceService relevanceService;
     private final JobRequestScheduler scheduler;
+    private final Counter reindexedCounter;
+    private volatile double reindexThroughput;
 
     @Value("${ovsx.elasticsearch.enabled:true}")
     boolean enableSearch;
     @Value("${ovsx.elasticsearch.clear-on-start:false}")
     boolean clearOnStart;
+    @Value("${ovsx.elasticsearch.reindex-batch-size:500}")
+    int reindexBatchSize;
 
     private Long maxResultWindow;
 
@@ -74,12 +81,21 @@ public class ElasticSearchService implements ISearchService {
             RepositoryService repositories,
             ElasticsearchOperations searchOperations,
             RelevanceService relevanceService,
-            JobRequestScheduler scheduler
+            JobRequestScheduler scheduler,
+            MeterRegistry registry
     ) {
         this.repositories = repositories;
         this.searchOperations = searchOperations;
         this.relevanceService = relevanceService;
         this.scheduler = scheduler;
+
+        reindexedCounter = Counter.builder("openvsx_search_reindexed_extensions_total")
+                .description("Extensions written to the search index by full reindex runs")
+                .register(registry);
+        Gauge.builder("openvsx_search_reindex_throughput", this, service -> service.reindexThroughput)
+                .description("Extensions per second indexed by the last full reindex run")
+                .baseUnit("extensions/s")
+                .register(registry);
     }
     
     public boolean isEnabled() {
@@ -154,24 +170,41 @@ public class ElasticSearchService implements ISearchService {
                 indexOps.create();
             }
             
-            // Scan all extensions and create index queries
-            var allExtensions = repositories.findAllActiveExtensions();
-            if (allExtensions.isEmpty()) {
-                return;
-            }
+            // Scan all extensions in pages and submit index queries per page
             var stats = new SearchStats(repositories);
-            var indexQueries = allExtensions.map(extension ->
-                new IndexQueryBuilder()
-                    .withObject(relevanceService.toSearchEntry(extension, stats))
-                    .build()
-            ).toList();
+            var indexCoordinates = indexOps.getIndexCoordinates();
+            var stopWatch = new StopWatch();
+            stopWatch.start();
+            var indexed = 0;
+            var afterId = 0L;
+            List<Long> extensionIds;
+            while (!(extensionIds = repositories.findActiveExtensionIds(afterId, reindexBatchSize)).isEmpty()) {
+                var indexQueries = relevanceService.toSearchEntries(extensionIds, stats).stream()
+                        .map(entry -> new IndexQueryBuilder().withObject(entry).build())
+                        .toList();
+
+                if (locked) {
+                    searchOperations.bulkIndex(indexQueries, indexCoordinates);
+                } else {
+                    // The write lock has not been acquired upfront, so only hold it while submitting the index queries
+                    rwLock.writeLock().lock();
+                    try {
+                        searchOperations.bulkIndex(indexQueries, indexCoordinates);
+                    } finally {
+                        rwLock.writeLock().unlock();
+                    }
+                }
 
-            if (!locked) {
-                // The write lock has not been acquired upfront, so do it just before submitting the index queries
-                rwLock.writeLock().lock();
-                locked = true;
+                indexed += indexQueries.size();
+                afterId = extensionIds.getLast();
+            }
+
+            stopWatch.stop();
+            if (indexed > 0) {
+                reindexedCounter.increment(indexed);
+                reindexThroughput = indexed / Math.max(stopWatch.getTotalTimeSeconds(), 0.001);
+                logger.info("Indexed {} extensions ({} extensions/s)", indexed, Math.round(reindexThroughput));
             }
-            searchOperations.bulkIndex(indexQueries, indexOps.getIndexCoordinates());
         } finally {
             if (locked) {
                 rwLock.writeLock().unlock();
@@ -0,0 +1,326 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.search;
+
+import org.eclipse.openvsx.util.ErrorResultException;
+import org.eclipse.openvsx.util.TargetPlatform;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index for {@link ExtensionSearch} entries.
+ * Every entry occupies a slot. Text is tokenized into an inverted index that maps
+ * tokens to the slots containing them, while the sort keys are held in columnar
+ * arrays indexed by slot. Namespaces, categories and target platforms are kept
+ * as bitsets, so that filtering is a sequence of bitset operations.
+ */
+public class ExtensionSearchIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final NavigableMap<String, BitSet> postings = new TreeMap<>();
+    private final Map<String, BitSet> namespaces = new HashMap<>();
+    private final Map<String, BitSet> categories = new HashMap<>();
+
+    private int size;
+    private ExtensionSearch[] entries = new ExtensionSearch[INITIAL_CAPACITY];
+    private String[][] tokens = new String[INITIAL_CAPACITY][];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] downloads = new int[INITIAL_CAPACITY];
+    private double[] ratings = new double[INITIAL_CAPACITY];
+    private double[] relevances = new double[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int[] targetPlatforms = new int[INITIAL_CAPACITY];
+
+    /**
+     * Replaces the whole content of the index with the given entries.
+     */
+    public void reset(Collection<ExtensionSearch> newEntries) {
+        rwLock.writeLock().lock();
+        try {
+            slotsById.clear();
+            freeSlots.clear();
+            live.clear();
+            postings.clear();
+            namespaces.clear();
+            categories.clear();
+            Arrays.fill(entries, null);
+            Arrays.fill(tokens, null);
+            size = 0;
+            newEntries.forEach(this::doPut);
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the given entries or replaces them if they're already indexed.
+     */
+    public void putAll(Collection<ExtensionSearch> newEntries) {
+        rwLock.writeLock().lock();
+        try {
+            newEntries.forEach(this::doPut);
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    public void put(ExtensionSearch entry) {
+        putAll(List.of(entry));
+    }
+
+    public void removeAll(Collection<Long> extensionIds) {
+        rwLock.writeLock().lock();
+        try {
+            for(var id : extensionIds) {
+                var slot = slotsById.remove(id);
+                if(slot != null) {
+                    clearSlot(slot);
+                    freeSlots.push(slot);
+                }
+            }
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long extensionId) {
+        removeAll(List.of(extensionId));
+    }
+
+    public int size() {
+        rwLock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    private void doPut(ExtensionSearch entry) {
+        var slot = slotsById.get(entry.getId());
+        if(slot != null) {
+            clearSlot(slot);
+        } else {
+            slot = !freeSlots.isEmpty() ? freeSlots.pop() : size++;
+            ensureCapacity(slot + 1);
+            slotsById.put(entry.getId(), slot);
+        }
+
+        entries[slot] = entry;
+        ids[slot] = entry.getId();
+        downloads[slot] = entry.getDownloadCount();
+        ratings[slot] = entry.getRating() != null ? entry.getRating() : 0.0;
+        relevances[slot] = entry.getRelevance();
+        timestamps[slot] = entry.getTimestamp();
+        targetPlatforms[slot] = targetPlatformMask(entry.getTargetPlatforms());
+        live.set(slot);
+
+        var entryTokens = tokenize(entry);
+        tokens[slot] = entryTokens;
+        for(var token : entryTokens) {
+            postings.computeIfAbsent(token, key -> new BitSet()).set(slot);
+        }
+        if(entry.getNamespace() != null) {
+            namespaces.computeIfAbsent(entry.getNamespace().toLowerCase(), key -> new BitSet()).set(slot);
+        }
+        if(entry.getCategories() != null) {
+            for(var category : entry.getCategories()) {
+                categories.computeIfAbsent(category.toLowerCase(), key -> new BitSet()).set(slot);
+            }
+        }
+    }
+
+    private void clearSlot(int slot) {
+        var entry = entries[slot];
+        for(var token : tokens[slot]) {
+            clearBit(postings, token, slot);
+        }
+        if(entry.getNamespace() != null) {
+            clearBit(namespaces, entry.getNamespace().toLowerCase(), slot);
+        }
+        if(entry.getCategories() != null) {
+            for(var category : entry.getCategories()) {
+                clearBit(categories, category.toLowerCase(), slot);
+            }
+        }
+
+        live.clear(slot);
+        entries[slot] = null;
+        tokens[slot] = null;
+    }
+
+    private void clearBit(Map<String, BitSet> bitsets, String key, int slot) {
+        var bitset = bitsets.get(key);
+        if(bitset != null) {
+            bitset.clear(slot);
+            if(bitset.isEmpty()) {
+                bitsets.remove(key);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity <= entries.length) {
+            return;
+        }
+
+        var newLength = Math.max(capacity, entries.length * 2);
+        entries = Arrays.copyOf(entries, newLength);
+        tokens = Arrays.copyOf(tokens, newLength);
+        ids = Arrays.copyOf(ids, newLength);
+        downloads = Arrays.copyOf(downloads, newLength);
+        ratings = Arrays.copyOf(ratings, newLength);
+        relevances = Arrays.copyOf(relevances, newLength);
+        timestamps = Arrays.copyOf(timestamps, newLength);
+        targetPlatforms = Arrays.copyOf(targetPlatforms, newLength);
+    }
+
+    /**
+     * Searches the index. All query terms must match the start of a token of the extension's
+     * name, namespace, display name, description or tags.
+     */
+    public SearchResult search(ISearchService.Options options) {
+        rwLock.readLock().lock();
+        try {
+            var matches = (BitSet) live.clone();
+            if(options.namespace() != null) {
+                matches.and(namespaces.getOrDefault(options.namespace().toLowerCase(), new BitSet()));
+            }
+            if(options.namespacesToExclude() != null) {
+                for(var namespace : options.namespacesToExclude()) {
+                    var excluded = namespaces.get(namespace.toLowerCase());
+                    if(excluded != null) {
+                        matches.andNot(excluded);
+                    }
+                }
+            }
+            if(TargetPlatform.isValid(options.targetPlatform())) {
+                var mask = targetPlatformMask(List.of(options.targetPlatform()));
+                for(var slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                    if((targetPlatforms[slot] & mask) == 0) {
+                        matches.clear(slot);
+                    }
+                }
+            }
+            if(options.category() != null) {
+                matches.and(categories.getOrDefault(options.category().toLowerCase(), new BitSet()));
+            }
+            if(options.queryString() != null) {
+                for(var term : tokenize(options.queryString())) {
+                    matches.and(prefixMatches(term));
+                }
+            }
+
+            var totalHits = matches.cardinality();
+            var slots = matches.stream().boxed().sorted(comparator(options)).toList();
+            var endIndex = Math.min(slots.size(), options.requestedOffset() + options.requestedSize());
+            var startIndex = Math.min(endIndex, options.requestedOffset());
+            var hits = slots.subList(startIndex, endIndex).stream()
+                    .map(slot -> entries[slot])
+                    .toList();
+
+            return new SearchResult(totalHits, hits);
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    private BitSet prefixMatches(String term) {
+        var matches = new BitSet();
+        for(var entry : postings.tailMap(term, true).entrySet()) {
+            if(!entry.getKey().startsWith(term)) {
+                break;
+            }
+
+            matches.or(entry.getValue());
+        }
+
+        return matches;
+    }
+
+    private Comparator<Integer> comparator(ISearchService.Options options) {
+        Comparator<Integer> comparator;
+        if(SortBy.RELEVANCE.equals(options.sortBy())) {
+            comparator = Comparator.comparingDouble(slot -> relevances[slot]);
+        } else if(SortBy.RATING.equals(options.sortBy())) {
+            comparator = Comparator.comparingDouble(slot -> ratings[slot]);
+        } else if(SortBy.TIMESTAMP.equals(options.sortBy())) {
+            comparator = Comparator.comparingLong(slot -> timestamps[slot]);
+        } else if(SortBy.DOWNLOADS.equals(options.sortBy())) {
+            comparator = Comparator.comparingInt(slot -> downloads[slot]);
+        } else {
+            throw new ErrorResultException("sortBy parameter must be " + SortBy.OPTIONS + ".");
+        }
+        if ("desc".equals(options.sortOrder())) {
+            comparator = comparator.reversed();
+        }
+
+        // keep a stable order for equal sort keys
+        return comparator.thenComparingLong(slot -> ids[slot]);
+    }
+
+    private int targetPlatformMask(List<String> names) {
+        var mask = 0;
+        if(names != null) {
+            for(var name : names) {
+                var index = TargetPlatform.TARGET_PLATFORM_NAMES.indexOf(name);
+                if(index >= 0) {
+                    mask |= 1 << index;
+                }
+            }
+        }
+
+        return mask;
+    }
+
+    private String[] tokenize(ExtensionSearch entry) {
+        var entryTokens = new LinkedHashSet<String>();
+        entryTokens.addAll(tokenize(entry.getName()));
+        entryTokens.addAll(tokenize(entry.getNamespace()));
+        entryTokens.addAll(tokenize(entry.getDisplayName()));
+        entryTokens.addAll(tokenize(entry.getDescription()));
+        if(entry.getTags() != null) {
+            entry.getTags().forEach(tag -> entryTokens.addAll(tokenize(tag)));
+        }
+
+        return entryTokens.toArray(String[]::new);
+    }
+
+    static List<String> tokenize(String text) {
+        if(text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        var result = new ArrayList<String>();
+        var start = -1;
+        for(var i = 0; i <= text.length(); i++) {
+            var isTokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if(isTokenChar && start < 0) {
+                start = i;
+            } else if(!isTokenChar && start >= 0) {
+                result.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+
+        return result;
+    }
+}
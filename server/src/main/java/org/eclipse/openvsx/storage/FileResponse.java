@@ -0,0 +1,223 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.storage;
+
+import jakarta.annotation.Nullable;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.ServletResponseWrapper;
+import org.eclipse.jetty.ee10.servlet.HttpOutput;
+import org.eclipse.openvsx.util.NotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ServerErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * Creates responses for files on the local file system. The responses support conditional
+ * requests ({@code If-None-Match}, {@code If-Modified-Since}) and single byte ranges, so that
+ * interrupted downloads can be resumed.
+ * <p>
+ * The ETag is derived from an id of the file content instead of the file attributes, so that it is
+ * the same on every node, also for files that each node keeps in its own cache directory.
+ * <p>
+ * The servlet API doesn't give access to the socket. On Jetty, the requested part of the file is
+ * memory-mapped and handed to the connector, which writes it to the socket without copying it
+ * through a buffer on the heap. Only one chunk of the requested range is mapped at a time, so that
+ * large files don't occupy the address space for the whole download. This is only done if no filter
+ * wrapped the response, wrappers may buffer, count or transform the body and must see every byte.
+ * Otherwise, and on other servlet containers, the file is copied to the output stream.
+ */
+class FileResponse {
+
+    private static final String BYTES = "bytes";
+    // size of the parts of a file that are mapped and written to the Jetty response one after another
+    static final long MAPPED_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private FileResponse() {}
+
+    /**
+     * @param contentId identifies the content of the file, it must change whenever the content changes
+     */
+    static ResponseEntity<StreamingResponseBody> of(Path path, String contentId, HttpHeaders headers) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes requestAttrs)) {
+            // method is called outside of web request context
+            return of(path, contentId, headers, HttpHeaders.EMPTY, null);
+        }
+
+        var requestHeaders = new ServletServerHttpRequest(requestAttrs.getRequest()).getHeaders();
+        return of(path, contentId, headers, requestHeaders, requestAttrs.getResponse());
+    }
+
+    static ResponseEntity<StreamingResponseBody> of(
+            Path path,
+            String contentId,
+            HttpHeaders headers,
+            HttpHeaders requestHeaders,
+            @Nullable ServletResponse servletResponse
+    ) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            throw new NotFoundException();
+        } catch (IOException e) {
+            throw new ServerErrorException("Failed to read file attributes", e);
+        }
+
+        var size = attributes.size();
+        // HTTP dates have a precision of seconds
+        var lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+        var etag = "\"" + DigestUtils.md5DigestAsHex((contentId + "\n" + size).getBytes(StandardCharsets.UTF_8)) + "\"";
+        headers.setETag(etag);
+        headers.setLastModified(lastModified);
+        headers.set(HttpHeaders.ACCEPT_RANGES, BYTES);
+
+        if (isNotModified(requestHeaders, etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        var range = getRange(requestHeaders, etag, lastModified);
+        if (range == null) {
+            headers.setContentLength(size);
+            return ResponseEntity.ok().headers(headers).body(transfer(path, 0, size, servletResponse));
+        }
+
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            headers.set(HttpHeaders.CONTENT_RANGE, BYTES + " */" + size);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+
+        var length = end - start + 1;
+        headers.set(HttpHeaders.CONTENT_RANGE, BYTES + " " + start + "-" + end + "/" + size);
+        headers.setContentLength(length);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(transfer(path, start, length, servletResponse));
+    }
+
+    private static boolean isNotModified(HttpHeaders requestHeaders, String etag, long lastModified) {
+        var ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            // If-None-Match uses the weak comparison and takes precedence over If-Modified-Since
+            return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag));
+        }
+
+        try {
+            var ifModifiedSince = requestHeaders.getIfModifiedSince();
+            return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            // invalid dates are ignored
+            return false;
+        }
+    }
+
+    /**
+     * @return the requested byte range or {@code null} if the whole file must be sent
+     */
+    private static @Nullable HttpRange getRange(HttpHeaders requestHeaders, String etag, long lastModified) {
+        List<HttpRange> ranges;
+        try {
+            ranges = requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            // invalid ranges are ignored
+            return null;
+        }
+
+        // multiple ranges are not supported, they would need a multipart response
+        if (ranges.size() != 1) {
+            return null;
+        }
+
+        var ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return ranges.getFirst();
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range uses the strong comparison
+            return ifRange.equals(etag) ? ranges.getFirst() : null;
+        }
+
+        try {
+            return requestHeaders.getFirstDate(HttpHeaders.IF_RANGE) == lastModified ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static StreamingResponseBody transfer(Path path, long position, long count, @Nullable ServletResponse servletResponse) {
+        return outputStream -> {
+            try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                var offset = position;
+                var remaining = count;
+                var output = getJettyOutput(servletResponse);
+                if (output != null) {
+                    // commit the response, so that the headers are written before the content
+                    outputStream.flush();
+                    while (remaining > 0) {
+                        // the mapping of a written chunk is released when it is no longer referenced
+                        var length = Math.min(remaining, MAPPED_CHUNK_SIZE);
+                        output.write(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+                        offset += length;
+                        remaining -= length;
+                    }
+                    return;
+                }
+
+                var target = Channels.newChannel(outputStream);
+                while (remaining > 0) {
+                    var transferred = channel.transferTo(offset, remaining, target);
+                    if (transferred <= 0) {
+                        // the file has been truncated in the meantime
+                        break;
+                    }
+
+                    offset += transferred;
+                    remaining -= transferred;
+                }
+            }
+        };
+    }
+
+    /**
+     * @return the output stream of the Jetty response, or {@code null} if the response
+     *         is not served by Jetty or is wrapped by a filter
+     */
+    private static @Nullable HttpOutput getJettyOutput(@Nullable ServletResponse servletResponse) throws IOException {
+        if (servletResponse == null || servletResponse instanceof ServletResponseWrapper) {
+            // content written below a wrapper would bypass it
+            return null;
+        }
+
+        return servletResponse.getOutputStream() instanceof HttpOutput output ? output : null;
+    }
+}
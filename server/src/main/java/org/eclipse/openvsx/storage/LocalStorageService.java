@@ -88,14 +88,8 @@ public class LocalStorageService implements IStorageService {
 
     public ResponseEntity<StreamingResponseBody> getFile(FileResource resource) {
         var headers = getFileResponseHeaders(resource.getName());
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(outputStream -> {
-                    var path = getPath(resource);
-                    try (var in = Files.newInputStream(path)) {
-                        in.transferTo(outputStream);
-                    }
-                });
+        // stored files are never overwritten, a new version gets a new file resource
+        return FileResponse.of(getPath(resource), "resource-" + resource.getId(), headers);
     }
 
     @Override
@@ -108,14 +102,8 @@ public class LocalStorageService implements IStorageService {
             throw new IllegalStateException("Cannot determine location of logo. Configure the 'ovsx.storage.local.directory' property.");
         }
 
-        return ResponseEntity.ok()
-                .headers(getFileResponseHeaders(namespace.getLogoName()))
-                .body(outputStream -> {
-                    var path = getLogoPath(namespace);
-                    try (var in = Files.newInputStream(path)) {
-                        in.transferTo(outputStream);
-                    }
-                });
+        // the logo name contains the time of the upload
+        return FileResponse.of(getLogoPath(namespace), namespace.getLogoName(), getFileResponseHeaders(namespace.getLogoName()));
     }
     public URI getNamespaceLogoLocation(Namespace namespace) {
         return URI.create(UrlUtil.createApiUrl(UrlUtil.getBaseUrl(), "api", namespace.getName(), "logo", namespace.getLogoName()));
@@ -12,16 +12,14 @@ package org.eclipse.openvsx.storage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.google.common.collect.Maps;
-import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
-import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.Namespace;
 import org.eclipse.openvsx.metrics.ExtensionDownloadMetrics;
 import org.eclipse.openvsx.repositories.RepositoryService;
-import org.eclipse.openvsx.search.SearchUtilService;
+import org.eclipse.openvsx.storage.log.DownloadCountBuffer;
 import org.eclipse.openvsx.storage.log.DownloadCountService;
 import org.eclipse.openvsx.util.TempFile;
 import org.eclipse.openvsx.util.UrlUtil;
@@ -33,7 +31,6 @@ import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBo
 
 import java.io.IOException;
 import java.net.URI;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -56,9 +53,7 @@ public class StorageUtilService implements IStorageService {
     private final AwsStorageService awsStorage;
     private final DownloadCountService downloadCountService;
     private final ExtensionDownloadMetrics downloadMetrics;
-    private final SearchUtilService search;
-    private final CacheService cache;
-    private final EntityManager entityManager;
+    private final DownloadCountBuffer downloadCountBuffer;
     private final FileCacheDurationConfig fileCacheDurationConfig;
     private final CdnServiceConfig cdnServiceConfig;
 
@@ -78,9 +73,7 @@ public class StorageUtilService implements IStorageService {
             AwsStorageService awsStorage,
             DownloadCountService downloadCountService,
             ExtensionDownloadMetrics downloadMetrics,
-            SearchUtilService search,
-            CacheService cache,
-            EntityManager entityManager,
+            DownloadCountBuffer downloadCountBuffer,
             FileCacheDurationConfig fileCacheDurationConfig,
             CdnServiceConfig cdnServiceConfig
     ) {
@@ -91,9 +84,7 @@ public class StorageUtilService implements IStorageService {
         this.awsStorage = awsStorage;
         this.downloadCountService = downloadCountService;
         this.downloadMetrics = downloadMetrics;
-        this.search = search;
-        this.cache = cache;
-        this.entityManager = entityManager;
+        this.downloadCountBuffer = downloadCountBuffer;
         this.fileCacheDurationConfig = fileCacheDurationConfig;
         this.cdnServiceConfig = cdnServiceConfig;
     }
@@ -280,7 +271,6 @@ public class StorageUtilService implements IStorageService {
         return type2Url;
     }
 
-    @Transactional
     public void increaseDownloadCount(FileResource resource) {
         downloadMetrics.recordDownload(resource);
 
@@ -289,15 +279,26 @@ public class StorageUtilService implements IStorageService {
             return;
         }
 
-        var managedResource = entityManager.find(FileResource.class, resource.getId());
-        var extension = managedResource.getExtension().getExtension();
-        extension.setDownloadCount(extension.getDownloadCount() + 1);
+        // the download count is written to the database by the next flush of the buffer
+        downloadCountBuffer.increment(resource.getExtension().getExtension().getId());
+    }
 
-        cache.evictNamespaceDetails(extension);
-        cache.evictExtensionJsons(extension);
-        if (extension.isActive()) {
-            search.updateSearchEntry(extension);
+    /**
+     * Checks whether a file response counts as a download: the whole file is sent or the client is
+     * redirected to it, or the sent range starts at the beginning of the file. Conditional responses
+     * and continuations of a download don't count.
+     */
+    public boolean isDownload(ResponseEntity<?> response) {
+        var status = response.getStatusCode();
+        if (status.value() == HttpStatus.OK.value()) {
+            return true;
         }
+        if (status.value() == HttpStatus.PARTIAL_CONTENT.value()) {
+            var contentRange = response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE);
+            return contentRange != null && contentRange.startsWith("bytes 0-");
+        }
+
+        return status.is3xxRedirection() && status.value() != HttpStatus.NOT_MODIFIED.value();
     }
 
     public ResponseEntity<StreamingResponseBody> getFileResponse(FileResource resource) {
@@ -316,13 +317,8 @@ public class StorageUtilService implements IStorageService {
         var headers = new HttpHeaders();
         headers.setContentType(StorageUtil.getFileType(fileName));
         headers.setCacheControl(StorageUtil.getCacheControl(fileName));
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(outputStream -> {
-                    try (var in = Files.newInputStream(path)) {
-                        in.transferTo(outputStream);
-                    }
-                });
+        // cached files are named after the hash of their cache key, which is the same on every node
+        return FileResponse.of(path, fileName, headers);
     }
 
     public ResponseEntity<StreamingResponseBody> getFileResponse(ArrayNode node) {
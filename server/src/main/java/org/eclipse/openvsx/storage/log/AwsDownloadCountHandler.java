@@ -10,18 +10,15 @@
 package org.eclipse.openvsx.storage.log;
 
 import org.apache.commons.lang3.StringUtils;
-import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.migration.HandlerJobRequest;
 import org.eclipse.openvsx.storage.AwsStorageService;
-import org.eclipse.openvsx.util.TempFile;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.jobs.lambdas.JobRequestHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 import org.springframework.web.util.UriUtils;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -30,12 +27,11 @@ import software.amazon.awssdk.services.s3.model.*;
 import jakarta.annotation.PostConstruct;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.zip.GZIPInputStream;
 
@@ -60,6 +56,7 @@ public class AwsDownloadCountHandler implements JobRequestHandler<HandlerJobRequ
     private final Logger logger = LoggerFactory.getLogger(AwsDownloadCountHandler.class);
 
     private static final String LOG_LOCATION_PREFIX = "AWSLogs/";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
 
     private final AwsStorageService  awsStorageService;
     private final DownloadCountProcessor processor;
@@ -79,6 +76,9 @@ public class AwsDownloadCountHandler implements JobRequestHandler<HandlerJobRequ
     @Value("${ovsx.logs.aws.max-keys:100}")
     int maxKeys;
 
+    @Value("${ovsx.logs.aws.concurrency:8}")
+    int concurrency;
+
     LogFileParser logFileParser;
 
     public AwsDownloadCountHandler(AwsStorageService awsStorageService, DownloadCountProcessor processor) {
@@ -130,27 +130,28 @@ public class AwsDownloadCountHandler implements JobRequestHandler<HandlerJobRequ
         var nextJobRunTime = LocalDateTime.now().plusHours(1).withMinute(10);
         var maxExecutionTime = LocalDateTime.now().plusMinutes(50);
 
-        var stopWatch = new StopWatch();
-
         String continuationToken = null;
 
-        do {
-            var objects = listObjects(continuationToken);
+        try (var executor = Executors.newFixedThreadPool(Math.max(concurrency, 1), Thread.ofPlatform().name("aws-download-logs-", 0).factory())) {
+            var batchProcessor = new LogFileBatchProcessor(processor, FileResource.STORAGE_AWS, executor);
+            do {
+                var objects = listObjects(continuationToken);
 
-            var files = objects.contents().stream().map(S3Object::key).toList();
-            if (!processResponse(files, stopWatch, maxExecutionTime, nextJobRunTime)) {
-                break;
-            }
+                var files = objects.contents().stream().map(S3Object::key).toList();
+                if (!processResponse(files, batchProcessor, maxExecutionTime, nextJobRunTime)) {
+                    break;
+                }
 
-            continuationToken = objects.isTruncated() ? objects.nextContinuationToken() : null;
-        } while (continuationToken != null);
+                continuationToken = objects.isTruncated() ? objects.nextContinuationToken() : null;
+            } while (continuationToken != null);
+        }
 
         logger.info("[AwsDownloadCountService] << updateDownloadCounts");
     }
 
     private boolean processResponse(
             List<String> files,
-            StopWatch stopWatch,
+            LogFileBatchProcessor batchProcessor,
             LocalDateTime maxExecutionTime,
             LocalDateTime nextJobRunTime
     ) {
@@ -173,53 +174,30 @@ public class AwsDownloadCountHandler implements JobRequestHandler<HandlerJobRequ
         }
         logFiles.removeAll(failedItems);
 
-        var allUpdatedExtensions = new HashMap<Long, Extension>();
-
         try {
-            for (var name : logFiles) {
-                var processedOn = LocalDateTime.now();
-
-                if (processedOn.isAfter(maxExecutionTime)) {
-                    logger.info("Failed to process all download counts within timeslot, next job run is at {}", nextJobRunTime);
-                    return false;
-                }
-
-                var success = false;
-                stopWatch.start();
-                try {
-                    var counts = processLogFile(name);
-                    if (!counts.isEmpty()) {
-                        var extensionDownloads = processor.processDownloadCounts(FileResource.STORAGE_AWS, counts);
-                        var updatedExtensions = processor.increaseDownloadCounts(extensionDownloads);
-                        updatedExtensions.forEach(extension -> allUpdatedExtensions.put(extension.getId(), extension));
-                    }
-
-                    success = true;
-                } catch (Exception e) {
-                    logger.error("failed to process log file: {}", name, e);
-                }
-
-                stopWatch.stop();
-                var executionTime = (int) stopWatch.lastTaskInfo().getTimeMillis();
-                processor.persistProcessedItem(name, FileResource.STORAGE_AWS, processedOn, executionTime, success);
-                if (success) {
-                    deleteFile(name);
-                }
+            if (!batchProcessor.process(logFiles, this::processLogFile, maxExecutionTime, this::deleteFile)) {
+                logger.info("Failed to process all download counts within timeslot, next job run is at {}", nextJobRunTime);
+                return false;
             }
-
-            return true;
-        } finally {
-            // evict caches and update search entries for all updated extensions
-            allUpdatedExtensions.values().forEach(processor::evictCaches);
-            processor.updateSearchEntries(allUpdatedExtensions.values().stream().toList());
+        } catch (RuntimeException e) {
+            // the transaction is rolled back, the log files are processed again on the next run
+            logger.error("Failed to update download counts of {} log files, next job run is at {}", logFiles.size(), nextJobRunTime, e);
+            return false;
         }
+
+        return true;
     }
 
     private Map<String, Integer> processLogFile(String fileName) throws IOException {
         try (
-                var downloadsTempFile = downloadFile(fileName);
-                var fileStream = new FileInputStream(downloadsTempFile.getPath().toFile());
-                var gzipStream = new GZIPInputStream(fileStream);
+                var objectStream = getS3Client().getObject(
+                        GetObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(fileName)
+                                .build(),
+                        ResponseTransformer.toInputStream()
+                );
+                var gzipStream = new GZIPInputStream(objectStream, GZIP_BUFFER_SIZE);
                 var reader = new BufferedReader(new InputStreamReader(gzipStream, StandardCharsets.UTF_8));
         ) {
             var fileCounts = new HashMap<String, Integer>();
@@ -255,20 +233,6 @@ public class AwsDownloadCountHandler implements JobRequestHandler<HandlerJobRequ
         return record.url().endsWith(".vsix");
     }
 
-    private TempFile downloadFile(String objectKey) throws IOException {
-        var downloadsTempFile = new TempFile("aws-downloads-", ".gz");
-        var inputStream =
-                getS3Client().getObject(
-                        GetObjectRequest.builder()
-                                .bucket(bucket)
-                                .key(objectKey)
-                                .build(),
-                        ResponseTransformer.toInputStream()
-                );
-        Files.copy(inputStream, downloadsTempFile.getPath(), StandardCopyOption.REPLACE_EXISTING);
-        return downloadsTempFile;
-    }
-
     private void deleteFile(String objectKey) {
         getS3Client().deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey).build());
     }
@@ -22,7 +22,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.migration.HandlerJobRequest;
-import org.eclipse.openvsx.util.TempFile;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.jobs.annotations.Recurring;
 import org.jobrunr.jobs.lambdas.JobRequestHandler;
@@ -31,19 +30,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 import org.springframework.web.util.UriUtils;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import static org.eclipse.openvsx.storage.AzureBlobStorageService.AZURE_USER_AGENT;
@@ -59,7 +59,7 @@ public class AzureDownloadCountHandler implements JobRequestHandler<HandlerJobRe
 
     private final DownloadCountProcessor processor;
     private BlobContainerClient containerClient;
-    private ObjectMapper objectMapper;
+    private final ObjectMapper objectMapper = new ObjectMapper();
     private Pattern blobItemNamePattern;
 
     @Value("${ovsx.logs.azure.sas-token:}")
@@ -80,6 +80,9 @@ public class AzureDownloadCountHandler implements JobRequestHandler<HandlerJobRe
     @Value("${ovsx.logs.azure.cron:0 5 * * * *}")
     String cronSchedule;
 
+    @Value("${ovsx.logs.azure.concurrency:8}")
+    int concurrency;
+
     public AzureDownloadCountHandler(DownloadCountProcessor processor) {
         this.processor = processor;
     }
@@ -119,59 +122,41 @@ public class AzureDownloadCountHandler implements JobRequestHandler<HandlerJobRe
         var blobs = listBlobs();
         var iterableByPage = blobs.iterableByPage();
 
-        var stopWatch = new StopWatch();
-        while (iterableByPage != null) {
-            PagedResponse<BlobItem> response = null;
-            var iterator = iterableByPage.iterator();
-            if (iterator.hasNext()) {
-                response = iterator.next();
-                if (!processResponse(response, stopWatch, maxExecutionTime)) {
-                    break;
+        try (var executor = Executors.newFixedThreadPool(Math.max(concurrency, 1), Thread.ofPlatform().name("azure-download-logs-", 0).factory())) {
+            var batchProcessor = new LogFileBatchProcessor(processor, FileResource.STORAGE_AZURE, executor);
+            while (iterableByPage != null) {
+                PagedResponse<BlobItem> response = null;
+                var iterator = iterableByPage.iterator();
+                if (iterator.hasNext()) {
+                    response = iterator.next();
+                    if (!processResponse(response, batchProcessor, maxExecutionTime)) {
+                        break;
+                    }
                 }
-            }
 
-            var continuationToken = response != null ? response.getContinuationToken() : "";
-            iterableByPage = !StringUtils.isEmpty(continuationToken) ? blobs.iterableByPage(continuationToken) : null;
+                var continuationToken = response != null ? response.getContinuationToken() : "";
+                iterableByPage = !StringUtils.isEmpty(continuationToken) ? blobs.iterableByPage(continuationToken) : null;
+            }
         }
 
         logger.info("[AzureDownloadCountService] << updateDownloadCounts");
     }
 
-    private boolean processResponse(PagedResponse<BlobItem> response, StopWatch stopWatch, LocalDateTime maxExecutionTime) {
+    private boolean processResponse(PagedResponse<BlobItem> response, LogFileBatchProcessor batchProcessor, LocalDateTime maxExecutionTime) {
         var blobNames = getBlobNames(response.getValue());
         var processedItems = processor.processedItems(FileResource.STORAGE_AZURE, blobNames);
         processedItems.forEach(this::deleteBlob);
         blobNames.removeAll(processedItems);
-        for (var name : blobNames) {
-            if (LocalDateTime.now().isAfter(maxExecutionTime)) {
-                var nextJobRunTime = LocalDateTime.now().plusHours(1).withMinute(5);
+        var nextJobRunTime = LocalDateTime.now().plusHours(1).withMinute(5);
+        try {
+            if (!batchProcessor.process(blobNames, this::processBlobItem, maxExecutionTime, this::deleteBlob)) {
                 logger.info("Failed to process all download counts within timeslot, next job run is at {}", nextJobRunTime);
                 return false;
             }
-
-            var processedOn = LocalDateTime.now();
-            var success = false;
-            stopWatch.start();
-            try {
-                var files = processBlobItem(name);
-                if (!files.isEmpty()) {
-                    var extensionDownloads = processor.processDownloadCounts(FileResource.STORAGE_AZURE, files);
-                    var updatedExtensions = processor.increaseDownloadCounts(extensionDownloads);
-                    updatedExtensions.forEach(processor::evictCaches);
-                    processor.updateSearchEntries(updatedExtensions);
-                }
-
-                success = true;
-            } catch (Exception e) {
-                logger.error("Failed to process BlobItem: {}", name, e);
-            }
-
-            stopWatch.stop();
-            var executionTime = (int) stopWatch.lastTaskInfo().getTimeMillis();
-            processor.persistProcessedItem(name, FileResource.STORAGE_AZURE, processedOn, executionTime, success);
-            if(success) {
-                deleteBlob(name);
-            }
+        } catch (RuntimeException e) {
+            // the transaction is rolled back, the log files are processed again on the next run
+            logger.error("Failed to update download counts of {} log files, next job run is at {}", blobNames.size(), nextJobRunTime, e);
+            return false;
         }
 
         return true;
@@ -191,14 +176,14 @@ public class AzureDownloadCountHandler implements JobRequestHandler<HandlerJobRe
 
     private Map<String, Integer> processBlobItem(String blobName) throws IOException {
         try (
-                var downloadsTempFile = downloadBlobItem(blobName);
-                var reader = Files.newBufferedReader(downloadsTempFile.getPath())
+                var blobStream = getContainerClient().getBlobClient(blobName).openInputStream();
+                var reader = new BufferedReader(new InputStreamReader(blobStream, StandardCharsets.UTF_8))
         ) {
             var fileCounts = new HashMap<String, Integer>();
             var lines = reader.lines().iterator();
             while(lines.hasNext()) {
                 var line = lines.next();
-                var node = getObjectMapper().readTree(line);
+                var node = objectMapper.readTree(line);
                 String[] pathParams = null;
                 if(isGetBlobOperation(node) && isStatusOk(node) && isExtensionPackageUri(node) && isNotOpenVSXUserAgent(node)) {
                     var uri = node.get("uri").asText();
@@ -231,12 +216,6 @@ public class AzureDownloadCountHandler implements JobRequestHandler<HandlerJobRe
     }
 
 
-    private TempFile downloadBlobItem(String blobName) throws IOException {
-        var downloadsTempFile = new TempFile("azure-downloads-", ".json");
-        getContainerClient().getBlobClient(blobName).downloadToFile(downloadsTempFile.getPath().toAbsolutePath().toString(), true);
-        return downloadsTempFile;
-    }
-
     private List<String> getBlobNames(List<BlobItem> items) {
         var blobNames = new ArrayList<String>();
         for (var item : items) {
@@ -263,7 +242,8 @@ public class AzureDownloadCountHandler implements JobRequestHandler<HandlerJobRe
         return getContainerClient().listBlobs(options, Duration.ofMinutes(5));
     }
 
-    private BlobContainerClient getContainerClient() {
+    // the client is used by the threads that read the log files, it must only be built once
+    private synchronized BlobContainerClient getContainerClient() {
         if (containerClient == null) {
             containerClient = new BlobContainerClientBuilder()
                     .endpoint(logsServiceEndpoint)
@@ -275,19 +255,11 @@ public class AzureDownloadCountHandler implements JobRequestHandler<HandlerJobRe
         return containerClient;
     }
 
-    private ObjectMapper getObjectMapper() {
-        if(objectMapper == null) {
-            objectMapper = new ObjectMapper();
-        }
-
-        return objectMapper;
-    }
-
     private boolean isCorrectName(String name) {
         return getBlobItemNamePattern().matcher(name).matches();
     }
 
-    private Pattern getBlobItemNamePattern() {
+    private synchronized Pattern getBlobItemNamePattern() {
         if(blobItemNamePattern == null) {
             var host = URI.create(storageServiceEndpoint).getHost();
             var storageAccount = host.substring(0, host.indexOf('.'));
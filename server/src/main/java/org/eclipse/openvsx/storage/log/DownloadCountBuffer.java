@@ -0,0 +1,224 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.storage.log;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.search.SearchUtilService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for download counts of files served by this node.
+ * Downloads are accumulated in memory per extension and periodically flushed
+ * to the database in one batched update. Caches and search entries are updated
+ * once per flush for the extensions that changed.
+ */
+@Component
+public class DownloadCountBuffer {
+
+    protected final Logger logger = LoggerFactory.getLogger(DownloadCountBuffer.class);
+
+    private static final String PENDING_METRIC = "openvsx_download_count_pending";
+    private static final String PENDING_EXTENSIONS_METRIC = "openvsx_download_count_pending_extensions";
+    private static final String FLUSHED_METRIC = "openvsx_download_count_flushed_total";
+    private static final String FLUSH_METRIC = "openvsx_download_count_flush";
+
+    // The adders are kept after a flush, removing them could drop increments of threads holding a reference.
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder pendingTotal = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile ScheduledFuture<?> scheduledFlush;
+
+    private final DownloadCountProcessor processor;
+    private final CacheService cache;
+    private final SearchUtilService search;
+    private final TaskScheduler scheduler;
+    private final Counter flushedCounter;
+    private final Timer flushTimer;
+
+    /** Interval in which buffered download counts are written to the database. */
+    @Value("${ovsx.download-count.flush-interval:PT10S}")
+    Duration flushInterval;
+
+    /** Number of buffered downloads that triggers a flush before the interval has passed. */
+    @Value("${ovsx.download-count.max-lag:1000}")
+    long maxLag;
+
+    public DownloadCountBuffer(
+            DownloadCountProcessor processor,
+            CacheService cache,
+            SearchUtilService search,
+            TaskScheduler scheduler,
+            MeterRegistry registry
+    ) {
+        this.processor = processor;
+        this.cache = cache;
+        this.search = search;
+        this.scheduler = scheduler;
+
+        Gauge.builder(PENDING_METRIC, pendingTotal, LongAdder::sum)
+                .description("Downloads that have not been written to the database yet")
+                .register(registry);
+        Gauge.builder(PENDING_EXTENSIONS_METRIC, this, DownloadCountBuffer::countPendingExtensions)
+                .description("Extensions with downloads that have not been written to the database yet")
+                .register(registry);
+        flushedCounter = Counter.builder(FLUSHED_METRIC)
+                .description("Downloads written to the database")
+                .register(registry);
+        flushTimer = Timer.builder(FLUSH_METRIC)
+                .description("Time to write buffered download counts to the database")
+                .register(registry);
+    }
+
+    @EventListener
+    public void applicationStarted(ApplicationStartedEvent event) {
+        logger.info("Flushing download counts every {}", flushInterval);
+        scheduledFlush = scheduler.scheduleWithFixedDelay(this::flush, Instant.now().plus(flushInterval), flushInterval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if(scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+
+        // wait for a running flush, the downloads counted after it drained the buffer are written here
+        logger.info("Flushing download counts before shutdown");
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Records a download of the given extension.
+     */
+    public void increment(long extensionId) {
+        pending.computeIfAbsent(extensionId, key -> new LongAdder()).increment();
+        pendingTotal.increment();
+        scheduleFlushIfLagging();
+    }
+
+    /**
+     * Writes all buffered download counts to the database. Concurrent calls are
+     * skipped while a flush is in progress.
+     */
+    public void flush() {
+        if(!flushLock.tryLock()) {
+            // the running flush schedules the next one if the buffer has filled up again
+            flushScheduled.set(false);
+            return;
+        }
+
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+
+        // downloads counted while writing may have reached the lag already
+        scheduleFlushIfLagging();
+    }
+
+    /**
+     * Schedules a flush once the number of buffered downloads reaches the lag. Only one
+     * flush is scheduled at a time, the flag is cleared before the flush drains the buffer.
+     */
+    private void scheduleFlushIfLagging() {
+        if(maxLag > 0 && pendingTotal.sum() >= maxLag && flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    private void doFlush() {
+        // clear the flag before draining, downloads counted from now on schedule another flush
+        flushScheduled.set(false);
+        var downloads = drain();
+        if(downloads.isEmpty()) {
+            return;
+        }
+
+        flushTimer.record(() -> write(downloads));
+    }
+
+    private Map<Long, Integer> drain() {
+        var downloads = new HashMap<Long, Integer>();
+        for(var entry : pending.entrySet()) {
+            var count = entry.getValue().sumThenReset();
+            if(count > 0) {
+                downloads.put(entry.getKey(), (int) Math.min(count, Integer.MAX_VALUE));
+            }
+        }
+
+        return downloads;
+    }
+
+    private void write(Map<Long, Integer> downloads) {
+        var total = downloads.values().stream().mapToLong(Integer::longValue).sum();
+        List<Extension> extensions;
+        try {
+            extensions = processor.incrementDownloadCounts(downloads);
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush download counts, retrying with the next flush", e);
+            downloads.forEach((id, count) -> pending.computeIfAbsent(id, key -> new LongAdder()).add(count));
+            return;
+        }
+
+        pendingTotal.add(-total);
+        flushedCounter.increment(total);
+        logger.debug("Flushed {} downloads of {} extensions", total, downloads.size());
+
+        try {
+            for(var extension : extensions) {
+                cache.evictNamespaceDetails(extension);
+                processor.evictCaches(extension);
+            }
+
+            var activeExtensions = extensions.stream().filter(Extension::isActive).toList();
+            if(!activeExtensions.isEmpty()) {
+                search.updateSearchEntriesAsync(activeExtensions);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to update caches and search index after flushing download counts", e);
+        }
+    }
+
+    private double countPendingExtensions() {
+        return pending.values().stream().filter(adder -> adder.sum() > 0).count();
+    }
+}
@@ -15,15 +15,17 @@ import io.micrometer.observation.ObservationRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChangeEvent;
 import org.eclipse.openvsx.entities.DownloadCountProcessedItem;
 import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.SearchUtilService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -38,34 +40,54 @@ public class DownloadCountProcessor {
     private final CacheService cache;
     private final SearchUtilService search;
     private final ObservationRegistry observations;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DownloadCountProcessor(
             EntityManager entityManager,
             RepositoryService repositories,
             CacheService cache,
             SearchUtilService search,
-            ObservationRegistry observations
+            ObservationRegistry observations,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.entityManager = entityManager;
         this.repositories = repositories;
         this.cache = cache;
         this.search = search;
         this.observations = observations;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public void persistProcessedItem(String name, String storageType, LocalDateTime processedOn, int executionTime, boolean success) {
-        Observation.createNotStarted("DownloadCountProcessor#persistProcessedItem", observations).observe(() -> {
-            var processedItem = new DownloadCountProcessedItem();
-            processedItem.setName(name);
-            processedItem.setStorageType(storageType);
-            processedItem.setProcessedOn(processedOn);
-            processedItem.setExecutionTime(executionTime);
-            processedItem.setSuccess(success);
-            entityManager.persist(processedItem);
+    public void persistProcessedItems(String storageType, List<ProcessedLogFile> files) {
+        Observation.createNotStarted("DownloadCountProcessor#persistProcessedItems", observations).observe(() -> {
+            for (var file : files) {
+                var processedItem = new DownloadCountProcessedItem();
+                processedItem.setName(file.name());
+                processedItem.setStorageType(storageType);
+                processedItem.setProcessedOn(file.processedOn());
+                processedItem.setExecutionTime(file.executionTime());
+                processedItem.setSuccess(file.success());
+                entityManager.persist(processedItem);
+            }
         });
     }
 
+    /**
+     * Increments the download counts of a batch of log files and records the files as processed
+     * in one transaction, so that a failure never persists the files without their counts.
+     *
+     * @return the updated extensions
+     */
+    @Transactional
+    public List<Extension> processLogFiles(String storageType, Map<String, Integer> counts, List<ProcessedLogFile> files) {
+        var extensions = counts.isEmpty()
+                ? List.<Extension>of()
+                : incrementDownloadCounts(processDownloadCounts(storageType, counts));
+        persistProcessedItems(storageType, files);
+        return extensions;
+    }
+
     public Map<Long, Integer> processDownloadCounts(String storageType, Map<String, Integer> files) {
         return Observation.createNotStarted("DownloadCountProcessor#processDownloadCounts", observations).observe(() -> repositories.findDownloadsByStorageTypeAndName(storageType, files.keySet()).stream()
                 .map(fileResource -> Map.entry(fileResource, files.get(fileResource.getName().toUpperCase())))
@@ -84,19 +106,29 @@ public class DownloadCountProcessor {
                 )));
     }
 
+    /**
+     * Increments the download counts in place with a single batched update,
+     * so that concurrent writers on other nodes don't overwrite each other.
+     *
+     * @return the updated extensions
+     */
     @Transactional
-    public List<Extension> increaseDownloadCounts(Map<Long, Integer> extensionDownloads) {
-        return Observation.createNotStarted("DownloadCountProcessor#increaseDownloadCounts", observations).observe(() -> {
+    public List<Extension> incrementDownloadCounts(Map<Long, Integer> extensionDownloads) {
+        return Observation.createNotStarted("DownloadCountProcessor#incrementDownloadCounts", observations).observe(() -> {
+            repositories.increaseDownloadCounts(extensionDownloads);
             var extensions = repositories.findExtensions(extensionDownloads.keySet()).toList();
-            extensions.forEach(extension -> {
-                var downloads = extensionDownloads.get(extension.getId());
-                extension.setDownloadCount(extension.getDownloadCount() + downloads);
-            });
-
+            publishDownloadsUpdated(extensions);
             return extensions;
         });
     }
 
+    private void publishDownloadsUpdated(List<Extension> extensions) {
+        extensions.stream()
+                .filter(Extension::isActive)
+                .map(extension -> RegistryChangeEvent.of(ChangeType.DOWNLOADS_UPDATED, extension))
+                .forEach(eventPublisher::publishEvent);
+    }
+
     @Transactional // needs transaction for lazy-loading versions
     public void evictCaches(Extension extension) {
         Observation.createNotStarted("DownloadCountProcessor#evictCaches", observations).observe(() -> {
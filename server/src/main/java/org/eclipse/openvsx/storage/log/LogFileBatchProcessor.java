@@ -0,0 +1,125 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.storage.log;
+
+import org.eclipse.openvsx.entities.Extension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Reads a batch of log files concurrently and writes the download counts of all files
+ * with one batched update. Files are streamed from storage, they are not copied to disk.
+ */
+class LogFileBatchProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(LogFileBatchProcessor.class);
+
+    private final DownloadCountProcessor processor;
+    private final String storageType;
+    private final ExecutorService executor;
+
+    LogFileBatchProcessor(DownloadCountProcessor processor, String storageType, ExecutorService executor) {
+        this.processor = processor;
+        this.storageType = storageType;
+        this.executor = executor;
+    }
+
+    /**
+     * Counts the downloads in the log files and updates the extensions. Files are deleted once
+     * their counts are written, failed files are kept for analysis. If the counts can't be written,
+     * the exception is thrown, nothing is recorded and all files are left for the next run.
+     *
+     * @return {@code false} if not all files could be read before the deadline
+     */
+    boolean process(List<String> names, LogFileReader reader, LocalDateTime deadline, Consumer<String> deleteFile) {
+        var futures = new ArrayList<Future<ProcessedLogFile>>(names.size());
+        for (var name : names) {
+            futures.add(executor.submit(() -> read(name, reader, deadline)));
+        }
+
+        var files = new ArrayList<ProcessedLogFile>(names.size());
+        for (var future : futures) {
+            var file = await(future);
+            if (file != null) {
+                files.add(file);
+            }
+        }
+
+        var counts = new HashMap<String, Integer>();
+        files.stream()
+                .filter(ProcessedLogFile::success)
+                .forEach(file -> file.counts().forEach((vsixFile, count) -> counts.merge(vsixFile, count, Integer::sum)));
+
+        var updatedExtensions = !files.isEmpty()
+                ? processor.processLogFiles(storageType, counts, files)
+                : List.<Extension>of();
+
+        files.stream()
+                .filter(ProcessedLogFile::success)
+                .map(ProcessedLogFile::name)
+                .forEach(deleteFile);
+
+        updatedExtensions.forEach(processor::evictCaches);
+        processor.updateSearchEntries(updatedExtensions);
+        return files.size() == names.size();
+    }
+
+    private ProcessedLogFile read(String name, LogFileReader reader, LocalDateTime deadline) {
+        var processedOn = LocalDateTime.now();
+        if (processedOn.isAfter(deadline)) {
+            // the file is read again on the next run
+            return null;
+        }
+
+        var start = System.nanoTime();
+        Map<String, Integer> counts = null;
+        try {
+            counts = reader.read(name);
+        } catch (Exception e) {
+            logger.error("failed to process log file: {}", name, e);
+        }
+
+        var executionTime = (int) ((System.nanoTime() - start) / 1_000_000);
+        return new ProcessedLogFile(name, processedOn, executionTime, counts);
+    }
+
+    private ProcessedLogFile await(Future<ProcessedLogFile> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    interface LogFileReader {
+        /**
+         * @return download counts by upper case file name
+         */
+        Map<String, Integer> read(String name) throws IOException;
+    }
+}
@@ -0,0 +1,28 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.storage.log;
+
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A log file that has been read, {@code counts} is {@code null} if it could not be processed.
+ */
+public record ProcessedLogFile(String name, LocalDateTime processedOn, int executionTime, @Nullable Map<String, Integer> counts) {
+
+    public boolean success() {
+        return counts != null;
+    }
+}
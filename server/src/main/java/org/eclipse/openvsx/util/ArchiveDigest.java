@@ -0,0 +1,195 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.util;
+
+import jakarta.annotation.Nullable;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * SHA-256 digests of an extension package and of each file in it.
+ * <p>
+ * The digests are computed once per package and kept with the {@link TempFile}, so that
+ * the publish checks and the publishing steps that follow (checksum file, signature)
+ * don't need to read the package again. A file that can't be read is recorded without
+ * a digest, so that each consumer decides how to handle it.
+ * <p>
+ * The secret scanner and {@code ExtensionProcessor} read the package on their own. The
+ * scanner works on decoded lines with its own file filters and time budget, and the
+ * processor extracts files for the storage upload, so neither can use the digests.
+ */
+public class ArchiveDigest {
+
+    private final byte[] sha256;
+    private final long size;
+    private final int entryCount;
+    private final long declaredSize;
+    private final List<Entry> entries;
+
+    private ArchiveDigest(byte[] sha256, long size, int entryCount, long declaredSize, List<Entry> entries) {
+        this.sha256 = sha256;
+        this.size = size;
+        this.entryCount = entryCount;
+        this.declaredSize = declaredSize;
+        this.entries = entries;
+    }
+
+    /**
+     * Get the digests of the given extension package, computing them if necessary.
+     * Concurrent callers wait for the digests computed by the first caller. No monitor
+     * is held while waiting, so that virtual threads are not pinned to their carrier.
+     *
+     * @param executor executor used to hash the files in the package
+     */
+    public static ArchiveDigest of(TempFile extensionFile, Executor executor) throws IOException {
+        return of(extensionFile, executor, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Get the digests of the given extension package like {@link #of(TempFile, Executor)}, after
+     * enforcing the archive limits on the central directory. The limits are checked before any file
+     * is hashed, so that callers don't need to open the package themselves to check them.
+     *
+     * @throws ErrorResultException if the package exceeds the limits
+     */
+    public static ArchiveDigest of(TempFile extensionFile, Executor executor, int maxEntryCount, long maxUncompressedBytes) throws IOException {
+        var digest = new CompletableFuture<ArchiveDigest>();
+        var existing = extensionFile.setArchiveDigestIfAbsent(digest);
+        if (existing != null) {
+            var computed = join(existing);
+            ArchiveUtil.enforceArchiveLimits(computed.entryCount, computed.declaredSize, maxEntryCount, maxUncompressedBytes);
+            return computed;
+        }
+
+        try {
+            var computed = compute(extensionFile, executor, maxEntryCount, maxUncompressedBytes);
+            digest.complete(computed);
+            return computed;
+        } catch (Throwable e) {
+            // the digests are computed again by the next caller
+            extensionFile.removeArchiveDigest(digest);
+            digest.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static ArchiveDigest join(CompletableFuture<ArchiveDigest> digest) throws IOException {
+        try {
+            return digest.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw e;
+        }
+    }
+
+    private static ArchiveDigest compute(TempFile extensionFile, Executor executor, int maxEntryCount, long maxUncompressedBytes) throws IOException {
+        var path = extensionFile.getPath();
+        byte[] sha256;
+        if (extensionFile.getSha256Hash() != null) {
+            // the hash has been computed while the package was uploaded
+            try {
+                sha256 = Hex.decodeHex(extensionFile.getSha256Hash());
+            } catch (DecoderException e) {
+                throw new IOException("Invalid SHA-256 hash of " + path, e);
+            }
+        } else {
+            try (var input = Files.newInputStream(path)) {
+                sha256 = DigestUtils.sha256(input);
+            }
+            extensionFile.setSha256Hash(Hex.encodeHexString(sha256));
+        }
+
+        try (var zipFile = new ZipFile(path.toFile())) {
+            var zipEntries = Collections.list(zipFile.entries());
+            ArchiveUtil.enforceArchiveLimits(zipEntries, maxEntryCount, maxUncompressedBytes);
+            var declaredSize = zipEntries.stream().mapToLong(ZipEntry::getSize).filter(size -> size > 0).sum();
+
+            var futures = zipEntries.stream()
+                    .filter(entry -> !entry.isDirectory())
+                    .map(entry -> CompletableFuture.supplyAsync(() -> hashEntry(zipFile, entry), executor))
+                    .toList();
+
+            // keep the order of the central directory
+            var entries = futures.stream().map(CompletableFuture::join).toList();
+            return new ArchiveDigest(sha256, Files.size(path), zipEntries.size(), declaredSize, entries);
+        }
+    }
+
+    private static Entry hashEntry(ZipFile zipFile, ZipEntry entry) {
+        try (var input = zipFile.getInputStream(entry)) {
+            return new Entry(entry.getName(), entry.getSize(), DigestUtils.sha256(input), null);
+        } catch (IOException e) {
+            // the other files are still hashed
+            return new Entry(entry.getName(), entry.getSize(), null, e);
+        }
+    }
+
+    public String getSha256Hex() {
+        return Hex.encodeHexString(sha256);
+    }
+
+    public String getSha256Base64() {
+        return Base64.encodeBase64String(sha256);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * The files in the package, directories are not included.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @param sha256 the digest of the file, {@code null} if the file could not be read
+     * @param error the exception thrown while reading the file, {@code null} if it has been hashed
+     */
+    public record Entry(String name, long size, @Nullable byte[] sha256, @Nullable IOException error) {
+
+        public boolean isHashed() {
+            return sha256 != null;
+        }
+
+        public String sha256Hex() {
+            return Hex.encodeHexString(sha256);
+        }
+
+        public String sha256Base64() {
+            return Base64.encodeBase64String(sha256);
+        }
+    }
+}
@@ -101,6 +101,21 @@ public final class ArchiveUtil {
         }
     }
 
+    /**
+     * Enforce coarse archive limits on the entry count and the declared total size of the entries.
+     */
+    public static void enforceArchiveLimits(int entryCount,
+                                            long declaredTotal,
+                                            int maxEntryCount,
+                                            long maxTotalUncompressedBytes) {
+        if (entryCount > maxEntryCount) {
+            throw new ErrorResultException("Archive contains too many entries (" + entryCount + ").");
+        }
+        if (declaredTotal > maxTotalUncompressedBytes) {
+            throw new ErrorResultException("Uncompressed archive size exceeds limit of " + maxTotalUncompressedBytes + " bytes.");
+        }
+    }
+
     /**
      * Reject zip entries that attempt path traversal or absolute paths.
      */
@@ -28,6 +28,21 @@ public class HttpHeadersUtil {
         return headers;
     }
 
+    /**
+     * Returns the given headers of the current request.
+     */
+    public static HttpHeaders getForwardedHeaders(String... headerNames) {
+        var forwarded = getForwardedHeaders();
+        var headers = new HttpHeaders();
+        for (var headerName : headerNames) {
+            var values = forwarded.get(headerName);
+            if (values != null) {
+                headers.addAll(headerName, values);
+            }
+        }
+        return headers;
+    }
+
     public static HttpHeaders getAcceptJsonHeaders() {
         var headers = new HttpHeaders();
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
@@ -16,6 +16,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class TempFile implements Closeable {
 
@@ -29,6 +31,9 @@ public class TempFile implements Closeable {
     /** SHA256 hash of the file content */
     private String sha256Hash;
 
+    /** Digests of the files in the archive, only computed for extension packages */
+    private final AtomicReference<CompletableFuture<ArchiveDigest>> archiveDigest = new AtomicReference<>();
+
     public TempFile(String prefix, String suffix) throws IOException {
         path = Files.createTempFile(prefix, suffix);
     }
@@ -81,6 +86,26 @@ public class TempFile implements Closeable {
         this.sha256Hash = sha256Hash;
     }
 
+    public CompletableFuture<ArchiveDigest> getArchiveDigest() {
+        return archiveDigest.get();
+    }
+
+    /**
+     * Sets the pending digests unless digests are already set or pending.
+     *
+     * @return the digests that are already set or pending, {@code null} if the given digests have been set
+     */
+    public CompletableFuture<ArchiveDigest> setArchiveDigestIfAbsent(CompletableFuture<ArchiveDigest> digest) {
+        return archiveDigest.compareAndExchange(null, digest);
+    }
+
+    /**
+     * Removes the digests, so that they are computed again.
+     */
+    public void removeArchiveDigest(CompletableFuture<ArchiveDigest> digest) {
+        archiveDigest.compareAndSet(digest, null);
+    }
+
     @Override
     public void close() throws IOException {
         Files.delete(path);
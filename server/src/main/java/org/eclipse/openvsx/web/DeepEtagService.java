@@ -0,0 +1,138 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.web;
+
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletRequest;
+import org.eclipse.openvsx.cache.ExtensionCacheGenerations;
+import org.eclipse.openvsx.util.NamingUtil;
+import org.eclipse.openvsx.util.UrlUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.eclipse.openvsx.cache.CacheService.CACHE_EXTENSION_JSON;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_LATEST_EXTENSION_VERSION;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_NAMESPACE_DETAILS_JSON;
+
+/**
+ * Computes ETags of extension and namespace responses from the state of the extension instead of
+ * the rendered response, so that responses are cached by their ETag and conditional requests are
+ * answered without generating the JSON again.
+ * <p>
+ * The ETag of an extension changes with the generations of its cached JSON, which are incremented
+ * whenever the extension is updated, so it is computed without querying the database. It also depends
+ * on the request URL and the base URL of the server. Like the cached JSON, an ETag expires once per
+ * time-to-live of the extension JSON cache, offset by its key so that ETags don't all expire at the
+ * same time. An ETag doesn't tell whether the extension exists, callers resolve the response before
+ * they answer a conditional request. Responses with a deep ETag are not buffered by the
+ * {@link ShallowEtagHeaderFilter}, it remains the fallback for other responses.
+ */
+@Component
+public class DeepEtagService {
+
+    private final ExtensionCacheGenerations generations;
+    private final Duration maxAge;
+
+    public DeepEtagService(
+            ExtensionCacheGenerations generations,
+            @Value("${ovsx.caching.extension-json.ttl:PT1H}") Duration maxAge
+    ) {
+        this.generations = generations;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Returns the ETag of a response with metadata of the extension.
+     */
+    public String getExtensionEtag(String namespaceName, String extensionName) {
+        return createEtag(
+                NamingUtil.toExtensionId(namespaceName, extensionName).toLowerCase(),
+                String.valueOf(generations.get(CACHE_EXTENSION_JSON, namespaceName, extensionName)),
+                String.valueOf(generations.get(CACHE_LATEST_EXTENSION_VERSION, namespaceName, extensionName))
+        );
+    }
+
+    /**
+     * Returns the ETag of a response with the details of the namespace.
+     */
+    public String getNamespaceDetailsEtag(String namespaceName) {
+        return createEtag(
+                namespaceName.toLowerCase(),
+                String.valueOf(generations.get(CACHE_NAMESPACE_DETAILS_JSON, namespaceName, ""))
+        );
+    }
+
+    /**
+     * Checks the {@code If-None-Match} header of the current request against the ETag.
+     * If the ETag is not {@code null}, the response is no longer buffered by the {@link ShallowEtagHeaderFilter}.
+     */
+    public boolean isNotModified(@Nullable String etag) {
+        var request = getRequest();
+        if (etag == null || request == null) {
+            return false;
+        }
+
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        var opaqueTag = getOpaqueTag(etag);
+        for (var header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (var tag : header.split(",")) {
+                tag = tag.trim();
+                if (tag.equals("*") || getOpaqueTag(tag).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private String createEtag(String key, String... values) {
+        var request = getRequest();
+        var value = new StringBuilder(key).append('\n');
+        for (var v : values) {
+            value.append(v).append('\n');
+        }
+        if (request != null) {
+            value.append(UrlUtil.getBaseUrl()).append('\n')
+                    .append(request.getRequestURI()).append('\n')
+                    .append(request.getQueryString()).append('\n');
+        }
+
+        value.append(generations.epoch()).append('\n').append(getPeriod(key));
+        // the representation is the same with and without compression, so the ETag is weak
+        return "W/\"" + DigestUtils.md5DigestAsHex(value.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private long getPeriod(String key) {
+        var ttl = maxAge.toMillis();
+        return ttl > 0 ? (System.currentTimeMillis() + Math.floorMod(key.hashCode(), ttl)) / ttl : 0;
+    }
+
+    private String getOpaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private @Nullable HttpServletRequest getRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+}
@@ -0,0 +1,144 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ServerErrorException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized JSON of registry responses, so that a cache hit writes the response bytes
+ * without serializing the JSON again. Each entry holds the UTF-8 JSON and a gzip-compressed variant,
+ * the variant is chosen by the {@code Accept-Encoding} header of the request.
+ * <p>
+ * Entries are keyed by the deep ETag of the response (see {@link DeepEtagService}), which changes
+ * whenever the extension or namespace changes, so entries don't need to be evicted. They are dropped
+ * after the time-to-live or when the cache exceeds its memory size.
+ */
+@Component
+public class JsonResponseCache {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, JsonResponse> responses;
+
+    public JsonResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${ovsx.caching.json-response.ttl:PT1H}") Duration timeToLive,
+            @Value("${ovsx.caching.json-response.max-memory-size:64MB}") DataSize maxMemorySize
+    ) {
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumWeight(maxMemorySize.toBytes())
+                .weigher((String key, JsonResponse response) -> key.length() + response.size())
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    /**
+     * Returns the cached response for the key. On a cache miss, the JSON is serialized
+     * and compressed. Exceptions thrown by the supplier are passed on to the caller.
+     */
+    public JsonResponse get(String key, Supplier<?> json) {
+        return responses.get(key, k -> {
+            var bytes = toBytes(json.get());
+            return new JsonResponse(bytes, gzip(bytes));
+        });
+    }
+
+    /**
+     * Serializes the JSON without caching it. The response has no compressed variant.
+     */
+    public JsonResponse serialize(Object json) {
+        return new JsonResponse(toBytes(json), null);
+    }
+
+    /**
+     * Completes the response with the variant accepted by the current request.
+     */
+    public ResponseEntity<byte[]> toResponseEntity(ResponseEntity.BodyBuilder builder, JsonResponse response) {
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (response.gzip() == null) {
+            return builder.body(response.json());
+        }
+
+        builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        return acceptsGzip()
+                ? builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(response.gzip())
+                : builder.body(response.json());
+    }
+
+    private byte[] toBytes(Object json) {
+        try {
+            return objectMapper.writeValueAsBytes(json);
+        } catch (JsonProcessingException exc) {
+            throw new ServerErrorException("Failed to serialize JSON response", exc);
+        }
+    }
+
+    private byte[] gzip(byte[] bytes) {
+        var output = new ByteArrayOutputStream(bytes.length / 4);
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+        return output.toByteArray();
+    }
+
+    private boolean acceptsGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+
+        var request = attributes.getRequest();
+        for (var header : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+            for (var coding : header.split(",")) {
+                var parameters = coding.split(";");
+                if (parameters[0].trim().equalsIgnoreCase(GZIP)) {
+                    return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+
+        return false;
+    }
+
+    public record JsonResponse(byte[] json, @Nullable byte[] gzip) {
+        int size() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
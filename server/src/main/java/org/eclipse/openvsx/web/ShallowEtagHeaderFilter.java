@@ -12,6 +12,10 @@ package org.eclipse.openvsx.web;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 
+/**
+ * Fallback for responses without a deep ETag. Responses that get their ETag from
+ * {@link DeepEtagService} disable the content caching of this filter.
+ */
 public class ShallowEtagHeaderFilter extends org.springframework.web.filter.ShallowEtagHeaderFilter {
 
     @Override
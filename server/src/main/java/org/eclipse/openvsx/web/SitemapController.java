@@ -9,22 +9,25 @@
  ********************************************************************************/
 package org.eclipse.openvsx.web;
 
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerErrorException;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 @RestController
 public class SitemapController {
 
+    private static final MediaType APPLICATION_GZIP = new MediaType("application", "gzip");
+
     private final SitemapService service;
 
     public SitemapController(SitemapService service) {
@@ -32,15 +35,46 @@ public class SitemapController {
     }
 
     @GetMapping(path = "/sitemap.xml", produces = MediaType.APPLICATION_XML_VALUE)
-    public ResponseEntity<String> getSitemap() {
+    public ResponseEntity<Resource> getSitemap() {
         try {
-            var sitemap = service.generateSitemap();
+            var file = service.getSitemapFile();
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic())
+                    .contentType(MediaType.APPLICATION_XML)
+                    .body(new FileSystemResource(file));
+        } catch (IOException e) {
+            throw new ServerErrorException("Failed to generate sitemap.xml", e);
+        }
+    }
+
+    @GetMapping(path = "/sitemap-index.xml", produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<String> getSitemapIndex() {
+        try {
+            var sitemap = service.generateSitemapIndex();
             return ResponseEntity.ok()
                     .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic())
                     .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_XML_VALUE)
                     .body(sitemap);
-        } catch (ParserConfigurationException | IOException | TransformerException e) {
-            throw new ServerErrorException("Failed to generate sitemap.xml", e);
+        } catch (IOException e) {
+            throw new ServerErrorException("Failed to generate sitemap-index.xml", e);
+        }
+    }
+
+    @GetMapping(path = "/sitemap-{shard:\\d+}.xml.gz")
+    public ResponseEntity<Resource> getSitemapShard(@PathVariable int shard) {
+        return getSitemapShard(shard, 0);
+    }
+
+    @GetMapping(path = "/sitemap-{shard:\\d+}-{part:\\d+}.xml.gz")
+    public ResponseEntity<Resource> getSitemapShard(@PathVariable int shard, @PathVariable int part) {
+        try {
+            var file = service.getShardFile(shard, part);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic())
+                    .contentType(APPLICATION_GZIP)
+                    .body(new FileSystemResource(file));
+        } catch (IOException e) {
+            throw new ServerErrorException("Failed to generate sitemap-" + shard + "-" + part + ".xml.gz", e);
         }
     }
-}
\ No newline at end of file
+}
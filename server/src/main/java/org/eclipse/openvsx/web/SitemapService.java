@@ -9,73 +9,372 @@
  * ****************************************************************************** */
 package org.eclipse.openvsx.web;
 
+import jakarta.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.changefeed.ChangeFeedService;
+import org.eclipse.openvsx.changefeed.ChangeType;
 import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.NotFoundException;
 import org.eclipse.openvsx.util.UrlUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
-import static org.eclipse.openvsx.cache.CacheService.CACHE_SITEMAP;
-
+/**
+ * Generates the sitemap as a sitemap index and gzip-compressed shard files. Extensions are
+ * assigned to a shard by their namespace, a shard with more URLs than allowed in a sitemap file
+ * is split into several parts. The shard files are written to a local directory while streaming
+ * the extensions from the database, and only the shards of namespaces that appear in the registry
+ * change feed are rewritten on refresh.
+ * <p>
+ * The flat sitemap is still generated from the shard files, for crawlers and mirrors that
+ * don't follow sitemap indexes. Like any sitemap file, it is limited to 50,000 URLs, so it
+ * only covers all extensions if the registry doesn't have more than that.
+ */
 @Component
 public class SitemapService {
 
+    protected final Logger logger = LoggerFactory.getLogger(SitemapService.class);
+
+    private static final String SITEMAP_NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final int MAX_SHARD_URLS = 50_000;
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String SITEMAP_FILE_NAME = "sitemap.xml";
+
+    // changes that don't affect the URLs or the last modified dates of the sitemap
+    private static final Set<ChangeType> IGNORED_CHANGES = EnumSet.of(ChangeType.DOWNLOADS_UPDATED, ChangeType.REVIEWS_UPDATED);
+
     private final RepositoryService repositories;
+    private final TransactionTemplate transactions;
+    private final Path directory;
+    private final int shardCount;
+    private final Duration refreshInterval;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Sitemap sitemap;
 
     @Value("${ovsx.webui.url:}")
     String webuiUrl;
 
-    public SitemapService(RepositoryService repositories) {
+    public SitemapService(
+            RepositoryService repositories,
+            TransactionTemplate transactions,
+            @Value("${ovsx.sitemap.directory:}") String directory,
+            @Value("${ovsx.sitemap.shards:16}") int shardCount,
+            @Value("${ovsx.sitemap.refresh-interval:PT5M}") Duration refreshInterval
+    ) {
         this.repositories = repositories;
+        this.transactions = transactions;
+        this.directory = StringUtils.isEmpty(directory)
+                ? Path.of(System.getProperty("java.io.tmpdir"), "openvsx-sitemap")
+                : Path.of(directory);
+        this.shardCount = shardCount;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Generates the sitemap index, it lists the parts of all shards that contain at least one extension.
+     */
+    public String generateSitemapIndex() throws IOException {
+        var shards = refresh().shards();
+        var baseUrl = UrlUtil.getBaseUrl();
+        var writer = new StringWriter();
+        try {
+            var xml = XMLOutputFactory.newFactory().createXMLStreamWriter(writer);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(SITEMAP_NAMESPACE);
+            for (var i = 0; i < shards.size(); i++) {
+                var shard = shards.get(i);
+                for (var part = 0; part < shard.parts(); part++) {
+                    xml.writeStartElement("sitemap");
+                    writeElement(xml, "loc", UrlUtil.createApiUrl(baseUrl, getShardFileName(i, part)));
+                    writeElement(xml, "lastmod", shard.lastModified());
+                    xml.writeEndElement();
+                }
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * Returns the flat sitemap file with the URLs of the shards, up to the number of URLs allowed in a sitemap file.
+     */
+    public Path getSitemapFile() throws IOException {
+        refresh();
+        return directory.resolve(SITEMAP_FILE_NAME);
+    }
+
+    /**
+     * Returns the gzip-compressed file of the given part of a shard.
+     *
+     * @throws NotFoundException if the shard or the part doesn't exist.
+     */
+    public Path getShardFile(int shard, int part) throws IOException {
+        var shards = refresh().shards();
+        if (shard < 0 || shard >= shards.size() || part < 0 || part >= shards.get(shard).parts()) {
+            throw new NotFoundException();
+        }
+
+        return directory.resolve(getShardFileName(shard, part));
+    }
+
+    private Sitemap refresh() throws IOException {
+        var current = sitemap;
+        if (current != null && !current.isStale(refreshInterval)) {
+            return current;
+        }
+
+        if (current == null) {
+            // there is nothing to serve yet, wait for the first generation
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            // serve the previous files while another request refreshes them
+            return current;
+        }
+
+        try {
+            current = sitemap;
+            if (current == null || current.isStale(refreshInterval)) {
+                current = current == null ? generate() : update(current);
+                sitemap = current;
+            }
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Sitemap generate() throws IOException {
+        // read the position first, changes after it are applied on the next refresh
+        var position = Objects.requireNonNullElse(repositories.findLastRegistryChangeId(), 0L);
+        var allShards = new TreeSet<Integer>();
+        IntStream.range(0, shardCount).forEach(allShards::add);
+        var shards = writeShards(allShards, null, List.of());
+        writeSitemapFile(shards);
+        logger.info("Generated sitemap with {} URLs", shards.stream().mapToInt(Shard::urls).sum());
+        return new Sitemap(position, shards, System.currentTimeMillis());
+    }
+
+    private Sitemap update(Sitemap current) throws IOException {
+        var head = Objects.requireNonNullElse(repositories.findLastRegistryChangeId(), 0L);
+        var first = repositories.findFirstRegistryChangeId();
+        if (head < current.position() || (first != null && current.position() < first - 1)) {
+            // the changes since the last refresh have been pruned
+            return generate();
+        }
+
+        var changedShards = new TreeSet<Integer>();
+        var position = current.position();
+        while (position < head && changedShards.size() < shardCount) {
+            var changes = repositories.findRegistryChanges(position, ChangeFeedService.MAX_PAGE_SIZE);
+            if (changes.isEmpty()) {
+                break;
+            }
+            for (var change : changes) {
+                if (!IGNORED_CHANGES.contains(change.type())) {
+                    changedShards.add(getShard(change.namespace()));
+                }
+            }
+            position = changes.getLast().id();
+        }
+        if (changedShards.size() == shardCount) {
+            return generate();
+        }
+
+        position = Math.max(position, head);
+        if (changedShards.isEmpty()) {
+            return new Sitemap(position, current.shards(), System.currentTimeMillis());
+        }
+
+        var namespaces = repositories.findAllNamespaceNames().stream()
+                .filter(namespace -> changedShards.contains(getShard(namespace)))
+                .toList();
+        var updatedShards = writeShards(changedShards, namespaces, current.shards());
+        var shards = new ArrayList<>(current.shards());
+        for (var shard : changedShards) {
+            shards.set(shard, updatedShards.get(shard));
+        }
+        writeSitemapFile(shards);
+
+        logger.info("Updated sitemap shards {}", changedShards);
+        return new Sitemap(position, Collections.unmodifiableList(shards), System.currentTimeMillis());
+    }
+
+    /**
+     * Writes the given shards from the extensions of the given namespaces.
+     *
+     * @param namespaces names of the namespaces that belong to the shards, all namespaces if {@code null}
+     * @param previousShards the shards before this update, their surplus parts are deleted
+     * @return the written shards, shards that are not written are empty.
+     */
+    private List<Shard> writeShards(Set<Integer> shards, @Nullable List<String> namespaces, List<Shard> previousShards) throws IOException {
+        Files.createDirectories(directory);
+        var writers = new TreeMap<Integer, ShardWriter>();
+        try {
+            for (var shard : shards) {
+                writers.put(shard, new ShardWriter(directory));
+            }
+            if (namespaces == null || !namespaces.isEmpty()) {
+                var baseUrl = getBaseUrl();
+                transactions.executeWithoutResult(status -> {
+                    try (var rows = repositories.streamSitemapRows(namespaces, FETCH_SIZE)) {
+                        rows.forEach(row -> writers.get(getShard(row.namespace()))
+                                .write(baseUrl + row.namespace() + "/" + row.extension(), row.lastUpdated()));
+                    }
+                });
+            }
+
+            var result = new ArrayList<Shard>();
+            IntStream.range(0, shardCount).forEach(i -> result.add(new Shard(0, 0, null)));
+            for (var entry : writers.entrySet()) {
+                var shard = entry.getKey();
+                var writer = entry.getValue();
+                writer.finish();
+                var parts = writer.files.size();
+                for (var part = 0; part < parts; part++) {
+                    Files.move(writer.files.get(part), directory.resolve(getShardFileName(shard, part)), StandardCopyOption.ATOMIC_MOVE);
+                }
+                var previousParts = shard < previousShards.size() ? previousShards.get(shard).parts() : 0;
+                for (var part = parts; part < previousParts; part++) {
+                    Files.deleteIfExists(directory.resolve(getShardFileName(shard, part)));
+                }
+                if (parts > 1) {
+                    logger.info("Sitemap shard {} has {} URLs, it is split into {} files. Increase ovsx.sitemap.shards to avoid this.", shard, writer.urls, parts);
+                }
+
+                result.set(shard, new Shard(writer.urls, parts, writer.lastModified));
+            }
+
+            return Collections.unmodifiableList(result);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (var writer : writers.values()) {
+                writer.close();
+                for (var file : writer.files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
     }
 
-    @Cacheable(CACHE_SITEMAP)
-    public String generateSitemap() throws ParserConfigurationException, IOException, TransformerException {
-        var document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-        document.setXmlStandalone(true);
-        var namespace = "http://www.sitemaps.org/schemas/sitemap/0.9";
-        var urlset = document.createElementNS(namespace, "urlset");
-        document.appendChild(urlset);
+    /**
+     * Writes the flat sitemap by copying the URLs of the shard files, until it
+     * reaches the number of URLs allowed in a sitemap file.
+     */
+    private void writeSitemapFile(List<Shard> shards) throws IOException {
+        var totalUrls = shards.stream().mapToInt(Shard::urls).sum();
+        if (totalUrls > MAX_SHARD_URLS) {
+            logger.warn("Sitemap has {} URLs, {} contains only the first {}. The sitemap index lists all URLs.", totalUrls, SITEMAP_FILE_NAME, MAX_SHARD_URLS);
+        }
 
-        var baseUrl = getBaseUrl();
-        var rows = repositories.fetchSitemapRows();
-        for(var row : rows) {
-            var entry = document.createElement("url");
-            var loc = document.createElement("loc");
-            loc.setTextContent(baseUrl + row.namespace() + "/" + row.extension());
-            entry.appendChild(loc);
+        var file = Files.createTempFile(directory, "sitemap-", ".tmp");
+        try {
+            try (var out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+                var xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out, "UTF-8");
+                xml.writeStartDocument("UTF-8", "1.0");
+                xml.writeStartElement("urlset");
+                xml.writeDefaultNamespace(SITEMAP_NAMESPACE);
+                var remaining = MAX_SHARD_URLS;
+                for (var i = 0; i < shards.size() && remaining > 0; i++) {
+                    for (var part = 0; part < shards.get(i).parts() && remaining > 0; part++) {
+                        remaining -= copyUrls(directory.resolve(getShardFileName(i, part)), xml, remaining);
+                    }
+                }
+                xml.writeEndElement();
+                xml.writeEndDocument();
+                xml.close();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
 
-            var lastmod = document.createElement("lastmod");
-            lastmod.setTextContent(row.lastUpdated());
-            entry.appendChild(lastmod);
-            urlset.appendChild(entry);
+            Files.move(file, directory.resolve(SITEMAP_FILE_NAME), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(file);
         }
+    }
 
-        try(var writer = new StringWriter()) {
-            var factory = TransformerFactory.newInstance();
-            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            var transformer = factory.newTransformer();
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-            transformer.transform(new DOMSource(document), new StreamResult(writer));
-            return writer.toString();
+    /**
+     * Copies the URLs of a shard file, up to the given limit.
+     *
+     * @return the number of copied URLs
+     */
+    private int copyUrls(Path shardFile, XMLStreamWriter xml, int limit) throws IOException, XMLStreamException {
+        try (var input = new GZIPInputStream(Files.newInputStream(shardFile), BUFFER_SIZE)) {
+            var reader = XMLInputFactory.newFactory().createXMLStreamReader(input);
+            try {
+                var urls = 0;
+                String loc = null;
+                String lastModified = null;
+                while (urls < limit && reader.hasNext()) {
+                    var event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("loc")) {
+                        loc = reader.getElementText();
+                    } else if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("lastmod")) {
+                        lastModified = reader.getElementText();
+                    } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("url")) {
+                        xml.writeStartElement("url");
+                        writeElement(xml, "loc", loc);
+                        writeElement(xml, "lastmod", lastModified);
+                        xml.writeEndElement();
+                        urls++;
+                        loc = null;
+                        lastModified = null;
+                    }
+                }
+                return urls;
+            } finally {
+                reader.close();
+            }
         }
     }
 
+    private int getShard(String namespace) {
+        return Math.floorMod(namespace.hashCode(), shardCount);
+    }
+
+    private String getShardFileName(int shard, int part) {
+        return part == 0 ? "sitemap-" + shard + ".xml.gz" : "sitemap-" + shard + "-" + part + ".xml.gz";
+    }
+
     private String getBaseUrl() {
         String url;
         if (StringUtils.isEmpty(webuiUrl))
@@ -89,4 +388,109 @@ public class SitemapService {
 
         return url + "extension/";
     }
+
+    private static void writeElement(XMLStreamWriter xml, String name, @Nullable String text) throws XMLStreamException {
+        if (text == null) {
+            return;
+        }
+
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    /**
+     * @param position position in the registry change feed up to which the shards are up-to-date
+     * @param shards URL counts, file counts and last modified dates of the shards, indexed by shard
+     */
+    private record Sitemap(long position, List<Shard> shards, long refreshedAt) {
+
+        boolean isStale(Duration refreshInterval) {
+            return System.currentTimeMillis() - refreshedAt >= refreshInterval.toMillis();
+        }
+    }
+
+    /**
+     * @param parts number of files the shard is split into, {@code 0} if the shard doesn't contain any extensions
+     * @param lastModified the latest last updated date of the extensions in the shard
+     */
+    private record Shard(int urls, int parts, @Nullable String lastModified) {}
+
+    /**
+     * Writes the {@code urlset} of a shard to gzip-compressed files, starting a new file
+     * whenever a file reaches the number of URLs allowed in a sitemap file.
+     */
+    private static class ShardWriter implements Closeable {
+
+        private final Path directory;
+        private final List<Path> files = new ArrayList<>();
+        private OutputStream out;
+        private XMLStreamWriter xml;
+        private int urls;
+        private String lastModified;
+
+        ShardWriter(Path directory) {
+            this.directory = directory;
+        }
+
+        void write(String loc, @Nullable String lastModified) {
+            try {
+                if (urls % MAX_SHARD_URLS == 0) {
+                    finishFile();
+                    startFile();
+                }
+
+                xml.writeStartElement("url");
+                writeElement(xml, "loc", loc);
+                writeElement(xml, "lastmod", lastModified);
+                xml.writeEndElement();
+                urls++;
+                // dates are formatted as YYYY-MM-DD, so they can be compared as strings
+                if (lastModified != null && (this.lastModified == null || lastModified.compareTo(this.lastModified) > 0)) {
+                    this.lastModified = lastModified;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (XMLStreamException e) {
+                throw new UncheckedIOException(new IOException(e));
+            }
+        }
+
+        void finish() throws IOException {
+            try {
+                finishFile();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        private void startFile() throws IOException, XMLStreamException {
+            var file = Files.createTempFile(directory, "sitemap-", ".tmp");
+            files.add(file);
+            out = new GZIPOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+            xml = XMLOutputFactory.newFactory().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("urlset");
+            xml.writeDefaultNamespace(SITEMAP_NAMESPACE);
+        }
+
+        private void finishFile() throws IOException, XMLStreamException {
+            if (xml == null) {
+                return;
+            }
+
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+            xml = null;
+            out.close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
 }
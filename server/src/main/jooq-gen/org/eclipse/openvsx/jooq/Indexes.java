@@ -8,6 +8,7 @@ import org.eclipse.openvsx.jooq.tables.AdminScanDecision;
 import org.eclipse.openvsx.jooq.tables.AdminStatistics;
 import org.eclipse.openvsx.jooq.tables.DownloadCountProcessedItem;
 import org.eclipse.openvsx.jooq.tables.Extension;
+import org.eclipse.openvsx.jooq.tables.ExtensionLatestVersion;
 import org.eclipse.openvsx.jooq.tables.ExtensionReview;
 import org.eclipse.openvsx.jooq.tables.ExtensionScan;
 import org.eclipse.openvsx.jooq.tables.ExtensionThreat;
@@ -21,6 +22,7 @@ import org.eclipse.openvsx.jooq.tables.JobrunrJobs;
 import org.eclipse.openvsx.jooq.tables.JobrunrRecurringJobs;
 import org.eclipse.openvsx.jooq.tables.NamespaceMembership;
 import org.eclipse.openvsx.jooq.tables.PersistedLog;
+import org.eclipse.openvsx.jooq.tables.RegistryChange;
 import org.eclipse.openvsx.jooq.tables.ScanCheckResult;
 import org.eclipse.openvsx.jooq.tables.ScanJob;
 import org.eclipse.openvsx.jooq.tables.SpringSession;
@@ -43,16 +45,18 @@ public class Indexes {
 
     public static final Index DOWNLOAD_COUNT_PROCESSED_ITEM_NAME = Internal.createIndex(DSL.name("download_count_processed_item_name"), DownloadCountProcessedItem.DOWNLOAD_COUNT_PROCESSED_ITEM, new OrderField[] { DownloadCountProcessedItem.DOWNLOAD_COUNT_PROCESSED_ITEM.NAME }, false);
     public static final Index DOWNLOAD_COUNT_PROCESSED_ITEM_STORAGE_TYPE = Internal.createIndex(DSL.name("download_count_processed_item_storage_type"), DownloadCountProcessedItem.DOWNLOAD_COUNT_PROCESSED_ITEM, new OrderField[] { DownloadCountProcessedItem.DOWNLOAD_COUNT_PROCESSED_ITEM.STORAGE_TYPE }, false);
+    public static final Index EXTENSION_LATEST_VERSION_EXTENSION_VERSION_ID_IDX = Internal.createIndex(DSL.name("extension_latest_version_extension_version_id_idx"), ExtensionLatestVersion.EXTENSION_LATEST_VERSION, new OrderField[] { ExtensionLatestVersion.EXTENSION_LATEST_VERSION.EXTENSION_VERSION_ID }, false);
     public static final Index EXTENSION__NAMESPACE_ID__IDX = Internal.createIndex(DSL.name("extension__namespace_id__idx"), Extension.EXTENSION, new OrderField[] { Extension.EXTENSION.NAMESPACE_ID }, false);
     public static final Index EXTENSION_REVIEW__EXTENSION_ID__IDX = Internal.createIndex(DSL.name("extension_review__extension_id__idx"), ExtensionReview.EXTENSION_REVIEW, new OrderField[] { ExtensionReview.EXTENSION_REVIEW.EXTENSION_ID }, false);
     public static final Index EXTENSION_REVIEW__USER_ID__IDX = Internal.createIndex(DSL.name("extension_review__user_id__idx"), ExtensionReview.EXTENSION_REVIEW, new OrderField[] { ExtensionReview.EXTENSION_REVIEW.USER_ID }, false);
     public static final Index EXTENSION_VERSION__EXTENSION_ID__IDX = Internal.createIndex(DSL.name("extension_version__extension_id__idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID }, false);
     public static final Index EXTENSION_VERSION__PUBLISHED_WITH_ID__IDX = Internal.createIndex(DSL.name("extension_version__published_with_id__idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.PUBLISHED_WITH_ID }, false);
-    public static final Index EXTENSION_VERSION_BY_TARGET_PLATFORM_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_by_target_platform_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID, ExtensionVersion.EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(), ExtensionVersion.EXTENSION_VERSION.TARGET_PLATFORM, ExtensionVersion.EXTENSION_VERSION.SEMVER_MAJOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_MINOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_PATCH.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE, ExtensionVersion.EXTENSION_VERSION.TIMESTAMP.desc() }, false);
-    public static final Index EXTENSION_VERSION_LATEST_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_latest_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID, ExtensionVersion.EXTENSION_VERSION.SEMVER_MAJOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_MINOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_PATCH.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE, ExtensionVersion.EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(), ExtensionVersion.EXTENSION_VERSION.TARGET_PLATFORM, ExtensionVersion.EXTENSION_VERSION.TIMESTAMP.desc() }, false);
-    public static final Index EXTENSION_VERSION_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.SEMVER_MAJOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_MINOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_PATCH.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE, ExtensionVersion.EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(), ExtensionVersion.EXTENSION_VERSION.TARGET_PLATFORM, ExtensionVersion.EXTENSION_VERSION.TIMESTAMP.desc() }, false);
-    public static final Index EXTENSION_VERSION_VERSION_LIST_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_version_list_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.SEMVER_MAJOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_MINOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_PATCH.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE, ExtensionVersion.EXTENSION_VERSION.VERSION }, false);
-    public static final Index EXTENSION_VERSION_VERSION_MAP_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_version_map_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID, ExtensionVersion.EXTENSION_VERSION.SEMVER_MAJOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_MINOR.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_PATCH.desc(), ExtensionVersion.EXTENSION_VERSION.SEMVER_IS_PRE_RELEASE, ExtensionVersion.EXTENSION_VERSION.VERSION }, false);
+    public static final Index EXTENSION_VERSION_BY_TARGET_PLATFORM_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_by_target_platform_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID, ExtensionVersion.EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(), ExtensionVersion.EXTENSION_VERSION.TARGET_PLATFORM, ExtensionVersion.EXTENSION_VERSION.SEMVER_KEY.desc(), ExtensionVersion.EXTENSION_VERSION.TIMESTAMP.desc() }, false);
+    public static final Index EXTENSION_VERSION_LATEST_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_latest_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID, ExtensionVersion.EXTENSION_VERSION.SEMVER_KEY.desc(), ExtensionVersion.EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(), ExtensionVersion.EXTENSION_VERSION.TARGET_PLATFORM, ExtensionVersion.EXTENSION_VERSION.TIMESTAMP.desc() }, false);
+    public static final Index EXTENSION_VERSION_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.SEMVER_KEY.desc(), ExtensionVersion.EXTENSION_VERSION.UNIVERSAL_TARGET_PLATFORM.desc(), ExtensionVersion.EXTENSION_VERSION.TARGET_PLATFORM, ExtensionVersion.EXTENSION_VERSION.TIMESTAMP.desc() }, false);
+    public static final Index EXTENSION_VERSION_TARGET_PLATFORM_SEMVER_KEY_IDX = Internal.createIndex(DSL.name("extension_version_target_platform_semver_key_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID, ExtensionVersion.EXTENSION_VERSION.TARGET_PLATFORM, ExtensionVersion.EXTENSION_VERSION.SEMVER_KEY.desc() }, false);
+    public static final Index EXTENSION_VERSION_VERSION_LIST_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_version_list_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.SEMVER_KEY.desc(), ExtensionVersion.EXTENSION_VERSION.VERSION }, false);
+    public static final Index EXTENSION_VERSION_VERSION_MAP_ORDER_BY_IDX = Internal.createIndex(DSL.name("extension_version_version_map_order_by_idx"), ExtensionVersion.EXTENSION_VERSION, new OrderField[] { ExtensionVersion.EXTENSION_VERSION.EXTENSION_ID, ExtensionVersion.EXTENSION_VERSION.SEMVER_KEY.desc(), ExtensionVersion.EXTENSION_VERSION.VERSION }, false);
     public static final Index FILE_RESOURCE_EXTENSION_IDX = Internal.createIndex(DSL.name("file_resource_extension_idx"), FileResource.FILE_RESOURCE, new OrderField[] { FileResource.FILE_RESOURCE.EXTENSION_ID }, false);
     public static final Index FILE_RESOURCE_TYPE_IDX = Internal.createIndex(DSL.name("file_resource_type_idx"), FileResource.FILE_RESOURCE, new OrderField[] { FileResource.FILE_RESOURCE.TYPE }, false);
     public static final Index FLYWAY_SCHEMA_HISTORY_S_IDX = Internal.createIndex(DSL.name("flyway_schema_history_s_idx"), FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY, new OrderField[] { FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY.SUCCESS }, false);
@@ -89,6 +93,7 @@ public class Indexes {
     public static final Index NAMESPACE_MEMBERSHIP__NAMESPACE__IDX = Internal.createIndex(DSL.name("namespace_membership__namespace__idx"), NamespaceMembership.NAMESPACE_MEMBERSHIP, new OrderField[] { NamespaceMembership.NAMESPACE_MEMBERSHIP.NAMESPACE }, false);
     public static final Index NAMESPACE_MEMBERSHIP__USER_DATA__IDX = Internal.createIndex(DSL.name("namespace_membership__user_data__idx"), NamespaceMembership.NAMESPACE_MEMBERSHIP, new OrderField[] { NamespaceMembership.NAMESPACE_MEMBERSHIP.USER_DATA }, false);
     public static final Index PERSISTED_LOG__USER_DATA__IDX = Internal.createIndex(DSL.name("persisted_log__user_data__idx"), PersistedLog.PERSISTED_LOG, new OrderField[] { PersistedLog.PERSISTED_LOG.USER_DATA }, false);
+    public static final Index REGISTRY_CHANGE_TIMESTAMP_IDX = Internal.createIndex(DSL.name("registry_change_timestamp_idx"), RegistryChange.REGISTRY_CHANGE, new OrderField[] { RegistryChange.REGISTRY_CHANGE.TIMESTAMP }, false);
     public static final Index SCAN_CHECK_RESULT_CHECK_TYPE_IDX = Internal.createIndex(DSL.name("scan_check_result_check_type_idx"), ScanCheckResult.SCAN_CHECK_RESULT, new OrderField[] { ScanCheckResult.SCAN_CHECK_RESULT.CHECK_TYPE }, false);
     public static final Index SCAN_CHECK_RESULT_SCAN_ID_IDX = Internal.createIndex(DSL.name("scan_check_result_scan_id_idx"), ScanCheckResult.SCAN_CHECK_RESULT, new OrderField[] { ScanCheckResult.SCAN_CHECK_RESULT.SCAN_ID }, false);
     public static final Index SCAN_JOB_EXTENSION_VERSION_IDX = Internal.createIndex(DSL.name("scan_job_extension_version_idx"), ScanJob.SCAN_JOB, new OrderField[] { ScanJob.SCAN_JOB.EXTENSION_VERSION_ID }, false);
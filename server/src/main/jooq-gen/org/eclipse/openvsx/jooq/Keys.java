@@ -12,9 +12,11 @@ import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopMostActivePublishingUse
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopMostDownloadedExtensions;
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensionVersions;
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensions;
+import org.eclipse.openvsx.jooq.tables.ChangeFeedCursor;
 import org.eclipse.openvsx.jooq.tables.Customer;
 import org.eclipse.openvsx.jooq.tables.DownloadCountProcessedItem;
 import org.eclipse.openvsx.jooq.tables.Extension;
+import org.eclipse.openvsx.jooq.tables.ExtensionLatestVersion;
 import org.eclipse.openvsx.jooq.tables.ExtensionReview;
 import org.eclipse.openvsx.jooq.tables.ExtensionScan;
 import org.eclipse.openvsx.jooq.tables.ExtensionThreat;
@@ -34,6 +36,7 @@ import org.eclipse.openvsx.jooq.tables.NamespaceMembership;
 import org.eclipse.openvsx.jooq.tables.NamespaceSocialLinks;
 import org.eclipse.openvsx.jooq.tables.PersistedLog;
 import org.eclipse.openvsx.jooq.tables.PersonalAccessToken;
+import org.eclipse.openvsx.jooq.tables.RegistryChange;
 import org.eclipse.openvsx.jooq.tables.ScanCheckResult;
 import org.eclipse.openvsx.jooq.tables.ScanJob;
 import org.eclipse.openvsx.jooq.tables.SignatureKeyPair;
@@ -50,8 +53,10 @@ import org.eclipse.openvsx.jooq.tables.records.AdminStatisticsTopMostActivePubli
 import org.eclipse.openvsx.jooq.tables.records.AdminStatisticsTopMostDownloadedExtensionsRecord;
 import org.eclipse.openvsx.jooq.tables.records.AdminStatisticsTopNamespaceExtensionVersionsRecord;
 import org.eclipse.openvsx.jooq.tables.records.AdminStatisticsTopNamespaceExtensionsRecord;
+import org.eclipse.openvsx.jooq.tables.records.ChangeFeedCursorRecord;
 import org.eclipse.openvsx.jooq.tables.records.CustomerRecord;
 import org.eclipse.openvsx.jooq.tables.records.DownloadCountProcessedItemRecord;
+import org.eclipse.openvsx.jooq.tables.records.ExtensionLatestVersionRecord;
 import org.eclipse.openvsx.jooq.tables.records.ExtensionRecord;
 import org.eclipse.openvsx.jooq.tables.records.ExtensionReviewRecord;
 import org.eclipse.openvsx.jooq.tables.records.ExtensionScanRecord;
@@ -72,6 +77,7 @@ import org.eclipse.openvsx.jooq.tables.records.NamespaceRecord;
 import org.eclipse.openvsx.jooq.tables.records.NamespaceSocialLinksRecord;
 import org.eclipse.openvsx.jooq.tables.records.PersistedLogRecord;
 import org.eclipse.openvsx.jooq.tables.records.PersonalAccessTokenRecord;
+import org.eclipse.openvsx.jooq.tables.records.RegistryChangeRecord;
 import org.eclipse.openvsx.jooq.tables.records.ScanCheckResultRecord;
 import org.eclipse.openvsx.jooq.tables.records.ScanJobRecord;
 import org.eclipse.openvsx.jooq.tables.records.SignatureKeyPairRecord;
@@ -101,9 +107,11 @@ public class Keys {
     public static final UniqueKey<AdminScanDecisionRecord> ADMIN_SCAN_DECISION_PKEY = Internal.createUniqueKey(AdminScanDecision.ADMIN_SCAN_DECISION, DSL.name("admin_scan_decision_pkey"), new TableField[] { AdminScanDecision.ADMIN_SCAN_DECISION.ID }, true);
     public static final UniqueKey<AdminScanDecisionRecord> ADMIN_SCAN_DECISION_SCAN_ID_KEY = Internal.createUniqueKey(AdminScanDecision.ADMIN_SCAN_DECISION, DSL.name("admin_scan_decision_scan_id_key"), new TableField[] { AdminScanDecision.ADMIN_SCAN_DECISION.SCAN_ID }, true);
     public static final UniqueKey<AdminStatisticsRecord> ADMIN_STATISTICS_PKEY = Internal.createUniqueKey(AdminStatistics.ADMIN_STATISTICS, DSL.name("admin_statistics_pkey"), new TableField[] { AdminStatistics.ADMIN_STATISTICS.ID }, true);
+    public static final UniqueKey<ChangeFeedCursorRecord> CHANGE_FEED_CURSOR_PKEY = Internal.createUniqueKey(ChangeFeedCursor.CHANGE_FEED_CURSOR, DSL.name("change_feed_cursor_pkey"), new TableField[] { ChangeFeedCursor.CHANGE_FEED_CURSOR.NAME }, true);
     public static final UniqueKey<CustomerRecord> CUSTOMER_PKEY = Internal.createUniqueKey(Customer.CUSTOMER, DSL.name("customer_pkey"), new TableField[] { Customer.CUSTOMER.ID }, true);
     public static final UniqueKey<CustomerRecord> CUSTOMER_UNIQUE_NAME = Internal.createUniqueKey(Customer.CUSTOMER, DSL.name("customer_unique_name"), new TableField[] { Customer.CUSTOMER.NAME }, true);
     public static final UniqueKey<DownloadCountProcessedItemRecord> DOWNLOAD_COUNT_PROCESSED_ITEM_PKEY = Internal.createUniqueKey(DownloadCountProcessedItem.DOWNLOAD_COUNT_PROCESSED_ITEM, DSL.name("download_count_processed_item_pkey"), new TableField[] { DownloadCountProcessedItem.DOWNLOAD_COUNT_PROCESSED_ITEM.ID }, true);
+    public static final UniqueKey<ExtensionLatestVersionRecord> EXTENSION_LATEST_VERSION_PKEY = Internal.createUniqueKey(ExtensionLatestVersion.EXTENSION_LATEST_VERSION, DSL.name("extension_latest_version_pkey"), new TableField[] { ExtensionLatestVersion.EXTENSION_LATEST_VERSION.EXTENSION_ID, ExtensionLatestVersion.EXTENSION_LATEST_VERSION.TARGET_PLATFORM, ExtensionLatestVersion.EXTENSION_LATEST_VERSION.PRE_RELEASE, ExtensionLatestVersion.EXTENSION_LATEST_VERSION.ACTIVE }, true);
     public static final UniqueKey<ExtensionRecord> EXTENSION_PKEY = Internal.createUniqueKey(Extension.EXTENSION, DSL.name("extension_pkey"), new TableField[] { Extension.EXTENSION.ID }, true);
     public static final UniqueKey<ExtensionRecord> UNIQUE_EXTENSION_PUBLIC_ID = Internal.createUniqueKey(Extension.EXTENSION, DSL.name("unique_extension_public_id"), new TableField[] { Extension.EXTENSION.PUBLIC_ID }, true);
     public static final UniqueKey<ExtensionReviewRecord> EXTENSION_REVIEW_PKEY = Internal.createUniqueKey(ExtensionReview.EXTENSION_REVIEW, DSL.name("extension_review_pkey"), new TableField[] { ExtensionReview.EXTENSION_REVIEW.ID }, true);
@@ -129,6 +137,7 @@ public class Keys {
     public static final UniqueKey<PersistedLogRecord> PERSISTED_LOG_PKEY = Internal.createUniqueKey(PersistedLog.PERSISTED_LOG, DSL.name("persisted_log_pkey"), new TableField[] { PersistedLog.PERSISTED_LOG.ID }, true);
     public static final UniqueKey<PersonalAccessTokenRecord> PERSONAL_ACCESS_TOKEN_PKEY = Internal.createUniqueKey(PersonalAccessToken.PERSONAL_ACCESS_TOKEN, DSL.name("personal_access_token_pkey"), new TableField[] { PersonalAccessToken.PERSONAL_ACCESS_TOKEN.ID }, true);
     public static final UniqueKey<PersonalAccessTokenRecord> UKJEUD5MSSQBQKID58RD2K1INOF = Internal.createUniqueKey(PersonalAccessToken.PERSONAL_ACCESS_TOKEN, DSL.name("ukjeud5mssqbqkid58rd2k1inof"), new TableField[] { PersonalAccessToken.PERSONAL_ACCESS_TOKEN.VALUE }, true);
+    public static final UniqueKey<RegistryChangeRecord> REGISTRY_CHANGE_PKEY = Internal.createUniqueKey(RegistryChange.REGISTRY_CHANGE, DSL.name("registry_change_pkey"), new TableField[] { RegistryChange.REGISTRY_CHANGE.ID }, true);
     public static final UniqueKey<ScanCheckResultRecord> SCAN_CHECK_RESULT_PKEY = Internal.createUniqueKey(ScanCheckResult.SCAN_CHECK_RESULT, DSL.name("scan_check_result_pkey"), new TableField[] { ScanCheckResult.SCAN_CHECK_RESULT.ID }, true);
     public static final UniqueKey<ScanJobRecord> SCAN_JOB_PKEY = Internal.createUniqueKey(ScanJob.SCAN_JOB, DSL.name("scan_job_pkey"), new TableField[] { ScanJob.SCAN_JOB.ID }, true);
     public static final UniqueKey<ScanJobRecord> SCAN_JOB_SCAN_ID_SCANNER_TYPE_KEY = Internal.createUniqueKey(ScanJob.SCAN_JOB, DSL.name("scan_job_scan_id_scanner_type_key"), new TableField[] { ScanJob.SCAN_JOB.SCAN_ID, ScanJob.SCAN_JOB.SCANNER_TYPE }, true);
@@ -156,6 +165,8 @@ public class Keys {
     public static final ForeignKey<AdminStatisticsTopNamespaceExtensionVersionsRecord, AdminStatisticsRecord> ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSION_VERSIONS__ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSION_VERSIONS_FKEY = Internal.createForeignKey(AdminStatisticsTopNamespaceExtensionVersions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSION_VERSIONS, DSL.name("admin_statistics_top_namespace_extension_versions_fkey"), new TableField[] { AdminStatisticsTopNamespaceExtensionVersions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSION_VERSIONS.ADMIN_STATISTICS_ID }, Keys.ADMIN_STATISTICS_PKEY, new TableField[] { AdminStatistics.ADMIN_STATISTICS.ID }, true);
     public static final ForeignKey<AdminStatisticsTopNamespaceExtensionsRecord, AdminStatisticsRecord> ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS__ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS_FKEY = Internal.createForeignKey(AdminStatisticsTopNamespaceExtensions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS, DSL.name("admin_statistics_top_namespace_extensions_fkey"), new TableField[] { AdminStatisticsTopNamespaceExtensions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS.ADMIN_STATISTICS_ID }, Keys.ADMIN_STATISTICS_PKEY, new TableField[] { AdminStatistics.ADMIN_STATISTICS.ID }, true);
     public static final ForeignKey<CustomerRecord, TierRecord> CUSTOMER__CUSTOMER_TIER_ID_FK = Internal.createForeignKey(Customer.CUSTOMER, DSL.name("customer_tier_id_fk"), new TableField[] { Customer.CUSTOMER.TIER_ID }, Keys.TIER_PKEY, new TableField[] { Tier.TIER.ID }, true);
+    public static final ForeignKey<ExtensionLatestVersionRecord, ExtensionRecord> EXTENSION_LATEST_VERSION__EXTENSION_LATEST_VERSION_EXTENSION_FKEY = Internal.createForeignKey(ExtensionLatestVersion.EXTENSION_LATEST_VERSION, DSL.name("extension_latest_version_extension_fkey"), new TableField[] { ExtensionLatestVersion.EXTENSION_LATEST_VERSION.EXTENSION_ID }, Keys.EXTENSION_PKEY, new TableField[] { Extension.EXTENSION.ID }, true);
+    public static final ForeignKey<ExtensionLatestVersionRecord, ExtensionVersionRecord> EXTENSION_LATEST_VERSION__EXTENSION_LATEST_VERSION_EXTENSION_VERSION_FKEY = Internal.createForeignKey(ExtensionLatestVersion.EXTENSION_LATEST_VERSION, DSL.name("extension_latest_version_extension_version_fkey"), new TableField[] { ExtensionLatestVersion.EXTENSION_LATEST_VERSION.EXTENSION_VERSION_ID }, Keys.EXTENSION_VERSION_PKEY, new TableField[] { ExtensionVersion.EXTENSION_VERSION.ID }, true);
     public static final ForeignKey<ExtensionRecord, ExtensionRecord> EXTENSION__EXTENSION_REPLACEMENT_ID_FKEY = Internal.createForeignKey(Extension.EXTENSION, DSL.name("extension_replacement_id_fkey"), new TableField[] { Extension.EXTENSION.REPLACEMENT_ID }, Keys.EXTENSION_PKEY, new TableField[] { Extension.EXTENSION.ID }, true);
     public static final ForeignKey<ExtensionRecord, NamespaceRecord> EXTENSION__FK64IMD3NRJ67D50TPKJS94NGMN = Internal.createForeignKey(Extension.EXTENSION, DSL.name("fk64imd3nrj67d50tpkjs94ngmn"), new TableField[] { Extension.EXTENSION.NAMESPACE_ID }, Keys.NAMESPACE_PKEY, new TableField[] { Namespace.NAMESPACE.ID }, true);
     public static final ForeignKey<ExtensionReviewRecord, ExtensionRecord> EXTENSION_REVIEW__FKGD2DQDC23OGBNOBX8AFJFPNKP = Internal.createForeignKey(ExtensionReview.EXTENSION_REVIEW, DSL.name("fkgd2dqdc23ogbnobx8afjfpnkp"), new TableField[] { ExtensionReview.EXTENSION_REVIEW.EXTENSION_ID }, Keys.EXTENSION_PKEY, new TableField[] { Extension.EXTENSION.ID }, true);
@@ -15,9 +15,11 @@ import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopMostActivePublishingUse
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopMostDownloadedExtensions;
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensionVersions;
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensions;
+import org.eclipse.openvsx.jooq.tables.ChangeFeedCursor;
 import org.eclipse.openvsx.jooq.tables.Customer;
 import org.eclipse.openvsx.jooq.tables.DownloadCountProcessedItem;
 import org.eclipse.openvsx.jooq.tables.Extension;
+import org.eclipse.openvsx.jooq.tables.ExtensionLatestVersion;
 import org.eclipse.openvsx.jooq.tables.ExtensionReview;
 import org.eclipse.openvsx.jooq.tables.ExtensionScan;
 import org.eclipse.openvsx.jooq.tables.ExtensionThreat;
@@ -38,6 +40,7 @@ import org.eclipse.openvsx.jooq.tables.NamespaceMembership;
 import org.eclipse.openvsx.jooq.tables.NamespaceSocialLinks;
 import org.eclipse.openvsx.jooq.tables.PersistedLog;
 import org.eclipse.openvsx.jooq.tables.PersonalAccessToken;
+import org.eclipse.openvsx.jooq.tables.RegistryChange;
 import org.eclipse.openvsx.jooq.tables.ScanCheckResult;
 import org.eclipse.openvsx.jooq.tables.ScanJob;
 import org.eclipse.openvsx.jooq.tables.SignatureKeyPair;
@@ -109,6 +112,11 @@ public class Public extends SchemaImpl {
      */
     public final AdminStatisticsTopNamespaceExtensions ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS = AdminStatisticsTopNamespaceExtensions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS;
 
+    /**
+     * The table <code>public.change_feed_cursor</code>.
+     */
+    public final ChangeFeedCursor CHANGE_FEED_CURSOR = ChangeFeedCursor.CHANGE_FEED_CURSOR;
+
     /**
      * The table <code>public.customer</code>.
      */
@@ -124,6 +132,11 @@ public class Public extends SchemaImpl {
      */
     public final Extension EXTENSION = Extension.EXTENSION;
 
+    /**
+     * The table <code>public.extension_latest_version</code>.
+     */
+    public final ExtensionLatestVersion EXTENSION_LATEST_VERSION = ExtensionLatestVersion.EXTENSION_LATEST_VERSION;
+
     /**
      * The table <code>public.extension_review</code>.
      */
@@ -224,6 +237,11 @@ public class Public extends SchemaImpl {
      */
     public final PersonalAccessToken PERSONAL_ACCESS_TOKEN = PersonalAccessToken.PERSONAL_ACCESS_TOKEN;
 
+    /**
+     * The table <code>public.registry_change</code>.
+     */
+    public final RegistryChange REGISTRY_CHANGE = RegistryChange.REGISTRY_CHANGE;
+
     /**
      * Records all check/scan executions for audit trail
      */
@@ -298,6 +316,7 @@ public class Public extends SchemaImpl {
             Sequences.NAMESPACE_SEQ,
             Sequences.PERSISTED_LOG_SEQ,
             Sequences.PERSONAL_ACCESS_TOKEN_SEQ,
+            Sequences.REGISTRY_CHANGE_SEQ,
             Sequences.SCAN_CHECK_RESULT_SEQ,
             Sequences.SCAN_JOB_SEQ,
             Sequences.SIGNATURE_KEY_PAIR_SEQ,
@@ -318,9 +337,11 @@ public class Public extends SchemaImpl {
             AdminStatisticsTopMostDownloadedExtensions.ADMIN_STATISTICS_TOP_MOST_DOWNLOADED_EXTENSIONS,
             AdminStatisticsTopNamespaceExtensionVersions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSION_VERSIONS,
             AdminStatisticsTopNamespaceExtensions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS,
+            ChangeFeedCursor.CHANGE_FEED_CURSOR,
             Customer.CUSTOMER,
             DownloadCountProcessedItem.DOWNLOAD_COUNT_PROCESSED_ITEM,
             Extension.EXTENSION,
+            ExtensionLatestVersion.EXTENSION_LATEST_VERSION,
             ExtensionReview.EXTENSION_REVIEW,
             ExtensionScan.EXTENSION_SCAN,
             ExtensionThreat.EXTENSION_THREAT,
@@ -341,6 +362,7 @@ public class Public extends SchemaImpl {
             NamespaceSocialLinks.NAMESPACE_SOCIAL_LINKS,
             PersistedLog.PERSISTED_LOG,
             PersonalAccessToken.PERSONAL_ACCESS_TOKEN,
+            RegistryChange.REGISTRY_CHANGE,
             ScanCheckResult.SCAN_CHECK_RESULT,
             ScanJob.SCAN_JOB,
             SignatureKeyPair.SIGNATURE_KEY_PAIR,
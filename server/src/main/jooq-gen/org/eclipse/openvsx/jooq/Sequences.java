@@ -105,6 +105,11 @@ public class Sequences {
      */
     public static final Sequence<Long> PERSONAL_ACCESS_TOKEN_SEQ = Internal.createSequence("personal_access_token_seq", Public.PUBLIC, SQLDataType.BIGINT.nullable(false), null, 50, null, null, false, null);
 
+    /**
+     * The sequence <code>public.registry_change_seq</code>
+     */
+    public static final Sequence<Long> REGISTRY_CHANGE_SEQ = Internal.createSequence("registry_change_seq", Public.PUBLIC, SQLDataType.BIGINT.nullable(false), null, null, null, null, false, null);
+
     /**
      * The sequence <code>public.scan_check_result_seq</code>
      */
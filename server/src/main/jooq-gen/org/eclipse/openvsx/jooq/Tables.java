@@ -12,9 +12,11 @@ import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopMostActivePublishingUse
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopMostDownloadedExtensions;
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensionVersions;
 import org.eclipse.openvsx.jooq.tables.AdminStatisticsTopNamespaceExtensions;
+import org.eclipse.openvsx.jooq.tables.ChangeFeedCursor;
 import org.eclipse.openvsx.jooq.tables.Customer;
 import org.eclipse.openvsx.jooq.tables.DownloadCountProcessedItem;
 import org.eclipse.openvsx.jooq.tables.Extension;
+import org.eclipse.openvsx.jooq.tables.ExtensionLatestVersion;
 import org.eclipse.openvsx.jooq.tables.ExtensionReview;
 import org.eclipse.openvsx.jooq.tables.ExtensionScan;
 import org.eclipse.openvsx.jooq.tables.ExtensionThreat;
@@ -35,6 +37,7 @@ import org.eclipse.openvsx.jooq.tables.NamespaceMembership;
 import org.eclipse.openvsx.jooq.tables.NamespaceSocialLinks;
 import org.eclipse.openvsx.jooq.tables.PersistedLog;
 import org.eclipse.openvsx.jooq.tables.PersonalAccessToken;
+import org.eclipse.openvsx.jooq.tables.RegistryChange;
 import org.eclipse.openvsx.jooq.tables.ScanCheckResult;
 import org.eclipse.openvsx.jooq.tables.ScanJob;
 import org.eclipse.openvsx.jooq.tables.SignatureKeyPair;
@@ -95,6 +98,11 @@ public class Tables {
      */
     public static final AdminStatisticsTopNamespaceExtensions ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS = AdminStatisticsTopNamespaceExtensions.ADMIN_STATISTICS_TOP_NAMESPACE_EXTENSIONS;
 
+    /**
+     * The table <code>public.change_feed_cursor</code>.
+     */
+    public static final ChangeFeedCursor CHANGE_FEED_CURSOR = ChangeFeedCursor.CHANGE_FEED_CURSOR;
+
     /**
      * The table <code>public.customer</code>.
      */
@@ -110,6 +118,11 @@ public class Tables {
      */
     public static final Extension EXTENSION = Extension.EXTENSION;
 
+    /**
+     * The table <code>public.extension_latest_version</code>.
+     */
+    public static final ExtensionLatestVersion EXTENSION_LATEST_VERSION = ExtensionLatestVersion.EXTENSION_LATEST_VERSION;
+
     /**
      * The table <code>public.extension_review</code>.
      */
@@ -210,6 +223,11 @@ public class Tables {
      */
     public static final PersonalAccessToken PERSONAL_ACCESS_TOKEN = PersonalAccessToken.PERSONAL_ACCESS_TOKEN;
 
+    /**
+     * The table <code>public.registry_change</code>.
+     */
+    public static final RegistryChange REGISTRY_CHANGE = RegistryChange.REGISTRY_CHANGE;
+
     /**
      * Records all check/scan executions for audit trail
      */
@@ -87,6 +87,11 @@ public class Tier extends TableImpl<TierRecord> {
      */
     public final TableField<TierRecord, String> REFILL_STRATEGY = createField(DSL.name("refill_strategy"), SQLDataType.VARCHAR(255).nullable(false), this, "");
 
+    /**
+     * The column <code>public.tier.lease_size</code>.
+     */
+    public final TableField<TierRecord, Integer> LEASE_SIZE = createField(DSL.name("lease_size"), SQLDataType.INTEGER.nullable(false).defaultValue(DSL.field(DSL.raw("0"), SQLDataType.INTEGER)), this, "");
+
     private Tier(Name alias, Table<TierRecord> aliased) {
         this(alias, aliased, (Field<?>[]) null, null);
     }
@@ -525,6 +525,20 @@ public class ExtensionVersionRecord extends UpdatableRecordImpl<ExtensionVersion
         return (Boolean) get(35);
     }
 
+    /**
+     * Setter for <code>public.extension_version.semver_key</code>.
+     */
+    public void setSemverKey(byte[] value) {
+        set(36, value);
+    }
+
+    /**
+     * Getter for <code>public.extension_version.semver_key</code>.
+     */
+    public byte[] getSemverKey() {
+        return (byte[]) get(36);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -548,7 +562,7 @@ public class ExtensionVersionRecord extends UpdatableRecordImpl<ExtensionVersion
     /**
      * Create a detached, initialised ExtensionVersionRecord
      */
-    public ExtensionVersionRecord(Long id, String bugs, String description, String displayName, String galleryColor, String galleryTheme, String homepage, String license, String markdown, Boolean preview, String qna, String repository, LocalDateTime timestamp, String version, Long extensionId, Long publishedWithId, Boolean active, String dependencies, String bundledExtensions, String engines, String categories, String tags, String extensionKind, Boolean preRelease, String targetPlatform, String localizedLanguages, String sponsorLink, Long signatureKeyPairId, Integer semverMajor, Integer semverMinor, Integer semverPatch, String semverPreRelease, Boolean semverIsPreRelease, String semverBuildMetadata, Boolean universalTargetPlatform, Boolean potentiallyMalicious) {
+    public ExtensionVersionRecord(Long id, String bugs, String description, String displayName, String galleryColor, String galleryTheme, String homepage, String license, String markdown, Boolean preview, String qna, String repository, LocalDateTime timestamp, String version, Long extensionId, Long publishedWithId, Boolean active, String dependencies, String bundledExtensions, String engines, String categories, String tags, String extensionKind, Boolean preRelease, String targetPlatform, String localizedLanguages, String sponsorLink, Long signatureKeyPairId, Integer semverMajor, Integer semverMinor, Integer semverPatch, String semverPreRelease, Boolean semverIsPreRelease, String semverBuildMetadata, Boolean universalTargetPlatform, Boolean potentiallyMalicious, byte[] semverKey) {
         super(ExtensionVersion.EXTENSION_VERSION);
 
         setId(id);
@@ -587,6 +601,7 @@ public class ExtensionVersionRecord extends UpdatableRecordImpl<ExtensionVersion
         setSemverBuildMetadata(semverBuildMetadata);
         setUniversalTargetPlatform(universalTargetPlatform);
         setPotentiallyMalicious(potentiallyMalicious);
+        setSemverKey(semverKey);
         resetChangedOnNotNull();
     }
 }
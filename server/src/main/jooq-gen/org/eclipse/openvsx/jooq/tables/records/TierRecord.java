@@ -115,6 +115,20 @@ public class TierRecord extends UpdatableRecordImpl<TierRecord> {
         return (String) get(6);
     }
 
+    /**
+     * Setter for <code>public.tier.lease_size</code>.
+     */
+    public void setLeaseSize(Integer value) {
+        set(7, value);
+    }
+
+    /**
+     * Getter for <code>public.tier.lease_size</code>.
+     */
+    public Integer getLeaseSize() {
+        return (Integer) get(7);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -138,7 +152,7 @@ public class TierRecord extends UpdatableRecordImpl<TierRecord> {
     /**
      * Create a detached, initialised TierRecord
      */
-    public TierRecord(Long id, String name, String description, String tierType, Integer capacity, Integer duration, String refillStrategy) {
+    public TierRecord(Long id, String name, String description, String tierType, Integer capacity, Integer duration, String refillStrategy, Integer leaseSize) {
         super(Tier.TIER);
 
         setId(id);
@@ -148,6 +162,7 @@ public class TierRecord extends UpdatableRecordImpl<TierRecord> {
         setCapacity(capacity);
         setDuration(duration);
         setRefillStrategy(refillStrategy);
+        setLeaseSize(leaseSize);
         resetChangedOnNotNull();
     }
 }
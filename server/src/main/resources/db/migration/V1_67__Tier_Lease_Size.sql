@@ -0,0 +1,2 @@
+-- number of tokens a server leases from the shared rate limit bucket, 0 disables leasing
+ALTER TABLE tier ADD COLUMN IF NOT EXISTS lease_size INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,26 @@
+-- ordered log of registry changes, served to mirrors as a change feed
+CREATE TABLE IF NOT EXISTS public.registry_change (id BIGINT NOT NULL,
+                                                   timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+                                                   change_type CHARACTER VARYING(32) NOT NULL,
+                                                   namespace_name CHARACTER VARYING(255) NOT NULL,
+                                                   extension_name CHARACTER VARYING(255),
+                                                   target_platform CHARACTER VARYING(255),
+                                                   version CHARACTER VARYING(255)
+);
+
+ALTER TABLE ONLY public.registry_change
+    ADD CONSTRAINT registry_change_pkey PRIMARY KEY (id);
+
+CREATE INDEX IF NOT EXISTS registry_change_timestamp_idx ON registry_change(timestamp);
+
+-- the id is the position of the change in the feed, ids are taken one at a time in commit order
+CREATE SEQUENCE IF NOT EXISTS registry_change_seq INCREMENT 1 OWNED BY public.registry_change.id;
+
+-- position of a mirror in the change feed of its upstream registry
+CREATE TABLE IF NOT EXISTS public.change_feed_cursor (name CHARACTER VARYING(255) NOT NULL,
+                                                      position BIGINT NOT NULL,
+                                                      updated TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+ALTER TABLE ONLY public.change_feed_cursor
+    ADD CONSTRAINT change_feed_cursor_pkey PRIMARY KEY (name);
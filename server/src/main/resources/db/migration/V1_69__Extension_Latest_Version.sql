@@ -0,0 +1,38 @@
+-- latest version of each extension per target platform ('*' for any target platform),
+-- pre-release flag and active flag, maintained whenever the versions of an extension change
+CREATE TABLE IF NOT EXISTS public.extension_latest_version (extension_id BIGINT NOT NULL,
+                                                            target_platform CHARACTER VARYING(255) NOT NULL,
+                                                            pre_release BOOLEAN NOT NULL,
+                                                            active BOOLEAN NOT NULL,
+                                                            extension_version_id BIGINT NOT NULL
+);
+
+ALTER TABLE ONLY public.extension_latest_version
+    ADD CONSTRAINT extension_latest_version_pkey PRIMARY KEY (extension_id, target_platform, pre_release, active);
+
+ALTER TABLE ONLY public.extension_latest_version
+    ADD CONSTRAINT extension_latest_version_extension_fkey FOREIGN KEY (extension_id) REFERENCES public.extension(id) ON DELETE CASCADE;
+
+ALTER TABLE ONLY public.extension_latest_version
+    ADD CONSTRAINT extension_latest_version_extension_version_fkey FOREIGN KEY (extension_version_id) REFERENCES public.extension_version(id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS extension_latest_version_extension_version_id_idx ON extension_latest_version(extension_version_id);
+
+-- backfill, the order is the same as in ExtensionVersionJooqRepository.findLatestQuery
+INSERT INTO extension_latest_version(extension_id, target_platform, pre_release, active, extension_version_id)
+SELECT DISTINCT ON (ev.extension_id, k.pre_release, k.active) ev.extension_id, '*', k.pre_release, k.active, ev.id
+FROM extension_version ev
+CROSS JOIN (VALUES (FALSE, FALSE), (FALSE, TRUE), (TRUE, FALSE), (TRUE, TRUE)) AS k(pre_release, active)
+WHERE (NOT k.pre_release OR ev.pre_release) AND (NOT k.active OR ev.active)
+ORDER BY ev.extension_id, k.pre_release, k.active,
+         ev.semver_major DESC, ev.semver_minor DESC, ev.semver_patch DESC, ev.semver_is_pre_release ASC,
+         ev.universal_target_platform DESC, ev.target_platform ASC, ev.timestamp DESC;
+
+INSERT INTO extension_latest_version(extension_id, target_platform, pre_release, active, extension_version_id)
+SELECT DISTINCT ON (ev.extension_id, ev.target_platform, k.pre_release, k.active) ev.extension_id, ev.target_platform, k.pre_release, k.active, ev.id
+FROM extension_version ev
+CROSS JOIN (VALUES (FALSE, FALSE), (FALSE, TRUE), (TRUE, FALSE), (TRUE, TRUE)) AS k(pre_release, active)
+WHERE (NOT k.pre_release OR ev.pre_release) AND (NOT k.active OR ev.active)
+ORDER BY ev.extension_id, ev.target_platform, k.pre_release, k.active,
+         ev.semver_major DESC, ev.semver_minor DESC, ev.semver_patch DESC, ev.semver_is_pre_release ASC,
+         ev.timestamp DESC;
@@ -0,0 +1,56 @@
+-- add sortable semver key column, same encoding as SemanticVersion.createKey
+ALTER TABLE extension_version ADD COLUMN semver_key BYTEA;
+
+-- fill semver key column
+UPDATE extension_version SET semver_key =
+    int4send(semver_major) || int4send(semver_minor) || int4send(semver_patch) ||
+    CASE WHEN semver_is_pre_release THEN '\x00'::BYTEA ELSE '\x01'::BYTEA END;
+
+ALTER TABLE extension_version ALTER COLUMN semver_key SET NOT NULL;
+
+-- replace sorting indices
+DROP INDEX IF EXISTS extension_version_order_by_idx;
+DROP INDEX IF EXISTS extension_version_latest_order_by_idx;
+DROP INDEX IF EXISTS extension_version_version_map_order_by_idx;
+DROP INDEX IF EXISTS extension_version_version_list_order_by_idx;
+DROP INDEX IF EXISTS extension_version_by_target_platform_order_by_idx;
+
+CREATE INDEX extension_version_order_by_idx ON extension_version USING btree(
+    semver_key DESC,
+    universal_target_platform DESC,
+    target_platform ASC,
+    timestamp DESC
+);
+
+CREATE INDEX extension_version_latest_order_by_idx ON extension_version USING btree(
+    extension_id ASC,
+    semver_key DESC,
+    universal_target_platform DESC,
+    target_platform ASC,
+    timestamp DESC
+);
+
+CREATE INDEX extension_version_version_map_order_by_idx ON extension_version USING btree(
+    extension_id ASC,
+    semver_key DESC,
+    version ASC
+);
+
+CREATE INDEX extension_version_version_list_order_by_idx ON extension_version USING btree(
+    semver_key DESC,
+    version ASC
+);
+
+CREATE INDEX extension_version_by_target_platform_order_by_idx ON extension_version USING btree(
+    extension_id ASC,
+    universal_target_platform DESC,
+    target_platform ASC,
+    semver_key DESC,
+    timestamp DESC
+);
+
+CREATE INDEX extension_version_target_platform_semver_key_idx ON extension_version USING btree(
+    extension_id ASC,
+    target_platform ASC,
+    semver_key DESC
+);
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -87,6 +88,9 @@ class LocalRegistryServiceTest {
     @Mock
     SimilarityCheckService similarityCheckService;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     private LocalRegistryService registryService;
 
     @BeforeEach
@@ -104,7 +108,8 @@ class LocalRegistryServiceTest {
                 eclipse,
                 cacheService,
                 integrityService,
-                similarityCheckService
+                similarityCheckService,
+                eventPublisher
         );
 
         doNothing().when(eclipse).checkPublisherAgreement(any());
@@ -11,6 +11,7 @@ package org.eclipse.openvsx;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
 import org.apache.commons.lang3.ArrayUtils;
@@ -20,6 +21,7 @@ import org.eclipse.openvsx.adapter.VSCodeIdService;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.cache.ExtensionJsonCacheKeyGenerator;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
+import org.eclipse.openvsx.cache.LocalExtensionCacheGenerations;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.eclipse.EclipseTokenService;
 import org.eclipse.openvsx.entities.*;
@@ -38,12 +40,16 @@ import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.storage.*;
 import org.eclipse.openvsx.metrics.ExtensionDownloadMetrics;
+import org.eclipse.openvsx.storage.log.DownloadCountBuffer;
 import org.eclipse.openvsx.storage.log.DownloadCountService;
 import org.eclipse.openvsx.util.LogService;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionAlias;
 import org.eclipse.openvsx.util.VersionService;
+import org.eclipse.openvsx.web.DeepEtagService;
+import org.eclipse.openvsx.web.JsonResponseCache;
 import org.jobrunr.scheduling.JobRequestScheduler;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -53,32 +59,41 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Streamable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_EXTENSION_JSON;
 import static org.eclipse.openvsx.entities.FileResource.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
@@ -92,7 +107,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureWebClient
 @MockitoBean(types = {
     ClientRegistrationRepository.class, UpstreamRegistryService.class, GoogleCloudStorageService.class,
-    AzureBlobStorageService.class, AwsStorageService.class, VSCodeIdService.class, DownloadCountService.class, ExtensionDownloadMetrics.class,
+    AzureBlobStorageService.class, AwsStorageService.class, VSCodeIdService.class, DownloadCountService.class, DownloadCountBuffer.class, ExtensionDownloadMetrics.class,
     CacheService.class, EclipseService.class, PublishExtensionVersionService.class, SimpleMeterRegistry.class,
     JobRequestScheduler.class, ExtensionControlService.class, FileCacheDurationConfig.class, CdnServiceConfig.class,
     ExtensionScanPersistenceService.class, LogService.class, AccessTokenConfig.class, MailService.class
@@ -117,12 +132,27 @@ class RegistryAPITest {
     @MockitoBean
     ExtensionScanService extensionScanService;
 
+    @Autowired
+    UpstreamRegistryService upstream;
+
     @Autowired
     MockMvc mockMvc;
 
     @Autowired
     ExtensionService extensionService;
 
+    @Autowired
+    LocalExtensionCacheGenerations generations;
+
+    @Autowired
+    JsonResponseCache jsonResponses;
+
+    @BeforeEach
+    void clearJsonResponses() {
+        // responses are cached by their ETag, which stays the same across tests with different mocks
+        ((Cache<?, ?>) ReflectionTestUtils.getField(jsonResponses, "responses")).invalidateAll();
+    }
+
     @Test
     void testPublicNamespace() throws Exception {
         var namespace = mockNamespace();
@@ -336,6 +366,73 @@ class RegistryAPITest {
                 })));
     }
 
+    @Test
+    void testLatestExtensionVersionNotModified() throws Exception {
+        var extVersion = mockExtension();
+        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.LATEST)).thenReturn(extVersion);
+        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), null, false, true)).thenReturn(extVersion);
+
+        var etag = mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "latest"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // the conditional request is answered without querying the database
+        Mockito.clearInvocations(repositories);
+        mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "latest").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        Mockito.verifyNoInteractions(repositories);
+
+        // the ETag changes when the cached JSON of the extension is evicted
+        generations.increment(CACHE_EXTENSION_JSON, "foo", "bar");
+        mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "latest").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testUpstreamExtensionVersionNotTagged() throws Exception {
+        // the extension exists locally, but only the upstream registry has the requested version
+        Mockito.when(upstream.isValid()).thenReturn(true);
+        var json = new ExtensionJson();
+        json.setNamespace("foo");
+        json.setName("bar");
+        json.setVersion("2.0.0");
+        Mockito.when(upstream.getExtension("foo", "bar", null, "2.0.0")).thenReturn(json);
+
+        // the conditional request is not answered by the deep ETag of the local extension,
+        // the upstream response gets the strong ETag of the shallow ETag filter instead
+        var etag = mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "2.0.0").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Mockito.verify(upstream).getExtension("foo", "bar", null, "2.0.0");
+        assertThat(etag).startsWith("\"");
+    }
+
+    @Test
+    void testLatestExtensionVersionGzip() throws Exception {
+        var extVersion = mockExtension();
+        Mockito.when(repositories.findExtensionVersion("foo", "bar", null, VersionAlias.LATEST)).thenReturn(extVersion);
+        Mockito.when(repositories.findLatestVersionForAllUrls(extVersion.getExtension(), null, false, true)).thenReturn(extVersion);
+
+        var json = mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "latest"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // the compressed variant is served from the cache without looking up the extension version again
+        var gzip = mockMvc.perform(get("/api/{namespace}/{extension}/{version}", "foo", "bar", "latest").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertThat(input.readAllBytes()).isEqualTo(json);
+        }
+        Mockito.verify(repositories, Mockito.times(1)).findExtensionVersion("foo", "bar", null, VersionAlias.LATEST);
+    }
+
     @Test
     void testLatestExtensionVersionNonDefaultTarget() throws Exception {
         var extVersion = mockExtension("alpine-arm64");
@@ -2549,9 +2646,10 @@ class RegistryAPITest {
                 CacheService cache,
                 ExtensionValidator validator,
                 @Autowired(required = false) ClientRegistrationRepository clientRegistrationRepository,
-                OAuth2AttributesConfig attributesConfig
+                OAuth2AttributesConfig attributesConfig,
+                ApplicationEventPublisher eventPublisher
         ) {
-            return new UserService(entityManager, repositories, storageUtil, cache, validator, clientRegistrationRepository, attributesConfig);
+            return new UserService(entityManager, repositories, storageUtil, cache, validator, clientRegistrationRepository, attributesConfig, eventPublisher);
         }
 
         @Bean
@@ -2598,7 +2696,8 @@ class RegistryAPITest {
                 EclipseService eclipse,
                 CacheService cache,
                 ExtensionVersionIntegrityService integrityService,
-                SimilarityCheckService similarityCheckService
+                SimilarityCheckService similarityCheckService,
+                ApplicationEventPublisher eventPublisher
         ) {
             return new LocalRegistryService(
                     entityManager,
@@ -2613,7 +2712,8 @@ class RegistryAPITest {
                     eclipse,
                     cache,
                     integrityService,
-                    similarityCheckService
+                    similarityCheckService,
+                    eventPublisher
             );
         }
 
@@ -2654,7 +2754,8 @@ class RegistryAPITest {
                 PublishExtensionVersionHandler publishHandler,
                 JobRequestScheduler scheduler,
                 ExtensionScanService extensionScanService,
-                ExtensionScanPersistenceService scanPersistenceService
+                ExtensionScanPersistenceService scanPersistenceService,
+                ApplicationEventPublisher eventPublisher
         ) {
             return new ExtensionService(
                     entityManager,
@@ -2665,7 +2766,8 @@ class RegistryAPITest {
                     publishHandler,
                     scheduler,
                     extensionScanService,
-                    scanPersistenceService
+                    scanPersistenceService,
+                    eventPublisher
             );
         }
 
@@ -2683,9 +2785,7 @@ class RegistryAPITest {
                 AwsStorageService awsStorage,
                 DownloadCountService downloadCountService,
                 ExtensionDownloadMetrics downloadMetrics,
-                SearchUtilService search,
-                CacheService cache,
-                EntityManager entityManager,
+                DownloadCountBuffer downloadCountBuffer,
                 FileCacheDurationConfig fileCacheDurationConfig,
                 CdnServiceConfig cdnServiceConfig
         ) {
@@ -2697,9 +2797,7 @@ class RegistryAPITest {
                     awsStorage,
                     downloadCountService,
                     downloadMetrics,
-                    search,
-                    cache,
-                    entityManager,
+                    downloadCountBuffer,
                     fileCacheDurationConfig,
                     cdnServiceConfig
             );
@@ -2711,7 +2809,22 @@ class RegistryAPITest {
         }
 
         @Bean
-        ExtensionJsonCacheKeyGenerator extensionJsonCacheKeyGenerator() { return new ExtensionJsonCacheKeyGenerator(); }
+        LocalExtensionCacheGenerations extensionCacheGenerations() {
+            return new LocalExtensionCacheGenerations();
+        }
+
+        @Bean
+        DeepEtagService deepEtagService(LocalExtensionCacheGenerations generations) {
+            return new DeepEtagService(generations, Duration.ZERO);
+        }
+
+        @Bean
+        JsonResponseCache jsonResponseCache(ObjectMapper objectMapper) {
+            return new JsonResponseCache(objectMapper, Duration.ofMinutes(5), DataSize.ofMegabytes(1));
+        }
+
+        @Bean
+        ExtensionJsonCacheKeyGenerator extensionJsonCacheKeyGenerator() { return new ExtensionJsonCacheKeyGenerator(new LocalExtensionCacheGenerations()); }
 
         @Bean
         VersionService versionService() {
@@ -2720,7 +2833,7 @@ class RegistryAPITest {
 
         @Bean
         LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKeyGenerator() {
-            return new LatestExtensionVersionCacheKeyGenerator();
+            return new LatestExtensionVersionCacheKeyGenerator(new LocalExtensionCacheGenerations());
         }
 
         @Bean
@@ -0,0 +1,314 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.eclipse.openvsx.cache.FilesCacheKeyGenerator;
+import org.eclipse.openvsx.json.NamespaceJson;
+import org.eclipse.openvsx.storage.StorageUtilService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+class UpstreamCacheServiceTest {
+
+    private static final String URL_TEMPLATE = "https://open-vsx.org/api/{namespace}";
+    private static final Map<String, String> URI_VARIABLES = Map.of("namespace", "redhat");
+
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = Mockito.mock(RestTemplate.class);
+        Mockito.when(restTemplate.getUriTemplateHandler()).thenReturn(new DefaultUriBuilderFactory());
+    }
+
+    @Test
+    void testFreshResponseIsCached() {
+        var service = createService(Duration.ofMinutes(5));
+        Mockito.when(restTemplate.exchange(any(RequestEntity.class), eq(byte[].class)))
+                .thenReturn(ok("\"etag-1\""));
+
+        var first = service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES);
+        var second = service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES);
+
+        assertThat(first.getName()).isEqualTo("redhat");
+        assertThat(second.getName()).isEqualTo("redhat");
+        // callers modify the returned JSON, every call gets its own instance
+        assertThat(second).isNotSameAs(first);
+        Mockito.verify(restTemplate, Mockito.times(1)).exchange(any(RequestEntity.class), eq(byte[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStaleResponseIsRevalidated() {
+        var service = createService(Duration.ZERO);
+        Mockito.when(restTemplate.exchange(any(RequestEntity.class), eq(byte[].class)))
+                .thenReturn(ok("\"etag-1\""))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES);
+        var json = service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES);
+
+        assertThat(json.getName()).isEqualTo("redhat");
+        ArgumentCaptor<RequestEntity<?>> captor = ArgumentCaptor.forClass(RequestEntity.class);
+        Mockito.verify(restTemplate, Mockito.times(2)).exchange(captor.capture(), eq(byte[].class));
+        assertThat(captor.getAllValues().get(0).getHeaders().getIfNoneMatch()).isEmpty();
+        assertThat(captor.getAllValues().get(1).getHeaders().getIfNoneMatch()).containsExactly("\"etag-1\"");
+    }
+
+    @Test
+    void testStaleResponseIsServedWhenUpstreamIsUnavailable() {
+        var service = createService(Duration.ZERO);
+        Mockito.when(restTemplate.exchange(any(RequestEntity.class), eq(byte[].class)))
+                .thenReturn(ok("\"etag-1\""))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES);
+        var json = service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES);
+
+        assertThat(json.getName()).isEqualTo("redhat");
+    }
+
+    @Test
+    void testStaleResponseIsDroppedWhenNotFound() {
+        var service = createService(Duration.ZERO);
+        Mockito.when(restTemplate.exchange(any(RequestEntity.class), eq(byte[].class)))
+                .thenReturn(ok("\"etag-1\""))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null));
+
+        service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES);
+        assertThatThrownBy(() -> service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRequestHeadersArePartOfCacheKey() {
+        var service = createService(Duration.ofMinutes(5));
+        Mockito.when(restTemplate.exchange(any(RequestEntity.class), eq(byte[].class)))
+                .thenAnswer(invocation -> ok("\"etag-1\""));
+
+        var url = URI.create("https://open-vsx.org/vscode/gallery/extensionquery");
+        service.exchange(RequestEntity.post(url).accept(MediaType.APPLICATION_JSON).body("{}"), NamespaceJson.class);
+        service.exchange(RequestEntity.post(url).accept(MediaType.APPLICATION_JSON).body("{}"), NamespaceJson.class);
+        service.exchange(RequestEntity.post(url).accept(MediaType.TEXT_PLAIN).body("{}"), NamespaceJson.class);
+
+        ArgumentCaptor<RequestEntity<?>> captor = ArgumentCaptor.forClass(RequestEntity.class);
+        Mockito.verify(restTemplate, Mockito.times(2)).exchange(captor.capture(), eq(byte[].class));
+        assertThat(captor.getAllValues().get(1).getHeaders().getAccept()).containsExactly(MediaType.TEXT_PLAIN);
+    }
+
+    @Test
+    void testConcurrentMissesAreFetchedOnce() throws Exception {
+        var service = createService(Duration.ofMinutes(5));
+        Mockito.when(restTemplate.exchange(any(RequestEntity.class), eq(byte[].class))).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return ok("\"etag-1\"");
+        });
+
+        var threads = 8;
+        var barrier = new CyclicBarrier(threads);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<NamespaceJson>>();
+            for (var i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    return service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES);
+                }));
+            }
+
+            for (var future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).getName()).isEqualTo("redhat");
+            }
+        }
+
+        Mockito.verify(restTemplate, Mockito.times(1)).exchange(any(RequestEntity.class), eq(byte[].class));
+    }
+
+    @Test
+    void testWaitingRequestsFailWithError() throws Exception {
+        var service = createService(Duration.ofMinutes(5));
+        var fetching = new CountDownLatch(1);
+        Mockito.when(restTemplate.exchange(any(RequestEntity.class), eq(byte[].class))).thenAnswer(invocation -> {
+            fetching.countDown();
+            Thread.sleep(200);
+            throw new LinkageError("broken");
+        });
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = executor.submit(() -> service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES));
+            assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+            var second = executor.submit(() -> service.getForObject(URL_TEMPLATE, NamespaceJson.class, URI_VARIABLES));
+
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LinkageError.class);
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LinkageError.class);
+        }
+    }
+
+    @Test
+    void testFileIsDownloadedOnce(@TempDir Path cacheDir) throws Exception {
+        var path = cacheDir.resolve("upstream_file.png");
+        var storageUtil = Mockito.mock(StorageUtilService.class);
+        var service = createService(Duration.ofMinutes(5), path, storageUtil);
+        mockDownload(new ByteArrayInputStream("image".getBytes(StandardCharsets.UTF_8)));
+
+        service.getFile(URL_TEMPLATE, URI_VARIABLES, "icon.png");
+        service.getFile(URL_TEMPLATE, URI_VARIABLES, "icon.png");
+
+        assertThat(Files.readString(path)).isEqualTo("image");
+        try (var files = Files.list(cacheDir)) {
+            assertThat(files).containsExactly(path);
+        }
+        Mockito.verify(restTemplate, Mockito.times(1)).execute(any(URI.class), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+        Mockito.verify(storageUtil, Mockito.times(2)).getFileResponse(path);
+    }
+
+    @Test
+    void testDownloadDoesNotLockCache(@TempDir Path cacheDir) throws Exception {
+        var path = cacheDir.resolve("upstream_file.png");
+        Cache<Object, Object> fileCache = Caffeine.newBuilder().build();
+        var service = createService(Duration.ofMinutes(5), path, Mockito.mock(StorageUtilService.class), fileCache);
+        var key = "https://open-vsx.org/api/redhat";
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var body = new InputStream() {
+                private boolean checked;
+
+                @Override
+                public int read() throws IOException {
+                    if (!checked) {
+                        checked = true;
+                        // the cache entry can be updated by other threads while the file is downloaded
+                        try {
+                            executor.submit(() -> fileCache.invalidate(key)).get(5, TimeUnit.SECONDS);
+                        } catch (Exception e) {
+                            throw new IOException(e);
+                        }
+                    }
+
+                    return -1;
+                }
+            };
+            mockDownload(body);
+
+            service.getFile(URL_TEMPLATE, URI_VARIABLES, "icon.png");
+        }
+
+        assertThat(fileCache.getIfPresent(key)).isEqualTo(path);
+    }
+
+    @Test
+    void testFailedDownloadLeavesNoFile(@TempDir Path cacheDir) throws Exception {
+        var path = cacheDir.resolve("upstream_file.png");
+        var service = createService(Duration.ofMinutes(5), path, Mockito.mock(StorageUtilService.class));
+        var body = new SequenceInputStream(
+                new ByteArrayInputStream("ima".getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                }
+        );
+        mockDownload(body);
+
+        assertThatThrownBy(() -> service.getFile(URL_TEMPLATE, URI_VARIABLES, "icon.png"))
+                .isInstanceOf(UncheckedIOException.class);
+
+        try (var files = Files.list(cacheDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockDownload(InputStream body) throws IOException {
+        var response = Mockito.mock(ClientHttpResponse.class);
+        Mockito.when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.IMAGE_PNG);
+        Mockito.when(response.getHeaders()).thenReturn(headers);
+        Mockito.when(response.getBody()).thenReturn(body);
+        Mockito.when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<Path>>getArgument(3).extractData(response));
+    }
+
+    private UpstreamCacheService createService(Duration timeToLive) {
+        return createService(timeToLive, null, Mockito.mock(StorageUtilService.class));
+    }
+
+    private UpstreamCacheService createService(Duration timeToLive, Path cachedPath, StorageUtilService storageUtil) {
+        return createService(timeToLive, cachedPath, storageUtil, Caffeine.newBuilder().build());
+    }
+
+    private UpstreamCacheService createService(Duration timeToLive, Path cachedPath, StorageUtilService storageUtil, Cache<Object, Object> fileCache) {
+        var filesCacheKeyGenerator = Mockito.mock(FilesCacheKeyGenerator.class);
+        Mockito.when(filesCacheKeyGenerator.generateCachedUpstreamPath(any(), any())).thenReturn(cachedPath);
+        return new UpstreamCacheService(
+                restTemplate,
+                new ObjectMapper(),
+                fileCache,
+                filesCacheKeyGenerator,
+                storageUtil,
+                timeToLive,
+                Duration.ofHours(1),
+                DataSize.ofMegabytes(1),
+                true
+        );
+    }
+
+    private ResponseEntity<byte[]> ok(String etag) {
+        var body = "{\"name\":\"redhat\"}".getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+}
@@ -17,6 +17,7 @@ import org.eclipse.openvsx.accesstoken.AccessTokenConfig;
 import org.eclipse.openvsx.accesstoken.AccessTokenService;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
+import org.eclipse.openvsx.cache.LocalExtensionCacheGenerations;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.eclipse.EclipseTokenService;
 import org.eclipse.openvsx.entities.*;
@@ -47,6 +48,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.util.Streamable;
@@ -790,9 +792,10 @@ class UserAPITest {
                 CacheService cache,
                 ExtensionValidator validator,
                 @Autowired(required = false) ClientRegistrationRepository clientRegistrationRepository,
-                OAuth2AttributesConfig attributesConfig
+                OAuth2AttributesConfig attributesConfig,
+                ApplicationEventPublisher eventPublisher
         ) {
-            return new UserService(entityManager, repositories, storageUtil, cache, validator, clientRegistrationRepository, attributesConfig);
+            return new UserService(entityManager, repositories, storageUtil, cache, validator, clientRegistrationRepository, attributesConfig, eventPublisher);
         }
 
         @Bean
@@ -827,7 +830,7 @@ class UserAPITest {
 
         @Bean
         LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKeyGenerator() {
-            return new LatestExtensionVersionCacheKeyGenerator();
+            return new LatestExtensionVersionCacheKeyGenerator(new LocalExtensionCacheGenerations());
         }
 
         @Bean
@@ -844,7 +847,8 @@ class UserAPITest {
                 EclipseService eclipse,
                 CacheService cache,
                 ExtensionVersionIntegrityService integrityService,
-                SimilarityCheckService similarityCheckService
+                SimilarityCheckService similarityCheckService,
+                ApplicationEventPublisher eventPublisher
         ) {
             return new LocalRegistryService(
                     entityManager,
@@ -859,7 +863,8 @@ class UserAPITest {
                     eclipse,
                     cache,
                     integrityService,
-                    similarityCheckService
+                    similarityCheckService,
+                    eventPublisher
             );
         }
 
@@ -892,7 +897,8 @@ class UserAPITest {
                 PublishExtensionVersionHandler publishHandler,
                 JobRequestScheduler scheduler,
                 ExtensionScanService extensionScanService,
-                ExtensionScanPersistenceService scanPersistenceService
+                ExtensionScanPersistenceService scanPersistenceService,
+                ApplicationEventPublisher eventPublisher
         ) {
             return new ExtensionService(
                     entityManager,
@@ -903,7 +909,8 @@ class UserAPITest {
                     publishHandler,
                     scheduler,
                     extensionScanService,
-                    scanPersistenceService
+                    scanPersistenceService,
+                    eventPublisher
             );
         }
     }
@@ -19,6 +19,7 @@ import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.cache.FilesCacheKeyGenerator;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
+import org.eclipse.openvsx.cache.LocalExtensionCacheGenerations;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.eclipse.EclipseTokenService;
 import org.eclipse.openvsx.entities.*;
@@ -30,9 +31,12 @@ import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.storage.*;
 import org.eclipse.openvsx.metrics.ExtensionDownloadMetrics;
+import org.eclipse.openvsx.storage.log.DownloadCountBuffer;
 import org.eclipse.openvsx.storage.log.DownloadCountService;
+import org.eclipse.openvsx.util.ExtensionId;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionService;
+import org.eclipse.openvsx.web.DeepEtagService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -41,6 +45,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.util.Streamable;
@@ -57,6 +62,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -73,7 +79,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureWebClient
 @MockitoBean( types = {
     ClientRegistrationRepository.class, GoogleCloudStorageService.class, AzureBlobStorageService.class,
-    AwsStorageService.class, DownloadCountService.class, ExtensionDownloadMetrics.class, CacheService.class, UpstreamVSCodeService.class,
+    AwsStorageService.class, DownloadCountService.class, DownloadCountBuffer.class, ExtensionDownloadMetrics.class, CacheService.class, UpstreamVSCodeService.class,
     VSCodeIdService.class, EclipseService.class, ExtensionValidator.class, SimpleMeterRegistry.class,
     FileCacheDurationConfig.class, CdnServiceConfig.class
 })
@@ -747,6 +753,10 @@ class VSCodeAPITest {
         Mockito.when(repositories.findActiveExtension(extension.getName(), extension.getNamespace().getName()))
                 .thenReturn(extension);
 
+        var extensionIds = List.of(new ExtensionId(extension.getNamespace().getName(), extension.getName()));
+        Mockito.when(repositories.findActiveExtensionsByNamespaceAndName(extensionIds))
+                .thenReturn(List.of(extension));
+
         mockExtensionVersions(extension, targetPlatform, targetPlatform);
         return extension;
     }
@@ -1025,6 +1035,11 @@ class VSCodeAPITest {
             return new DefaultExtensionQueryRequestHandler(localVSCodeService, upstream);
         }
 
+        @Bean
+        DeepEtagService deepEtagService() {
+            return new DeepEtagService(new LocalExtensionCacheGenerations(), Duration.ZERO);
+        }
+
         @Bean
         TransactionTemplate transactionTemplate() {
             return new MockTransactionTemplate();
@@ -1081,9 +1096,10 @@ class VSCodeAPITest {
                 CacheService cache,
                 ExtensionValidator validator,
                 ClientRegistrationRepository clientRegistrationRepository,
-                OAuth2AttributesConfig attributesConfig
+                OAuth2AttributesConfig attributesConfig,
+                ApplicationEventPublisher eventPublisher
         ) {
-            return new UserService(entityManager, repositories, storageUtil, cache, validator, clientRegistrationRepository, attributesConfig);
+            return new UserService(entityManager, repositories, storageUtil, cache, validator, clientRegistrationRepository, attributesConfig, eventPublisher);
         }
 
         @Bean
@@ -1095,9 +1111,7 @@ class VSCodeAPITest {
                 AwsStorageService awsStorage,
                 DownloadCountService downloadCountService,
                 ExtensionDownloadMetrics downloadMetrics,
-                SearchUtilService search,
-                CacheService cache,
-                EntityManager entityManager,
+                DownloadCountBuffer downloadCountBuffer,
                 FileCacheDurationConfig fileCacheDurationConfig,
                 CdnServiceConfig cdnServiceConfig
         ) {
@@ -1109,9 +1123,7 @@ class VSCodeAPITest {
                     awsStorage,
                     downloadCountService,
                     downloadMetrics,
-                    search,
-                    cache,
-                    entityManager,
+                    downloadCountBuffer,
                     fileCacheDurationConfig,
                     cdnServiceConfig
             );
@@ -1129,7 +1141,7 @@ class VSCodeAPITest {
 
         @Bean
         LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKeyGenerator() {
-            return new LatestExtensionVersionCacheKeyGenerator();
+            return new LatestExtensionVersionCacheKeyGenerator(new LocalExtensionCacheGenerations());
         }
 
         @Bean
@@ -19,6 +19,7 @@ import org.eclipse.openvsx.accesstoken.AccessTokenService;
 import org.eclipse.openvsx.adapter.VSCodeIdService;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
+import org.eclipse.openvsx.cache.LocalExtensionCacheGenerations;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.eclipse.EclipseTokenService;
 import org.eclipse.openvsx.entities.*;
@@ -38,6 +39,7 @@ import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.storage.*;
 import org.eclipse.openvsx.metrics.ExtensionDownloadMetrics;
+import org.eclipse.openvsx.storage.log.DownloadCountBuffer;
 import org.eclipse.openvsx.storage.log.DownloadCountService;
 import org.eclipse.openvsx.util.LogService;
 import org.eclipse.openvsx.util.TargetPlatform;
@@ -50,6 +52,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.util.Streamable;
@@ -79,7 +82,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureWebClient
 @MockitoBean(types = {
     ClientRegistrationRepository.class, UpstreamRegistryService.class, GoogleCloudStorageService.class,
-    AzureBlobStorageService.class, AwsStorageService.class, VSCodeIdService.class, DownloadCountService.class, ExtensionDownloadMetrics.class,
+    AzureBlobStorageService.class, AwsStorageService.class, VSCodeIdService.class, DownloadCountService.class, DownloadCountBuffer.class, ExtensionDownloadMetrics.class,
     CacheService.class, PublishExtensionVersionHandler.class, SearchUtilService.class, EclipseService.class,
     SimpleMeterRegistry.class, FileCacheDurationConfig.class, MailService.class, CdnServiceConfig.class,
     ExtensionScanService.class, ExtensionScanPersistenceService.class, LogService.class, AccessTokenConfig.class
@@ -1451,9 +1454,10 @@ class AdminAPITest {
                 CacheService cache,
                 ExtensionValidator validator,
                 @Autowired(required = false) ClientRegistrationRepository clientRegistrationRepository,
-                OAuth2AttributesConfig attributesConfig
+                OAuth2AttributesConfig attributesConfig,
+                ApplicationEventPublisher eventPublisher
         ) {
-            return new UserService(entityManager, repositories, storageUtil, cache, validator, clientRegistrationRepository, attributesConfig);
+            return new UserService(entityManager, repositories, storageUtil, cache, validator, clientRegistrationRepository, attributesConfig, eventPublisher);
         }
 
         @Bean
@@ -1501,7 +1505,8 @@ class AdminAPITest {
                 JobRequestScheduler scheduler,
                 MailService mail,
                 LogService logs,
-                ExtensionScanPersistenceService scanPersistenceService
+                ExtensionScanPersistenceService scanPersistenceService,
+                ApplicationEventPublisher eventPublisher
         ) {
             return new AdminService(
                     repositories,
@@ -1517,7 +1522,8 @@ class AdminAPITest {
                     scheduler,
                     mail,
                     logs,
-                    scanPersistenceService
+                    scanPersistenceService,
+                    eventPublisher
             );
         }
 
@@ -1535,7 +1541,8 @@ class AdminAPITest {
                 EclipseService eclipse,
                 CacheService cache,
                 ExtensionVersionIntegrityService integrityService,
-                SimilarityCheckService similarityCheckService
+                SimilarityCheckService similarityCheckService,
+                ApplicationEventPublisher eventPublisher
         ) {
             return new LocalRegistryService(
                     entityManager,
@@ -1550,7 +1557,8 @@ class AdminAPITest {
                     eclipse,
                     cache,
                     integrityService,
-                    similarityCheckService
+                    similarityCheckService,
+                    eventPublisher
             );
         }
 
@@ -1583,7 +1591,8 @@ class AdminAPITest {
                 PublishExtensionVersionHandler publishHandler,
                 JobRequestScheduler scheduler,
                 ExtensionScanService extensionScanService,
-                ExtensionScanPersistenceService scanPersistenceService
+                ExtensionScanPersistenceService scanPersistenceService,
+                ApplicationEventPublisher eventPublisher
         ) {
             return new ExtensionService(
                     entityManager,
@@ -1594,7 +1603,8 @@ class AdminAPITest {
                     publishHandler,
                     scheduler,
                     extensionScanService,
-                    scanPersistenceService
+                    scanPersistenceService,
+                    eventPublisher
             );
         }
 
@@ -1612,9 +1622,7 @@ class AdminAPITest {
                 AwsStorageService awsStorage,
                 DownloadCountService downloadCountService,
                 ExtensionDownloadMetrics downloadMetrics,
-                SearchUtilService search,
-                CacheService cache,
-                EntityManager entityManager,
+                DownloadCountBuffer downloadCountBuffer,
                 FileCacheDurationConfig fileCacheDurationConfig,
                 CdnServiceConfig cdnServiceConfig
         ) {
@@ -1626,9 +1634,7 @@ class AdminAPITest {
                     awsStorage,
                     downloadCountService,
                     downloadMetrics,
-                    search,
-                    cache,
-                    entityManager,
+                    downloadCountBuffer,
                     fileCacheDurationConfig,
                     cdnServiceConfig
             );
@@ -1646,7 +1652,7 @@ class AdminAPITest {
 
         @Bean
         LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKeyGenerator() {
-            return new LatestExtensionVersionCacheKeyGenerator();
+            return new LatestExtensionVersionCacheKeyGenerator(new LocalExtensionCacheGenerations());
         }
     }
 }
\ No newline at end of file
@@ -71,6 +71,9 @@ class CacheServiceTest {
     @Autowired
     RepositoryService repositories;
 
+    @Autowired
+    ExtensionJsonCacheKeyGenerator extensionJsonCacheKey;
+
     @BeforeEach
     public void clearCaches() {
         for (var name : cache.getCacheNames()) {
@@ -86,11 +89,8 @@ class CacheServiceTest {
             var extVersion = tempFile.getResource().getExtension();
             var extension = extVersion.getExtension();
             var namespace = extension.getNamespace();
-            var cacheKey = new ExtensionJsonCacheKeyGenerator().generate(namespace.getName(), extension.getName(),
-                    extVersion.getTargetPlatform(), extVersion.getVersion());
-
             var json = registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
-            var cachedJson = cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class);
+            var cachedJson = getCachedJson(extVersion);
             assertEquals(json, cachedJson);
         }
     }
@@ -103,9 +103,6 @@ class CacheServiceTest {
             var extVersion = tempFile.getResource().getExtension();
             var extension = extVersion.getExtension();
             var namespace = extension.getNamespace();
-            var cacheKey = new ExtensionJsonCacheKeyGenerator().generate(namespace.getName(), extension.getName(),
-                    extVersion.getTargetPlatform(), extVersion.getVersion());
-
             registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
 
             var updatedUser = new UserData();
@@ -116,7 +113,7 @@ class CacheServiceTest {
             updatedUser.setAvatarUrl("https://github.com/user2/avatar");
 
             users.upsertUser(updatedUser);
-            assertNull(cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class));
+            assertNull(getCachedJson(extVersion));
 
             var json = registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
             assertEquals("user", json.getPublishedBy().getLoginName());
@@ -125,7 +122,7 @@ class CacheServiceTest {
             assertEquals("github", json.getPublishedBy().getProvider());
             assertEquals("https://github.com/user2/avatar", json.getPublishedBy().getAvatarUrl());
 
-            var cachedJson = cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class);
+            var cachedJson = getCachedJson(extVersion);
             assertEquals(json, cachedJson);
         }
     }
@@ -138,9 +135,6 @@ class CacheServiceTest {
             var extVersion = tempFile.getResource().getExtension();
             var extension = extVersion.getExtension();
             var namespace = extension.getNamespace();
-            var cacheKey = new ExtensionJsonCacheKeyGenerator().generate(namespace.getName(), extension.getName(),
-                    extVersion.getTargetPlatform(), extVersion.getVersion());
-
             var json = registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
             assertEquals(Long.valueOf(0), json.getReviewCount());
             assertNull(json.getAverageRating());
@@ -156,13 +150,13 @@ class CacheServiceTest {
             review.setTimestamp("2000-01-01T10:00Z");
 
             registry.postReview(review, namespace.getName(), extension.getName());
-            assertNull(cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class));
+            assertNull(getCachedJson(extVersion));
 
             json = registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
             assertEquals(Long.valueOf(1), json.getReviewCount());
             assertEquals(Double.valueOf(3), json.getAverageRating());
 
-            var cachedJson = cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class);
+            var cachedJson = getCachedJson(extVersion);
             assertEquals(json, cachedJson);
         }
     }
@@ -175,9 +169,6 @@ class CacheServiceTest {
             var extVersion = tempFile.getResource().getExtension();
             var extension = extVersion.getExtension();
             var namespace = extension.getNamespace();
-            var cacheKey = new ExtensionJsonCacheKeyGenerator().generate(namespace.getName(), extension.getName(),
-                    extVersion.getTargetPlatform(), extVersion.getVersion());
-
             var poster = new UserData();
             poster.setLoginName("user1");
             entityManager.persist(poster);
@@ -194,13 +185,13 @@ class CacheServiceTest {
             assertEquals(Double.valueOf(3), json.getAverageRating());
 
             registry.deleteReview(namespace.getName(), extension.getName());
-            assertNull(cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class));
+            assertNull(getCachedJson(extVersion));
 
             json = registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
             assertEquals(Long.valueOf(0), json.getReviewCount());
             assertNull(json.getAverageRating());
 
-            var cachedJson = cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class);
+            var cachedJson = getCachedJson(extVersion);
             assertEquals(json, cachedJson);
         }
     }
@@ -214,13 +205,10 @@ class CacheServiceTest {
             var extVersion = tempFile.getResource().getExtension();
             var extension = extVersion.getExtension();
             var namespace = extension.getNamespace();
-            var cacheKey = new ExtensionJsonCacheKeyGenerator().generate(namespace.getName(), extension.getName(),
-                    extVersion.getTargetPlatform(), extVersion.getVersion());
-
             registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
 
             admins.deleteExtension(namespace.getName(), extension.getName(), admin);
-            assertNull(cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class));
+            assertNull(getCachedJson(extVersion));
         }
     }
 
@@ -233,9 +221,6 @@ class CacheServiceTest {
             var extVersion = tempFile.getResource().getExtension();
             var extension = extVersion.getExtension();
             var namespace = extension.getNamespace();
-            var cacheKey = new ExtensionJsonCacheKeyGenerator().generate(namespace.getName(), extension.getName(),
-                    extVersion.getTargetPlatform(), extVersion.getVersion());
-
             var newVersion = "0.2.0";
             var oldVersion = extVersion.getVersion();
             try (var newTempFile = insertNewVersion(extension, extVersion.getPublishedWith(), newVersion)) {
@@ -245,13 +230,13 @@ class CacheServiceTest {
                 assertTrue(json.getAllVersions().containsKey(oldVersion));
 
                 admins.deleteExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), newVersion, admin);
-                assertNull(cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class));
+                assertNull(getCachedJson(extVersion));
 
                 json = registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
                 assertFalse(json.getAllVersions().containsKey(newVersion));
                 assertTrue(json.getAllVersions().containsKey(oldVersion));
 
-                var cachedJson = cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class);
+                var cachedJson = getCachedJson(extVersion);
                 assertEquals(json, cachedJson);
             }
         }
@@ -265,9 +250,6 @@ class CacheServiceTest {
             var extVersion = tempFile.getResource().getExtension();
             var extension = extVersion.getExtension();
             var namespace = extension.getNamespace();
-            var cacheKey = new ExtensionJsonCacheKeyGenerator().generate(namespace.getName(), extension.getName(),
-                    extVersion.getTargetPlatform(), extVersion.getVersion());
-
             registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
 
             var newVersion = "0.2.0";
@@ -275,7 +257,7 @@ class CacheServiceTest {
             try (var newTempFile = insertNewVersion(extension, extVersion.getPublishedWith(), newVersion)) {
                 newTempFile.getResource().getExtension().setPreRelease(true);
                 extensions.updateExtension(extension);
-                assertNull(cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class));
+                assertNull(getCachedJson(extVersion));
 
                 var json = registry.getExtension(namespace.getName(), extension.getName(), extVersion.getTargetPlatform(), oldVersion);
                 assertTrue(json.getAllVersions().containsKey(oldVersion));
@@ -283,7 +265,7 @@ class CacheServiceTest {
                 assertTrue(json.getAllVersions().containsKey("latest"));
                 assertTrue(json.getAllVersions().containsKey("pre-release"));
 
-                var cachedJson = cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class);
+                var cachedJson = getCachedJson(extVersion);
                 assertEquals(json, cachedJson);
             }
         }
@@ -322,6 +304,14 @@ class CacheServiceTest {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
+    private ExtensionJson getCachedJson(ExtensionVersion extVersion) {
+        // the cache key contains the current generation of the extension
+        var extension = extVersion.getExtension();
+        var cacheKey = extensionJsonCacheKey.generate(extension.getNamespace().getName(), extension.getName(),
+                extVersion.getTargetPlatform(), extVersion.getVersion());
+        return cache.getCache(CACHE_EXTENSION_JSON).get(cacheKey, ExtensionJson.class);
+    }
+
     private void setRequest() {
         // UrlUtil.getBaseUrl needs request
         var request = new MockHttpServletRequest();
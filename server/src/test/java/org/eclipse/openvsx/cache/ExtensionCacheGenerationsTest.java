@@ -0,0 +1,82 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import org.eclipse.openvsx.util.ExtensionId;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_EXTENSION_JSON;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_LATEST_EXTENSION_VERSION;
+import static org.mockito.ArgumentMatchers.any;
+
+class ExtensionCacheGenerationsTest {
+
+    private final LocalExtensionCacheGenerations generations = new LocalExtensionCacheGenerations();
+    private final ExtensionJsonCacheKeyGenerator keyGenerator = new ExtensionJsonCacheKeyGenerator(generations);
+
+    @Test
+    void testIncrementChangesKeysOfExtension() {
+        var key = keyGenerator.generate("redhat", "java", "universal", "1.0.0");
+        var otherKey = keyGenerator.generate("redhat", "vscode-yaml", "universal", "1.0.0");
+
+        generations.increment(CACHE_EXTENSION_JSON, "redhat", "java");
+
+        assertThat(keyGenerator.generate("redhat", "java", "universal", "1.0.0")).isNotEqualTo(key);
+        assertThat(keyGenerator.generate("redhat", "vscode-yaml", "universal", "1.0.0")).isEqualTo(otherKey);
+    }
+
+    @Test
+    void testGenerationsAreCaseInsensitive() {
+        generations.increment(CACHE_EXTENSION_JSON, "RedHat", "Java");
+
+        assertThat(generations.get(CACHE_EXTENSION_JSON, "redhat", "java")).isEqualTo(1);
+        assertThat(generations.get(CACHE_LATEST_EXTENSION_VERSION, "redhat", "java")).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRedisGenerationsAreReadWithOneRequest() {
+        var redis = Mockito.mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = Mockito.mock(ValueOperations.class);
+        Mockito.when(redis.opsForValue()).thenReturn(values);
+        Mockito.when(values.multiGet(List.of("generation:extension.json:redhat.java", "generation:extension.json:redhat.")))
+                .thenReturn(Arrays.asList("3", null));
+        var redisGenerations = new RedisExtensionCacheGenerations(redis);
+
+        var result = redisGenerations.getAll(CACHE_EXTENSION_JSON, List.of(new ExtensionId("RedHat", "Java"), new ExtensionId("redhat", "")));
+
+        assertThat(result).containsExactly(3L, 0L);
+        Mockito.verify(values, Mockito.never()).get(any());
+    }
+
+    @Test
+    void testNearGenerationsReadMissingGenerationsAtOnce() {
+        var remote = Mockito.spy(new LocalExtensionCacheGenerations());
+        remote.increment(CACHE_EXTENSION_JSON, "redhat", "vscode-yaml");
+        var nearGenerations = new NearExtensionCacheGenerations(remote, Mockito.mock(NearCacheInvalidationBus.class), Duration.ofMinutes(5), 100);
+        var java = new ExtensionId("redhat", "java");
+        var yaml = new ExtensionId("redhat", "vscode-yaml");
+        assertThat(nearGenerations.get(CACHE_EXTENSION_JSON, "redhat", "java")).isZero();
+
+        assertThat(nearGenerations.getAll(CACHE_EXTENSION_JSON, List.of(java, yaml))).containsExactly(0L, 1L);
+        Mockito.verify(remote).getAll(CACHE_EXTENSION_JSON, List.of(yaml));
+    }
+}
@@ -0,0 +1,136 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import org.eclipse.openvsx.adapter.ExtensionQueryParam;
+import org.eclipse.openvsx.adapter.ExtensionQueryParam.Criterion;
+import org.eclipse.openvsx.util.ExtensionId;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.adapter.ExtensionQueryParam.Criterion.*;
+
+class ExtensionQueryCacheKeyGeneratorTest {
+
+    private final LocalExtensionCacheGenerations generations = new LocalExtensionCacheGenerations();
+    private final ExtensionQueryCacheKeyGenerator generator = new ExtensionQueryCacheKeyGenerator(generations);
+
+    @Test
+    void testExtensionNamesIgnoreCaseAndDuplicates() {
+        var key1 = generator.generate(query(946,
+                new Criterion(FILTER_TARGET, "Microsoft.VisualStudio.Code"),
+                new Criterion(FILTER_EXTENSION_NAME, "redhat.vscode-yaml"),
+                new Criterion(FILTER_EXTENSION_NAME, "ms-python.python")
+        ), 50);
+        var key2 = generator.generate(query(946,
+                new Criterion(FILTER_TARGET, "Microsoft.VisualStudio.Code"),
+                new Criterion(FILTER_EXTENSION_NAME, "RedHat.vscode-yaml"),
+                new Criterion(FILTER_EXTENSION_NAME, "ms-python.python"),
+                new Criterion(FILTER_EXTENSION_NAME, "redhat.vscode-yaml")
+        ), 50);
+
+        assertThat(key1).isEqualTo(key2);
+    }
+
+    @Test
+    void testExtensionNamesOrder() {
+        var key1 = generator.generate(query(946,
+                new Criterion(FILTER_EXTENSION_NAME, "redhat.vscode-yaml"),
+                new Criterion(FILTER_EXTENSION_NAME, "ms-python.python")
+        ), 50);
+        var key2 = generator.generate(query(946,
+                new Criterion(FILTER_EXTENSION_NAME, "ms-python.python"),
+                new Criterion(FILTER_EXTENSION_NAME, "redhat.vscode-yaml")
+        ), 50);
+
+        assertThat(key1).isNotEqualTo(key2);
+    }
+
+    @Test
+    void testFlags() {
+        var criterion = new Criterion(FILTER_EXTENSION_NAME, "redhat.vscode-yaml");
+        assertThat(generator.generate(query(946, criterion), 50))
+                .isNotEqualTo(generator.generate(query(914, criterion), 50));
+    }
+
+    @Test
+    void testExtensionIdsAreCaseSensitive() {
+        assertThat(generator.generate(query(946, new Criterion(FILTER_EXTENSION_ID, "abc")), 50))
+                .isNotEqualTo(generator.generate(query(946, new Criterion(FILTER_EXTENSION_ID, "ABC")), 50));
+    }
+
+    @Test
+    void testExtensionNamesGenerations() {
+        var query = query(946,
+                new Criterion(FILTER_EXTENSION_NAME, "redhat.vscode-yaml"),
+                new Criterion(FILTER_EXTENSION_NAME, "ms-python.python")
+        );
+        var key1 = generator.generate(query, 50);
+
+        generations.increment(CacheService.CACHE_EXTENSION_QUERY, "ms-python", "python");
+        var key2 = generator.generate(query, 50);
+        assertThat(key2).isNotEqualTo(key1);
+
+        // the generation of the whole namespace has an empty extension name
+        generations.increment(CacheService.CACHE_EXTENSION_QUERY, "RedHat", "");
+        var key3 = generator.generate(query, 50);
+        assertThat(key3).isNotEqualTo(key2);
+
+        generations.increment(CacheService.CACHE_EXTENSION_QUERY, "other", "extension");
+        assertThat(generator.generate(query, 50)).isEqualTo(key3);
+    }
+
+    @Test
+    void testGenerationsAreReadAtOnce() {
+        var spiedGenerations = Mockito.spy(generations);
+        var spiedGenerator = new ExtensionQueryCacheKeyGenerator(spiedGenerations);
+
+        spiedGenerator.generate(query(946,
+                new Criterion(FILTER_EXTENSION_NAME, "redhat.vscode-yaml"),
+                new Criterion(FILTER_EXTENSION_NAME, "redhat.java"),
+                new Criterion(FILTER_EXTENSION_NAME, "ms-python.python")
+        ), 50);
+
+        Mockito.verify(spiedGenerations).getAll(CacheService.CACHE_EXTENSION_QUERY, List.of(
+                new ExtensionId("redhat", "vscode-yaml"),
+                new ExtensionId("redhat", "java"),
+                new ExtensionId("ms-python", "python"),
+                new ExtensionId("redhat", ""),
+                new ExtensionId("ms-python", "")
+        ));
+    }
+
+    @Test
+    void testSearchIgnoresGenerations() {
+        var query = query(946, new Criterion(FILTER_SEARCH_TEXT, "yaml"));
+        var key = generator.generate(query, 50);
+
+        generations.increment(CacheService.CACHE_EXTENSION_QUERY, "redhat", "vscode-yaml");
+        assertThat(generator.generate(query, 50)).isEqualTo(key);
+    }
+
+    @Test
+    void testNoFilters() {
+        assertThat(generator.generate(new ExtensionQueryParam(null, 0), 50))
+                .isEqualTo(generator.generate(new ExtensionQueryParam(List.of(), 0), 50))
+                .isNotEqualTo(generator.generate(new ExtensionQueryParam(null, 0), 100));
+    }
+
+    private ExtensionQueryParam query(int flags, Criterion... criteria) {
+        var filter = new ExtensionQueryParam.Filter(List.of(criteria), 1, 50, 0, 0);
+        return new ExtensionQueryParam(List.of(filter), flags);
+    }
+}
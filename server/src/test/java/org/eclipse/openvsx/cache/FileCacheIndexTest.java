@@ -0,0 +1,114 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.cache.CacheService.CACHE_EXTENSION_FILES;
+
+class FileCacheIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private Cache<Object, Object> extensionCache;
+    private SimpleMeterRegistry registry;
+    private FileCacheIndex index;
+
+    @BeforeEach
+    void setup() {
+        extensionCache = createCache();
+        registry = new SimpleMeterRegistry();
+        index = createIndex(extensionCache);
+    }
+
+    @Test
+    void testRestoreAfterRestart() throws IOException {
+        var path = cacheFile("ce_1.tmp", 10);
+        extensionCache.put("ns|ext|universal|1.0.0|ns.ext-1.0.0.vsix", path);
+        index.persist(CACHE_EXTENSION_FILES);
+
+        var restartedCache = createCache();
+        createIndex(restartedCache).restore(CACHE_EXTENSION_FILES);
+
+        assertThat(restartedCache.getIfPresent("ns|ext|universal|1.0.0|ns.ext-1.0.0.vsix")).isEqualTo(path);
+        assertThat(path).exists();
+    }
+
+    @Test
+    void testDeleteOrphanedFiles() throws IOException {
+        var orphan = cacheFile("ce_2.tmp", 10);
+        Files.setLastModifiedTime(orphan, FileTime.from(Instant.now().minusSeconds(60)));
+        var otherFile = cacheFile("other.tmp", 10);
+        Files.setLastModifiedTime(otherFile, FileTime.from(Instant.now().minusSeconds(60)));
+
+        index.restore(CACHE_EXTENSION_FILES);
+
+        assertThat(extensionCache.estimatedSize()).isZero();
+        assertThat(orphan).doesNotExist();
+        assertThat(otherFile).exists();
+    }
+
+    @Test
+    void testDiskBudget() throws IOException {
+        var cache = new CacheConfig().extensionCache(Duration.ofHours(1), 20, DataSize.ofBytes(100));
+        cache.put("a", cacheFile("ce_a.tmp", 60));
+        cache.put("b", cacheFile("ce_b.tmp", 60));
+        cache.cleanUp();
+
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+        assertThat(FileCacheIndex.getSizeInBytes(cache)).isEqualTo(60);
+    }
+
+    @Test
+    void testMetrics() throws IOException {
+        extensionCache.get("a", key -> directory.resolve("ce_a.tmp"));
+        extensionCache.get("a", key -> directory.resolve("ce_a.tmp"));
+        Files.write(directory.resolve("ce_a.tmp"), new byte[25]);
+
+        assertThat(registry.get("openvsx_file_cache_hits_total").tag("cache", CACHE_EXTENSION_FILES).functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("openvsx_file_cache_misses_total").tag("cache", CACHE_EXTENSION_FILES).functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("openvsx_file_cache_bytes").tag("cache", CACHE_EXTENSION_FILES).gauge().value()).isEqualTo(25);
+    }
+
+    private Cache<Object, Object> createCache() {
+        return new CacheConfig().extensionCache(Duration.ofHours(1), 20, DataSize.ofBytes(0));
+    }
+
+    private FileCacheIndex createIndex(Cache<Object, Object> cache) {
+        var keyGenerator = new FilesCacheKeyGenerator() {
+            @Override
+            public Path getCacheDirectory() {
+                return directory;
+            }
+        };
+        return new FileCacheIndex(cache, createCache(), createCache(), keyGenerator, registry);
+    }
+
+    private Path cacheFile(String name, int size) throws IOException {
+        return Files.write(directory.resolve(name), new byte[size]);
+    }
+}
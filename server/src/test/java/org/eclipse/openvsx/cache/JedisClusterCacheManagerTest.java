@@ -0,0 +1,60 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import redis.clients.jedis.JedisCluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+
+class JedisClusterCacheManagerTest {
+
+    private JedisCluster cluster;
+    private JedisClusterCacheManager<String, String> cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cluster = Mockito.mock(JedisCluster.class);
+        cacheManager = new JedisClusterCacheManager<>(cluster, "filter-config", String.class);
+    }
+
+    @Test
+    void testGetValueFromOwnKey() {
+        Mockito.when(cluster.get("filter-config:\"filter1\"")).thenReturn("\"config1\"");
+
+        assertThat(cacheManager.getValue("filter1")).isEqualTo("config1");
+        assertThat(cacheManager.getValue("filter2")).isNull();
+    }
+
+    @Test
+    void testSetNewValue() {
+        Mockito.when(cluster.eval(anyString(), eq(1), any(String[].class))).thenReturn(1L);
+
+        cacheManager.setValue("filter1", "config1");
+
+        Mockito.verify(cluster).eval(anyString(), eq(1), eq("filter-config:\"filter1\""), eq("\"config1\""));
+        Mockito.verify(cluster, Mockito.never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    void testSetChangedValuePublishesUpdate() {
+        Mockito.when(cluster.eval(anyString(), eq(1), any(String[].class))).thenReturn("\"config1\"");
+
+        cacheManager.setValue("filter1", "config2");
+
+        Mockito.verify(cluster).publish(eq("filter-config:update"), contains("config2"));
+    }
+}
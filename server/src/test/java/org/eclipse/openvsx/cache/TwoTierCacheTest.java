@@ -0,0 +1,166 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.endsWith;
+
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache remote;
+    private StringRedisTemplate redis;
+    private NearCacheInvalidationBus bus;
+    private SimpleMeterRegistry registry;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("extension.json");
+        redis = Mockito.mock(StringRedisTemplate.class);
+        bus = new NearCacheInvalidationBus(Mockito.mock(RedisMessageListenerContainer.class), redis);
+        registry = new SimpleMeterRegistry();
+        cache = new TwoTierCache(remote, Caffeine.newBuilder(), bus, registry);
+    }
+
+    @Test
+    void testReadThroughBothTiers() {
+        remote.put("redhat.java", "json");
+
+        assertThat(cache.get("redhat.java", String.class)).isEqualTo("json");
+        remote.evict("redhat.java");
+        assertThat(cache.get("redhat.java", String.class)).isEqualTo("json");
+        assertThat(cache.get("redhat.yaml")).isNull();
+
+        assertThat(requests("l1", "hit")).isEqualTo(1);
+        assertThat(requests("l1", "miss")).isEqualTo(2);
+        assertThat(requests("l2", "hit")).isEqualTo(1);
+        assertThat(requests("l2", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictPublishesInvalidation() {
+        cache.put("redhat.java", "json");
+
+        cache.evict("redhat.java");
+
+        assertThat(remote.get("redhat.java")).isNull();
+        assertThat(cache.get("redhat.java")).isNull();
+        Mockito.verify(redis).convertAndSend(eq(NearCacheInvalidationBus.CHANNEL), endsWith("\nextension.json\nredhat.java"));
+    }
+
+    @Test
+    void testInvalidationFromOtherInstance() {
+        cache.put("redhat.java", "json");
+        cache.put("redhat.yaml", "json");
+        remote.clear();
+
+        bus.onMessage(message("other-instance\nextension.json\nredhat.java"), null);
+        assertThat(cache.get("redhat.java")).isNull();
+        assertThat(cache.get("redhat.yaml")).isNotNull();
+
+        bus.onMessage(message("other-instance\nextension.json"), null);
+        assertThat(cache.get("redhat.yaml")).isNull();
+    }
+
+    @Test
+    void testEvictInvalidatesRemoteBeforePublishing() {
+        cache.put("redhat.java", "json");
+        Mockito.when(redis.convertAndSend(eq(NearCacheInvalidationBus.CHANNEL), anyString())).thenAnswer(invocation -> {
+            // other instances reload their L1 from L2 as soon as they receive the message
+            assertThat(remote.get("redhat.java")).isNull();
+            return 1L;
+        });
+
+        cache.evict("redhat.java");
+        cache.clear();
+
+        Mockito.verify(redis, Mockito.times(2)).convertAndSend(eq(NearCacheInvalidationBus.CHANNEL), anyString());
+    }
+
+    @Test
+    void testConcurrentMissesLoadOnce() throws Exception {
+        var loads = new AtomicInteger();
+        var threads = 8;
+        var barrier = new CyclicBarrier(threads);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<String>>();
+            for (var i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    return cache.get("redhat.java", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "json";
+                    });
+                }));
+            }
+
+            for (var future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("json");
+            }
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(remote.get("redhat.java", String.class)).isEqualTo("json");
+    }
+
+    @Test
+    void testEvictDuringLoadIsNotOverwritten() throws Exception {
+        var loading = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var load = executor.submit(() -> cache.get("redhat.java", () -> {
+                loading.countDown();
+                Thread.sleep(200);
+                return "stale";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            cache.evict("redhat.java");
+            assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        }
+
+        assertThat(remote.get("redhat.java")).isNull();
+        remote.put("redhat.java", "fresh");
+        assertThat(cache.get("redhat.java", String.class)).isEqualTo("fresh");
+    }
+
+    private double requests(String tier, String result) {
+        return registry.get(TwoTierCache.REQUESTS_METRIC).tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    private DefaultMessage message(String body) {
+        var channel = NearCacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8);
+        return new DefaultMessage(channel, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
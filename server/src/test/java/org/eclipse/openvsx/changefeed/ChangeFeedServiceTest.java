@@ -0,0 +1,137 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.changefeed;
+
+import org.eclipse.openvsx.MockTransactionTemplate;
+import org.eclipse.openvsx.json.RegistryChangeJson;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.jobrunr.scheduling.JobRequestScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+class ChangeFeedServiceTest {
+
+    private RepositoryService repositories;
+    private ChangeFeedService changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        repositories = Mockito.mock(RepositoryService.class);
+        changeFeed = new ChangeFeedService(repositories, Mockito.mock(JobRequestScheduler.class), new MockTransactionTemplate(), Duration.ofDays(30), Duration.ofHours(1));
+    }
+
+    @Test
+    void testChangesAfterPosition() {
+        Mockito.when(repositories.findFirstRegistryChangeId()).thenReturn(1L);
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(12L);
+        Mockito.when(repositories.findRegistryChanges(10L, 100)).thenReturn(List.of(
+                change(11, ChangeType.VERSION_PUBLISHED),
+                change(12, ChangeType.REVIEWS_UPDATED)
+        ));
+
+        var json = changeFeed.getChanges(10, 100);
+
+        assertThat(json.reset()).isFalse();
+        assertThat(json.head()).isEqualTo(12);
+        assertThat(json.next()).isEqualTo(12);
+        assertThat(json.changes()).extracting(RegistryChangeJson::type).containsExactly("VERSION_PUBLISHED", "REVIEWS_UPDATED");
+    }
+
+    @Test
+    void testNoChangesAfterHead() {
+        Mockito.when(repositories.findFirstRegistryChangeId()).thenReturn(1L);
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(12L);
+        Mockito.when(repositories.findRegistryChanges(12L, 100)).thenReturn(List.of());
+
+        var json = changeFeed.getChanges(12, 100);
+
+        assertThat(json.reset()).isFalse();
+        assertThat(json.changes()).isEmpty();
+        assertThat(json.next()).isEqualTo(12);
+    }
+
+    @Test
+    void testResetWhenChangesArePruned() {
+        Mockito.when(repositories.findFirstRegistryChangeId()).thenReturn(50L);
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(60L);
+        Mockito.when(repositories.findRegistryChanges(anyLong(), anyInt())).thenReturn(List.of(change(50, ChangeType.VERSION_DELETED)));
+
+        var json = changeFeed.getChanges(10, 100);
+
+        assertThat(json.reset()).isTrue();
+        assertThat(json.changes()).isEmpty();
+        assertThat(json.next()).isEqualTo(60);
+    }
+
+    @Test
+    void testResetWhenPositionIsAheadOfFeed() {
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(null);
+        Mockito.when(repositories.findRegistryChanges(anyLong(), anyInt())).thenReturn(List.of());
+
+        var json = changeFeed.getChanges(5, 100);
+
+        assertThat(json.reset()).isTrue();
+        assertThat(json.head()).isZero();
+    }
+
+    @Test
+    void testPageSizeIsLimited() {
+        changeFeed.getChanges(0, 100_000);
+        Mockito.verify(repositories).findRegistryChanges(0L, ChangeFeedService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void testDownloadChangesAreThrottled() {
+        changeFeed.onRegistryChange(new RegistryChangeEvent(ChangeType.DOWNLOADS_UPDATED, "redhat", "java", null, null));
+        changeFeed.onRegistryChange(new RegistryChangeEvent(ChangeType.DOWNLOADS_UPDATED, "redhat", "java", null, null));
+        changeFeed.onRegistryChange(new RegistryChangeEvent(ChangeType.DOWNLOADS_UPDATED, "redhat", "vscode-yaml", null, null));
+        changeFeed.onRegistryChange(new RegistryChangeEvent(ChangeType.REVIEWS_UPDATED, "redhat", "java", null, null));
+        changeFeed.onRegistryChange(new RegistryChangeEvent(ChangeType.REVIEWS_UPDATED, "redhat", "java", null, null));
+
+        Mockito.verify(repositories, Mockito.times(2)).insertRegistryChange(eq(ChangeType.DOWNLOADS_UPDATED), eq("redhat"), any(), any(), any());
+        Mockito.verify(repositories, Mockito.times(2)).insertRegistryChange(eq(ChangeType.REVIEWS_UPDATED), eq("redhat"), eq("java"), any(), any());
+    }
+
+    @Test
+    void testDownloadChangesAreThrottledAfterCommit() {
+        var event = new RegistryChangeEvent(ChangeType.DOWNLOADS_UPDATED, "redhat", "java", null, null);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            changeFeed.onRegistryChange(event);
+            // the first transaction has not committed yet, e.g. it is rolled back
+            changeFeed.onRegistryChange(event);
+            changeFeed.onRegistryChangeCommitted(event);
+            changeFeed.onRegistryChange(event);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        Mockito.verify(repositories, Mockito.times(2)).insertRegistryChange(eq(ChangeType.DOWNLOADS_UPDATED), eq("redhat"), eq("java"), any(), any());
+    }
+
+    private RegistryChange change(long id, ChangeType type) {
+        return new RegistryChange(id, LocalDateTime.of(2026, 1, 1, 0, 0), type, "redhat", "java", "universal", "1.0.0");
+    }
+}
@@ -19,6 +19,7 @@ import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.adapter.VSCodeIdService;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
+import org.eclipse.openvsx.cache.LocalExtensionCacheGenerations;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.publish.PublishExtensionVersionHandler;
 import org.eclipse.openvsx.repositories.RepositoryService;
@@ -27,6 +28,7 @@ import org.eclipse.openvsx.scanning.ExtensionScanService;
 import org.eclipse.openvsx.search.SearchUtilService;
 import org.eclipse.openvsx.storage.*;
 import org.eclipse.openvsx.metrics.ExtensionDownloadMetrics;
+import org.eclipse.openvsx.storage.log.DownloadCountBuffer;
 import org.eclipse.openvsx.storage.log.DownloadCountService;
 import org.eclipse.openvsx.util.ErrorResultException;
 import org.eclipse.openvsx.util.LogService;
@@ -38,6 +40,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.util.Streamable;
 import org.springframework.http.*;
@@ -61,7 +64,7 @@ import static org.mockito.ArgumentMatchers.eq;
 @ExtendWith(SpringExtension.class)
 @MockitoBean(types = {
     EntityManager.class, SearchUtilService.class, GoogleCloudStorageService.class, AzureBlobStorageService.class,
-    AwsStorageService.class, VSCodeIdService.class, DownloadCountService.class, ExtensionDownloadMetrics.class, CacheService.class,
+    AwsStorageService.class, VSCodeIdService.class, DownloadCountService.class, DownloadCountBuffer.class, ExtensionDownloadMetrics.class, CacheService.class,
     UserService.class, PublishExtensionVersionHandler.class, SimpleMeterRegistry.class, FileCacheDurationConfig.class,
     JobRequestScheduler.class, CdnServiceConfig.class, ExtensionScanService.class, ExtensionScanPersistenceService.class,
     LogService.class
@@ -417,7 +420,8 @@ class EclipseServiceTest {
                 PublishExtensionVersionHandler publishHandler,
                 JobRequestScheduler scheduler,
                 ExtensionScanService extensionScanService,
-                ExtensionScanPersistenceService scanPersistenceService
+                ExtensionScanPersistenceService scanPersistenceService,
+                ApplicationEventPublisher eventPublisher
         ) {
             return new ExtensionService(
                     entityManager,
@@ -428,7 +432,8 @@ class EclipseServiceTest {
                     publishHandler,
                     scheduler,
                     extensionScanService,
-                    scanPersistenceService
+                    scanPersistenceService,
+                    eventPublisher
             );
         }
 
@@ -446,9 +451,7 @@ class EclipseServiceTest {
                 AwsStorageService awsStorage,
                 DownloadCountService downloadCountService,
                 ExtensionDownloadMetrics downloadMetrics,
-                SearchUtilService search,
-                CacheService cache,
-                EntityManager entityManager,
+                DownloadCountBuffer downloadCountBuffer,
                 FileCacheDurationConfig fileCacheDurationConfig,
                 CdnServiceConfig cdnServiceConfig
         ) {
@@ -460,9 +463,7 @@ class EclipseServiceTest {
                     awsStorage,
                     downloadCountService,
                     downloadMetrics,
-                    search,
-                    cache,
-                    entityManager,
+                    downloadCountBuffer,
                     fileCacheDurationConfig,
                     cdnServiceConfig
             );
@@ -475,7 +476,7 @@ class EclipseServiceTest {
 
         @Bean
         LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKeyGenerator() {
-            return new LatestExtensionVersionCacheKeyGenerator();
+            return new LatestExtensionVersionCacheKeyGenerator(new LocalExtensionCacheGenerations());
         }
     }
 }
\ No newline at end of file
@@ -11,6 +11,11 @@ package org.eclipse.openvsx.entities;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,4 +58,57 @@ class SemanticVersionTest {
         assertThat(SemanticVersion.parse("1.2.3").compareTo(SemanticVersion.parse("1.2.3-next.bc11e2c5")))
                 .isEqualTo(-1);
     }
+
+    @Test
+    void testKey() {
+        assertArrayEquals(
+                new byte[] { 0, 0, 0, 1, 0, 0, 0, 2, 0, 0, 1, 0, 0 },
+                SemanticVersion.parse("1.2.256-rc1+armhf").getKey()
+        );
+        assertArrayEquals(
+                new byte[] { 0, 0, 0, 1, 0, 0, 0, 2, 0, 0, 1, 0, 1 },
+                SemanticVersion.parse("1.2.256").getKey()
+        );
+    }
+
+    @Test
+    void testKeyOrderMatchesCompare() {
+        var versions = versionCorpus().stream().map(SemanticVersion::parse).toList();
+        for (var semver1 : versions) {
+            for (var semver2 : versions) {
+                var expected = Integer.signum(semver1.compareTo(semver2));
+                var actual = Integer.signum(Arrays.compareUnsigned(semver2.getKey(), semver1.getKey()));
+                if (expected != actual) {
+                    fail(toString(semver1) + " and " + toString(semver2) + " are not ordered by their keys");
+                }
+            }
+        }
+    }
+
+    private String toString(SemanticVersion semver) {
+        return semver.getMajor() + "." + semver.getMinor() + "." + semver.getPatch() + "-" + semver.getPreRelease();
+    }
+
+    private List<String> versionCorpus() {
+        var numbers = List.of(0, 1, 2, 9, 10, 11, 127, 128, 255, 256, 1000, 65535, 65536, 2023101212, Integer.MAX_VALUE);
+        var preReleases = List.of("", "-0", "-1", "-alpha", "-alpha.1", "-beta.11", "-next.bc11e2c5", "-rc1");
+        var buildMetadata = List.of("", "+armhf", "+20240101");
+
+        var versions = new ArrayList<String>();
+        var random = new Random(42);
+        for (var i = 0; i < 1500; i++) {
+            var version = numbers.get(random.nextInt(numbers.size())) + "."
+                    + numbers.get(random.nextInt(numbers.size())) + "."
+                    + numbers.get(random.nextInt(numbers.size()))
+                    + preReleases.get(random.nextInt(preReleases.size()))
+                    + buildMetadata.get(random.nextInt(buildMetadata.size()));
+            versions.add(version);
+        }
+        for (var number : numbers) {
+            versions.add(number + ".0.0");
+            versions.add("1." + number + ".0-alpha");
+            versions.add("1.1." + number);
+        }
+        return versions;
+    }
 }
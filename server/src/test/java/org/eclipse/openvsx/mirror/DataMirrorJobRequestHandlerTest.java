@@ -0,0 +1,200 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.mirror;
+
+import org.eclipse.openvsx.UrlConfigService;
+import org.eclipse.openvsx.admin.AdminService;
+import org.eclipse.openvsx.entities.UserData;
+import org.eclipse.openvsx.json.ChangeFeedJson;
+import org.eclipse.openvsx.json.RegistryChangeJson;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.jobrunr.jobs.context.JobContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class DataMirrorJobRequestHandlerTest {
+
+    private DataMirrorService data;
+    private RepositoryService repositories;
+    private RestTemplate backgroundRestTemplate;
+    private AdminService admin;
+    private MirrorExtensionService mirrorExtensionService;
+    private DataMirrorJobRequestHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        data = Mockito.mock(DataMirrorService.class);
+        repositories = Mockito.mock(RepositoryService.class);
+        backgroundRestTemplate = Mockito.mock(RestTemplate.class);
+        admin = Mockito.mock(AdminService.class);
+        mirrorExtensionService = Mockito.mock(MirrorExtensionService.class);
+        var urlConfigService = Mockito.mock(UrlConfigService.class);
+        Mockito.when(urlConfigService.getMirrorServerUrl()).thenReturn("https://open-vsx.org");
+        Mockito.when(data.createMirrorUser()).thenReturn(new UserData());
+        Mockito.when(data.match(anyString(), anyString())).thenReturn(true);
+
+        handler = Mockito.spy(new DataMirrorJobRequestHandler(
+                Optional.of(data),
+                repositories,
+                backgroundRestTemplate,
+                urlConfigService,
+                admin,
+                mirrorExtensionService
+        ));
+        Mockito.doReturn(Mockito.mock(JobContext.class, Mockito.RETURNS_DEEP_STUBS)).when(handler).jobContext();
+    }
+
+    @Test
+    void testEmptySitemapDoesNotDeleteExtensions() throws Exception {
+        Mockito.when(backgroundRestTemplate.getForObject(any(URI.class), eq(ChangeFeedJson.class)))
+                .thenReturn(new ChangeFeedJson(List.of(), 0, 42, false, "2026-01-01T12:00:00Z"));
+        mockSitemap("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9"></sitemapindex>
+                """);
+
+        handler.run(new DataMirrorJobRequest());
+
+        Mockito.verify(repositories, Mockito.never()).findAllNotMatchingByExtensionId(anyList());
+        Mockito.verify(admin, Mockito.never()).deleteExtension(anyString(), anyString(), any());
+        Mockito.verify(repositories, Mockito.never()).saveChangeFeedCursor(anyString(), Mockito.anyLong());
+    }
+
+    @Test
+    void testFailingChangeIsSkippedAfterMaxAttempts() throws Exception {
+        var cursors = mockChangeFeedCursors();
+        cursors.put("mirror", 0L);
+        handler.changeFeedSettleTime = Duration.ZERO;
+        handler.changeFeedMaxAttempts = 2;
+        Mockito.when(backgroundRestTemplate.getForObject(any(URI.class), eq(ChangeFeedJson.class)))
+                .thenReturn(new ChangeFeedJson(List.of(
+                        new RegistryChangeJson(1, "2026-01-01T11:00:00Z", "VERSION_PUBLISHED", "a", "a", "universal", "1.0.0"),
+                        new RegistryChangeJson(2, "2026-01-01T11:00:00Z", "VERSION_PUBLISHED", "b", "b", "universal", "1.0.0")
+                ), 2, 2, false, "2026-01-01T12:00:00Z"));
+        Mockito.doThrow(new RuntimeException("upstream error"))
+                .when(mirrorExtensionService).mirrorExtension(eq("a"), eq("a"), any(), any(), any());
+        mockSitemap("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9"></sitemapindex>
+                """);
+
+        // the failing change holds the cursor, later changes are applied anyway
+        handler.run(new DataMirrorJobRequest());
+        Mockito.verify(mirrorExtensionService).mirrorExtension(eq("b"), eq("b"), any(), any(), any());
+        assertThat(cursors).containsEntry("mirror", 0L).doesNotContainKey("mirror-skipped");
+        Mockito.verify(backgroundRestTemplate, Mockito.never()).exchange(any(RequestEntity.class), eq(byte[].class));
+
+        // the last attempt skips the change and leaves it to a full crawl
+        handler.run(new DataMirrorJobRequest());
+        Mockito.verify(mirrorExtensionService, Mockito.times(2)).mirrorExtension(eq("a"), eq("a"), any(), any(), any());
+        Mockito.verify(mirrorExtensionService, Mockito.times(2)).mirrorExtension(eq("b"), eq("b"), any(), any(), any());
+        assertThat(cursors).containsEntry("mirror", 2L).containsEntry("mirror-skipped", 1L);
+        Mockito.verify(backgroundRestTemplate).exchange(any(RequestEntity.class), eq(byte[].class));
+    }
+
+    @Test
+    void testSitemapIndexShardsAreMirrored() throws Exception {
+        mockSitemap("https://open-vsx.org/sitemap-index.xml", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+                    <sitemap><loc>https://open-vsx.org/sitemap-0.xml.gz</loc></sitemap>
+                    <sitemap><loc>https://open-vsx.org/sitemap-1.xml.gz</loc></sitemap>
+                </sitemapindex>
+                """.getBytes(StandardCharsets.UTF_8));
+        mockSitemap("https://open-vsx.org/sitemap-0.xml.gz", gzip(urlset(List.of("redhat/java"))));
+        mockSitemap("https://open-vsx.org/sitemap-1.xml.gz", gzip(urlset(List.of("vscjava/vscode-maven"))));
+
+        handler.run(new DataMirrorJobRequest());
+
+        Mockito.verify(repositories).findAllNotMatchingByExtensionId(List.of("redhat.java", "vscjava.vscode-maven"));
+        Mockito.verify(backgroundRestTemplate, Mockito.never())
+                .exchange(Mockito.argThat((RequestEntity<?> request) -> request.getUrl().getPath().equals("/sitemap.xml")), eq(byte[].class));
+    }
+
+    @Test
+    void testTruncatedSitemapDoesNotDeleteExtensions() throws Exception {
+        // the upstream registry has no sitemap index and more extensions than its flat sitemap can list
+        Mockito.when(data.match(anyString(), anyString())).thenReturn(false);
+        Mockito.when(backgroundRestTemplate.exchange(any(RequestEntity.class), eq(byte[].class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+        var extensions = IntStream.range(0, 50_000).mapToObj(i -> "namespace/extension-" + i).toList();
+        mockSitemap("https://open-vsx.org/sitemap.xml", urlset(extensions));
+
+        handler.run(new DataMirrorJobRequest());
+
+        Mockito.verify(repositories, Mockito.never()).findAllNotMatchingByExtensionId(anyList());
+        Mockito.verify(admin, Mockito.never()).deleteExtension(anyString(), anyString(), any());
+    }
+
+    private Map<String, Long> mockChangeFeedCursors() {
+        var cursors = new HashMap<String, Long>();
+        Mockito.when(repositories.findChangeFeedCursor(anyString()))
+                .thenAnswer(invocation -> cursors.get(invocation.<String>getArgument(0)));
+        Mockito.doAnswer(invocation -> cursors.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(repositories).saveChangeFeedCursor(anyString(), Mockito.anyLong());
+        return cursors;
+    }
+
+    private void mockSitemap(String sitemap) {
+        Mockito.when(backgroundRestTemplate.exchange(any(RequestEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.ok(sitemap.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void mockSitemap(String url, byte[] sitemap) {
+        Mockito.doReturn(ResponseEntity.ok(sitemap)).when(backgroundRestTemplate)
+                .exchange(Mockito.argThat((RequestEntity<?> request) -> request.getUrl().toString().equals(url)), eq(byte[].class));
+    }
+
+    private byte[] urlset(List<String> extensions) {
+        var sitemap = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">");
+        for (var extension : extensions) {
+            sitemap.append("<url><loc>https://open-vsx.org/extension/").append(extension)
+                    .append("</loc><lastmod>2026-01-01</lastmod></url>");
+        }
+        return sitemap.append("</urlset>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] gzip(byte[] content) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+}
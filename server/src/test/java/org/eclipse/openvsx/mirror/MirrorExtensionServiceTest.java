@@ -0,0 +1,230 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.mirror;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.ExtensionService;
+import org.eclipse.openvsx.UpstreamRegistryService;
+import org.eclipse.openvsx.accesstoken.AccessTokenService;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.entities.PersonalAccessToken;
+import org.eclipse.openvsx.entities.UserData;
+import org.eclipse.openvsx.json.ExtensionJson;
+import org.eclipse.openvsx.json.QueryResultJson;
+import org.eclipse.openvsx.json.UserJson;
+import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.TempFile;
+import org.jobrunr.jobs.context.JobContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+class MirrorExtensionServiceTest {
+
+    private static final String NAMESPACE = "redhat";
+    private static final String EXTENSION = "java";
+
+    private DataMirrorService data;
+    private UpstreamRegistryService upstream;
+    private RestTemplate backgroundRestTemplate;
+    private ExtensionService extensions;
+    private JobContext jobContext;
+    private SimpleMeterRegistry registry;
+    private MirrorExtensionService service;
+
+    private final List<TempFile> downloadedFiles = new CopyOnWriteArrayList<>();
+    private final Map<String, CountDownLatch> blockedDownloads = new ConcurrentHashMap<>();
+    private final List<String> committedVersions = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        data = Mockito.mock(DataMirrorService.class);
+        upstream = Mockito.mock(UpstreamRegistryService.class);
+        backgroundRestTemplate = Mockito.mock(RestTemplate.class);
+        extensions = Mockito.mock(ExtensionService.class);
+        jobContext = Mockito.mock(JobContext.class, Mockito.RETURNS_DEEP_STUBS);
+        registry = new SimpleMeterRegistry();
+
+        var repositories = Mockito.mock(RepositoryService.class);
+        Mockito.when(repositories.findNamespace(NAMESPACE)).thenReturn(new Namespace());
+        Mockito.when(data.getOrAddUser(any())).thenReturn(new UserData());
+        Mockito.when(data.getOrAddAccessTokenValue(any(), anyString())).thenReturn("token");
+        Mockito.when(data.getMirroredVersions()).thenReturn(registry.counter("mirrored"));
+        Mockito.when(data.getFailedVersions()).thenReturn(registry.counter("failed"));
+        var tokens = Mockito.mock(AccessTokenService.class);
+        Mockito.when(tokens.useAccessToken("token")).thenReturn(new PersonalAccessToken());
+
+        var nonRedirectingRestTemplate = Mockito.mock(RestTemplate.class);
+        Mockito.when(nonRedirectingRestTemplate.headForHeaders(eq("{resolveVsixLocation}"), anyMap())).thenAnswer(invocation -> {
+            var headers = new HttpHeaders();
+            headers.setLocation(URI.create((String) invocation.<Map<String, ?>>getArgument(1).get("resolveVsixLocation")));
+            return headers;
+        });
+        Mockito.when(backgroundRestTemplate.execute(eq("{url}"), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class), anyMap())).thenAnswer(invocation -> {
+            var url = (String) invocation.<Map<String, ?>>getArgument(4).get("url");
+            var blocked = blockedDownloads.get(url);
+            if (blocked != null) {
+                // keeps downloading when the task is cancelled
+                var interrupted = false;
+                while (true) {
+                    try {
+                        blocked.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            var file = new TempFile("extension_", ".vsix");
+            downloadedFiles.add(file);
+            return file;
+        });
+        Mockito.when(extensions.mirrorVersion(any(), isNull(), any(), anyString(), anyString())).thenAnswer(invocation -> {
+            assertThat(Files.exists(invocation.<TempFile>getArgument(0).getPath())).isTrue();
+            committedVersions.add(invocation.getArgument(4));
+            return null;
+        });
+
+        service = new MirrorExtensionService(
+                Optional.of(data),
+                repositories,
+                upstream,
+                backgroundRestTemplate,
+                nonRedirectingRestTemplate,
+                tokens,
+                extensions,
+                Mockito.mock(ExtensionVersionIntegrityService.class),
+                3
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockedDownloads.values().forEach(CountDownLatch::countDown);
+        service.shutdown();
+    }
+
+    @Test
+    void testVersionsAreCommittedInOrder() throws Exception {
+        mockUpstreamVersions("1.0.3", "1.0.0", "1.0.4", "1.0.1", "1.0.2");
+
+        service.mirrorExtension(NAMESPACE, EXTENSION, new UserData(), null, jobContext);
+
+        assertThat(committedVersions).containsExactly(timestamp("1.0.0"), timestamp("1.0.1"), timestamp("1.0.2"), timestamp("1.0.3"), timestamp("1.0.4"));
+        assertThat(registry.counter("mirrored").count()).isEqualTo(5);
+        assertThat(downloadedFiles).hasSize(5);
+        assertDeleted(downloadedFiles);
+        Mockito.verify(data).activateExtension(NAMESPACE, EXTENSION);
+    }
+
+    @Test
+    void testFailureDiscardsPendingDownloads() throws Exception {
+        mockUpstreamVersions("1.0.0", "1.0.1", "1.0.2", "1.0.3");
+        var release = new CountDownLatch(1);
+        blockedDownloads.put(downloadUrl("1.0.2"), release);
+        Mockito.doThrow(new IllegalStateException("failed to publish"))
+                .when(extensions).mirrorVersion(any(), isNull(), any(), anyString(), eq(timestamp("1.0.1")));
+
+        assertThatThrownBy(() -> service.mirrorExtension(NAMESPACE, EXTENSION, new UserData(), null, jobContext))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(committedVersions).containsExactly(timestamp("1.0.0"));
+        assertThat(registry.counter("mirrored").count()).isEqualTo(1);
+        assertThat(registry.counter("failed").count()).isEqualTo(1);
+        Mockito.verify(data, Mockito.never()).activateExtension(NAMESPACE, EXTENSION);
+
+        // the cancelled download completes later, its file must not be left behind
+        release.countDown();
+        waitForDownloads(4);
+        assertThat(downloadedFiles).hasSize(4);
+        assertDeleted(downloadedFiles);
+    }
+
+    private void mockUpstreamVersions(String... versions) {
+        var latest = extensionJson(versions[0]);
+        Mockito.when(upstream.getExtension(NAMESPACE, EXTENSION, null, false)).thenReturn(latest);
+        var result = new QueryResultJson();
+        result.setExtensions(Arrays.stream(versions).map(this::extensionJson).toList());
+        result.setTotalSize(versions.length);
+        Mockito.when(upstream.queryV2(any(), eq(false))).thenReturn(result);
+    }
+
+    private ExtensionJson extensionJson(String version) {
+        var publisher = new UserJson();
+        publisher.setLoginName("publisher");
+        var json = new ExtensionJson();
+        json.setNamespace(NAMESPACE);
+        json.setName(EXTENSION);
+        json.setVersion(version);
+        json.setTargetPlatform("universal");
+        json.setTimestamp(timestamp(version));
+        json.setPublishedBy(publisher);
+        json.setFiles(Map.of("download", downloadUrl(version)));
+        return json;
+    }
+
+    private String timestamp(String version) {
+        // later versions are published later
+        return "2026-01-01T00:00:0" + version.charAt(version.length() - 1) + "Z";
+    }
+
+    private String downloadUrl(String version) {
+        return "https://open-vsx.org/api/" + NAMESPACE + "/" + EXTENSION + "/" + version + "/file/" + NAMESPACE + "." + EXTENSION + "-" + version + ".vsix";
+    }
+
+    private void waitForDownloads(int count) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (downloadedFiles.size() >= count && downloadedFiles.stream().noneMatch(file -> Files.exists(file.getPath()))) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private void assertDeleted(List<TempFile> files) {
+        for (var file : files) {
+            assertThat(file.getPath()).doesNotExist();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.openvsx.accesstoken.AccessTokenService;
+import org.eclipse.openvsx.entities.PersonalAccessToken;
+import org.eclipse.openvsx.ratelimit.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class IdentityServiceTest {
+
+    private static final String TOKEN = "4f6e2b1c-8d3a-4e5f-9a7b-0c1d2e3f4a5b";
+
+    private AccessTokenService tokenService;
+    private IdentityService identityService;
+
+    @BeforeEach
+    void setUp() {
+        var tierService = Mockito.mock(TierService.class);
+        Mockito.when(tierService.getFreeTier()).thenReturn(Optional.empty());
+        Mockito.when(tierService.getSafetyTier()).thenReturn(Optional.empty());
+        var customerService = Mockito.mock(CustomerService.class);
+        Mockito.when(customerService.getCustomerByIpAddress(anyString())).thenReturn(Optional.empty());
+        tokenService = Mockito.mock(AccessTokenService.class);
+        Mockito.when(tokenService.useAccessToken(TOKEN)).thenReturn(new PersonalAccessToken());
+
+        identityService = new IdentityService(
+                new SpelExpressionParser(),
+                new DefaultListableBeanFactory(),
+                tierService,
+                customerService,
+                tokenService,
+                new RateLimitProperties(),
+                Duration.ofMinutes(5),
+                100
+        );
+        identityService.init();
+    }
+
+    @Test
+    void testValidTokensAreCachedByHash() {
+        var identity = identityService.resolveIdentity(request(TOKEN));
+        assertThat(identityService.resolveIdentity(request(TOKEN)).cacheKey()).isEqualTo(identity.cacheKey());
+
+        // the token is looked up once, the cache doesn't hold the token itself
+        Mockito.verify(tokenService, Mockito.times(1)).useAccessToken(TOKEN);
+        Cache<String, Boolean> validTokens = getValidTokens();
+        assertThat(validTokens.asMap()).containsOnlyKeys(DigestUtils.sha256Hex(TOKEN));
+    }
+
+    @Test
+    void testInvalidTokensAreNotCached() {
+        var identity = identityService.resolveIdentity(request("invalid"));
+
+        assertThat(identity.cacheKey()).startsWith("ip_");
+        assertThat(getValidTokens().asMap()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, Boolean> getValidTokens() {
+        return (Cache<String, Boolean>) ReflectionTestUtils.getField(identityService, "validTokens");
+    }
+
+    private MockHttpServletRequest request(String token) {
+        var request = new MockHttpServletRequest("GET", "/api/redhat/java");
+        request.setRemoteAddr("192.168.10.20");
+        request.setParameter("token", token);
+        return request;
+    }
+}
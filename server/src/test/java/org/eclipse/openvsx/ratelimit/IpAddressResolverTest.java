@@ -0,0 +1,84 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpAddressResolverTest {
+
+    private final SpelExpressionParser parser =
+            new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null));
+
+    @Test
+    void testRemoteAddress() {
+        assertSameAsExpression("getRemoteAddr()");
+    }
+
+    @Test
+    void testHeaderOrRemoteAddress() {
+        assertSameAsExpression("getHeader('X-Real-IP') ?: getRemoteAddr()");
+    }
+
+    @Test
+    void testFirstForwardedAddress() {
+        assertSameAsExpression("(getHeader(\"X-Forwarded-For\")?: getRemoteAddr()).split(\",\")[0].trim()");
+    }
+
+    @Test
+    void testCustomExpression() {
+        var function = "getRemoteAddr() + '-' + getMethod()";
+        var resolver = IpAddressResolver.of(function, parser, new DefaultListableBeanFactory());
+        var request = request(null, null);
+        assertThat(resolver.resolve(request)).isEqualTo("192.168.10.20-GET");
+        // the compiled expression is evaluated again
+        assertThat(resolver.resolve(request)).isEqualTo("192.168.10.20-GET");
+    }
+
+    private void assertSameAsExpression(String function) {
+        var resolver = IpAddressResolver.of(function, parser, new DefaultListableBeanFactory());
+        var expression = parser.parseExpression(function);
+        var requests = List.of(
+                request(null, null),
+                request("X-Real-IP", ""),
+                request("X-Real-IP", "10.0.0.1"),
+                request("X-Forwarded-For", ""),
+                request("X-Forwarded-For", "10.0.0.1"),
+                request("X-Forwarded-For", " 10.0.0.1 , 172.16.0.1,192.168.10.20"),
+                request("X-Forwarded-For", ",10.0.0.1")
+        );
+        for (var request : requests) {
+            var expected = expression.getValue(new StandardEvaluationContext(), request, String.class);
+            assertThat(resolver.resolve(request)).isEqualTo(expected);
+        }
+    }
+
+    private HttpServletRequest request(String headerName, String headerValue) {
+        var request = new MockHttpServletRequest("GET", "/api/redhat/java");
+        request.setRemoteAddr("192.168.10.20");
+        if (headerName != null) {
+            request.addHeader(headerName, headerValue);
+        }
+        return request;
+    }
+}
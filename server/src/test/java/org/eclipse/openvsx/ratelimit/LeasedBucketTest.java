@@ -0,0 +1,139 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.VerboseBucket;
+import io.github.bucket4j.VerboseResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class LeasedBucketTest {
+
+    private BucketConfiguration configuration;
+    private Bucket bucket;
+    private Counter refills;
+    private Counter rejections;
+
+    @BeforeEach
+    void setUp() {
+        var bandwidth = Bandwidth.builder().capacity(25).refillIntervally(25, Duration.ofHours(1)).build();
+        configuration = BucketConfiguration.builder().addLimit(bandwidth).build();
+        bucket = Bucket.builder().addLimit(bandwidth).build();
+        var registry = new SimpleMeterRegistry();
+        refills = registry.counter("refills");
+        rejections = registry.counter("rejections");
+    }
+
+    @Test
+    void testConsumeFromLeases() {
+        var lease = createLease(10);
+        for (var i = 0; i < 25; i++) {
+            assertThat(lease.tryConsume().isConsumed()).isTrue();
+        }
+
+        var probe = lease.tryConsume();
+        assertThat(probe.isConsumed()).isFalse();
+        assertThat(probe.getNanosToWaitForRefill()).isPositive();
+        // leases of 10, 10 and 5 tokens, the empty lease is not counted
+        assertThat(refills.count()).isEqualTo(3);
+        assertThat(rejections.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRemainingTokensOfLease() {
+        var lease = createLease(10);
+        // the shared bucket is only asked for tokens when the lease is refilled
+        assertThat(lease.tryConsume().getRemainingTokens()).isEqualTo(15);
+        assertThat(lease.tryConsume().getRemainingTokens()).isEqualTo(15);
+        assertThat(bucket.getAvailableTokens()).isEqualTo(15);
+
+        for (var i = 0; i < 8; i++) {
+            lease.tryConsume();
+        }
+        assertThat(lease.tryConsume().getRemainingTokens()).isEqualTo(5);
+    }
+
+    @Test
+    void testReleaseUnusedTokens() {
+        var lease = createLease(10);
+        for (var i = 0; i < 3; i++) {
+            lease.tryConsume();
+        }
+
+        assertThat(lease.release()).isEqualTo(7);
+        assertThat(bucket.getAvailableTokens()).isEqualTo(22);
+        assertThat(lease.release()).isZero();
+
+        // the next request takes a new lease
+        assertThat(lease.tryConsume().isConsumed()).isTrue();
+        assertThat(refills.count()).isEqualTo(2);
+        assertThat(bucket.getAvailableTokens()).isEqualTo(12);
+    }
+
+    @Test
+    void testConcurrentRejectionsShareRefill() throws Exception {
+        var emptyBucket = mock(Bucket.class);
+        var verboseBucket = mock(VerboseBucket.class);
+        @SuppressWarnings("unchecked")
+        VerboseResult<Long> emptyResult = mock(VerboseResult.class);
+        when(emptyResult.getValue()).thenReturn(0L);
+        when(emptyBucket.asVerbose()).thenReturn(verboseBucket);
+        when(verboseBucket.tryConsumeAsMuchAsPossible(10)).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return emptyResult;
+        });
+        when(emptyBucket.tryConsumeAndReturnRemaining(1)).thenReturn(ConsumptionProbe.rejected(0, 1000, 1000));
+        var lease = new LeasedBucket(emptyBucket, configuration, 10, refills, rejections);
+
+        var threads = 8;
+        var barrier = new CyclicBarrier(threads);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<ConsumptionProbe>>();
+            for (var i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    return lease.tryConsume();
+                }));
+            }
+
+            for (var future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).isConsumed()).isFalse();
+            }
+        }
+
+        verify(verboseBucket, times(1)).tryConsumeAsMuchAsPossible(10);
+        verify(emptyBucket, times(1)).tryConsumeAndReturnRemaining(1);
+        assertThat(refills.count()).isZero();
+        assertThat(rejections.count()).isEqualTo(threads);
+    }
+
+    private LeasedBucket createLease(long leaseSize) {
+        return new LeasedBucket(bucket, configuration, leaseSize, refills, rejections);
+    }
+}
@@ -0,0 +1,118 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.ratelimit;
+
+import org.eclipse.openvsx.entities.Customer;
+import org.eclipse.openvsx.entities.UsageStats;
+import org.eclipse.openvsx.ratelimit.config.RateLimitProperties;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+import redis.clients.jedis.ClusterPipeline;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.resps.ScanResult;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+
+class UsageStatsServiceTest {
+
+    private RepositoryService repositories;
+    private CustomerService customerService;
+    private JedisCluster jedisCluster;
+    private ClusterPipeline pipeline;
+    private UsageStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        repositories = Mockito.mock(RepositoryService.class);
+        customerService = Mockito.mock(CustomerService.class);
+        jedisCluster = Mockito.mock(JedisCluster.class);
+        pipeline = Mockito.mock(ClusterPipeline.class);
+        Mockito.when(jedisCluster.pipelined()).thenReturn(pipeline);
+        Mockito.when(jedisCluster.hscan(anyString(), anyString())).thenReturn(new ScanResult<>("0", List.of()));
+
+        service = new UsageStatsService(repositories, customerService, jedisCluster, Mockito.mock(TaskScheduler.class), new RateLimitProperties());
+    }
+
+    @Test
+    void testFlushAggregatedUsage() {
+        var customer1 = customer(17);
+        var customer2 = customer(2);
+        service.incrementUsage(customer1);
+        service.incrementUsage(customer1);
+        service.incrementUsage(customer1);
+        service.incrementUsage(customer2);
+
+        service.flush();
+
+        Mockito.verify(pipeline).hincrBy(eq("usage.customer.{1}"), startsWith("17:"), eq(3L));
+        Mockito.verify(pipeline).hincrBy(eq("usage.customer.{2}"), startsWith("2:"), eq(1L));
+        Mockito.verify(pipeline).sync();
+
+        // nothing left to flush
+        service.flush();
+        Mockito.verify(jedisCluster, Mockito.times(1)).pipelined();
+    }
+
+    @Test
+    void testFlushFailureKeepsUsage() {
+        var customer = customer(3);
+        service.incrementUsage(customer);
+        Mockito.when(pipeline.hincrBy(anyString(), anyString(), anyLong())).thenThrow(new RuntimeException("unavailable"));
+
+        service.flush();
+        service.flush();
+
+        Mockito.verify(pipeline, Mockito.times(2)).hincrBy(eq("usage.customer.{3}"), startsWith("3:"), eq(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPersistPastWindows() {
+        var customer = customer(5);
+        Mockito.when(customerService.getCustomerById(5)).thenReturn(Optional.of(customer));
+        var currentWindow = Instant.now().getEpochSecond() / 60 / 5 * 5;
+        var pastKey = "5:" + (currentWindow - 10);
+        var currentKey = "5:" + currentWindow;
+        Mockito.when(jedisCluster.hscan(eq("usage.customer.{5}"), anyString()))
+                .thenReturn(new ScanResult<>("0", List.of(Map.entry(pastKey, "42"), Map.entry(currentKey, "7"))));
+
+        service.persistUsageStats();
+
+        ArgumentCaptor<Collection<UsageStats>> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(repositories).insertUsageStats(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(stats -> {
+            assertThat(stats.getCustomer()).isSameAs(customer);
+            assertThat(stats.getCount()).isEqualTo(42);
+        });
+        Mockito.verify(jedisCluster).hdel("usage.customer.{5}", pastKey);
+        Mockito.verify(jedisCluster, Mockito.never()).hdel(eq("usage.customer"), any(String[].class));
+    }
+
+    private Customer customer(long id) {
+        var customer = new Customer();
+        customer.setId(id);
+        customer.setName("customer" + id);
+        return customer;
+    }
+}
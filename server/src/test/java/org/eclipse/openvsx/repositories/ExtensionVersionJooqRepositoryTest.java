@@ -0,0 +1,289 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.ExtensionService;
+import org.eclipse.openvsx.admin.ExtensionLatestVersionCheckJobRequestHandler;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.migration.HandlerJobRequest;
+import org.eclipse.openvsx.search.ExtensionSearch;
+import org.eclipse.openvsx.search.RelevanceService;
+import org.eclipse.openvsx.search.SearchUtilService;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.jooq.Tables.EXTENSION_LATEST_VERSION;
+import static org.eclipse.openvsx.jooq.Tables.EXTENSION_VERSION;
+import static org.eclipse.openvsx.util.TargetPlatform.NAME_ALPINE_ARM64;
+import static org.eclipse.openvsx.util.TargetPlatform.NAME_DARWIN_ARM64;
+import static org.eclipse.openvsx.util.TargetPlatform.NAME_LINUX_X64;
+import static org.eclipse.openvsx.util.TargetPlatform.NAME_UNIVERSAL;
+import static org.eclipse.openvsx.util.TargetPlatform.NAME_WEB;
+import static org.eclipse.openvsx.util.TargetPlatform.NAME_WIN32_X64;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ExtensionVersionJooqRepositoryTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private static final List<String> TARGET_PLATFORMS = Arrays.asList(
+            null, NAME_UNIVERSAL, NAME_LINUX_X64, NAME_WIN32_X64, NAME_DARWIN_ARM64, NAME_ALPINE_ARM64
+    );
+
+    @Autowired
+    ExtensionVersionJooqRepository repository;
+
+    @Autowired
+    ExtensionService extensions;
+
+    @Autowired
+    RepositoryService repositories;
+
+    @Autowired
+    ExtensionLatestVersionCheckJobRequestHandler checkHandler;
+
+    @Autowired
+    RelevanceService relevanceService;
+
+    @MockitoBean
+    SearchUtilService search;
+
+    @Autowired
+    DSLContext dsl;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @Transactional
+    void testComputeLatestIdsMatchesLatestQuery() {
+        var extension = createExtension("mixed");
+        createMixedVersions(extension);
+
+        var latest = repository.computeLatestIds(extension.getId());
+        for (var targetPlatform : TARGET_PLATFORMS) {
+            for (var onlyPreRelease : List.of(false, true)) {
+                for (var onlyActive : List.of(false, true)) {
+                    var key = LatestVersionKey.of(targetPlatform, onlyPreRelease, onlyActive);
+                    assertThat(latest.get(key))
+                            .as("latest version for %s", key)
+                            .isEqualTo(findLatestIdByQuery(extension, targetPlatform, onlyPreRelease, onlyActive));
+                }
+            }
+        }
+    }
+
+    @Test
+    @Transactional
+    void testLatestVersionsAreUpdated() {
+        var extension = createExtension("lifecycle");
+        var v100 = createVersion(extension, "1.0.0", NAME_UNIVERSAL, false, true, TIMESTAMP);
+        var v110 = createVersion(extension, "1.1.0", NAME_UNIVERSAL, false, true, TIMESTAMP.plusMinutes(1));
+        var v120 = createVersion(extension, "1.2.0", NAME_LINUX_X64, true, true, TIMESTAMP.plusMinutes(2));
+        refreshVersions(extension);
+
+        extensions.updateExtension(extension);
+        assertLatestVersionsAreUpToDate(extension);
+        assertThat(findLatestId(extension, false)).isEqualTo(v120.getId());
+
+        v120.setActive(false);
+        extensions.updateExtension(extension);
+        assertLatestVersionsAreUpToDate(extension);
+        assertThat(findLatestId(extension, false)).isEqualTo(v120.getId());
+        assertThat(findLatestId(extension, true)).isEqualTo(v110.getId());
+
+        extension.getVersions().remove(v110);
+        em.remove(v110);
+        extensions.updateExtension(extension);
+        assertLatestVersionsAreUpToDate(extension);
+        assertThat(findLatestId(extension, true)).isEqualTo(v100.getId());
+
+        v120.setActive(true);
+        extensions.updateExtension(extension);
+        assertLatestVersionsAreUpToDate(extension);
+        assertThat(findLatestId(extension, true)).isEqualTo(v120.getId());
+    }
+
+    @Test
+    @Transactional
+    void testSearchEntryOfNewExtensionUsesPublishedVersion() {
+        // the search entry is created like the Elasticsearch index does, from the precomputed latest version
+        var searchEntry = new AtomicReference<ExtensionSearch>();
+        doAnswer(invocation -> {
+            Extension extension = invocation.getArgument(0);
+            searchEntry.set(relevanceService.toSearchEntry(extension, new RelevanceService.SearchStats(repositories)));
+            return null;
+        }).when(search).updateSearchEntry(any(Extension.class));
+
+        // a new version is created inactive and activated once the publish checks passed
+        var extension = createExtension("new");
+        var v100 = createVersion(extension, "1.0.0", NAME_UNIVERSAL, false, false, TIMESTAMP);
+        v100.setDisplayName("New Extension");
+        refreshVersions(extension);
+        repository.updateLatest(extension.getId());
+        assertThat(findLatestId(extension, true)).isNull();
+
+        v100.setActive(true);
+        extensions.updateExtension(extension);
+
+        assertThat(searchEntry.get()).isNotNull();
+        assertThat(searchEntry.get().getDisplayName()).isEqualTo("New Extension");
+        assertThat(findLatestId(extension, true)).isEqualTo(v100.getId());
+    }
+
+    @Test
+    @Transactional
+    void testMigrationBackfillMatchesComputeLatestIds() throws IOException {
+        var mixed = createExtension("backfill-mixed");
+        createMixedVersions(mixed);
+        var single = createExtension("backfill-single");
+        createVersion(single, "0.1.0", NAME_WEB, false, false, TIMESTAMP);
+        refreshVersions(single);
+
+        dsl.deleteFrom(EXTENSION_LATEST_VERSION).execute();
+        var migration = new ClassPathResource("db/migration/V1_69__Extension_Latest_Version.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        var backfill = migration.substring(migration.indexOf("-- backfill"));
+        for (var statement : backfill.split(";")) {
+            if (!statement.isBlank()) {
+                dsl.execute(statement);
+            }
+        }
+
+        for (var extension : List.of(mixed, single)) {
+            assertThat(repository.findLatestIds(extension.getId()))
+                    .isNotEmpty()
+                    .isEqualTo(repository.computeLatestIds(extension.getId()));
+        }
+    }
+
+    @Test
+    @Transactional
+    void testCheckJobRepairsDrift() throws Exception {
+        var extension = createExtension("drift");
+        var v100 = createVersion(extension, "1.0.0", NAME_UNIVERSAL, false, true, TIMESTAMP);
+        createVersion(extension, "1.1.0", NAME_UNIVERSAL, false, true, TIMESTAMP.plusMinutes(1));
+        createVersion(extension, "1.2.0", NAME_UNIVERSAL, true, true, TIMESTAMP.plusMinutes(2));
+        refreshVersions(extension);
+        repository.updateLatest(extension.getId());
+
+        dsl.update(EXTENSION_LATEST_VERSION)
+                .set(EXTENSION_LATEST_VERSION.EXTENSION_VERSION_ID, v100.getId())
+                .where(EXTENSION_LATEST_VERSION.EXTENSION_ID.eq(extension.getId()))
+                .and(EXTENSION_LATEST_VERSION.PRE_RELEASE.eq(false))
+                .execute();
+        dsl.deleteFrom(EXTENSION_LATEST_VERSION)
+                .where(EXTENSION_LATEST_VERSION.EXTENSION_ID.eq(extension.getId()))
+                .and(EXTENSION_LATEST_VERSION.PRE_RELEASE.eq(true))
+                .execute();
+        assertThat(repository.findLatestIds(extension.getId()))
+                .isNotEqualTo(repository.computeLatestIds(extension.getId()));
+
+        checkHandler.run(new HandlerJobRequest<>(ExtensionLatestVersionCheckJobRequestHandler.class));
+
+        assertLatestVersionsAreUpToDate(extension);
+    }
+
+    private void createMixedVersions(Extension extension) {
+        createVersion(extension, "1.0.0", NAME_UNIVERSAL, false, true, TIMESTAMP);
+        createVersion(extension, "1.1.0-rc.1", NAME_UNIVERSAL, false, true, TIMESTAMP.plusMinutes(1));
+        createVersion(extension, "1.1.0", NAME_LINUX_X64, true, true, TIMESTAMP.plusMinutes(2));
+        createVersion(extension, "1.1.0", NAME_WIN32_X64, false, true, TIMESTAMP.plusMinutes(3));
+        createVersion(extension, "1.1.0", NAME_UNIVERSAL, false, false, TIMESTAMP.plusMinutes(4));
+        createVersion(extension, "1.2.0", NAME_DARWIN_ARM64, true, false, TIMESTAMP.plusMinutes(5));
+        createVersion(extension, "1.0.1", NAME_LINUX_X64, false, true, TIMESTAMP.plusMinutes(6));
+        createVersion(extension, "1.1.0", NAME_DARWIN_ARM64, false, true, TIMESTAMP.plusMinutes(1));
+        refreshVersions(extension);
+    }
+
+    private Long findLatestIdByQuery(Extension extension, String targetPlatform, boolean onlyPreRelease, boolean onlyActive) {
+        var query = repository.findLatestQuery(targetPlatform, onlyPreRelease, onlyActive);
+        query.addSelect(EXTENSION_VERSION.ID);
+        query.addConditions(EXTENSION_VERSION.EXTENSION_ID.eq(extension.getId()));
+        return query.fetchOne(EXTENSION_VERSION.ID);
+    }
+
+    private Long findLatestId(Extension extension, boolean onlyActive) {
+        var query = repository.findLatestQuery(DSL.val(extension.getId()), null, false, onlyActive);
+        query.addSelect(EXTENSION_VERSION.ID);
+        return query.fetchOne(EXTENSION_VERSION.ID);
+    }
+
+    private void assertLatestVersionsAreUpToDate(Extension extension) {
+        assertThat(repository.findLatestIds(extension.getId()))
+                .isEqualTo(repository.computeLatestIds(extension.getId()));
+    }
+
+    private Extension createExtension(String name) {
+        var namespace = new Namespace();
+        namespace.setName("latest-" + name);
+        namespace.setPublicId("latest-" + name + "-namespace");
+        em.persist(namespace);
+
+        var extension = new Extension();
+        extension.setName(name);
+        extension.setPublicId("latest-" + name + "-extension");
+        extension.setNamespace(namespace);
+        em.persist(extension);
+        return extension;
+    }
+
+    private ExtensionVersion createVersion(
+            Extension extension,
+            String version,
+            String targetPlatform,
+            boolean preRelease,
+            boolean active,
+            LocalDateTime timestamp
+    ) {
+        var extVersion = new ExtensionVersion();
+        extVersion.setVersion(version);
+        extVersion.setTargetPlatform(targetPlatform);
+        extVersion.setPreRelease(preRelease);
+        extVersion.setActive(active);
+        extVersion.setTimestamp(timestamp);
+        extVersion.setCategories(Collections.emptyList());
+        extVersion.setTags(Collections.emptyList());
+        extVersion.setExtension(extension);
+        em.persist(extVersion);
+        return extVersion;
+    }
+
+    private void refreshVersions(Extension extension) {
+        // populate extension versions list
+        em.flush();
+        em.refresh(extension);
+    }
+}
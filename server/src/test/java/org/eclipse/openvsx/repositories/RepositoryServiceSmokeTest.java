@@ -11,6 +11,7 @@ package org.eclipse.openvsx.repositories;
 
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.changefeed.ChangeType;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.QueryRequest;
 import org.eclipse.openvsx.storage.*;
@@ -28,6 +29,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -146,6 +148,7 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.countExtensions(),
                 () -> repositories.hasMemberships(namespace, "role"),
                 () -> repositories.isVerified(namespace, userData),
+                () -> repositories.findVerifiedUserIds(LONG_LIST),
                 () -> repositories.countNamespaces(),
                 () -> repositories.countPublishersThatClaimedNamespaceOwnership(),
                 () -> repositories.countUsers(),
@@ -160,6 +163,8 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findActiveVersions(extension),
                 () -> repositories.findAdminStatisticsByYearAndMonth(1997, 1),
                 () -> repositories.findAllActiveExtensions(),
+                () -> repositories.findActiveExtensionIds(0, 1),
+                () -> repositories.findExtensionIds(0, 1),
                 () -> repositories.findAllPersistedLogs(),
                 () -> repositories.findPersistedLogsAfter(NOW),
                 () -> repositories.findPersistedLogsPaginated(page),
@@ -204,6 +209,8 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findActiveExtensionVersions(LONG_LIST, "targetPlatform"),
                 () -> repositories.findActiveExtension("name", "namespaceName"),
                 () -> repositories.findActiveExtensionsById(LONG_LIST),
+                () -> repositories.findActiveExtensionsByNamespaceAndName(List.of(new ExtensionId("namespaceName", "extensionName"))),
+                () -> repositories.findExtensionTargetPlatforms(LONG_LIST),
                 () -> repositories.findActiveExtensionsByPublicId(STRING_LIST, "namespaceName"),
                 () -> repositories.findNamespaceMemberships(LONG_LIST),
                 () -> repositories.findAllNotMatchingByExtensionId(STRING_LIST),
@@ -231,9 +238,15 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findNamespacePublicId("namespaceName.extensionName"),
                 () -> repositories.updateExtensionPublicIds(Collections.emptyMap()),
                 () -> repositories.updateNamespacePublicIds(Collections.emptyMap()),
+                () -> repositories.increaseDownloadCounts(Map.of(extension.getId(), 1)),
                 () -> repositories.extensionPublicIdExists("namespaceName.extensionName"),
                 () -> repositories.namespacePublicIdExists("namespaceName.extensionName"),
-                () -> repositories.fetchSitemapRows(),
+                () -> {
+                    try (var rows = repositories.streamSitemapRows(List.of("namespaceName"), 100)) {
+                        rows.toList();
+                    }
+                },
+                () -> repositories.findAllNamespaceNames(),
                 () -> repositories.findTargetPlatformsGroupedByVersion(extension),
                 () -> repositories.findVersionsForUrls(extension, "targetPlatform", "version"),
                 () -> repositories.findExtensionVersion("namespaceName", "extensionName", "targetPlatform", "version"),
@@ -259,6 +272,10 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.hasSameVersion(extVersion),
                 () -> repositories.hasActiveReview(extension, userData),
                 () -> repositories.findLatestVersionsIsPreview(List.of(1L)),
+                () -> repositories.updateLatestVersions(extension),
+                () -> repositories.updateLatestVersions(1L),
+                () -> repositories.computeLatestVersionIds(1L),
+                () -> repositories.findLatestVersionIds(1L),
                 () -> repositories.findAccessToken(userData, "description"),
                 () -> repositories.findMemberships(userData),
                 () -> repositories.canPublishInNamespace(userData, namespace),
@@ -381,9 +398,18 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.countCustomersByTier(tier),
                 () -> repositories.findAllCustomers(),
                 () -> repositories.saveUsageStats(usageStats),
+                () -> repositories.insertUsageStats(List.of(usageStats)),
                 () -> repositories.findUsageStatsByCustomerAndDate(customer, NOW),
                 () -> repositories.deleteTier(tier),
                 () -> repositories.deleteCustomer(customer),
+                // Change feed methods
+                () -> repositories.insertRegistryChange(ChangeType.VERSION_PUBLISHED, "namespaceName", "extensionName", "universal", "1.0.0"),
+                () -> repositories.findRegistryChanges(0L, 100),
+                () -> repositories.findFirstRegistryChangeId(),
+                () -> repositories.findLastRegistryChangeId(),
+                () -> repositories.deleteRegistryChangesBefore(NOW),
+                () -> repositories.findChangeFeedCursor("upstream"),
+                () -> repositories.saveChangeFeedCursor("upstream", 1L),
                 // Extension scan delete method - add last, still not clear why but otherwise the test fails
                 () -> repositories.deleteExtensionScan(scan)
             );
@@ -0,0 +1,101 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.entities.Customer;
+import org.eclipse.openvsx.entities.UsageStats;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.openvsx.jooq.Tables.USAGE_STATS;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class UsageStatsJooqRepositoryTest {
+
+    private static final LocalDateTime WINDOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    UsageStatsJooqRepository repository;
+
+    @Autowired
+    DSLContext dsl;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @Transactional
+    void testInsertAllAddsUpCounts() {
+        var customer = createCustomer("customer");
+        repository.insertAll(List.of(
+                createStats(customer, WINDOW, 3),
+                createStats(customer, WINDOW, 4),
+                createStats(customer, WINDOW.plusMinutes(5), 1)
+        ));
+        repository.insertAll(List.of(createStats(customer, WINDOW, 5)));
+
+        assertThat(getCount(customer, WINDOW)).isEqualTo(12);
+        assertThat(getCount(customer, WINDOW.plusMinutes(5))).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void testInsertAllLargeBatch() {
+        var customer = createCustomer("large-batch-customer");
+        var usageStats = new ArrayList<UsageStats>();
+        for (var i = 0; i < 2500; i++) {
+            usageStats.add(createStats(customer, WINDOW.plusMinutes(5L * i), 1));
+        }
+
+        repository.insertAll(usageStats);
+
+        assertThat(dsl.fetchCount(USAGE_STATS, USAGE_STATS.CUSTOMER_ID.eq(customer.getId()))).isEqualTo(2500);
+    }
+
+    private Customer createCustomer(String name) {
+        var customer = new Customer();
+        customer.setName(name);
+        em.persist(customer);
+        em.flush();
+        return customer;
+    }
+
+    private UsageStats createStats(Customer customer, LocalDateTime windowStart, long count) {
+        var stats = new UsageStats();
+        stats.setCustomer(customer);
+        stats.setWindowStart(windowStart);
+        stats.setDuration(Duration.ofMinutes(5));
+        stats.setCount(count);
+        return stats;
+    }
+
+    private long getCount(Customer customer, LocalDateTime windowStart) {
+        return dsl.select(USAGE_STATS.COUNT)
+                .from(USAGE_STATS)
+                .where(USAGE_STATS.CUSTOMER_ID.eq(customer.getId()))
+                .and(USAGE_STATS.WINDOW_START.eq(windowStart))
+                .fetchOne(USAGE_STATS.COUNT);
+    }
+}
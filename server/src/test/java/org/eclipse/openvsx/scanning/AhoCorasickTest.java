@@ -14,6 +14,10 @@ package org.eclipse.openvsx.scanning;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -199,4 +203,85 @@ class AhoCorasickTest {
         var matches = ac.search("one two three");
         assertEquals(3, matches.size());
     }
+
+    @Test
+    void search_ignoresCase() {
+        var ac = AhoCorasick.builder()
+            .ignoreCase()
+            .addKeywords(Set.of("Secret", "ключ"))
+            .build();
+
+        var matches = ac.search("SECRET and Ключ");
+
+        assertEquals(2, matches.size());
+        assertEquals("secret", matches.get(0).getKeyword());
+        assertEquals(0, matches.get(0).getStartPos());
+        assertEquals("ключ", matches.get(1).getKeyword());
+        assertEquals(11, matches.get(1).getStartPos());
+    }
+
+    @Test
+    void search_handlerCanStop() {
+        var ac = AhoCorasick.builder()
+            .addKeywords(Set.of("test"))
+            .build();
+
+        var count = new int[1];
+        boolean completed = ac.search("test test test", (keyword, startPos, endPos) -> ++count[0] < 2);
+
+        assertFalse(completed);
+        assertEquals(2, count[0]);
+    }
+
+    @Test
+    void search_reportsKeywordIndex() {
+        var ac = AhoCorasick.builder()
+            .addKeywords(List.of("api", "key"))
+            .build();
+
+        var found = new ArrayList<String>();
+        ac.search("api_key", (keyword, startPos, endPos) -> found.add(ac.getKeyword(keyword)));
+
+        assertEquals(List.of("api", "key"), found);
+    }
+
+    @Test
+    void containsAny_findsKeyword() {
+        var ac = AhoCorasick.builder()
+            .ignoreCase()
+            .addKeywords(Set.of("gitleaks:allow"))
+            .build();
+
+        assertTrue(ac.containsAny("token = x // GITLEAKS:ALLOW"));
+        assertFalse(ac.containsAny("token = x // gitleaks"));
+    }
+
+    @Test
+    void search_matchesNaiveSearch() {
+        var keywords = List.of("a", "ab", "bab", "bc", "bca", "c", "caa", "ü");
+        var ac = AhoCorasick.builder()
+            .addKeywords(keywords)
+            .build();
+        var random = new Random(42);
+
+        for (int n = 0; n < 100; n++) {
+            var text = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                text.append("abcüx".charAt(random.nextInt(5)));
+            }
+
+            var expected = new HashSet<String>();
+            for (String keyword : keywords) {
+                for (int i = text.indexOf(keyword); i >= 0; i = text.indexOf(keyword, i + 1)) {
+                    expected.add(keyword + "@" + i);
+                }
+            }
+            var actual = new HashSet<String>();
+            for (var match : ac.search(text.toString())) {
+                actual.add(match.getKeyword() + "@" + match.getStartPos());
+            }
+
+            assertEquals(expected, actual, text.toString());
+        }
+    }
 }
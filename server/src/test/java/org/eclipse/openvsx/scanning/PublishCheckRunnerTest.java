@@ -12,6 +12,8 @@
  ********************************************************************************/
 package org.eclipse.openvsx.scanning;
 
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.eclipse.openvsx.entities.ExtensionScan;
 import org.eclipse.openvsx.entities.ScanCheckResult;
 import org.eclipse.openvsx.entities.UserData;
@@ -21,7 +23,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,7 +51,7 @@ class PublishCheckRunnerTest {
     void runChecks_passesWhenAllChecksPass() {
         var check1 = mockCheck("CHECK1", true, true, PublishCheck.Result.pass());
         var check2 = mockCheck("CHECK2", true, true, PublishCheck.Result.pass());
-        var runner = new PublishCheckRunner(List.of(check1, check2));
+        var runner = createRunner(List.of(check1, check2));
 
         var result = runner.runChecks(scan, extensionFile, user);
 
@@ -59,7 +67,7 @@ class PublishCheckRunnerTest {
         var failure = new PublishCheck.Failure("RULE_001", "Found secret");
         var passingCheck = mockCheck("PASS", true, true, PublishCheck.Result.pass());
         var failingCheck = mockCheck("FAIL", true, true, PublishCheck.Result.fail(List.of(failure)));
-        var runner = new PublishCheckRunner(List.of(passingCheck, failingCheck));
+        var runner = createRunner(List.of(passingCheck, failingCheck));
 
         var result = runner.runChecks(scan, extensionFile, user);
 
@@ -73,7 +81,7 @@ class PublishCheckRunnerTest {
     void runChecks_passesWhenNonEnforcedCheckFails() {
         var failure = new PublishCheck.Failure("RULE_001", "Found issue");
         var failingCheck = mockCheck("CHECK", true, false, PublishCheck.Result.fail(List.of(failure)));
-        var runner = new PublishCheckRunner(List.of(failingCheck));
+        var runner = createRunner(List.of(failingCheck));
 
         var result = runner.runChecks(scan, extensionFile, user);
 
@@ -87,7 +95,7 @@ class PublishCheckRunnerTest {
     void runChecks_skipsDisabledChecks() {
         var disabledCheck = mockCheck("DISABLED", false, true, PublishCheck.Result.pass());
         var enabledCheck = mockCheck("ENABLED", true, true, PublishCheck.Result.pass());
-        var runner = new PublishCheckRunner(List.of(disabledCheck, enabledCheck));
+        var runner = createRunner(List.of(disabledCheck, enabledCheck));
 
         var result = runner.runChecks(scan, extensionFile, user);
 
@@ -104,7 +112,7 @@ class PublishCheckRunnerTest {
         when(errorCheck.isEnabled()).thenReturn(true);
         when(errorCheck.isRequired()).thenReturn(true);
         when(errorCheck.check(any())).thenThrow(new RuntimeException("Check failed"));
-        var runner = new PublishCheckRunner(List.of(errorCheck));
+        var runner = createRunner(List.of(errorCheck));
 
         var result = runner.runChecks(scan, extensionFile, user);
 
@@ -126,7 +134,7 @@ class PublishCheckRunnerTest {
         var afterErrorCheck = mock(PublishCheck.class);
         when(afterErrorCheck.getCheckType()).thenReturn("AFTER");
         
-        var runner = new PublishCheckRunner(List.of(errorCheck, afterErrorCheck));
+        var runner = createRunner(List.of(errorCheck, afterErrorCheck));
 
         var result = runner.runChecks(scan, extensionFile, user);
 
@@ -139,7 +147,7 @@ class PublishCheckRunnerTest {
     void getExpectedCheckTypes_returnsAllCheckTypes() {
         var check1 = mockCheck("TYPE_A", true, true, PublishCheck.Result.pass());
         var check2 = mockCheck("TYPE_B", true, true, PublishCheck.Result.pass());
-        var runner = new PublishCheckRunner(List.of(check1, check2));
+        var runner = createRunner(List.of(check1, check2));
 
         var types = runner.getExpectedCheckTypes();
 
@@ -150,7 +158,7 @@ class PublishCheckRunnerTest {
     void getCheckCount_returnsCount() {
         var check1 = mockCheck("A", true, true, PublishCheck.Result.pass());
         var check2 = mockCheck("B", true, true, PublishCheck.Result.pass());
-        var runner = new PublishCheckRunner(List.of(check1, check2));
+        var runner = createRunner(List.of(check1, check2));
 
         assertEquals(2, runner.getCheckCount());
     }
@@ -180,7 +188,7 @@ class PublishCheckRunnerTest {
     void checkExecution_recordsCorrectResult() {
         var failure = new PublishCheck.Failure("RULE", "Issue found");
         var failingCheck = mockCheck("TEST", true, true, PublishCheck.Result.fail(List.of(failure)));
-        var runner = new PublishCheckRunner(List.of(failingCheck));
+        var runner = createRunner(List.of(failingCheck));
 
         var result = runner.runChecks(scan, extensionFile, user);
 
@@ -192,6 +200,240 @@ class PublishCheckRunnerTest {
         assertNotNull(execution.completedAt());
     }
 
+    @Test
+    void runChecks_keepsCheckOrder() {
+        var slowCheck = mockCheck("SLOW", true, true, PublishCheck.Result.pass());
+        when(slowCheck.check(any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return PublishCheck.Result.pass();
+        });
+        var fastCheck = mockCheck("FAST", true, true, PublishCheck.Result.pass());
+        var runner = createRunner(List.of(slowCheck, fastCheck));
+
+        var result = runner.runChecks(scan, extensionFile, user);
+
+        assertEquals(List.of("SLOW", "FAST"), result.checkExecutions().stream().map(PublishCheckRunner.CheckExecution::checkType).toList());
+    }
+
+    @Test
+    void runChecks_runsChecksConcurrently() {
+        var latch = new CountDownLatch(2);
+        var check1 = mockCheck("CHECK1", true, true, PublishCheck.Result.pass());
+        var check2 = mockCheck("CHECK2", true, true, PublishCheck.Result.pass());
+        for (var check : List.of(check1, check2)) {
+            when(check.check(any())).thenAnswer(invocation -> {
+                latch.countDown();
+                // only completes if both checks are running at the same time
+                return latch.await(5, TimeUnit.SECONDS) ? PublishCheck.Result.pass() : PublishCheck.Result.fail("RULE", "sequential");
+            });
+        }
+        var runner = createRunner(List.of(check1, check2));
+
+        var result = runner.runChecks(scan, extensionFile, user);
+
+        assertTrue(result.passed());
+        assertEquals(2, result.checkExecutions().size());
+    }
+
+    @Test
+    void runChecks_timesOutSlowCheck() throws Exception {
+        var slowCheck = mockCheck("SLOW", true, true, PublishCheck.Result.pass());
+        when(slowCheck.isRequired()).thenReturn(false);
+        when(slowCheck.check(any())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return PublishCheck.Result.pass();
+        });
+        var config = createConfig();
+        setField(config, "checkTimeout", Duration.ofMillis(100));
+        var runner = new PublishCheckRunner(List.of(slowCheck), config, new SimpleMeterRegistry());
+
+        var result = runner.runChecks(scan, extensionFile, user);
+
+        assertTrue(result.passed());
+        assertEquals(ScanCheckResult.CheckResult.ERROR, result.checkExecutions().getFirst().result());
+        assertInstanceOf(TimeoutException.class, result.getNonRequiredErrors().getFirst().exception());
+    }
+
+    @Test
+    void runChecks_deadlineStartsAfterPermit() throws Exception {
+        var check = mockCheck("CHECK", true, true, PublishCheck.Result.pass());
+        var config = createConfig();
+        setField(config, "maxConcurrentChecks", 1);
+        setField(config, "checksDeadline", Duration.ofMillis(200));
+        var runner = new PublishCheckRunner(List.of(check), config, new SimpleMeterRegistry());
+
+        // another publish holds the only permit for longer than the deadline
+        var permits = (Semaphore) getField(runner, "permits");
+        permits.acquire();
+        CompletableFuture.runAsync(permits::release, CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS));
+        var result = runner.runChecks(scan, extensionFile, user);
+
+        // waited longer than the deadline for a permit, but the check itself was fast
+        assertTrue(result.passed());
+        assertFalse(result.hasError());
+        assertEquals(ScanCheckResult.CheckResult.PASSED, result.checkExecutions().getFirst().result());
+    }
+
+    @Test
+    void runChecks_releasesPermitOfCheckIgnoringInterrupts() throws Exception {
+        var stuckScan = mock(ExtensionScan.class);
+        var release = new CountDownLatch(1);
+        var check = mockCheck("STUCK", true, true, PublishCheck.Result.pass());
+        when(check.isRequired()).thenReturn(false);
+        when(check.check(any())).thenAnswer(invocation -> {
+            if (invocation.<PublishCheck.Context>getArgument(0).scan() == stuckScan) {
+                // keeps running after the runner gave up on it
+                Uninterruptibles.awaitUninterruptibly(release, 10, TimeUnit.SECONDS);
+            }
+            return PublishCheck.Result.pass();
+        });
+        var config = createConfig();
+        setField(config, "maxConcurrentChecks", 1);
+        setField(config, "checkTimeout", Duration.ofMillis(100));
+        setField(config, "checksQueueTimeout", Duration.ofSeconds(2));
+        var runner = new PublishCheckRunner(List.of(check), config, new SimpleMeterRegistry());
+
+        try {
+            var stuck = runner.runChecks(stuckScan, extensionFile, user);
+            assertInstanceOf(TimeoutException.class, stuck.getNonRequiredErrors().getFirst().exception());
+
+            // the stuck check still runs, but its permit was released when it timed out
+            var result = runner.runChecks(scan, extensionFile, user);
+            assertFalse(result.checksBusy());
+            assertTrue(result.passed());
+            assertEquals(ScanCheckResult.CheckResult.PASSED, result.checkExecutions().getFirst().result());
+        } finally {
+            release.countDown();
+        }
+
+        // the permit is released only once when the stuck check returns
+        var permits = (Semaphore) getField(runner, "permits");
+        Thread.sleep(100);
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    void runChecks_queueTimeoutIsNotCheckError() throws Exception {
+        var busyScan = mock(ExtensionScan.class);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var check = mockCheck("CHECK", true, true, PublishCheck.Result.pass());
+        when(check.check(any())).thenAnswer(invocation -> {
+            if (invocation.<PublishCheck.Context>getArgument(0).scan() == busyScan) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return PublishCheck.Result.pass();
+        });
+        var config = createConfig();
+        setField(config, "maxConcurrentChecks", 1);
+        setField(config, "checksQueueTimeout", Duration.ofMillis(100));
+        var registry = new SimpleMeterRegistry();
+        var runner = new PublishCheckRunner(List.of(check), config, registry);
+
+        var busy = CompletableFuture.supplyAsync(() -> runner.runChecks(busyScan, extensionFile, user));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var result = runner.runChecks(scan, extensionFile, user);
+        release.countDown();
+
+        assertTrue(result.checksBusy());
+        assertFalse(result.passed());
+        assertFalse(result.hasError());
+        assertEquals(ScanCheckResult.CheckResult.ERROR, result.checkExecutions().getFirst().result());
+        var timer = registry.get("openvsx_publish_check_duration").tag("check", "CHECK").tag("result", "NOT_STARTED").timer();
+        assertEquals(1, timer.count());
+        assertTrue(busy.get(5, TimeUnit.SECONDS).passed());
+        verify(check, times(1)).check(any());
+    }
+
+    @Test
+    void runChecks_enforcedCheckWithoutPermitIsNotSkipped() throws Exception {
+        var busyScan = mock(ExtensionScan.class);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var blockingCheck = mockCheck("BLOCKING", true, false, PublishCheck.Result.pass());
+        when(blockingCheck.isRequired()).thenReturn(false);
+        when(blockingCheck.check(any())).thenAnswer(invocation -> {
+            if (invocation.<PublishCheck.Context>getArgument(0).scan() == busyScan) {
+                started.countDown();
+                // keep the permit even if the busy publish gives up on its own checks
+                Uninterruptibles.awaitUninterruptibly(release, 5, TimeUnit.SECONDS);
+            }
+            return PublishCheck.Result.pass();
+        });
+        var enforcedCheck = mockCheck("ENFORCED", true, true, PublishCheck.Result.pass());
+        when(enforcedCheck.isRequired()).thenReturn(false);
+        var config = createConfig();
+        setField(config, "maxConcurrentChecks", 1);
+        setField(config, "checksQueueTimeout", Duration.ofMillis(100));
+        var runner = new PublishCheckRunner(List.of(blockingCheck, enforcedCheck), config, new SimpleMeterRegistry());
+
+        // the busy publish holds the only permit, its enforced check waits behind it
+        var busy = CompletableFuture.supplyAsync(() -> runner.runChecks(busyScan, extensionFile, user));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var result = runner.runChecks(scan, extensionFile, user);
+        release.countDown();
+
+        assertTrue(result.checksBusy());
+        assertFalse(result.passed());
+        var execution = result.checkExecutions().stream()
+                .filter(e -> e.checkType().equals("ENFORCED"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(ScanCheckResult.CheckResult.ERROR, execution.result());
+        assertFalse(execution.required());
+        busy.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void runChecks_cancelsRemainingChecksAfterRejection() {
+        var failure = new PublishCheck.Failure("RULE_001", "Found secret");
+        var slowCheck = mockCheck("SLOW", true, true, PublishCheck.Result.pass());
+        when(slowCheck.check(any())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return PublishCheck.Result.pass();
+        });
+        var failingCheck = mockCheck("FAIL", true, true, PublishCheck.Result.fail(List.of(failure)));
+        var runner = createRunner(List.of(slowCheck, failingCheck));
+
+        var result = runner.runChecks(scan, extensionFile, user);
+
+        assertTrue(result.hasEnforcedFailure());
+        assertEquals(List.of("FAIL"), result.checkExecutions().stream().map(PublishCheckRunner.CheckExecution::checkType).toList());
+    }
+
+    @Test
+    void runChecks_recordsDuration() {
+        var registry = new SimpleMeterRegistry();
+        var check = mockCheck("CHECK", true, true, PublishCheck.Result.pass());
+        var runner = new PublishCheckRunner(List.of(check), createConfig(), registry);
+
+        runner.runChecks(scan, extensionFile, user);
+
+        var timer = registry.get("openvsx_publish_check_duration").tag("check", "CHECK").tag("result", "PASSED").timer();
+        assertEquals(1, timer.count());
+    }
+
+    private PublishCheckRunner createRunner(List<PublishCheck> checks) {
+        return new PublishCheckRunner(checks, createConfig(), new SimpleMeterRegistry());
+    }
+
+    private ExtensionScanConfig createConfig() {
+        return new ExtensionScanConfig();
+    }
+
+    private Object getField(Object target, String fieldName) throws Exception {
+        var field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        var field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
     /**
      * Create a mock PublishCheck with lenient stubbing to avoid strict stubbing errors.
      */
@@ -291,6 +291,70 @@ class SecretDetectorTest {
         assertTrue(findings.isEmpty(), "No findings should be recorded for skipped files");
     }
 
+    @Test
+    void scanFile_countsLinesOnRawBytes() throws Exception {
+        SecretRule rule = new SecretRule.Builder()
+                .id("rule-kw")
+                .description("keyword rule")
+                .regex("token([A-Za-z0-9]{9})")
+                .keywords("token")
+                .build();
+
+        SecretDetector scanner = buildScanner(
+                Map.of("token", List.of(rule)),
+                List.of(rule),
+                /*allowlistPatterns*/ List.of(),
+                /*stopwords*/ List.of(),
+                /*inlineSuppressions*/ List.of(),
+                /*excludedPathPatterns*/ List.of(),
+                /*excludedExtensions*/ List.of());
+
+        // Mixed line breaks and multi-byte characters around the keyword
+        String content = "first line\r\nsecond line\rüber tokenABCDEF123 ä\n\ntokenXYZ987654\r\n";
+        Path zipPath = createZipWithEntry("src/file.txt", content);
+        toDelete.add(zipPath);
+
+        List<SecretDetector.Finding> findings = new ArrayList<>();
+        boolean scanned = runScan(scanner, zipPath, "src/file.txt", findings);
+
+        assertTrue(scanned, "File should be scanned");
+        assertEquals(List.of(3, 5), findings.stream().map(SecretDetector.Finding::getLineNumber).toList());
+        assertEquals("ABC***123", findings.getFirst().getSecretValue());
+        assertEquals("XYZ***654", findings.getLast().getSecretValue());
+    }
+
+    @Test
+    void scanFile_skipsLinesExceedingBufferOnRawBytes() throws Exception {
+        SecretRule rule = new SecretRule.Builder()
+                .id("rule-kw")
+                .description("keyword rule")
+                .regex("token([A-Za-z0-9]{9})")
+                .keywords("token")
+                .build();
+
+        SecretDetector scanner = buildScanner(
+                Map.of("token", List.of(rule)),
+                List.of(rule),
+                /*allowlistPatterns*/ List.of(),
+                /*stopwords*/ List.of(),
+                /*inlineSuppressions*/ List.of(),
+                /*excludedPathPatterns*/ List.of(),
+                /*excludedExtensions*/ List.of());
+
+        // The first line is longer than maxLineLength, the second one doesn't fit into the read buffer
+        String content = "tokenAAAAAAAAA " + "x".repeat(11_000) + "\n"
+                + "tokenBBBBBBBBB " + "x ".repeat(100_000) + "\n"
+                + "tokenCCCCCCCCC\n";
+        Path zipPath = createZipWithEntry("src/file.txt", content);
+        toDelete.add(zipPath);
+
+        List<SecretDetector.Finding> findings = new ArrayList<>();
+        runScan(scanner, zipPath, "src/file.txt", findings);
+
+        assertEquals(1, findings.size());
+        assertEquals(3, findings.getFirst().getLineNumber());
+    }
+
     private SecretDetector buildScanner(Map<String, List<SecretRule>> keywordToRules,
                                        List<SecretRule> rules,
                                        List<Pattern> allowlistPatterns,
@@ -298,13 +362,13 @@ class SecretDetectorTest {
                                        List<String> inlineSuppressions,
                                        List<String> excludedPathPatterns,
                                        List<String> excludedExtensions) {
-        AhoCorasick keywordMatcher = AhoCorasick.builder()
+        AhoCorasick keywordMatcher = AhoCorasick.builder().ignoreCase()
             .addKeywords(keywordToRules.keySet())
             .build();
 
         AhoCorasick stopwordMatcher = null;
         if (!stopwords.isEmpty()) {
-            stopwordMatcher = AhoCorasick.builder()
+            stopwordMatcher = AhoCorasick.builder().ignoreCase()
                 .addKeywords(stopwords)
                 .build();
         }
@@ -318,7 +382,7 @@ class SecretDetectorTest {
 
         AhoCorasick excludedExtensionMatcher = null;
         if (!excludedExtensions.isEmpty()) {
-            excludedExtensionMatcher = AhoCorasick.builder()
+            excludedExtensionMatcher = AhoCorasick.builder().ignoreCase()
                 .addKeywords(excludedExtensions)
                 .build();
         }
@@ -326,7 +390,7 @@ class SecretDetectorTest {
         // Build Aho-Corasick matcher for inline suppressions
         AhoCorasick inlineSuppressionMatcher = null;
         if (!inlineSuppressions.isEmpty()) {
-            inlineSuppressionMatcher = AhoCorasick.builder()
+            inlineSuppressionMatcher = AhoCorasick.builder().ignoreCase()
                 .addKeywords(inlineSuppressions)
                 .build();
         }
@@ -429,7 +493,7 @@ class SecretDetectorTest {
                 .build();
 
         Map<String, List<SecretRule>> keywordIndex = Map.of("secret", List.of(rule));
-        AhoCorasick keywordMatcher = AhoCorasick.builder()
+        AhoCorasick keywordMatcher = AhoCorasick.builder().ignoreCase()
             .addKeywords(Set.of("secret"))
             .build();
 
@@ -529,7 +593,7 @@ class SecretDetectorTest {
                 .build();
 
         Map<String, List<SecretRule>> keywordIndex = Map.of("secret", List.of(rule));
-        AhoCorasick keywordMatcher = AhoCorasick.builder()
+        AhoCorasick keywordMatcher = AhoCorasick.builder().ignoreCase()
             .addKeywords(Set.of("secret"))
             .build();
 
@@ -606,7 +670,7 @@ class SecretDetectorTest {
                 .build();
 
         Map<String, List<SecretRule>> keywordIndex = Map.of("secret", List.of(rule));
-        AhoCorasick keywordMatcher = AhoCorasick.builder()
+        AhoCorasick keywordMatcher = AhoCorasick.builder().ignoreCase()
             .addKeywords(Set.of("secret"))
             .build();
 
@@ -688,7 +752,7 @@ class SecretDetectorTest {
                 .build();
 
         Map<String, List<SecretRule>> keywordIndex = Map.of("secret", List.of(rule));
-        AhoCorasick keywordMatcher = AhoCorasick.builder()
+        AhoCorasick keywordMatcher = AhoCorasick.builder().ignoreCase()
             .addKeywords(Set.of("secret"))
             .build();
 
@@ -9,7 +9,9 @@
  ********************************************************************************/
 package org.eclipse.openvsx.search;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
+import org.eclipse.openvsx.cache.LocalExtensionCacheGenerations;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.util.TargetPlatform;
@@ -26,7 +28,6 @@ import org.springframework.data.elasticsearch.core.IndexOperations;
 import org.springframework.data.elasticsearch.core.index.Settings;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.IndexQuery;
-import org.springframework.data.util.Streamable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import jakarta.persistence.EntityManager;
@@ -34,9 +35,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 
 @ExtendWith(SpringExtension.class)
 @MockitoBean(types = {JobRequestScheduler.class})
@@ -126,6 +131,25 @@ class ElasticSearchServiceTest {
         assertThat(index.entries.get(0).getRelevance()).isLessThan(index.entries.get(1).getRelevance());
     }
 
+    @Test
+    void testBulkUpdateRelevance() {
+        var index = mockIndex(true);
+        var ext1 = mockExtension("foo", "n1", "u1",4.0, 10, 10, LocalDateTime.parse("2020-10-01T00:00"), false, false);
+        var ext2 = mockExtension("bar", "n2", "u2",4.0, 10, 10, LocalDateTime.parse("2020-10-01T00:00"), true, false);
+        var namespace1 = ext1.getNamespace().getId();
+        var user1 = ext1.getVersions().getFirst().getPublishedWith().getUser().getId();
+        mockActiveExtensions(List.of(ext1, ext2), Map.of(namespace1, List.of(user1)));
+
+        search.updateSearchIndex(false);
+        search.updateSearchEntry(ext1);
+        search.updateSearchEntry(ext2);
+
+        assertThat(index.entries).hasSize(4);
+        assertThat(index.entries.get(1).getRelevance()).isLessThan(index.entries.get(0).getRelevance());
+        assertThat(index.entries.get(0).getRelevance()).isCloseTo(index.entries.get(2).getRelevance(), within(1e-6));
+        assertThat(index.entries.get(1).getRelevance()).isCloseTo(index.entries.get(3).getRelevance(), within(1e-6));
+    }
+
     @Test
     void testSoftUpdateExists() {
         var index = mockIndex(true);
@@ -243,6 +267,7 @@ class ElasticSearchServiceTest {
         Mockito.when(entityManager.merge(extension)).thenReturn(extension);
 
         var namespace = new Namespace();
+        namespace.setId(namespaceName.hashCode());
         namespace.setName(namespaceName);
         extension.setNamespace(namespace);
         var extVer = new ExtensionVersion();
@@ -252,6 +277,7 @@ class ElasticSearchServiceTest {
         extVer.setExtension(extension);
         extension.getVersions().add(extVer);
         var user = new UserData();
+        user.setId(userName.hashCode());
         user.setLoginName(userName);
         var token = new PersonalAccessToken();
         token.setUser(user);
@@ -267,8 +293,19 @@ class ElasticSearchServiceTest {
         var ext1 = mockExtension("foo", "n1", "u1",3.0, 1, 0, LocalDateTime.parse("2020-01-01T00:00"), false, false);
         var ext2 = mockExtension("bar", "n2", "u2", 3.0, 1, 0, LocalDateTime.parse("2020-01-01T00:00"), false, false);
         var ext3 = mockExtension("baz", "n3", "u3", 3.0, 1, 0, LocalDateTime.parse("2020-01-01T00:00"), false, false);
-        Mockito.when(repositories.findAllActiveExtensions())
-                .thenReturn(Streamable.of(ext1, ext2, ext3));
+        mockActiveExtensions(List.of(ext1, ext2, ext3), Map.of());
+    }
+
+    private void mockActiveExtensions(List<Extension> extensions, Map<Long, List<Long>> verifiedUserIds) {
+        var extensionIds = extensions.stream().map(Extension::getId).toList();
+        Mockito.when(repositories.findActiveExtensionIds(eq(0L), anyInt()))
+                .thenReturn(extensionIds);
+        Mockito.when(repositories.findLatestVersions(extensionIds))
+                .thenReturn(extensions.stream().map(extension -> extension.getVersions().getFirst()).toList());
+        Mockito.when(repositories.findExtensionTargetPlatforms(extensionIds))
+                .thenReturn(extensions.stream().collect(Collectors.toMap(Extension::getId, extension -> List.of(TargetPlatform.NAME_UNIVERSAL))));
+        Mockito.when(repositories.findVerifiedUserIds(any()))
+                .thenReturn(verifiedUserIds);
     }
 
     static class MockIndex {
@@ -286,7 +323,7 @@ class ElasticSearchServiceTest {
                 RelevanceService relevanceService,
                 JobRequestScheduler scheduler
         ) {
-            return new ElasticSearchService(repositories, searchOperations, relevanceService, scheduler);
+            return new ElasticSearchService(repositories, searchOperations, relevanceService, scheduler, new SimpleMeterRegistry());
         }
 
         @Bean
@@ -296,7 +333,7 @@ class ElasticSearchServiceTest {
 
         @Bean
         LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKeyGenerator() {
-            return new LatestExtensionVersionCacheKeyGenerator();
+            return new LatestExtensionVersionCacheKeyGenerator(new LocalExtensionCacheGenerations());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.search;
+
+import org.eclipse.openvsx.util.ErrorResultException;
+import org.eclipse.openvsx.util.TargetPlatform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExtensionSearchIndexTest {
+
+    private ExtensionSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ExtensionSearchIndex();
+        index.reset(List.of(
+                entry(1, "redhat", "vscode-yaml", "YAML", "YAML Language Support", 500, 0.5, List.of("Programming Languages"), List.of(TargetPlatform.NAME_UNIVERSAL)),
+                entry(2, "redhat", "java", "Language Support for Java", "Java Linting, Intellisense", 1000, 0.9, List.of("Programming Languages", "Linters"), List.of(TargetPlatform.NAME_LINUX_X64, TargetPlatform.NAME_WIN32_X64)),
+                entry(3, "ms-python", "python", "Python", "Linting, Debugging", 2000, 0.7, List.of("Debuggers"), List.of(TargetPlatform.NAME_UNIVERSAL))
+        ));
+    }
+
+    @Test
+    void testQueryMatchesTokenPrefix() {
+        var result = index.search(options("lint", null, null, SortBy.DOWNLOADS, "desc"));
+        assertThat(ids(result)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void testQueryTermsMustAllMatch() {
+        var result = index.search(options("language java", null, null, SortBy.RELEVANCE, "desc"));
+        assertThat(ids(result)).containsExactly(2L);
+    }
+
+    @Test
+    void testNameIsTokenized() {
+        var result = index.search(options("yaml", null, null, SortBy.RELEVANCE, "desc"));
+        assertThat(ids(result)).containsExactly(1L);
+    }
+
+    @Test
+    void testCategoryIgnoresCase() {
+        var result = index.search(options(null, "programming languages", null, SortBy.DOWNLOADS, "asc"));
+        assertThat(result.getTotalHits()).isEqualTo(2);
+        assertThat(ids(result)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testTargetPlatform() {
+        var result = index.search(options(null, null, TargetPlatform.NAME_WIN32_X64, SortBy.RELEVANCE, "desc"));
+        assertThat(ids(result)).containsExactly(2L);
+    }
+
+    @Test
+    void testPublisher() {
+        var result = index.search(options("publisher:RedHat", null, null, SortBy.RELEVANCE, "desc"));
+        assertThat(ids(result)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void testExcludeNamespace() {
+        var options = new ISearchService.Options(null, null, null, 50, 0, "desc", SortBy.DOWNLOADS, false, new String[]{"redhat"});
+        assertThat(ids(index.search(options))).containsExactly(3L);
+    }
+
+    @Test
+    void testPaging() {
+        var options = new ISearchService.Options(null, null, null, 1, 1, "desc", SortBy.DOWNLOADS, false, null);
+        var result = index.search(options);
+        assertThat(result.getTotalHits()).isEqualTo(3);
+        assertThat(ids(result)).containsExactly(2L);
+    }
+
+    @Test
+    void testUpdateReplacesEntry() {
+        index.put(entry(1, "redhat", "vscode-yaml", "YAML", "Kubernetes schemas", 5000, 0.5, List.of("Other"), List.of(TargetPlatform.NAME_UNIVERSAL)));
+
+        assertThat(ids(index.search(options("kubernetes", null, null, SortBy.RELEVANCE, "desc")))).containsExactly(1L);
+        assertThat(ids(index.search(options("support", null, null, SortBy.RELEVANCE, "desc")))).containsExactly(2L);
+        assertThat(ids(index.search(options(null, null, null, SortBy.DOWNLOADS, "desc")))).containsExactly(1L, 3L, 2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testRemoveEntry() {
+        index.remove(2);
+        assertThat(ids(index.search(options("lint", null, null, SortBy.RELEVANCE, "desc")))).containsExactly(3L);
+
+        // the free slot is reused
+        index.put(entry(4, "vscjava", "vscode-maven", "Maven for Java", "Manage Maven projects", 10, 0.1, List.of("Other"), List.of(TargetPlatform.NAME_UNIVERSAL)));
+        assertThat(ids(index.search(options("java", null, null, SortBy.RELEVANCE, "desc")))).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testInvalidSortBy() {
+        assertThrows(ErrorResultException.class, () -> index.search(options(null, null, null, "name", "desc")));
+    }
+
+    private ISearchService.Options options(String query, String category, String targetPlatform, String sortBy, String sortOrder) {
+        return new ISearchService.Options(query, category, targetPlatform, 50, 0, sortOrder, sortBy, false, null);
+    }
+
+    private List<Long> ids(SearchResult result) {
+        return result.getHits().stream().map(ExtensionSearch::getId).toList();
+    }
+
+    private ExtensionSearch entry(
+            long id,
+            String namespace,
+            String name,
+            String displayName,
+            String description,
+            int downloads,
+            double relevance,
+            List<String> categories,
+            List<String> targetPlatforms
+    ) {
+        var entry = new ExtensionSearch();
+        entry.setId(id);
+        entry.setNamespace(namespace);
+        entry.setName(name);
+        entry.setExtensionId(namespace + "." + name);
+        entry.setDisplayName(displayName);
+        entry.setDescription(description);
+        entry.setDownloadCount(downloads);
+        entry.setRelevance(relevance);
+        entry.setRating(3.0);
+        entry.setTimestamp(id);
+        entry.setCategories(categories);
+        entry.setTags(List.of());
+        entry.setTargetPlatforms(targetPlatforms);
+        return entry;
+    }
+}
@@ -0,0 +1,224 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.storage;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.eclipse.jetty.ee10.servlet.HttpOutput;
+import org.eclipse.openvsx.util.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+
+class FileResponseTest {
+
+    private static final String CONTENT_ID = "resource-1";
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = Files.writeString(directory.resolve("extension.vsix"), "0123456789");
+    }
+
+    @Test
+    void testFullContent() throws IOException {
+        var response = of(file, new HttpHeaders());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(10);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeaders().getETag()).isNotNull();
+        assertThat(getBody(response)).isEqualTo("0123456789");
+    }
+
+    @Test
+    void testRange() throws IOException {
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+        var response = of(file, requestHeaders);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(4);
+        assertThat(getBody(response)).isEqualTo("2345");
+    }
+
+    @Test
+    void testSuffixRange() throws IOException {
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=-3");
+        var response = of(file, requestHeaders);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(getBody(response)).isEqualTo("789");
+    }
+
+    @Test
+    void testUnsatisfiableRange() {
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=20-");
+        var response = of(file, requestHeaders);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void testIfRangeMismatch() throws IOException {
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+        requestHeaders.set(HttpHeaders.IF_RANGE, "\"outdated\"");
+        var response = of(file, requestHeaders);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getBody(response)).isEqualTo("0123456789");
+    }
+
+    @Test
+    void testIfNoneMatch() {
+        var etag = of(file, new HttpHeaders()).getHeaders().getETag();
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.setIfNoneMatch("W/" + etag);
+        var response = of(file, requestHeaders);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void testEtagIdentifiesContent() throws IOException {
+        var etag = of(file, new HttpHeaders()).getHeaders().getETag();
+
+        // another node has a copy of the file with a different modification time
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 60_000));
+        assertThat(of(file, new HttpHeaders()).getHeaders().getETag()).isEqualTo(etag);
+
+        var other = FileResponse.of(file, "other", new HttpHeaders(), new HttpHeaders(), null);
+        assertThat(other.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void testJettyOutput() throws IOException {
+        var content = new ByteArrayOutputStream();
+        var output = mockJettyOutput(content);
+        var servletResponse = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(output);
+
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+        var response = FileResponse.of(file, CONTENT_ID, new HttpHeaders(), requestHeaders, servletResponse);
+
+        // the file is handed to the Jetty response instead of being copied
+        var streamOutput = new ByteArrayOutputStream();
+        response.getBody().writeTo(streamOutput);
+        assertThat(streamOutput.size()).isZero();
+        assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo("2345");
+    }
+
+    @Test
+    void testJettyOutputIsMappedInChunks() throws IOException {
+        var bytes = new byte[(int) (2 * FileResponse.MAPPED_CHUNK_SIZE + 3)];
+        for (var i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        var largeFile = Files.write(directory.resolve("large.vsix"), bytes);
+        var content = new ByteArrayOutputStream();
+        var output = mockJettyOutput(content);
+        var servletResponse = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(output);
+
+        var response = FileResponse.of(largeFile, CONTENT_ID, new HttpHeaders(), new HttpHeaders(), servletResponse);
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        Mockito.verify(output, Mockito.times(3)).write(any(ByteBuffer.class));
+        assertThat(content.toByteArray()).isEqualTo(bytes);
+    }
+
+    @Test
+    void testWrappedJettyOutput() throws IOException {
+        var output = Mockito.mock(HttpOutput.class);
+        var servletResponse = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(output);
+
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.set(HttpHeaders.RANGE, "bytes=2-5");
+        var response = FileResponse.of(file, CONTENT_ID, new HttpHeaders(), requestHeaders, new HttpServletResponseWrapper(servletResponse));
+
+        // a filter wrapped the response, it must see the content
+        assertThat(getBody(response)).isEqualTo("2345");
+        Mockito.verify(output, Mockito.never()).write(any(ByteBuffer.class));
+    }
+
+    @Test
+    void testIfModifiedSince() throws IOException {
+        var requestHeaders = new HttpHeaders();
+        requestHeaders.setIfModifiedSince(Files.getLastModifiedTime(file).toMillis());
+        assertThat(of(file, requestHeaders).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        requestHeaders.setIfModifiedSince(Files.getLastModifiedTime(file).toMillis() - 60_000);
+        assertThat(of(file, requestHeaders).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void testMissingFile() {
+        var missing = directory.resolve("missing.vsix");
+        assertThatThrownBy(() -> of(missing, new HttpHeaders()))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private HttpOutput mockJettyOutput(ByteArrayOutputStream content) throws IOException {
+        var output = Mockito.mock(HttpOutput.class);
+        Mockito.doAnswer(invocation -> {
+            var buffer = invocation.getArgument(0, ByteBuffer.class);
+            var bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            content.write(bytes);
+            return null;
+        }).when(output).write(any(ByteBuffer.class));
+        return output;
+    }
+
+    private ResponseEntity<StreamingResponseBody> of(Path path, HttpHeaders requestHeaders) {
+        return FileResponse.of(path, CONTENT_ID, new HttpHeaders(), requestHeaders, null);
+    }
+
+    private String getBody(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        var out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
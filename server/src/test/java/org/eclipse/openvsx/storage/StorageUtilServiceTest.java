@@ -17,12 +17,16 @@ import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.SearchUtilService;
 import org.eclipse.openvsx.metrics.ExtensionDownloadMetrics;
+import org.eclipse.openvsx.storage.log.DownloadCountBuffer;
 import org.eclipse.openvsx.storage.log.DownloadCountService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -34,11 +38,13 @@ import java.util.List;
 
 import static org.eclipse.openvsx.entities.FileResource.README;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @MockitoBean(types = {
         EntityManager.class, SearchUtilService.class, GoogleCloudStorageService.class,
-        DownloadCountService.class, ExtensionDownloadMetrics.class, CacheService.class, UserService.class, FileCacheDurationConfig.class,
+        DownloadCountService.class, DownloadCountBuffer.class, ExtensionDownloadMetrics.class, CacheService.class, UserService.class, FileCacheDurationConfig.class,
         FilesCacheKeyGenerator.class, RepositoryService.class, LocalStorageService.class
 })
 @ContextConfiguration(classes = StorageUtilServiceTest.TestConfig.class)
@@ -83,6 +89,18 @@ public class StorageUtilServiceTest {
         assertEquals("http://azure.blob.storage/blob-container/redhat/vscode-yaml/1.0.0/README.md", url);
     }
 
+    @Test
+    public void testIsDownload() {
+        assertTrue(storageUtilService.isDownload(ResponseEntity.ok().build()));
+        assertTrue(storageUtilService.isDownload(ResponseEntity.status(HttpStatus.FOUND).build()));
+        assertTrue(storageUtilService.isDownload(ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes 0-99/1000").build()));
+        assertFalse(storageUtilService.isDownload(ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes 100-999/1000").build()));
+        assertFalse(storageUtilService.isDownload(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+        assertFalse(storageUtilService.isDownload(ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).build()));
+    }
+
     // ---------- UTILITY ----------//
 
     private Extension mockExtension() {
@@ -175,9 +193,7 @@ public class StorageUtilServiceTest {
                 AwsStorageService awsStorage,
                 DownloadCountService downloadCountService,
                 ExtensionDownloadMetrics downloadMetrics,
-                SearchUtilService search,
-                CacheService cache,
-                EntityManager entityManager,
+                DownloadCountBuffer downloadCountBuffer,
                 FileCacheDurationConfig fileCacheDurationConfig,
                 CdnServiceConfig cdnServiceConfig
         ) {
@@ -189,9 +205,7 @@ public class StorageUtilServiceTest {
                     awsStorage,
                     downloadCountService,
                     downloadMetrics,
-                    search,
-                    cache,
-                    entityManager,
+                    downloadCountBuffer,
                     fileCacheDurationConfig,
                     cdnServiceConfig
             );
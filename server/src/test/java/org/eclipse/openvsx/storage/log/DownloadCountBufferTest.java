@@ -0,0 +1,197 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.storage.log;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.search.SearchUtilService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+
+class DownloadCountBufferTest {
+
+    private DownloadCountProcessor processor;
+    private CacheService cache;
+    private SearchUtilService search;
+    private SimpleMeterRegistry registry;
+    private TaskScheduler scheduler;
+    private DownloadCountBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        processor = Mockito.mock(DownloadCountProcessor.class);
+        cache = Mockito.mock(CacheService.class);
+        search = Mockito.mock(SearchUtilService.class);
+        registry = new SimpleMeterRegistry();
+        scheduler = Mockito.mock(TaskScheduler.class);
+        buffer = new DownloadCountBuffer(processor, cache, search, scheduler, registry);
+        buffer.flushInterval = Duration.ofSeconds(10);
+        buffer.maxLag = 0;
+    }
+
+    @Test
+    void testConcurrentIncrementsAreFlushedOnce() throws InterruptedException {
+        var extension1 = extension(1L, true);
+        var extension2 = extension(2L, false);
+        Mockito.when(processor.incrementDownloadCounts(anyMap())).thenReturn(List.of(extension1, extension2));
+
+        var threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        try {
+            for (var i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (var j = 0; j < 1000; j++) {
+                        buffer.increment(j % 4 == 0 ? 2L : 1L);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(registry.get("openvsx_download_count_pending").gauge().value()).isEqualTo(8000);
+        buffer.flush();
+
+        Mockito.verify(processor).incrementDownloadCounts(Map.of(1L, 6000, 2L, 2000));
+        Mockito.verify(cache).evictNamespaceDetails(extension1);
+        Mockito.verify(cache).evictNamespaceDetails(extension2);
+        Mockito.verify(processor).evictCaches(extension1);
+        Mockito.verify(processor).evictCaches(extension2);
+        Mockito.verify(search).updateSearchEntriesAsync(List.of(extension1));
+        assertThat(registry.get("openvsx_download_count_pending").gauge().value()).isZero();
+        assertThat(registry.get("openvsx_download_count_flushed_total").counter().count()).isEqualTo(8000);
+
+        buffer.flush();
+        Mockito.verifyNoMoreInteractions(processor);
+    }
+
+    @Test
+    void testFailedFlushIsRequeued() {
+        var extension = extension(1L, true);
+        Mockito.when(processor.incrementDownloadCounts(anyMap()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of(extension));
+
+        buffer.increment(1L);
+        buffer.increment(1L);
+        buffer.flush();
+
+        Mockito.verify(processor).incrementDownloadCounts(Map.of(1L, 2));
+        Mockito.verifyNoInteractions(cache, search);
+        assertThat(registry.get("openvsx_download_count_pending").gauge().value()).isEqualTo(2);
+
+        buffer.increment(1L);
+        buffer.flush();
+
+        Mockito.verify(processor).incrementDownloadCounts(Map.of(1L, 3));
+        Mockito.verify(cache).evictNamespaceDetails(extension);
+        Mockito.verify(processor).evictCaches(extension);
+        assertThat(registry.get("openvsx_download_count_pending").gauge().value()).isZero();
+        assertThat(registry.get("openvsx_download_count_flushed_total").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testShutdownWaitsForRunningFlush() throws Exception {
+        var extension = extension(1L, true);
+        var flushing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Mockito.when(processor.incrementDownloadCounts(anyMap()))
+                .thenAnswer(invocation -> {
+                    flushing.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return List.of(extension);
+                })
+                .thenReturn(List.of(extension));
+
+        buffer.increment(1L);
+        var flush = CompletableFuture.runAsync(buffer::flush);
+        assertThat(flushing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // counted after the running flush drained the buffer
+        buffer.increment(1L);
+        buffer.increment(1L);
+        var shutdown = CompletableFuture.runAsync(buffer::shutdown);
+        release.countDown();
+        flush.get(10, TimeUnit.SECONDS);
+        shutdown.get(10, TimeUnit.SECONDS);
+
+        Mockito.verify(processor).incrementDownloadCounts(Map.of(1L, 1));
+        Mockito.verify(processor).incrementDownloadCounts(Map.of(1L, 2));
+        assertThat(registry.get("openvsx_download_count_pending").gauge().value()).isZero();
+        assertThat(registry.get("openvsx_download_count_flushed_total").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testLagDuringFlushSchedulesAnotherFlush() throws Exception {
+        var extension = extension(1L, true);
+        var flushing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Mockito.when(processor.incrementDownloadCounts(anyMap()))
+                .thenAnswer(invocation -> {
+                    flushing.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return List.of(extension);
+                })
+                .thenReturn(List.of(extension));
+        buffer.maxLag = 2;
+
+        buffer.increment(1L);
+        buffer.increment(1L);
+        Mockito.verify(scheduler, Mockito.times(1)).schedule(any(Runnable.class), any(Instant.class));
+        var flush = CompletableFuture.runAsync(buffer::flush);
+        assertThat(flushing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // the flush scheduled for these downloads is skipped while the running flush holds the lock
+        buffer.increment(1L);
+        buffer.increment(1L);
+        Mockito.verify(scheduler, Mockito.times(2)).schedule(any(Runnable.class), any(Instant.class));
+        buffer.flush();
+
+        release.countDown();
+        flush.get(10, TimeUnit.SECONDS);
+
+        // the running flush schedules the next one, the downloads are not left until the next interval
+        Mockito.verify(scheduler, Mockito.times(3)).schedule(any(Runnable.class), any(Instant.class));
+        buffer.flush();
+        Mockito.verify(processor, Mockito.times(2)).incrementDownloadCounts(Map.of(1L, 2));
+        assertThat(registry.get("openvsx_download_count_pending").gauge().value()).isZero();
+    }
+
+    private Extension extension(long id, boolean active) {
+        var extension = new Extension();
+        extension.setId(id);
+        extension.setActive(active);
+        return extension;
+    }
+}
@@ -0,0 +1,110 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.storage.log;
+
+import org.eclipse.openvsx.entities.FileResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+
+class LogFileBatchProcessorTest {
+
+    private DownloadCountProcessor processor;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        processor = Mockito.mock(DownloadCountProcessor.class);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCountsOfAllFilesAreWrittenOnce() {
+        var batchProcessor = new LogFileBatchProcessor(processor, FileResource.STORAGE_AWS, executor);
+        var deleted = new ArrayList<String>();
+
+        var completed = batchProcessor.process(List.of("a.gz", "b.gz", "c.gz"), name -> switch (name) {
+            case "a.gz" -> Map.of("JAVA-1.0.0.VSIX", 1);
+            case "b.gz" -> Map.of("JAVA-1.0.0.VSIX", 2, "YAML-1.0.0.VSIX", 1);
+            default -> throw new IOException("broken");
+        }, LocalDateTime.now().plusMinutes(1), deleted::add);
+
+        assertThat(completed).isTrue();
+        ArgumentCaptor<List<ProcessedLogFile>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(processor).processLogFiles(
+                eq(FileResource.STORAGE_AWS),
+                eq(Map.of("JAVA-1.0.0.VSIX", 3, "YAML-1.0.0.VSIX", 1)),
+                captor.capture()
+        );
+        assertThat(captor.getValue())
+                .extracting(ProcessedLogFile::name, ProcessedLogFile::success)
+                .containsExactly(
+                        tuple("a.gz", true),
+                        tuple("b.gz", true),
+                        tuple("c.gz", false)
+                );
+        assertThat(deleted).containsExactly("a.gz", "b.gz");
+    }
+
+    @Test
+    void testFilesAreKeptWhenUpdateFails() {
+        var batchProcessor = new LogFileBatchProcessor(processor, FileResource.STORAGE_AZURE, executor);
+        Mockito.when(processor.processLogFiles(any(), anyMap(), anyList())).thenThrow(new IllegalStateException("database unavailable"));
+        var deleted = new ArrayList<String>();
+
+        assertThatThrownBy(() -> batchProcessor.process(List.of("a.json", "b.json"), name -> switch (name) {
+            case "a.json" -> Map.of("JAVA-1.0.0.VSIX", 1);
+            default -> throw new IOException("broken");
+        }, LocalDateTime.now().plusMinutes(1), deleted::add))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database unavailable");
+        Mockito.verify(processor, Mockito.never()).persistProcessedItems(any(), anyList());
+        assertThat(deleted).isEmpty();
+    }
+
+    @Test
+    void testFilesAreSkippedAfterDeadline() {
+        var batchProcessor = new LogFileBatchProcessor(processor, FileResource.STORAGE_AWS, executor);
+        var deleted = new ArrayList<String>();
+
+        var completed = batchProcessor.process(List.of("a.gz"), name -> Map.of("JAVA-1.0.0.VSIX", 1), LocalDateTime.now().minusMinutes(1), deleted::add);
+
+        assertThat(completed).isFalse();
+        Mockito.verify(processor, Mockito.never()).processLogFiles(any(), anyMap(), anyList());
+        assertThat(deleted).isEmpty();
+    }
+}
@@ -0,0 +1,160 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.openvsx.util;
+
+import com.google.common.primitives.Bytes;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ArchiveDigestTest {
+
+    @Test
+    void testDigests() throws IOException {
+        try (
+                var file = createArchive();
+                var executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            var digest = ArchiveDigest.of(file, executor);
+
+            assertThat(digest.getSha256Hex()).isEqualTo(DigestUtils.sha256Hex(Files.readAllBytes(file.getPath())));
+            assertThat(digest.getSize()).isEqualTo(Files.size(file.getPath()));
+            assertThat(digest.getEntries())
+                    .extracting(ArchiveDigest.Entry::name)
+                    .containsExactly("extension/package.json", "extension/README.md");
+            assertThat(digest.getEntries().getFirst().sha256Hex()).isEqualTo(DigestUtils.sha256Hex("{}"));
+            assertThat(digest.getEntries().getLast().size()).isEqualTo(6);
+            assertThat(file.getSha256Hash()).isEqualTo(digest.getSha256Hex());
+        }
+    }
+
+    @Test
+    void testComputedOnce() throws IOException {
+        try (var file = createArchive()) {
+            file.setSha256Hash(DigestUtils.sha256Hex("uploaded"));
+            var digest = ArchiveDigest.of(file, Runnable::run);
+
+            assertThat(digest.getSha256Hex()).isEqualTo(DigestUtils.sha256Hex("uploaded"));
+            assertThat(ArchiveDigest.of(file, Runnable::run)).isSameAs(digest);
+        }
+    }
+
+    @Test
+    void testConcurrentCallersShareDigests() throws Exception {
+        try (
+                var file = createArchive();
+                var executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<ArchiveDigest>>();
+            for (var i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return ArchiveDigest.of(file, executor);
+                }));
+            }
+            start.countDown();
+
+            var digest = futures.getFirst().get(10, TimeUnit.SECONDS);
+            for (var future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isSameAs(digest);
+            }
+        }
+    }
+
+    @Test
+    void testFailureIsNotKept() throws IOException {
+        try (var file = new TempFile("extension", ".vsix")) {
+            Files.writeString(file.getPath(), "not a zip file");
+            assertThatThrownBy(() -> ArchiveDigest.of(file, Runnable::run)).isInstanceOf(IOException.class);
+            assertThat(file.getArchiveDigest()).isNull();
+        }
+    }
+
+    @Test
+    void testUnreadableFileIsKept() throws IOException {
+        try (var file = createArchive()) {
+            corruptEntry(file, "extension/package.json");
+            var digest = ArchiveDigest.of(file, Runnable::run);
+
+            // the other files are hashed and the digests are kept
+            assertThat(digest.getEntries())
+                    .extracting(ArchiveDigest.Entry::name, ArchiveDigest.Entry::isHashed)
+                    .containsExactly(tuple("extension/package.json", false), tuple("extension/README.md", true));
+            assertThat(digest.getEntries().getFirst().error()).isInstanceOf(IOException.class);
+            assertThat(digest.getEntries().getLast().sha256Hex()).isEqualTo(DigestUtils.sha256Hex("# Test"));
+            assertThat(ArchiveDigest.of(file, Runnable::run)).isSameAs(digest);
+        }
+    }
+
+    @Test
+    void testArchiveLimits() throws IOException {
+        try (var file = createArchive()) {
+            // the limits are enforced before the files are hashed
+            assertThatThrownBy(() -> ArchiveDigest.of(file, Runnable::run, 2, Long.MAX_VALUE))
+                    .isInstanceOf(ErrorResultException.class);
+            assertThat(file.getArchiveDigest()).isNull();
+
+            // and also when the digests have been computed already
+            var digest = ArchiveDigest.of(file, Runnable::run);
+            assertThatThrownBy(() -> ArchiveDigest.of(file, Runnable::run, 3, 7))
+                    .isInstanceOf(ErrorResultException.class);
+            assertThat(ArchiveDigest.of(file, Runnable::run, 3, 8)).isSameAs(digest);
+        }
+    }
+
+    /**
+     * Overwrites the first byte of the compressed data of an entry with an invalid deflate block type.
+     */
+    private void corruptEntry(TempFile file, String name) throws IOException {
+        var bytes = Files.readAllBytes(file.getPath());
+        var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        // the local file header comes first, its name is followed by the extra field and the data
+        var nameOffset = Collections.indexOfSubList(Bytes.asList(bytes), Bytes.asList(nameBytes));
+        var header = nameOffset - 30;
+        var extraLength = (bytes[header + 28] & 0xff) | (bytes[header + 29] & 0xff) << 8;
+        bytes[nameOffset + nameBytes.length + extraLength] = (byte) 0xff;
+        Files.write(file.getPath(), bytes);
+    }
+
+    private TempFile createArchive() throws IOException {
+        var file = new TempFile("extension", ".vsix");
+        try (var zip = new ZipOutputStream(Files.newOutputStream(file.getPath()))) {
+            zip.putNextEntry(new ZipEntry("extension/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("extension/package.json"));
+            zip.write("{}".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("extension/README.md"));
+            zip.write("# Test".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        return file;
+    }
+}
@@ -11,6 +11,7 @@ package org.eclipse.openvsx.web;
 
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
+import org.eclipse.openvsx.MockTransactionTemplate;
 import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.eclipse.EclipseService;
 import org.eclipse.openvsx.eclipse.EclipseTokenService;
@@ -18,6 +19,7 @@ import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.security.OAuth2AttributesConfig;
 import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,10 +29,19 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.XmlExpectationsHelper;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -48,8 +59,27 @@ class SitemapControllerTest {
     @Autowired
     MockMvc mockMvc;
 
+    @BeforeEach
+    void setUp() {
+        var rows = List.of(new SitemapRow("EditorConfig", "EditorConfig", "2024-04-10"));
+        Mockito.when(repositories.streamSitemapRows(any(), anyInt())).thenAnswer(invocation -> rows.stream());
+    }
+
     @Test
     void testSitemap() throws Exception {
+        var index = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+                  <sitemap>
+                    <loc>http://localhost/sitemap-0.xml.gz</loc>
+                    <lastmod>2024-04-10</lastmod>
+                  </sitemap>
+                </sitemapindex>
+                """;
+        mockMvc.perform(get("/sitemap-index.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().xml(index));
+
         var expected = """
                 <?xml version="1.0" encoding="UTF-8"?>
                 <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
@@ -59,12 +89,23 @@ class SitemapControllerTest {
                   </url>
                 </urlset>
                 """;
-
-        var rows = List.of(new SitemapRow("EditorConfig", "EditorConfig", "2024-04-10"));
-        Mockito.when(repositories.fetchSitemapRows()).thenReturn(rows);
         mockMvc.perform(get("/sitemap.xml"))
                 .andExpect(status().isOk())
                 .andExpect(content().xml(expected));
+
+        var shard = mockMvc.perform(get("/sitemap-0.xml.gz"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(shard))) {
+            new XmlExpectationsHelper().assertXmlEqual(expected, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testSitemapUnknownShard() throws Exception {
+        mockMvc.perform(get("/sitemap-1.xml.gz"))
+                .andExpect(status().isNotFound());
     }
 
     @TestConfiguration
@@ -82,8 +123,9 @@ class SitemapControllerTest {
         }
 
         @Bean
-        SitemapService sitemapService(RepositoryService repositories) {
-            return new SitemapService(repositories);
+        SitemapService sitemapService(RepositoryService repositories) throws IOException {
+            var directory = Files.createTempDirectory("sitemap");
+            return new SitemapService(repositories, new MockTransactionTemplate(), directory.toString(), 1, Duration.ofMinutes(5));
         }
     }
 }
@@ -0,0 +1,143 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *****************************************************************************/
+package org.eclipse.openvsx.web;
+
+import org.eclipse.openvsx.MockTransactionTemplate;
+import org.eclipse.openvsx.changefeed.ChangeType;
+import org.eclipse.openvsx.changefeed.RegistryChange;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+class SitemapServiceTest {
+
+    private static final int SHARDS = 4;
+
+    @TempDir
+    Path directory;
+
+    private RepositoryService repositories;
+    private SitemapService service;
+
+    @BeforeEach
+    void setUp() {
+        repositories = Mockito.mock(RepositoryService.class);
+        service = new SitemapService(repositories, new MockTransactionTemplate(), directory.toString(), SHARDS, Duration.ZERO);
+        service.webuiUrl = "https://open-vsx.org";
+    }
+
+    @Test
+    void testOnlyChangedShardIsRewritten() throws IOException {
+        var redhat = new SitemapRow("redhat", "java", "2024-04-10");
+        var vscjava = new SitemapRow("vscjava", "vscode-maven", "2024-04-11");
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(1L);
+        Mockito.when(repositories.streamSitemapRows(isNull(), anyInt())).thenAnswer(invocation -> List.of(redhat, vscjava).stream());
+        service.generateSitemapIndex();
+
+        var redhatShard = Math.floorMod("redhat".hashCode(), SHARDS);
+        var changedRedhat = new SitemapRow("redhat", "java", "2024-05-01");
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(3L);
+        Mockito.when(repositories.findFirstRegistryChangeId()).thenReturn(1L);
+        Mockito.when(repositories.findRegistryChanges(eq(1L), anyInt())).thenReturn(List.of(
+                change(2L, ChangeType.DOWNLOADS_UPDATED, "vscjava"),
+                change(3L, ChangeType.VERSION_PUBLISHED, "redhat")
+        ));
+        Mockito.when(repositories.findAllNamespaceNames()).thenReturn(List.of("redhat", "vscjava"));
+        Mockito.when(repositories.streamSitemapRows(eq(List.of("redhat")), anyInt())).thenAnswer(invocation -> List.of(changedRedhat).stream());
+
+        assertThat(readShard(service.getShardFile(redhatShard, 0))).contains("<lastmod>2024-05-01</lastmod>");
+        Mockito.verify(repositories, Mockito.times(1)).streamSitemapRows(isNull(), anyInt());
+        Mockito.verify(repositories, Mockito.times(1)).streamSitemapRows(eq(List.of("redhat")), anyInt());
+    }
+
+    @Test
+    void testPrunedChangesRegenerateAllShards() throws IOException {
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(1L);
+        Mockito.when(repositories.streamSitemapRows(isNull(), anyInt())).thenAnswer(invocation -> List.of(new SitemapRow("redhat", "java", "2024-04-10")).stream());
+        service.generateSitemapIndex();
+
+        Mockito.when(repositories.findFirstRegistryChangeId()).thenReturn(10L);
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(20L);
+        var index = service.generateSitemapIndex();
+
+        assertThat(index).contains("sitemap-" + Math.floorMod("redhat".hashCode(), SHARDS) + ".xml.gz");
+        Mockito.verify(repositories, Mockito.times(2)).streamSitemapRows(isNull(), anyInt());
+        Mockito.verify(repositories, Mockito.never()).findRegistryChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    void testShardLastModifiedIsLatestExtensionUpdate() throws IOException {
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(1L);
+        Mockito.when(repositories.streamSitemapRows(isNull(), anyInt())).thenAnswer(invocation -> List.of(
+                new SitemapRow("redhat", "java", "2024-04-10"),
+                new SitemapRow("redhat", "vscode-xml", "2024-06-02"),
+                new SitemapRow("redhat", "vscode-yaml", "2024-05-21")
+        ).stream());
+
+        var index = service.generateSitemapIndex();
+
+        assertThat(index)
+                .contains("<lastmod>2024-06-02</lastmod>")
+                .doesNotContain("<lastmod>2024-05-21</lastmod>", "<lastmod>2024-04-10</lastmod>");
+    }
+
+    @Test
+    void testOversizedShardIsSplit() throws IOException {
+        var rows = IntStream.range(0, 50_001)
+                .mapToObj(i -> new SitemapRow("redhat", "extension-" + i, "2024-04-10"))
+                .toList();
+        Mockito.when(repositories.findLastRegistryChangeId()).thenReturn(1L);
+        Mockito.when(repositories.streamSitemapRows(isNull(), anyInt())).thenAnswer(invocation -> rows.stream());
+
+        var index = service.generateSitemapIndex();
+
+        var shard = Math.floorMod("redhat".hashCode(), SHARDS);
+        assertThat(index).contains("sitemap-" + shard + ".xml.gz", "sitemap-" + shard + "-1.xml.gz");
+        assertThat(countUrls(readShard(service.getShardFile(shard, 0)))).isEqualTo(50_000);
+        assertThat(countUrls(readShard(service.getShardFile(shard, 1)))).isEqualTo(1);
+        // the flat sitemap is limited like any other sitemap file
+        assertThat(countUrls(Files.readString(service.getSitemapFile()))).isEqualTo(50_000);
+    }
+
+    private int countUrls(String sitemap) {
+        return sitemap.split("<url>", -1).length - 1;
+    }
+
+    private RegistryChange change(long id, ChangeType type, String namespace) {
+        return new RegistryChange(id, LocalDateTime.now(), type, namespace, null, null, null);
+    }
+
+    private String readShard(Path file) throws IOException {
+        try (var input = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -436,6 +436,7 @@ export interface Tier {
     capacity: number;
     duration: number;
     refillStrategy: RefillStrategy;
+    leaseSize?: number;
 }
 
 export interface TierList {
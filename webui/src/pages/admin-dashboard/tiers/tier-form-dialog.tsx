@@ -68,7 +68,8 @@ export const TierFormDialog: FC<TierFormDialogProps> = ({ open, tier, onClose, o
         description: '',
         capacity: 100,
         duration: 3600,
-        refillStrategy: RefillStrategy.INTERVAL
+        refillStrategy: RefillStrategy.INTERVAL,
+        leaseSize: 0
     } as Tier);
     const [durationValue, setDurationValue] = useState(1);
     const [durationUnit, setDurationUnit] = useState<DurationUnit>('hours');
@@ -88,7 +89,8 @@ export const TierFormDialog: FC<TierFormDialogProps> = ({ open, tier, onClose, o
                 tierType: tier.tierType,
                 capacity: tier.capacity,
                 duration: tier.duration,
-                refillStrategy: tier.refillStrategy
+                refillStrategy: tier.refillStrategy,
+                leaseSize: tier.leaseSize ?? 0
             } as Tier));
             // Convert duration seconds to value/unit for display
             const [value, unit] = formatDuration(tier.duration);
@@ -102,7 +104,8 @@ export const TierFormDialog: FC<TierFormDialogProps> = ({ open, tier, onClose, o
                 tierType: TierType.NON_FREE,
                 capacity: 100,
                 duration: 3600,
-                refillStrategy: RefillStrategy.INTERVAL
+                refillStrategy: RefillStrategy.INTERVAL,
+                leaseSize: 0
             }));
             setDurationValue(1);
             setDurationUnit('hours');
@@ -127,7 +130,7 @@ export const TierFormDialog: FC<TierFormDialogProps> = ({ open, tier, onClose, o
 
         setFormData((prev: Tier) => ({
             ...prev,
-            [name]: name === 'capacity' || name === 'duration' ? Number.parseInt(value as string, 10) : value
+            [name]: name === 'capacity' || name === 'duration' || name === 'leaseSize' ? Number.parseInt(value as string, 10) : value
         } as Tier));
     };
 
@@ -151,6 +154,7 @@ export const TierFormDialog: FC<TierFormDialogProps> = ({ open, tier, onClose, o
         capacity: () => formData.capacity <= 0 ? 'Capacity must be greater than 0' : undefined,
         duration: () => durationValue <= 0 ? 'Duration must be greater than 0' : undefined,
         refillStrategy: () => formData.refillStrategy ? undefined : 'Refill strategy is required',
+        leaseSize: () => !(formData.leaseSize! >= 0) ? 'Lease size must not be negative' : undefined,
     };
 
     const validateField = (fieldName: string): string | undefined => {
@@ -351,6 +355,20 @@ export const TierFormDialog: FC<TierFormDialogProps> = ({ open, tier, onClose, o
                     {touched.refillStrategy && errors.refillStrategy && <FormHelperText>{errors.refillStrategy}</FormHelperText>}
                 </FormControl>
 
+                <TextField
+                    label='Lease Size'
+                    name='leaseSize'
+                    type='number'
+                    value={formData.leaseSize}
+                    onChange={handleChange}
+                    onBlur={handleBlur}
+                    fullWidth
+                    inputProps={{ min: '0' }}
+                    disabled={loading}
+                    error={touched.leaseSize && !!errors.leaseSize}
+                    helperText={(touched.leaseSize && errors.leaseSize) || 'Tokens a server takes from the shared bucket at once, 0 to consume every request from the shared bucket'}
+                />
+
 
               </Box>
             </DialogContent>